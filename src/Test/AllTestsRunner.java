@@ -18,6 +18,36 @@ public class AllTestsRunner {
             System.out.println("\n📋 Running Attendance Model Tests...");
             AttendanceModelTest.main(args);
             
+            System.out.println("\n📋 Running Employee Search Index Tests...");
+            EmployeeSearchIndexTest.main(args);
+            
+            System.out.println("\n📋 Running Attendance Import Service Tests...");
+            AttendanceImportServiceTest.main(args);
+            
+            System.out.println("\n📋 Running Punch Ingestion Service Tests...");
+            PunchIngestionServiceTest.main(args);
+            
+            System.out.println("\n📋 Running Leave Index Tests...");
+            LeaveIndexTest.main(args);
+            
+            System.out.println("\n📋 Running Reference Data Cache Tests...");
+            ReferenceDataCacheTest.main(args);
+            
+            System.out.println("\n📋 Running App Config Tests...");
+            AppConfigTest.main(args);
+            
+            System.out.println("\n📋 Running Read Replica Router Tests...");
+            ReadReplicaRouterTest.main(args);
+            
+            System.out.println("\n📋 Running Statement Cache Tests...");
+            StatementCacheTest.main(args);
+            
+            System.out.println("\n📋 Running Attendance Block Tests...");
+            AttendanceBlockTest.main(args);
+            
+            System.out.println("\n📋 Running Attendance Tables Tests...");
+            AttendanceTablesTest.main(args);
+            
             System.out.println("\n📋 Running Employee DAO Tests...");
             EmployeeDAOTest.main(args);
             
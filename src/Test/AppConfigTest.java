@@ -0,0 +1,101 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import util.AppConfig;
+import java.time.LocalTime;
+import java.util.Properties;
+
+public class AppConfigTest {
+
+    private Properties properties;
+
+    public void setUp() {
+        properties = new Properties();
+        properties.setProperty("db.host", "db.motorph.local");
+        properties.setProperty("db.port", "3307");
+        properties.setProperty("db.pool.max.size", "12");
+        properties.setProperty("payroll.working.days.per.month", "20");
+        properties.setProperty("payroll.overtime.multiplier", "1.3");
+        properties.setProperty("payroll.standard.login.time", "09:00");
+        properties.setProperty("payroll.late.grace.period.minutes", "10");
+        properties.setProperty("leave.entitlement.Sick", "7");
+    }
+
+    public void testDefaults() {
+        AppConfig config = AppConfig.defaults();
+
+        assert config.getWorkingDaysPerMonth() == 22 : "Default working days should be 22";
+        assert config.getWorkingHoursPerDay() == 8 : "Default working hours should be 8";
+        assert config.getOvertimeMultiplier() == 1.25 : "Default overtime multiplier should be 1.25";
+        assert config.getLateThresholdTime().equals(LocalTime.of(8, 15)) : "Default late threshold should be 08:15";
+        assert config.getDatabaseUrl().contains("rewriteBatchedStatements=true") : "URL should keep batched statements";
+        System.out.println("✅ testDefaults passed");
+    }
+
+    public void testTypedValues() {
+        AppConfig config = AppConfig.fromProperties(properties);
+
+        assert config.getDatabaseUrl().startsWith("jdbc:mysql://db.motorph.local:3307/") : "URL should use host and port";
+        assert config.getPoolMaxSize() == 12 : "Pool size should be parsed";
+        assert config.getWorkingDaysPerMonth() == 20 : "Working days should be parsed";
+        assert config.getOvertimeMultiplier() == 1.3 : "Overtime multiplier should be parsed";
+        assert config.getLateThresholdTime().equals(LocalTime.of(9, 10)) : "Late threshold is login time plus grace period";
+        assert config.getLeaveEntitlementDays("SICK", 5) == 7 : "Leave types should match case-insensitively";
+        assert config.getLeaveEntitlementDays("Emergency", 3) == 3 : "Missing leave type should use the default";
+        System.out.println("✅ testTypedValues passed");
+    }
+
+    public void testInvalidValuesUseDefaults() {
+        properties.setProperty("payroll.working.days.per.month", "0");
+        properties.setProperty("payroll.working.hours.per.day", "eight");
+        properties.setProperty("payroll.overtime.multiplier", "-1");
+        properties.setProperty("payroll.standard.logout.time", "5pm");
+        properties.setProperty("db.pool.initial.size", "30");
+
+        AppConfig config = AppConfig.fromProperties(properties);
+
+        assert config.getWorkingDaysPerMonth() == 22 : "Zero working days should fall back to the default";
+        assert config.getWorkingHoursPerDay() == 8 : "Non-numeric hours should fall back to the default";
+        assert config.getOvertimeMultiplier() == 1.25 : "Negative multiplier should fall back to the default";
+        assert config.getStandardLogoutTime().equals(LocalTime.of(17, 0)) : "Invalid time should fall back to the default";
+        assert config.getPoolMaxSize() >= config.getPoolInitialSize() : "Max pool size should cover the initial size";
+        System.out.println("✅ testInvalidValuesUseDefaults passed");
+    }
+
+    public void testSnapshotIsImmutable() {
+        AppConfig config = AppConfig.fromProperties(properties);
+        properties.setProperty("payroll.working.days.per.month", "26");
+        config.toProperties().setProperty("db.host", "other");
+
+        assert config.getWorkingDaysPerMonth() == 20 : "Later changes to the source should not be seen";
+        assert config.getProperty("db.host", null).equals("db.motorph.local") : "Copies should not write through";
+        System.out.println("✅ testSnapshotIsImmutable passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running App Config Tests...");
+
+        AppConfigTest test = new AppConfigTest();
+
+        try {
+            test.setUp();
+            test.testDefaults();
+
+            test.setUp();
+            test.testTypedValues();
+
+            test.setUp();
+            test.testInvalidValuesUseDefaults();
+
+            test.setUp();
+            test.testSnapshotIsImmutable();
+
+            System.out.println("🎉 All App Config Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
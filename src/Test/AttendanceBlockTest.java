@@ -0,0 +1,158 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import model.Attendance;
+import model.AttendanceBlock;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AttendanceBlockTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 30);
+    private static final LocalTime STANDARD_LOGIN = LocalTime.of(8, 0);
+    private static final LocalTime LATE_THRESHOLD = LocalTime.of(8, 15);
+    private static final LocalTime STANDARD_LOGOUT = LocalTime.of(17, 0);
+
+    private AttendanceBlock.Builder builder;
+    private List<Attendance> employee10001;
+
+    public void setUp() {
+        builder = new AttendanceBlock.Builder(PERIOD_START, PERIOD_END);
+        employee10001 = new ArrayList<>();
+    }
+
+    private void add(int employeeId, int day, LocalTime logIn, LocalTime logOut) {
+        LocalDate date = PERIOD_START.plusDays(day);
+        builder.add(employeeId, date, logIn, logOut);
+        if (employeeId == 10001) {
+            employee10001.add(new Attendance(employeeId, Date.valueOf(date),
+                    logIn != null ? Time.valueOf(logIn) : null, logOut != null ? Time.valueOf(logOut) : null));
+        }
+    }
+
+    private void addSampleRows() {
+        add(10001, 0, LocalTime.of(8, 0), LocalTime.of(17, 0));
+        add(10001, 1, LocalTime.of(8, 15, 30), LocalTime.of(16, 59, 30));
+        add(10001, 2, LocalTime.of(9, 42, 10), LocalTime.of(15, 20));
+        add(10001, 3, null, null);
+        add(10001, 4, LocalTime.of(7, 55), null);
+        add(10002, 0, LocalTime.of(8, 30), LocalTime.of(17, 30));
+        add(10005, 0, LocalTime.of(8, 5), LocalTime.of(17, 0));
+    }
+
+    public void testRowsGroupedByEmployee() {
+        addSampleRows();
+        AttendanceBlock block = builder.build();
+
+        assert block.size() == 7 : "Every row should be kept";
+        assert block.getEmployeeCount() == 3 : "Three employees expected";
+        assert block.countRows(10001) == 5 : "Employee 10001 should have 5 rows";
+        assert block.countRows(10005) == 1 : "Employee 10005 should have 1 row";
+        assert block.countRows(10003) == 0 : "Employee without rows should have none";
+        assert block.covers(PERIOD_START, PERIOD_END) : "Block should cover its period";
+        assert !block.covers(PERIOD_START, PERIOD_END.minusDays(1)) : "Block should not cover another period";
+        System.out.println("✅ testRowsGroupedByEmployee passed");
+    }
+
+    public void testMatchesAttendanceRecords() {
+        addSampleRows();
+        AttendanceBlock block = builder.build();
+
+        int daysPresent = 0;
+        long workMinutes = 0;
+        long lateMinutes = 0;
+        long undertimeMinutes = 0;
+        for (Attendance attendance : employee10001) {
+            if (attendance.getLogIn() != null) {
+                daysPresent++;
+                LocalTime logIn = attendance.getLogIn().toLocalTime();
+                if (logIn.isAfter(LATE_THRESHOLD)) {
+                    lateMinutes += ChronoUnit.MINUTES.between(STANDARD_LOGIN, logIn);
+                }
+            }
+            workMinutes += attendance.getWorkDuration().toMinutes();
+            if (attendance.getLogOut() != null && attendance.getLogOut().toLocalTime().isBefore(STANDARD_LOGOUT)) {
+                undertimeMinutes += ChronoUnit.MINUTES.between(attendance.getLogOut().toLocalTime(), STANDARD_LOGOUT);
+            }
+        }
+
+        assert block.countDaysPresent(10001) == daysPresent : "Days present should match the records";
+        assert block.totalWorkMinutes(10001) == workMinutes : "Work minutes should match getWorkDuration()";
+        assert block.totalLateMinutes(10001, STANDARD_LOGIN, LATE_THRESHOLD) == lateMinutes : "Late minutes should match";
+        assert block.totalUndertimeMinutes(10001, STANDARD_LOGOUT) == undertimeMinutes : "Undertime minutes should match";
+        assert lateMinutes == 15 + 102 : "Seconds past the threshold should count as late";
+        System.out.println("✅ testMatchesAttendanceRecords passed");
+    }
+
+    public void testUnknownEmployeeIsZero() {
+        addSampleRows();
+        AttendanceBlock block = builder.build();
+
+        assert block.countDaysPresent(99999) == 0 : "Unknown employee should have no days";
+        assert block.totalLateMinutes(99999, STANDARD_LOGIN, LATE_THRESHOLD) == 0 : "Unknown employee should not be late";
+        assert new AttendanceBlock.Builder(PERIOD_START, PERIOD_END).build().size() == 0 : "Empty block should be empty";
+        System.out.println("✅ testUnknownEmployeeIsZero passed");
+    }
+
+    public void testGrowsPastInitialCapacity() {
+        for (int employeeId = 1; employeeId <= 200; employeeId++) {
+            for (int day = 0; day < 30; day++) {
+                builder.add(employeeId, PERIOD_START.plusDays(day), LocalTime.of(8, 0), LocalTime.of(17, 0));
+            }
+        }
+        AttendanceBlock block = builder.build();
+
+        assert block.size() == 6000 : "All rows should be kept";
+        assert block.getEmployeeCount() == 200 : "All employees should be kept";
+        assert block.countDaysPresent(137) == 30 : "Each employee should have 30 days";
+        assert block.totalWorkMinutes(200) == 30 * 540 : "Work minutes of the last employee should be complete";
+        System.out.println("✅ testGrowsPastInitialCapacity passed");
+    }
+
+    public void testRejectsUnorderedEmployees() {
+        builder.add(10002, PERIOD_START, LocalTime.of(8, 0), LocalTime.of(17, 0));
+        try {
+            builder.add(10001, PERIOD_START, LocalTime.of(8, 0), LocalTime.of(17, 0));
+            assert false : "Rows out of employee order should be rejected";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        System.out.println("✅ testRejectsUnorderedEmployees passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Attendance Block Tests...");
+
+        AttendanceBlockTest test = new AttendanceBlockTest();
+
+        try {
+            test.setUp();
+            test.testRowsGroupedByEmployee();
+
+            test.setUp();
+            test.testMatchesAttendanceRecords();
+
+            test.setUp();
+            test.testUnknownEmployeeIsZero();
+
+            test.setUp();
+            test.testGrowsPastInitialCapacity();
+
+            test.setUp();
+            test.testRejectsUnorderedEmployees();
+
+            System.out.println("🎉 All Attendance Block Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import model.Attendance;
+import service.AttendanceImportService;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class AttendanceImportServiceTest {
+
+    private AttendanceImportService importService;
+    private Set<Integer> employeeIds;
+
+    public void setUp() {
+        importService = new AttendanceImportService(null, null);
+        employeeIds = new HashSet<>(Arrays.asList(10001, 10002, 10003));
+    }
+
+    private AttendanceImportService.ImportResult validate(String content) throws Exception {
+        return importService.validate(new StringReader(content), employeeIds);
+    }
+
+    public void testCsvWithHeader() throws Exception {
+        AttendanceImportService.ImportResult result = validate(
+                "employee_id,date,log_in,log_out\n" +
+                "10001,2024-06-03,08:59,18:31\n" +
+                "10002,2024-06-03,10:35:00,19:44:00\n");
+
+        assert result.getRecords().size() == 2 : "Both rows should become records";
+        assert !result.hasErrors() : "Header row should not be reported as an error";
+        System.out.println("✅ testCsvWithHeader passed");
+    }
+
+    public void testPunchesGroupedPerDay() throws Exception {
+        AttendanceImportService.ImportResult result = validate(
+                "10001,2024-06-03 12:01\n" +
+                "10001,2024-06-03 08:02\n" +
+                "10001,2024-06-03 17:30\n" +
+                "10001,2024-06-03 13:00\n");
+
+        assert result.getRecords().size() == 1 : "Punches of one day should form one record";
+        Attendance attendance = result.getRecords().get(0);
+        assert attendance.getLogIn().toString().equals("08:02:00") : "First punch should be the log in";
+        assert attendance.getLogOut().toString().equals("17:30:00") : "Last punch should be the log out";
+        assert result.getPunchesRead() == 4 : "All punches should be counted";
+        System.out.println("✅ testPunchesGroupedPerDay passed");
+    }
+
+    public void testFixedWidth() throws Exception {
+        AttendanceImportService.ImportResult result = validate(
+                "00010003202406030800\n" +
+                "00010003202406031705\n" +
+                "000100022024060409001800\n");
+
+        assert result.getRecords().size() == 2 : "Fixed-width lines should be parsed";
+        assert !result.hasErrors() : "Valid fixed-width lines should not produce errors";
+        System.out.println("✅ testFixedWidth passed");
+    }
+
+    public void testInvalidRowsReported() throws Exception {
+        AttendanceImportService.ImportResult result = validate(
+                "10001,2024-06-03,08:00,17:00\n" +
+                "99999,2024-06-03,08:00,17:00\n" +
+                "10002,not-a-date,08:00,17:00\n" +
+                "10003,2024-06-03,08:00\n");
+
+        assert result.getRecords().size() == 1 : "Only the valid row should become a record";
+        assert result.getErrorCount() == 3 : "Unknown employee, bad date and single punch should be reported";
+        System.out.println("✅ testInvalidRowsReported passed");
+    }
+
+    public void testErrorReportInLineOrder() throws Exception {
+        AttendanceImportService.ImportResult result = validate(
+                "10003,2024-06-03,08:00\n" +
+                "10001,2024-06-03,08:00,17:00\n" +
+                "99999,2024-06-03,08:00,17:00\n");
+
+        File report = File.createTempFile("attendance-import", ".errors.csv");
+        try {
+            result.writeErrorReport(report);
+            List<String> lines = Files.readAllLines(report.toPath(), StandardCharsets.UTF_8);
+            assert lines.size() == 3 : "Header and two errors expected";
+            assert lines.get(1).startsWith("1,10003,") : "Single punch should be reported against line 1";
+            assert lines.get(2).startsWith("3,99999,") : "Unknown employee should follow on line 3";
+        } finally {
+            report.delete();
+        }
+        System.out.println("✅ testErrorReportInLineOrder passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Attendance Import Service Tests...");
+
+        AttendanceImportServiceTest test = new AttendanceImportServiceTest();
+
+        try {
+            test.setUp();
+            test.testCsvWithHeader();
+
+            test.setUp();
+            test.testPunchesGroupedPerDay();
+
+            test.setUp();
+            test.testFixedWidth();
+
+            test.setUp();
+            test.testInvalidRowsReported();
+
+            test.setUp();
+            test.testErrorReportInLineOrder();
+
+            System.out.println("🎉 All Attendance Import Service Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
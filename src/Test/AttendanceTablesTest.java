@@ -0,0 +1,110 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import util.AppConfig;
+import util.AttendanceTables;
+import java.time.LocalDate;
+import java.util.Properties;
+
+public class AttendanceTablesTest {
+
+    private static final String SELECT_BETWEEN_DATES =
+            "SELECT * FROM attendance WHERE employee_id = ? AND date >= ? AND date <= ?";
+
+    private static final LocalDate HOT_BOUNDARY = LocalDate.of(2024, 10, 1);
+
+    private AttendanceTables tables;
+
+    public void setUp() {
+        tables = new AttendanceTables(HOT_BOUNDARY);
+    }
+
+    public void testHotBoundaryFromConfig() {
+        Properties properties = new Properties();
+        properties.setProperty("attendance.hot.months", "3");
+        AppConfig config = AppConfig.fromProperties(properties);
+
+        assert config.getAttendanceHotBoundary(LocalDate.of(2026, 10, 19)).equals(LocalDate.of(2026, 7, 1))
+                : "Boundary should be the first day of the month 3 months back";
+        assert config.getAttendanceHotBoundary(LocalDate.of(2026, 3, 31)).equals(LocalDate.of(2025, 12, 1))
+                : "Boundary should cross the year";
+        assert AppConfig.defaults().getAttendanceHotMonths() == 24 : "Default hot window should be 24 months";
+        System.out.println("✅ testHotBoundaryFromConfig passed");
+    }
+
+    public void testRecentQueryReadsHotTableOnly() {
+        String sql = tables.select(SELECT_BETWEEN_DATES, HOT_BOUNDARY);
+
+        assert sql.equals(SELECT_BETWEEN_DATES) : "Query from the boundary on should be unchanged";
+        assert tables.branches(HOT_BOUNDARY) == 1 : "Parameters should be bound once";
+        System.out.println("✅ testRecentQueryReadsHotTableOnly passed");
+    }
+
+    public void testOldQueryReadsArchiveToo() {
+        String sql = tables.select(SELECT_BETWEEN_DATES, HOT_BOUNDARY.minusDays(1));
+
+        assert sql.equals(SELECT_BETWEEN_DATES + " UNION ALL " +
+                "SELECT * FROM attendance_archive WHERE employee_id = ? AND date >= ? AND date <= ?")
+                : "Query before the boundary should add the archive: " + sql;
+        assert tables.branches(HOT_BOUNDARY.minusDays(1)) == 2 : "Parameters should be bound per branch";
+        assert tables.branches(null) == 2 : "Query without a lower bound should read the archive";
+        System.out.println("✅ testOldQueryReadsArchiveToo passed");
+    }
+
+    public void testRejectsQueryWithoutSingleHotTable() {
+        try {
+            tables.select("SELECT * FROM attendance_archive WHERE id = ?", null);
+            assert false : "Query without the hot table should be rejected";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            tables.select("SELECT * FROM attendance WHERE id IN (SELECT id FROM attendance)", null);
+            assert false : "Query reading the hot table twice should be rejected";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        System.out.println("✅ testRejectsQueryWithoutSingleHotTable passed");
+    }
+
+    public void testArchivedDatesAreReadOnly() {
+        tables.requireWritable(HOT_BOUNDARY);
+        try {
+            tables.requireWritable(HOT_BOUNDARY.minusDays(1));
+            assert false : "Archived date should be read-only";
+        } catch (IllegalArgumentException e) {
+            assert e.getMessage().contains("read-only") : "Message should say the date is read-only";
+        }
+        System.out.println("✅ testArchivedDatesAreReadOnly passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Attendance Tables Tests...");
+
+        AttendanceTablesTest test = new AttendanceTablesTest();
+
+        try {
+            test.setUp();
+            test.testHotBoundaryFromConfig();
+
+            test.setUp();
+            test.testRecentQueryReadsHotTableOnly();
+
+            test.setUp();
+            test.testOldQueryReadsArchiveToo();
+
+            test.setUp();
+            test.testRejectsQueryWithoutSingleHotTable();
+
+            test.setUp();
+            test.testArchivedDatesAreReadOnly();
+
+            System.out.println("🎉 All Attendance Tables Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -4,6 +4,7 @@ package Test;
 import dao.EmployeeDAO;
 import model.Employee;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 public class EmployeeDAOTest {
@@ -118,6 +119,31 @@ public class EmployeeDAOTest {
         System.out.println("✅ testGetEmployeeCountByStatus passed - Regular: " + regularCount + ", Probationary: " + probationaryCount);
     }
 
+    public void testStatusPagesCrossStatusBoundary() {
+        // Arrange: pages small enough that Regular and Probationary land on different pages
+        int pageSize = 5;
+        List<Employee> paged = new ArrayList<>();
+        Employee last = null;
+
+        // Act
+        while (true) {
+            List<Employee> page = employeeDAO.getEmployeesPage(EmployeeDAO.EmployeeSort.STATUS, true, last, pageSize);
+            paged.addAll(page);
+            if (page.size() < pageSize) {
+                break;
+            }
+            last = page.get(page.size() - 1);
+        }
+
+        // Assert
+        assert paged.size() == employeeDAO.countEmployees() : "Paging by status should reach every employee";
+        assert paged.stream().anyMatch(emp -> "Regular".equals(emp.getStatus())) : "Regular employees should be paged";
+        assert paged.stream().anyMatch(emp -> "Probationary".equals(emp.getStatus())) :
+            "Probationary employees should be paged";
+
+        System.out.println("✅ testStatusPagesCrossStatusBoundary passed - Paged " + paged.size() + " employees");
+    }
+
     public void testEmployeeValidation() {
         // Test null employee
         try {
@@ -178,6 +204,9 @@ public class EmployeeDAOTest {
             test.setUp();
             test.testGetEmployeeCountByStatus();
             
+            test.setUp();
+            test.testStatusPagesCrossStatusBoundary();
+
             test.setUp();
             test.testEmployeeValidation();
             
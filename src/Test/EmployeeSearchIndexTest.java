@@ -0,0 +1,145 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import model.Employee;
+import util.EmployeeSearchIndex;
+import java.util.Arrays;
+import java.util.List;
+
+public class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    public void setUp() {
+        index = EmployeeSearchIndex.getInstance();
+        index.invalidate();
+        index.ensureLoaded(() -> Arrays.asList(
+                createEmployee(10001, "Manuel", "Garcia", "Chief Executive Officer"),
+                createEmployee(10002, "Antonio", "Lim", "Chief Operating Officer"),
+                createEmployee(10003, "Bianca", "Aquino", "HR Manager"),
+                createEmployee(10015, "Maria", "Garcia-Santos", "Payroll Rank and File")));
+    }
+
+    private Employee createEmployee(int id, String firstName, String lastName, String position) {
+        Employee employee = new Employee(firstName, lastName, id);
+        employee.setPosition(position);
+        return employee;
+    }
+
+    public void testNamePrefixSearch() {
+        List<Employee> results = index.search("garc", 0);
+
+        assert results.size() == 2 : "Both Garcia employees should match the prefix";
+        System.out.println("✅ testNamePrefixSearch passed");
+    }
+
+    public void testExactIdRanksFirst() {
+        List<Employee> results = index.search("10001", 0);
+
+        assert !results.isEmpty() : "Exact ID should match";
+        assert results.get(0).getEmployeeId() == 10001 : "Exact ID match should rank first";
+        System.out.println("✅ testExactIdRanksFirst passed");
+    }
+
+    public void testIdPrefixSearch() {
+        List<Employee> results = index.search("1000", 0);
+
+        assert results.size() == 3 : "ID prefix should match 10001, 10002 and 10003";
+        System.out.println("✅ testIdPrefixSearch passed");
+    }
+
+    public void testSubstringSearch() {
+        List<Employee> results = index.search("quin", 0);
+
+        assert results.size() == 1 : "Substring inside a name should match";
+        assert results.get(0).getEmployeeId() == 10003 : "Aquino should be found";
+        System.out.println("✅ testSubstringSearch passed");
+    }
+
+    public void testMultiWordSearch() {
+        List<Employee> results = index.search("chief operating", 0);
+
+        assert results.size() == 1 : "All words must match";
+        assert results.get(0).getEmployeeId() == 10002 : "COO should be found";
+        System.out.println("✅ testMultiWordSearch passed");
+    }
+
+    public void testIncrementalUpdate() {
+        index.put(createEmployee(10050, "Zenaida", "Reyes", "Accounting Head"));
+        assert index.search("zenaida", 0).size() == 1 : "Added employee should be searchable";
+
+        index.put(createEmployee(10050, "Zenaida", "Cruz", "Accounting Head"));
+        assert index.search("reyes", 0).isEmpty() : "Old name should no longer match after update";
+        assert index.search("cruz", 0).size() == 1 : "New name should match after update";
+
+        index.remove(10050);
+        assert index.search("zenaida", 0).isEmpty() : "Removed employee should not be searchable";
+        System.out.println("✅ testIncrementalUpdate passed");
+    }
+
+    public void testSearchIdsInRankedOrder() {
+        List<Integer> ids = index.searchIds("1000");
+        List<Employee> results = index.search("1000", 0);
+
+        assert ids.size() == results.size() : "IDs should cover every match";
+        for (int i = 0; i < ids.size(); i++) {
+            assert ids.get(i) == results.get(i).getEmployeeId() : "IDs should be in search order";
+        }
+        assert index.searchIds("  ").isEmpty() : "Blank term should match nothing";
+        System.out.println("✅ testSearchIdsInRankedOrder passed");
+    }
+
+    public void testIndexHoldsCopies() {
+        Employee employee = createEmployee(10050, "Zenaida", "Reyes", "Accounting Head");
+        index.put(employee);
+        employee.setLastName("Cruz");
+        assert index.search("zenaida", 0).get(0).getLastName().equals("Reyes")
+                : "Changing the caller's employee should not change the index";
+
+        index.search("zenaida", 0).get(0).setLastName("Cruz");
+        assert index.search("zenaida", 0).get(0).getLastName().equals("Reyes")
+                : "Changing a search result should not change the index";
+        System.out.println("✅ testIndexHoldsCopies passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Employee Search Index Tests...");
+
+        EmployeeSearchIndexTest test = new EmployeeSearchIndexTest();
+
+        try {
+            test.setUp();
+            test.testNamePrefixSearch();
+
+            test.setUp();
+            test.testExactIdRanksFirst();
+
+            test.setUp();
+            test.testIdPrefixSearch();
+
+            test.setUp();
+            test.testSubstringSearch();
+
+            test.setUp();
+            test.testMultiWordSearch();
+
+            test.setUp();
+            test.testIncrementalUpdate();
+
+            test.setUp();
+            test.testSearchIdsInRankedOrder();
+
+            test.setUp();
+            test.testIndexHoldsCopies();
+
+            System.out.println("🎉 All Employee Search Index Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            test.index.invalidate();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import model.LeaveRequest;
+import util.LeaveIndex;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class LeaveIndexTest {
+
+    private LeaveIndex index;
+
+    public void setUp() {
+        index = LeaveIndex.getInstance();
+        index.invalidate();
+        index.ensureLoaded(() -> Arrays.asList(
+                createLeave(1, 10001, "2024-06-03", "2024-06-07", LeaveRequest.STATUS_APPROVED),
+                createLeave(2, 10001, "2024-07-01", "2024-07-01", LeaveRequest.STATUS_PENDING),
+                createLeave(3, 10002, "2024-05-20", "2024-06-04", LeaveRequest.STATUS_APPROVED),
+                createLeave(4, 10003, "2024-06-05", "2024-06-05", LeaveRequest.STATUS_REJECTED)));
+    }
+
+    private LeaveRequest createLeave(int leaveId, int employeeId, String start, String end, String status) {
+        LeaveRequest leave = new LeaveRequest(employeeId, Date.valueOf(start), Date.valueOf(end), LeaveRequest.ANNUAL_LEAVE);
+        leave.setLeaveId(leaveId);
+        leave.setStatus(status);
+        return leave;
+    }
+
+    public void testOverlapCheck() {
+        assert index.hasOverlap(10001, LocalDate.parse("2024-06-07"), LocalDate.parse("2024-06-10"),
+                LeaveRequest.STATUS_APPROVED, null) : "Range touching the last day should overlap";
+        assert !index.hasOverlap(10001, LocalDate.parse("2024-06-08"), LocalDate.parse("2024-06-30"),
+                LeaveRequest.STATUS_APPROVED, null) : "Range after the leave should not overlap";
+        assert !index.hasOverlap(10001, LocalDate.parse("2024-07-01"), LocalDate.parse("2024-07-01"),
+                LeaveRequest.STATUS_APPROVED, null) : "Pending leave should not count as approved";
+        assert !index.hasOverlap(10001, LocalDate.parse("2024-06-04"), LocalDate.parse("2024-06-05"),
+                LeaveRequest.STATUS_APPROVED, 1) : "Excluded leave should be ignored";
+        System.out.println("✅ testOverlapCheck passed");
+    }
+
+    public void testWhoIsOnLeave() {
+        List<LeaveRequest> onLeave = index.findOnDate(LocalDate.parse("2024-06-04"), LeaveRequest.STATUS_APPROVED);
+
+        assert onLeave.size() == 2 : "Both long-running approved leaves cover June 4";
+        System.out.println("✅ testWhoIsOnLeave passed");
+    }
+
+    public void testTeamCalendar() {
+        List<LeaveRequest> team = index.findOverlapping(LocalDate.parse("2024-06-01"), LocalDate.parse("2024-06-30"),
+                LeaveRequest.STATUS_APPROVED, Collections.singleton(10002));
+
+        assert team.size() == 1 : "Only the team member's leave should be returned";
+        assert team.get(0).getLeaveId() == 3 : "Leave starting in May should still appear in June";
+        System.out.println("✅ testTeamCalendar passed");
+    }
+
+    public void testIncrementalUpdate() {
+        index.updateStatus(2, LeaveRequest.STATUS_APPROVED);
+        assert index.findOnDate(LocalDate.parse("2024-07-01"), LeaveRequest.STATUS_APPROVED).size() == 1
+                : "Approved status should be visible after update";
+
+        index.put(createLeave(2, 10001, "2024-07-10", "2024-07-12", LeaveRequest.STATUS_APPROVED));
+        assert index.findOnDate(LocalDate.parse("2024-07-01"), null).isEmpty() : "Old dates should no longer match";
+        assert index.findOnDate(LocalDate.parse("2024-07-11"), null).size() == 1 : "New dates should match";
+
+        index.remove(2);
+        assert index.findOnDate(LocalDate.parse("2024-07-11"), null).isEmpty() : "Removed leave should not match";
+        assert index.size() == 3 : "Three leaves should remain";
+        System.out.println("✅ testIncrementalUpdate passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Leave Index Tests...");
+
+        LeaveIndexTest test = new LeaveIndexTest();
+
+        try {
+            test.setUp();
+            test.testOverlapCheck();
+
+            test.setUp();
+            test.testWhoIsOnLeave();
+
+            test.setUp();
+            test.testTeamCalendar();
+
+            test.setUp();
+            test.testIncrementalUpdate();
+
+            System.out.println("🎉 All Leave Index Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            test.index.invalidate();
+        }
+    }
+}
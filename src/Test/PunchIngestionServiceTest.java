@@ -0,0 +1,200 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import dao.AttendanceDAO;
+import model.Attendance;
+import service.PunchIngestionService;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PunchIngestionServiceTest {
+
+    private List<Attendance> written;
+    private boolean failWrites;
+    private boolean connectionLost;
+    private int writeAttempts;
+    // Records of this employee fail like a foreign key violation
+    private static final int POISON_EMPLOYEE_ID = 99999;
+    // Records of this employee are rejected as invalid
+    private static final int INVALID_EMPLOYEE_ID = 88888;
+    private PunchIngestionService ingestion;
+
+    public void setUp() {
+        written = new ArrayList<>();
+        failWrites = false;
+        connectionLost = false;
+        writeAttempts = 0;
+        AttendanceDAO recordingDAO = new AttendanceDAO() {
+            @Override
+            public int upsertAttendanceBatch(List<Attendance> records) {
+                writeAttempts++;
+                if (connectionLost) {
+                    throw new RuntimeException("Failed to upsert attendance batch",
+                            new SQLNonTransientConnectionException("Simulated communications link failure", "08S01"));
+                }
+                if (failWrites) {
+                    throw new RuntimeException("Simulated database outage");
+                }
+                for (Attendance record : records) {
+                    if (record.getEmployeeId() == POISON_EMPLOYEE_ID) {
+                        throw new RuntimeException("Simulated foreign key violation");
+                    }
+                    if (record.getEmployeeId() == INVALID_EMPLOYEE_ID) {
+                        throw new IllegalArgumentException("Simulated invalid record");
+                    }
+                }
+                written.addAll(records);
+                return records.size();
+            }
+        };
+        // Long interval so only explicit flushes write
+        ingestion = new PunchIngestionService(recordingDAO, 3_600_000, 1000);
+    }
+
+    public void tearDown() {
+        ingestion.shutdown();
+    }
+
+    public void testPunchesCoalescedPerDay() {
+        ingestion.recordPunch(10001, LocalDateTime.of(2024, 6, 3, 8, 1));
+        ingestion.recordPunch(10001, LocalDateTime.of(2024, 6, 3, 17, 45));
+        ingestion.recordPunch(10001, LocalDateTime.of(2024, 6, 3, 12, 0));
+        ingestion.recordPunch(10002, LocalDateTime.of(2024, 6, 3, 7, 58));
+
+        assert ingestion.getPendingCount() == 2 : "One pending entry per employee and day";
+        assert written.isEmpty() : "Nothing should be written before a flush";
+
+        assert ingestion.flush() == 2 : "Both days should be written in one batch";
+        Attendance first = written.stream().filter(a -> a.getEmployeeId() == 10001).findFirst().orElse(null);
+        assert first != null : "Employee 10001 should be written";
+        assert first.getLogIn().toString().equals("08:01:00") : "Earliest punch should be the log in";
+        assert first.getLogOut().toString().equals("17:45:00") : "Latest punch should be the log out";
+
+        Attendance second = written.stream().filter(a -> a.getEmployeeId() == 10002).findFirst().orElse(null);
+        assert second != null && second.getLogOut() == null : "A single punch has no log out yet";
+        System.out.println("✅ testPunchesCoalescedPerDay passed");
+    }
+
+    public void testFailedFlushIsRetried() {
+        ingestion.recordPunch(10003, LocalDateTime.of(2024, 6, 3, 8, 0));
+        failWrites = true;
+        try {
+            ingestion.flush();
+            assert false : "Flush should report the failure";
+        } catch (RuntimeException expected) {
+            // expected
+        }
+        assert ingestion.getPendingCount() == 1 : "Failed batch should be queued again";
+
+        failWrites = false;
+        assert ingestion.flush() == 1 : "Retried batch should be written";
+        assert ingestion.getPendingCount() == 0 : "Nothing should remain pending";
+        System.out.println("✅ testFailedFlushIsRetried passed");
+    }
+
+    public void testConnectionFailureStopsSingleWrites() {
+        ingestion.recordPunch(10001, LocalDateTime.of(2024, 6, 3, 8, 0));
+        ingestion.recordPunch(10002, LocalDateTime.of(2024, 6, 3, 8, 5));
+        ingestion.recordPunch(10003, LocalDateTime.of(2024, 6, 3, 8, 10));
+        connectionLost = true;
+        try {
+            ingestion.flush();
+            assert false : "Flush should report the connection failure";
+        } catch (RuntimeException expected) {
+            // expected
+        }
+        assert writeAttempts == 2 : "Only the batch and the first single write should be tried";
+        assert ingestion.getPendingCount() == 3 : "Every day should be queued again";
+
+        // An outage is not counted against the records
+        for (int i = 0; i < 5; i++) {
+            try {
+                ingestion.flush();
+            } catch (RuntimeException expected) {
+                // expected
+            }
+        }
+        assert ingestion.getDeadLetters().isEmpty() : "Outage should not dead-letter records";
+
+        connectionLost = false;
+        assert ingestion.flush() == 3 : "Queued days should be written once the database is back";
+        System.out.println("✅ testConnectionFailureStopsSingleWrites passed");
+    }
+
+    public void testPoisonRecordDoesNotBlockOthers() {
+        ingestion.recordPunch(POISON_EMPLOYEE_ID, LocalDateTime.of(2024, 6, 3, 8, 0));
+        ingestion.recordPunch(10001, LocalDateTime.of(2024, 6, 3, 8, 5));
+        ingestion.recordPunch(10002, LocalDateTime.of(2024, 6, 3, 8, 10));
+
+        assert ingestion.flush() == 2 : "Good records should be written one by one";
+        assert ingestion.getPendingCount() == 1 : "Failing record should be retried later";
+
+        ingestion.recordPunch(10003, LocalDateTime.of(2024, 6, 3, 8, 15));
+        assert ingestion.flush() == 1 : "New punch should not be held back";
+        ingestion.recordPunch(10004, LocalDateTime.of(2024, 6, 3, 8, 20));
+        assert ingestion.flush() == 1 : "New punch should not be held back";
+
+        assert ingestion.getPendingCount() == 0 : "Record failing every flush should be given up";
+        assert ingestion.getDeadLetters().size() == 1 : "Given up record should be a dead letter";
+        assert ingestion.getDeadLetters().get(0).getEmployeeId() == POISON_EMPLOYEE_ID : "Poison record expected";
+        System.out.println("✅ testPoisonRecordDoesNotBlockOthers passed");
+    }
+
+    public void testInvalidRecordDeadLetteredAtOnce() {
+        ingestion.recordPunch(INVALID_EMPLOYEE_ID, LocalDateTime.of(2024, 6, 3, 8, 0));
+
+        assert ingestion.flush() == 0 : "Invalid record should not be written";
+        assert ingestion.getPendingCount() == 0 : "Invalid record should not be queued again";
+        assert ingestion.getDeadLetters().size() == 1 : "Invalid record should be a dead letter";
+        System.out.println("✅ testInvalidRecordDeadLetteredAtOnce passed");
+    }
+
+    public void testShutdownFlushesPending() {
+        ingestion.recordPunch(10001, LocalDateTime.of(2024, 6, 4, 8, 0));
+        ingestion.shutdown();
+
+        assert written.size() == 1 : "Pending punches should be written on shutdown";
+        System.out.println("✅ testShutdownFlushesPending passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Punch Ingestion Service Tests...");
+
+        PunchIngestionServiceTest test = new PunchIngestionServiceTest();
+
+        try {
+            test.setUp();
+            test.testPunchesCoalescedPerDay();
+            test.tearDown();
+
+            test.setUp();
+            test.testFailedFlushIsRetried();
+            test.tearDown();
+
+            test.setUp();
+            test.testConnectionFailureStopsSingleWrites();
+            test.tearDown();
+
+            test.setUp();
+            test.testPoisonRecordDoesNotBlockOthers();
+            test.tearDown();
+
+            test.setUp();
+            test.testInvalidRecordDeadLetteredAtOnce();
+            test.tearDown();
+
+            test.setUp();
+            test.testShutdownFlushesPending();
+            test.tearDown();
+
+            System.out.println("🎉 All Punch Ingestion Service Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import util.AppConfig;
+import util.ReadReplicaRouter;
+import java.sql.SQLException;
+import java.util.Properties;
+
+public class ReadReplicaRouterTest {
+
+    private AppConfig config;
+    private long now;
+    private int probeCalls;
+    private Long lagSeconds;
+    private boolean replicaDown;
+    private ReadReplicaRouter router;
+
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("db.replica.host", "localhost");
+        properties.setProperty("db.replica.port", "3307");
+        properties.setProperty("db.replica.max.lag.seconds", "5");
+        properties.setProperty("db.replica.check.seconds", "10");
+        config = AppConfig.fromProperties(properties);
+
+        now = 1_000_000L;
+        probeCalls = 0;
+        lagSeconds = 0L;
+        replicaDown = false;
+        router = new ReadReplicaRouter(() -> config, () -> {
+            probeCalls++;
+            if (replicaDown) {
+                throw new SQLException("Connection refused");
+            }
+            return lagSeconds;
+        }, () -> now);
+    }
+
+    public void testReplicaSettings() {
+        assert config.isReplicaEnabled() : "Replica should be enabled when a host is set";
+        assert config.getReplicaUrl().startsWith("jdbc:mysql://localhost:3307/") : "Replica URL should use its own port";
+        assert config.getReplicaUsername().equals(config.getDatabaseUsername()) : "Replica should default to the primary's user";
+        assert !AppConfig.defaults().isReplicaEnabled() : "Replica should be disabled by default";
+        System.out.println("✅ testReplicaSettings passed");
+    }
+
+    public void testNotConfiguredUsesPrimary() {
+        config = AppConfig.defaults();
+
+        assert !router.shouldUseReplica() : "Reads should go to the primary without a replica";
+        assert probeCalls == 0 : "Lag should not be measured without a replica";
+        System.out.println("✅ testNotConfiguredUsesPrimary passed");
+    }
+
+    public void testLagBound() {
+        lagSeconds = 5L;
+        assert router.shouldUseReplica() : "Lag at the bound should be accepted";
+
+        now += 10_000;
+        lagSeconds = 6L;
+        assert !router.shouldUseReplica() : "Lag over the bound should fall back to the primary";
+
+        now += 10_000;
+        lagSeconds = null;
+        assert !router.shouldUseReplica() : "Stopped replication should fall back to the primary";
+        System.out.println("✅ testLagBound passed");
+    }
+
+    public void testLagCheckedOncePerInterval() {
+        router.shouldUseReplica();
+        router.shouldUseReplica();
+        now += 9_999;
+        router.shouldUseReplica();
+        assert probeCalls == 1 : "Lag should be measured once per check interval";
+
+        now += 1;
+        router.shouldUseReplica();
+        assert probeCalls == 2 : "Lag should be measured again after the interval";
+        System.out.println("✅ testLagCheckedOncePerInterval passed");
+    }
+
+    public void testFailureFallsBackUntilNextCheck() {
+        replicaDown = true;
+        assert !router.shouldUseReplica() : "Unreachable replica should fall back to the primary";
+
+        replicaDown = false;
+        now += 10_000;
+        assert router.shouldUseReplica() : "Replica should be used again once it answers";
+
+        router.replicaFailed(new SQLException("Connection reset"));
+        assert !router.shouldUseReplica() : "Failed connection should skip the replica until the next check";
+
+        now += 10_000;
+        assert router.shouldUseReplica() : "Replica should be checked again after the interval";
+        System.out.println("✅ testFailureFallsBackUntilNextCheck passed");
+    }
+
+    public void testReadScope() {
+        assert !ReadReplicaRouter.isInReadScope() : "Reads should not be in a read scope by default";
+
+        ReadReplicaRouter.ReadScope outer = ReadReplicaRouter.openReadScope();
+        try {
+            boolean nested = ReadReplicaRouter.readFromReplica(ReadReplicaRouter::isInReadScope);
+            assert nested : "Nested scope should be a read scope";
+            assert ReadReplicaRouter.isInReadScope() : "Closing a nested scope should keep the outer one";
+        } finally {
+            outer.close();
+        }
+        assert !ReadReplicaRouter.isInReadScope() : "Closing the outer scope should end the read scope";
+        System.out.println("✅ testReadScope passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Read Replica Router Tests...");
+
+        ReadReplicaRouterTest test = new ReadReplicaRouterTest();
+
+        try {
+            test.setUp();
+            test.testReplicaSettings();
+
+            test.setUp();
+            test.testNotConfiguredUsesPrimary();
+
+            test.setUp();
+            test.testLagBound();
+
+            test.setUp();
+            test.testLagCheckedOncePerInterval();
+
+            test.setUp();
+            test.testFailureFallsBackUntilNextCheck();
+
+            test.setUp();
+            test.testReadScope();
+
+            System.out.println("🎉 All Read Replica Router Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import model.EmploymentStatus;
+import model.Position;
+import model.UserRole;
+import util.PositionRoleMapper;
+import util.ReferenceDataCache;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class ReferenceDataCacheTest {
+
+    private ReferenceDataCache cache;
+
+    public void setUp() {
+        cache = ReferenceDataCache.getInstance();
+        cache.invalidate();
+    }
+
+    private void loadSample(long version) {
+        Position payroll = new Position(3, "Payroll Manager", "Finance");
+        Position analyst = new Position(7, "Data Analyst", "IT");
+        EmploymentStatus regular = new EmploymentStatus(1, "Regular", "Full-time regular employee");
+        regular.setMaxLeaveDays(15);
+
+        cache.load(version, Arrays.asList(payroll, analyst), Collections.singletonList(regular),
+                Map.of(1, "Finance", 2, "IT"), Map.of("Data Analyst", UserRole.SENIOR_EMPLOYEE));
+    }
+
+    public void testBuiltInRolesBeforeLoad() {
+        assert !cache.isLoaded() : "Cache should start unloaded";
+        assert PositionRoleMapper.getUserRole("HR Manager") == UserRole.HR_MANAGER : "Built-in mapping should apply";
+        assert PositionRoleMapper.getUserRole("Data Analyst") == UserRole.EMPLOYEE : "Unknown position should default";
+        System.out.println("✅ testBuiltInRolesBeforeLoad passed");
+    }
+
+    public void testStoredRoleForNewPosition() {
+        loadSample(4);
+
+        assert cache.getVersion() == 4 : "Loaded version should be kept";
+        assert PositionRoleMapper.getUserRole("  data analyst ") == UserRole.SENIOR_EMPLOYEE : "Stored role should apply";
+        assert PositionRoleMapper.getUserRole("Payroll Manager") == UserRole.PAYROLL_ADMIN : "Built-in roles should remain";
+        assert PositionRoleMapper.isPositionMapped("Data Analyst") : "New position should be mapped";
+        System.out.println("✅ testStoredRoleForNewPosition passed");
+    }
+
+    public void testLookups() {
+        loadSample(1);
+
+        assert "Payroll Manager".equals(cache.getPosition(3).getPositionName()) : "Position by ID";
+        assert cache.getPositionByTitle("payroll manager").getPositionId() == 3 : "Position by title";
+        assert cache.getStatusByName("REGULAR").getMaxLeaveDays() == 15 : "Status by name";
+        assert "IT".equals(cache.getDepartmentName(2)) : "Department by ID";
+        assert cache.getPosition(99) == null : "Unknown position should be null";
+        System.out.println("✅ testLookups passed");
+    }
+
+    public void testSnapshotIsImmutable() {
+        loadSample(1);
+
+        cache.getPosition(3).setPositionName("Changed");
+        assert "Payroll Manager".equals(cache.getPosition(3).getPositionName()) : "Returned positions should be copies";
+
+        try {
+            cache.getPositionRoles().put("intern", UserRole.INTERN);
+            assert false : "Role map should be unmodifiable";
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+        System.out.println("✅ testSnapshotIsImmutable passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Reference Data Cache Tests...");
+
+        ReferenceDataCacheTest test = new ReferenceDataCacheTest();
+
+        try {
+            test.setUp();
+            test.testBuiltInRolesBeforeLoad();
+
+            test.setUp();
+            test.testStoredRoleForNewPosition();
+
+            test.setUp();
+            test.testLookups();
+
+            test.setUp();
+            test.testSnapshotIsImmutable();
+
+            System.out.println("🎉 All Reference Data Cache Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            test.cache.invalidate();
+        }
+    }
+}
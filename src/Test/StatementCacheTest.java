@@ -0,0 +1,177 @@
+package Test;
+
+// Simple test class without JUnit dependencies, no database required
+import util.StatementCache;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementCacheTest {
+
+    private static final String SELECT_EMPLOYEE = "SELECT * FROM employee WHERE employeeId = ?";
+    private static final String SELECT_PAYROLL = "SELECT * FROM payroll WHERE employeeId = ?";
+    private static final String INSERT_PAYROLL = "INSERT INTO payroll (employeeId) VALUES (?)";
+
+    private int prepareCalls;
+    private List<FakeStatement> prepared;
+    private StatementCache.Stats stats;
+    private StatementCache cache;
+
+    // Records what the cache does with the statements it prepared
+    private static final class FakeStatement {
+        private boolean closed;
+        private int clearParametersCalls;
+    }
+
+    public void setUp() {
+        prepareCalls = 0;
+        prepared = new ArrayList<>();
+        stats = new StatementCache.Stats();
+        cache = new StatementCache(fakeConnection(), 2, stats);
+    }
+
+    private Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        prepareCalls++;
+                        FakeStatement fake = new FakeStatement();
+                        prepared.add(fake);
+                        return fakeStatement(fake);
+                    }
+                    return null;
+                });
+    }
+
+    private PreparedStatement fakeStatement(FakeStatement fake) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            fake.closed = true;
+                            return null;
+                        case "clearParameters":
+                            fake.clearParametersCalls++;
+                            return null;
+                        case "isClosed":
+                            return fake.closed;
+                        default:
+                            return method.getReturnType() == boolean.class ? Boolean.FALSE
+                                    : method.getReturnType() == int.class ? 0 : null;
+                    }
+                });
+    }
+
+    public void testReuseAfterClose() throws Exception {
+        PreparedStatement first = cache.prepare(null, SELECT_EMPLOYEE);
+        first.setInt(1, 10001);
+        first.close();
+        assert first.isClosed() : "Closed lease should report closed";
+
+        PreparedStatement second = cache.prepare(null, SELECT_EMPLOYEE);
+        assert prepareCalls == 1 : "Same SQL should be prepared once";
+        assert !prepared.get(0).closed : "Cached statement should stay open";
+        assert prepared.get(0).clearParametersCalls == 1 : "Parameters should be cleared on close";
+        second.close();
+
+        assert stats.getHits() == 1 && stats.getMisses() == 1 : "One hit and one miss expected";
+        assert stats.getHitRate() == 0.5 : "Hit rate should be 50%";
+        System.out.println("✅ testReuseAfterClose passed");
+    }
+
+    public void testSameSqlInUseGetsOwnStatement() throws Exception {
+        PreparedStatement outer = cache.prepare(null, SELECT_EMPLOYEE);
+        PreparedStatement inner = cache.prepare(null, SELECT_EMPLOYEE);
+        assert prepareCalls == 2 : "Statement in use should not be handed out twice";
+
+        inner.close();
+        assert prepared.get(1).closed : "Uncached statement should be closed for real";
+        outer.close();
+        assert !prepared.get(0).closed : "Cached statement should stay open";
+        assert cache.size() == 1 : "Only the first statement should be cached";
+        System.out.println("✅ testSameSqlInUseGetsOwnStatement passed");
+    }
+
+    public void testLeastRecentlyUsedEvicted() throws Exception {
+        cache.prepare(null, SELECT_EMPLOYEE).close();
+        cache.prepare(null, SELECT_PAYROLL).close();
+        cache.prepare(null, SELECT_EMPLOYEE).close();
+        cache.prepare(null, INSERT_PAYROLL).close();
+
+        assert cache.size() == 2 : "Cache should keep its maximum size";
+        assert prepared.get(1).closed : "Least recently used statement should be closed";
+        assert !prepared.get(0).closed : "Recently used statement should stay cached";
+        assert stats.getEvictions() == 1 : "One eviction expected";
+        System.out.println("✅ testLeastRecentlyUsedEvicted passed");
+    }
+
+    public void testChangedStatementNotReused() throws Exception {
+        PreparedStatement statement = cache.prepare(null, SELECT_EMPLOYEE);
+        statement.setFetchSize(500);
+        statement.close();
+
+        assert prepared.get(0).closed : "Statement with changed settings should be closed";
+        cache.prepare(null, SELECT_EMPLOYEE).close();
+        assert prepareCalls == 2 : "Changed statement should be prepared again";
+        System.out.println("✅ testChangedStatementNotReused passed");
+    }
+
+    public void testGeneratedKeysCachedSeparately() throws Exception {
+        cache.prepare(null, INSERT_PAYROLL).close();
+        cache.prepare(null, INSERT_PAYROLL, Statement.RETURN_GENERATED_KEYS).close();
+        cache.prepare(null, INSERT_PAYROLL, Statement.RETURN_GENERATED_KEYS).close();
+
+        assert prepareCalls == 2 : "Generated keys variant should be its own entry";
+        assert stats.getHits() == 1 : "Second generated keys call should hit";
+        System.out.println("✅ testGeneratedKeysCachedSeparately passed");
+    }
+
+    public void testCloseAll() throws Exception {
+        PreparedStatement inUse = cache.prepare(null, SELECT_EMPLOYEE);
+        cache.prepare(null, SELECT_PAYROLL).close();
+
+        cache.closeAll();
+        assert cache.size() == 0 : "Cache should be empty";
+        assert prepared.get(1).closed : "Idle statement should be closed";
+        assert !prepared.get(0).closed : "Statement in use should be closed by its borrower";
+        inUse.close();
+        assert prepared.get(0).closed : "Returned statement should be closed after closeAll";
+        System.out.println("✅ testCloseAll passed");
+    }
+
+    // Main method to run all tests
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Statement Cache Tests...");
+
+        StatementCacheTest test = new StatementCacheTest();
+
+        try {
+            test.setUp();
+            test.testReuseAfterClose();
+
+            test.setUp();
+            test.testSameSqlInUseGetsOwnStatement();
+
+            test.setUp();
+            test.testLeastRecentlyUsedEvicted();
+
+            test.setUp();
+            test.testChangedStatementNotReused();
+
+            test.setUp();
+            test.testGeneratedKeysCachedSeparately();
+
+            test.setUp();
+            test.testCloseAll();
+
+            System.out.println("🎉 All Statement Cache Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
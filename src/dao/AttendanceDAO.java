@@ -1,29 +1,127 @@
 package dao;
 
+import util.AttendanceTables;
 import util.DBConnection;
 import model.Attendance;
+import model.AttendanceBlock;
+import model.AttendanceSummary;
+import model.DailyAttendanceRecord;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class AttendanceDAO {
     private static final Logger logger = Logger.getLogger(AttendanceDAO.class.getName());
 
+    // Keeps attendance_monthly_summary current after every write
+    private final MonthlySummaryDAO monthlySummaryDAO = new MonthlySummaryDAO();
+
+    // Reads below are written against the hot table; AttendanceTables.select() adds the
+    // archive when the dates reach before the hot boundary, so ORDER BY is appended after it
+    private static final String SELECT_BY_EMPLOYEE_ID = "SELECT * FROM attendance WHERE employee_id = ?";
+
+    private static final String SELECT_BY_EMPLOYEE_BETWEEN_DATES =
+        "SELECT * FROM attendance WHERE employee_id = ? AND date >= ? AND date <= ?";
+
+    private static final String SELECT_BY_EMPLOYEE_AND_DATE = "SELECT * FROM attendance WHERE employee_id = ? AND date = ?";
+
+    private static final String SELECT_BY_ID = "SELECT * FROM attendance WHERE id = ?";
+
+    // One count per table read; callers add them up
+    private static final String COUNT_BY_EMPLOYEE_BETWEEN_DATES =
+        "SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND date >= ? AND date <= ?";
+
+    // Whole history; exports order it by employee, date and id
+    private static final String SELECT_ALL = "SELECT * FROM attendance";
+
+    // One employee's history for exports, oldest first. The streaming reads set a fetch size,
+    // so they must not produce the same SQL as a list method: StatementCache closes a cached
+    // statement whose fetch size was changed.
+    private static final String STREAM_ORDER_BY_DATE = " ORDER BY date, id";
+
+    // Columns of an AttendanceBlock; ordered by employee as the block requires
+    private static final String SELECT_BLOCK_BETWEEN_DATES =
+        "SELECT employee_id, date, log_in, log_out FROM attendance WHERE date BETWEEN ? AND ?";
+
+    private static final String SELECT_ON_DATE = "SELECT * FROM attendance WHERE date = ?";
+
+    private static final String SELECT_BETWEEN_DATES = "SELECT * FROM attendance WHERE date BETWEEN ? AND ?";
+
+    // Hot table only: archived rows are read-only and never looked up for a write
+    private static final String SELECT_KEY_BY_ID = "SELECT employee_id, date FROM attendance WHERE id = ?";
+
+    private static final String SELECT_KEYS_BETWEEN_DATES =
+        "SELECT employee_id, date FROM attendance WHERE date BETWEEN ? AND ?";
+
+    // Archive job: one batch of the oldest rows, locked until they are moved. Ordered along
+    // idx_attendance_date so only the batch's index range is scanned and locked.
+    private static final String SELECT_IDS_BEFORE_DATE =
+        "SELECT id FROM attendance WHERE date < ? ORDER BY date, id LIMIT ? FOR UPDATE";
+
+    private static final int ARCHIVE_BATCH_SIZE = 1000;
+
+    private static final String INSERT_ATTENDANCE =
+        "INSERT INTO attendance (employee_id, date, log_in, log_out) VALUES (?, ?, ?, ?)";
+
+    // log_out is assigned first so both expressions see the stored log_in. It becomes the latest
+    // of all punches, or NULL when the earliest punch is the only one.
+    private static final String UPSERT_ATTENDANCE = """
+            INSERT INTO attendance (employee_id, date, log_in, log_out) VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                log_out = NULLIF(
+                    GREATEST(log_in, COALESCE(log_out, log_in), VALUES(log_in), COALESCE(VALUES(log_out), VALUES(log_in))),
+                    LEAST(log_in, VALUES(log_in))),
+                log_in = LEAST(log_in, VALUES(log_in))
+            """;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    // One row per employee for the day; attendance columns are NULL for absent employees.
+    // Ordered by employee so duplicate punches for the same day can be skipped in one pass.
+    // %s is the day's attendance rows, from SELECT_ON_DATE.
+    private static final String SELECT_DAILY_ATTENDANCE = """
+            SELECT e.employee_id, e.first_name, e.last_name, e.position,
+                   a.id, a.date, a.log_in, a.log_out
+            FROM employees e
+            LEFT JOIN (%s) a ON a.employee_id = e.employee_id
+            ORDER BY e.last_name, e.first_name, e.employee_id, a.id
+            """;
+
+    // Same aggregates as v_attendance_summary (late after 08:15, undertime before 17:00),
+    // but over an arbitrary period instead of per calendar month. Employees without
+    // attendance in the period are kept by the LEFT JOIN with zero counts.
+    // %s is the period's attendance rows, from SELECT_BETWEEN_DATES.
+    private static final String SELECT_ATTENDANCE_SUMMARY = """
+            SELECT e.employee_id, e.first_name, e.last_name,
+                   COUNT(a.log_in) AS days_present,
+                   COALESCE(SUM(CASE WHEN a.log_in IS NOT NULL AND a.log_out IS NOT NULL
+                                     THEN TIME_TO_SEC(TIMEDIFF(a.log_out, a.log_in)) END), 0) / 3600.0 AS total_hours,
+                   COALESCE(SUM(CASE WHEN a.log_in > '08:15:00' THEN 1 ELSE 0 END), 0) AS late_count,
+                   COALESCE(SUM(CASE WHEN a.log_out < '17:00:00' THEN 1 ELSE 0 END), 0) AS undertime_count
+            FROM employees e
+            LEFT JOIN (%s) a ON a.employee_id = e.employee_id
+            GROUP BY e.employee_id, e.first_name, e.last_name
+            ORDER BY e.last_name, e.first_name, e.employee_id
+            """;
+
     public List<Attendance> getAttendanceByEmployeeId(int empId) {
         if (empId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
         }
 
         List<Attendance> list = new ArrayList<>();
-        String query = "SELECT * FROM attendance WHERE employee_id = ? ORDER BY date DESC";
+        AttendanceTables tables = AttendanceTables.current();
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(SELECT_BY_EMPLOYEE_ID, null) + " ORDER BY date DESC")) {
 
-            stmt.setInt(1, empId);
+            bind(stmt, tables.branches(null), empId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     Attendance a = mapResultSetToAttendance(rs);
@@ -39,6 +137,108 @@ public class AttendanceDAO {
         return list;
     }
 
+    /**
+     * Streaming variant of getAttendanceByEmployeeId for exports: rows are fetched from a
+     * server-side cursor STREAM_FETCH_SIZE at a time and handed to the consumer oldest first.
+     * Report read: served by the read replica when it is within its lag bound.
+     */
+    public void forEachAttendanceByEmployeeId(int empId, Consumer<Attendance> consumer) {
+        if (empId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        AttendanceTables tables = AttendanceTables.current();
+
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(SELECT_BY_EMPLOYEE_ID, null) + STREAM_ORDER_BY_DATE)) {
+
+            stmt.setFetchSize(DBConnection.STREAM_FETCH_SIZE);
+            bind(stmt, tables.branches(null), empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToAttendance(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error streaming attendance for employee ID: " + empId, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+    }
+
+    /**
+     * Streams every attendance record, ordered by employee and date, for history exports.
+     * Heap use is bounded by STREAM_FETCH_SIZE rows however long the history is.
+     * Report read: served by the read replica when it is within its lag bound.
+     */
+    public void forEachAttendance(Consumer<Attendance> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     AttendanceTables.current().select(SELECT_ALL, null) + " ORDER BY employee_id, date, id")) {
+
+            stmt.setFetchSize(DBConnection.STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToAttendance(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error streaming attendance history", ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+    }
+
+
+    /**
+     * Loads the attendance of every employee in the period into a columnar AttendanceBlock,
+     * streaming the four columns it needs without creating an Attendance per row
+     */
+    public AttendanceBlock loadAttendanceBlock(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        AttendanceBlock.Builder builder = new AttendanceBlock.Builder(periodStart, periodEnd);
+        AttendanceTables tables = AttendanceTables.current();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(SELECT_BLOCK_BETWEEN_DATES, periodStart) + " ORDER BY employee_id, date")) {
+
+            stmt.setFetchSize(DBConnection.STREAM_FETCH_SIZE);
+            bind(stmt, tables.branches(periodStart),
+                    java.sql.Date.valueOf(periodStart), java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Time logIn = rs.getTime(3);
+                    Time logOut = rs.getTime(4);
+                    builder.add(rs.getInt(1), rs.getDate(2).toLocalDate(),
+                            logIn != null ? logIn.toLocalTime() : null,
+                            logOut != null ? logOut.toLocalTime() : null);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error loading attendance block between " + periodStart + " and " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+
+        return builder.build();
+    }
+
 
     public List<Attendance> getAttendanceByEmployeeIdBetweenDates(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
         if (employeeId <= 0) {
@@ -52,14 +252,14 @@ public class AttendanceDAO {
         }
 
         List<Attendance> list = new ArrayList<>();
-        String query = "SELECT * FROM attendance WHERE employee_id = ? AND date >= ? AND date <= ? ORDER BY date DESC";
+        AttendanceTables tables = AttendanceTables.current();
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(SELECT_BY_EMPLOYEE_BETWEEN_DATES, periodStart) + " ORDER BY date DESC")) {
 
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, java.sql.Date.valueOf(periodStart));
-            stmt.setDate(3, java.sql.Date.valueOf(periodEnd));
+            bind(stmt, tables.branches(periodStart), employeeId,
+                    java.sql.Date.valueOf(periodStart), java.sql.Date.valueOf(periodEnd));
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -106,6 +306,7 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance date is too far in the past: " + attendanceDate +
                     ". Maximum allowed past date is: " + maxPastDate);
         }
+        AttendanceTables.current().requireWritable(attendanceDate);
 
         // ENHANCED: Validate log times
         if (attendance.getLogOut() != null) {
@@ -189,6 +390,8 @@ public class AttendanceDAO {
                     logger.info(String.format("Successfully inserted attendance record with ID: %d for employee %d",
                             generatedId, attendance.getEmployeeId()));
 
+                    monthlySummaryDAO.refreshAttendanceMonth(conn, attendance.getEmployeeId(), attendanceDate);
+
                     return generatedId;
                 } else {
                     throw new SQLException("Creating attendance failed, no ID obtained.");
@@ -227,12 +430,22 @@ public class AttendanceDAO {
         if (attendance.getId() <= 0) {
             throw new IllegalArgumentException("Attendance ID must be positive");
         }
+        AttendanceTables tables = AttendanceTables.current();
+        if (attendance.getDate() != null) {
+            tables.requireWritable(attendance.getDate().toLocalDate());
+        }
 
         String query = "UPDATE attendance SET employee_id = ?, date = ?, log_in = ?, log_out = ? WHERE id = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
+            // The record may move to another employee or month - both summary rows need refreshing
+            Attendance previous = findAttendanceKey(conn, attendance.getId());
+            if (previous != null) {
+                tables.requireWritable(previous.getDate().toLocalDate());
+            }
+
             stmt.setInt(1, attendance.getEmployeeId());
             stmt.setDate(2, attendance.getDate());
             stmt.setTime(3, attendance.getLogIn());
@@ -240,6 +453,16 @@ public class AttendanceDAO {
             stmt.setInt(5, attendance.getId());
 
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                monthlySummaryDAO.refreshAttendanceMonth(conn, attendance.getEmployeeId(),
+                        attendance.getDate().toLocalDate());
+                if (previous != null && (previous.getEmployeeId() != attendance.getEmployeeId()
+                        || !YearMonth.from(previous.getDate().toLocalDate())
+                                .equals(YearMonth.from(attendance.getDate().toLocalDate())))) {
+                    monthlySummaryDAO.refreshAttendanceMonth(conn, previous.getEmployeeId(),
+                            previous.getDate().toLocalDate());
+                }
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -258,8 +481,17 @@ public class AttendanceDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
+            Attendance previous = findAttendanceKey(conn, attendanceId);
+            if (previous != null) {
+                AttendanceTables.current().requireWritable(previous.getDate().toLocalDate());
+            }
+
             stmt.setInt(1, attendanceId);
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0 && previous != null) {
+                monthlySummaryDAO.refreshAttendanceMonth(conn, previous.getEmployeeId(),
+                        previous.getDate().toLocalDate());
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -273,12 +505,13 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance ID must be positive");
         }
 
-        String query = "SELECT * FROM attendance WHERE id = ?";
+        // Archived rows keep their ids, so both tables are looked up
+        AttendanceTables tables = AttendanceTables.current();
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(tables.select(SELECT_BY_ID, null))) {
 
-            stmt.setInt(1, attendanceId);
+            bind(stmt, tables.branches(null), attendanceId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     return mapResultSetToAttendance(rs);
@@ -301,26 +534,22 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance date cannot be null");
         }
 
-        String query = "SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND date = ?";
+        AttendanceTables tables = AttendanceTables.current();
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(SELECT_BY_EMPLOYEE_AND_DATE, attendanceDate))) {
 
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
+            bind(stmt, tables.branches(attendanceDate), employeeId, java.sql.Date.valueOf(attendanceDate));
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
+                return rs.next();
             }
 
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error checking attendance existence for employee " + employeeId + " on " + attendanceDate, ex);
             throw new RuntimeException("Failed to check attendance existence", ex);
         }
-
-        return false;
     }
 
 
@@ -335,18 +564,19 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Period start date cannot be after end date");
         }
 
-        String query = "SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND date >= ? AND date <= ?";
+        AttendanceTables tables = AttendanceTables.current();
+        int days = 0;
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(COUNT_BY_EMPLOYEE_BETWEEN_DATES, periodStart))) {
 
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, java.sql.Date.valueOf(periodStart));
-            stmt.setDate(3, java.sql.Date.valueOf(periodEnd));
+            bind(stmt, tables.branches(periodStart), employeeId,
+                    java.sql.Date.valueOf(periodStart), java.sql.Date.valueOf(periodEnd));
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+                while (rs.next()) {
+                    days += rs.getInt(1);
                 }
             }
 
@@ -356,7 +586,7 @@ public class AttendanceDAO {
             throw new RuntimeException("Failed to count attendance days", ex);
         }
 
-        return 0;
+        return days;
     }
 
 
@@ -368,13 +598,13 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance date cannot be null");
         }
 
-        String query = "SELECT * FROM attendance WHERE employee_id = ? AND date = ?";
+        AttendanceTables tables = AttendanceTables.current();
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(
+                     tables.select(SELECT_BY_EMPLOYEE_AND_DATE, attendanceDate))) {
 
-            stmt.setInt(1, employeeId);
-            stmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
+            bind(stmt, tables.branches(attendanceDate), employeeId, java.sql.Date.valueOf(attendanceDate));
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -391,6 +621,342 @@ public class AttendanceDAO {
     }
 
 
+    /**
+     * Streams the attendance sheet for one day - every employee with their record for
+     * that date, or a null attendance when absent - from a single LEFT JOIN query.
+     * Rows are handed to the consumer as they are read; nothing is buffered.
+     * If an employee has more than one record for the day only the first is reported.
+     */
+    public void forEachDailyAttendance(LocalDate attendanceDate, Consumer<DailyAttendanceRecord> consumer) {
+        if (attendanceDate == null) {
+            throw new IllegalArgumentException("Attendance date cannot be null");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        AttendanceTables tables = AttendanceTables.current();
+
+        // Report read: served by the read replica when it is within its lag bound
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(String.format(SELECT_DAILY_ATTENDANCE,
+                     tables.select(SELECT_ON_DATE, attendanceDate)))) {
+
+            bind(stmt, tables.branches(attendanceDate), java.sql.Date.valueOf(attendanceDate));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                int previousEmployeeId = -1;
+                while (rs.next()) {
+                    int employeeId = rs.getInt("employee_id");
+                    if (employeeId == previousEmployeeId) {
+                        continue;
+                    }
+                    previousEmployeeId = employeeId;
+
+                    Attendance attendance = null;
+                    rs.getInt("id");
+                    if (!rs.wasNull()) {
+                        attendance = mapResultSetToAttendance(rs);
+                    }
+
+                    consumer.accept(new DailyAttendanceRecord(
+                            employeeId,
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getString("position"),
+                            attendance));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving daily attendance for " + attendanceDate, ex);
+            throw new RuntimeException("Failed to retrieve daily attendance", ex);
+        }
+    }
+
+    /**
+     * Convenience wrapper around forEachDailyAttendance for callers that need a list
+     */
+    public List<DailyAttendanceRecord> getDailyAttendance(LocalDate attendanceDate) {
+        List<DailyAttendanceRecord> records = new ArrayList<>();
+        forEachDailyAttendance(attendanceDate, records::add);
+        return records;
+    }
+
+
+    /**
+     * Returns one aggregated row per employee for the period: days present, total hours,
+     * late count and undertime count are computed by the database in a single grouped query.
+     */
+    public List<AttendanceSummary> getAttendanceSummaries(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        List<AttendanceSummary> summaries = new ArrayList<>();
+
+        AttendanceTables tables = AttendanceTables.current();
+
+        // Report read: served by the read replica when it is within its lag bound
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(String.format(SELECT_ATTENDANCE_SUMMARY,
+                     tables.select(SELECT_BETWEEN_DATES, periodStart)))) {
+
+            bind(stmt, tables.branches(periodStart),
+                    java.sql.Date.valueOf(periodStart), java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new AttendanceSummary(
+                            rs.getInt("employee_id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getInt("days_present"),
+                            rs.getDouble("total_hours"),
+                            rs.getInt("late_count"),
+                            rs.getInt("undertime_count")));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving attendance summary for " + periodStart + " to " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve attendance summary", ex);
+        }
+
+        return summaries;
+    }
+
+
+    /**
+     * Returns the dates that already have an attendance record, per employee, between the given
+     * dates. Used by bulk imports to detect duplicates with one query instead of one per row.
+     */
+    public Map<Integer, Set<LocalDate>> getExistingAttendanceDates(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+
+        Map<Integer, Set<LocalDate>> existing = new HashMap<>();
+        AttendanceTables tables = AttendanceTables.current();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(tables.select(SELECT_KEYS_BETWEEN_DATES, startDate))) {
+
+            bind(stmt, tables.branches(startDate), java.sql.Date.valueOf(startDate), java.sql.Date.valueOf(endDate));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.computeIfAbsent(rs.getInt("employee_id"), k -> new HashSet<>())
+                            .add(rs.getDate("date").toLocalDate());
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error loading existing attendance dates", ex);
+            throw new RuntimeException("Failed to load existing attendance dates", ex);
+        }
+
+        return existing;
+    }
+
+    /**
+     * Inserts already validated records on one connection in JDBC batches, committing after each
+     * batch, then refreshes the monthly summary of every (employee, month) touched.
+     * @return number of records inserted
+     * @throws IllegalArgumentException if a record falls in an archived month; nothing is written
+     */
+    public int insertAttendanceBatch(List<Attendance> records) {
+        if (records != null) {
+            AttendanceTables tables = AttendanceTables.current();
+            for (Attendance attendance : records) {
+                tables.requireWritable(attendance.getDate().toLocalDate());
+            }
+        }
+        return executeAttendanceBatch(INSERT_ATTENDANCE, records, "insert");
+    }
+
+    /**
+     * Idempotent batched upsert keyed on (employee_id, date). Each record carries the earliest
+     * and latest punch seen for its day (log_out null for a single punch); they are merged with
+     * the stored row so that log_in is the earliest punch overall and log_out the latest.
+     * Replaying the same punches leaves the row unchanged. Records in archived months are
+     * read-only; they are skipped with a warning so late punches cannot fail the batch.
+     * @return number of records applied
+     */
+    public int upsertAttendanceBatch(List<Attendance> records) {
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+        AttendanceTables tables = AttendanceTables.current();
+        List<Attendance> writable = new ArrayList<>(records.size());
+        for (Attendance attendance : records) {
+            if (tables.isArchived(attendance.getDate().toLocalDate())) {
+                logger.warning("⚠️ Skipping punch for archived day: employee " + attendance.getEmployeeId() +
+                        " on " + attendance.getDate() + " (before " + tables.getHotBoundary() + ")");
+            } else {
+                writable.add(attendance);
+            }
+        }
+        return executeAttendanceBatch(UPSERT_ATTENDANCE, writable, "upsert");
+    }
+
+    private int executeAttendanceBatch(String sql, List<Attendance> records, String action) {
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+
+        int applied = 0;
+        Map<Integer, Set<YearMonth>> touchedMonths = new HashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                int pending = 0;
+                for (Attendance attendance : records) {
+                    stmt.setInt(1, attendance.getEmployeeId());
+                    stmt.setDate(2, attendance.getDate());
+                    stmt.setTime(3, attendance.getLogIn());
+                    stmt.setTime(4, attendance.getLogOut());
+                    stmt.addBatch();
+                    touchedMonths.computeIfAbsent(attendance.getEmployeeId(), k -> new HashSet<>())
+                            .add(YearMonth.from(attendance.getDate().toLocalDate()));
+
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        applied += countApplied(stmt.executeBatch());
+                        conn.commit();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    applied += countApplied(stmt.executeBatch());
+                    conn.commit();
+                }
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+            for (Map.Entry<Integer, Set<YearMonth>> entry : touchedMonths.entrySet()) {
+                for (YearMonth month : entry.getValue()) {
+                    monthlySummaryDAO.refreshAttendanceMonth(conn, entry.getKey(), month.atDay(1));
+                }
+            }
+
+            logger.info("✅ Batch " + action + ": " + applied + " attendance records");
+            return applied;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error in attendance batch " + action + " (" + applied + " committed)", ex);
+            throw new RuntimeException("Failed to " + action + " attendance batch after " + applied + " records", ex);
+        }
+    }
+
+    /**
+     * Moves every record dated before the boundary from attendance to attendance_archive.
+     * Rows are moved ARCHIVE_BATCH_SIZE at a time, oldest dates first, each batch in its own
+     * transaction, so the locks are short and the job can run while the application is in use.
+     * Rows keep their ids and monthly summaries stay valid, since nothing is changed.
+     * @return number of records moved
+     */
+    public int archiveAttendanceBefore(LocalDate boundary) {
+        if (boundary == null) {
+            throw new IllegalArgumentException("Archive boundary cannot be null");
+        }
+
+        int moved = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement selectIds = conn.prepareStatement(SELECT_IDS_BEFORE_DATE);
+             Statement stmt = conn.createStatement()) {
+
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int batch;
+                do {
+                    selectIds.setDate(1, java.sql.Date.valueOf(boundary));
+                    selectIds.setInt(2, ARCHIVE_BATCH_SIZE);
+                    StringJoiner ids = new StringJoiner(",", "(", ")");
+                    batch = 0;
+                    try (ResultSet rs = selectIds.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(Integer.toString(rs.getInt(1)));
+                            batch++;
+                        }
+                    }
+                    if (batch > 0) {
+                        stmt.executeUpdate("INSERT INTO " + AttendanceTables.ARCHIVE_TABLE +
+                                " SELECT * FROM attendance WHERE id IN " + ids);
+                        stmt.executeUpdate("DELETE FROM attendance WHERE id IN " + ids);
+                        moved += batch;
+                    }
+                    conn.commit();
+                } while (batch == ARCHIVE_BATCH_SIZE);
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+
+            logger.info("✅ Archived " + moved + " attendance records dated before " + boundary);
+            return moved;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error archiving attendance before " + boundary + " (" + moved + " moved)", ex);
+            throw new RuntimeException("Failed to archive attendance after " + moved + " records", ex);
+        }
+    }
+
+    /**
+     * Binds the values to each branch of a query built by AttendanceTables.select()
+     */
+    private static void bind(PreparedStatement stmt, int branches, Object... values) throws SQLException {
+        int index = 1;
+        for (int branch = 0; branch < branches; branch++) {
+            for (Object value : values) {
+                stmt.setObject(index++, value);
+            }
+        }
+    }
+
+    private static int countApplied(int[] results) {
+        int count = 0;
+        for (int result : results) {
+            // With rewriteBatchedStatements the driver may report SUCCESS_NO_INFO (-2)
+            if (result > 0 || result == Statement.SUCCESS_NO_INFO) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the employee and date of an existing record on the given connection,
+     * so summary rows can be refreshed for the record's previous position.
+     */
+    private Attendance findAttendanceKey(Connection conn, int attendanceId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_KEY_BY_ID)) {
+            stmt.setInt(1, attendanceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Attendance key = new Attendance();
+                    key.setEmployeeId(rs.getInt("employee_id"));
+                    key.setDate(rs.getDate("date"));
+                    return key;
+                }
+            }
+        }
+        return null;
+    }
+
+
     private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
         Attendance attendance = new Attendance();
         attendance.setId(rs.getInt("id")); // Using 'id' from database instead of 'attendance_id'
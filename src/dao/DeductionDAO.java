@@ -16,6 +16,11 @@ import java.util.logging.Level;
 public class DeductionDAO {
     private static final Logger LOGGER = Logger.getLogger(DeductionDAO.class.getName());
 
+    private static final String INSERT_DEDUCTION =
+            "INSERT INTO deductions (employee_id, type, amount, description, payroll_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
     /**
      * Adds a deduction record to the database
      */
@@ -24,15 +29,10 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Deduction cannot be null");
         }
 
-        String sql = "INSERT INTO deductions (employee_id, type, amount, description) VALUES (?, ?, ?, ?)";
-
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_DEDUCTION, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setInt(1, deduction.getEmployeeId());
-            stmt.setString(2, deduction.getType());
-            stmt.setDouble(3, deduction.getAmount());
-            stmt.setString(4, deduction.getDescription());
+            setInsertParameters(stmt, deduction);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -50,6 +50,92 @@ public class DeductionDAO {
         }
     }
 
+    /**
+     * Adds many deduction records in one transaction with batched inserts
+     */
+    public void addDeductions(List<Deduction> deductions) throws SQLException {
+        if (deductions == null) {
+            throw new IllegalArgumentException("Deductions cannot be null");
+        }
+        if (deductions.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                addDeductions(conn, deductions);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error adding " + deductions.size() + " deductions", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds many deduction records with batched inserts on the caller's connection,
+     * so they commit or roll back with the caller's transaction (e.g. the payroll row)
+     */
+    public void addDeductions(Connection conn, List<Deduction> deductions) throws SQLException {
+        if (deductions == null) {
+            throw new IllegalArgumentException("Deductions cannot be null");
+        }
+        for (Deduction deduction : deductions) {
+            if (deduction == null) {
+                throw new IllegalArgumentException("Deduction cannot be null");
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_DEDUCTION)) {
+            int pending = 0;
+            for (Deduction deduction : deductions) {
+                setInsertParameters(stmt, deduction);
+                stmt.addBatch();
+                if (++pending == INSERT_BATCH_SIZE) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the itemized deductions of a payroll record
+     */
+    public List<Deduction> getDeductionsByPayrollId(int payrollId) throws SQLException {
+        if (payrollId <= 0) {
+            throw new IllegalArgumentException("Payroll ID must be positive");
+        }
+
+        String sql = "SELECT * FROM deductions WHERE payroll_id = ? ORDER BY deduction_id";
+        List<Deduction> deductions = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, payrollId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    deductions.add(mapResultSetToDeduction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving deductions for payroll ID: " + payrollId, e);
+            throw e;
+        }
+
+        return deductions;
+    }
+
     /**
      * Retrieves all deductions for a specific employee
      */
@@ -68,22 +154,7 @@ public class DeductionDAO {
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
-                // Create concrete implementation of Deduction
-                ConcreteDeduction d = new ConcreteDeduction(
-                        rs.getInt("employee_id"),
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                d.setDeductionId(rs.getInt("deduction_id"));
-
-                // Set deduction date if it exists in the database
-                Date deductionDate = rs.getDate("deduction_date");
-                if (deductionDate != null) {
-                    d.setDeductionDate(deductionDate);
-                }
-
-                deductions.add(d);
+                deductions.add(mapResultSetToDeduction(rs));
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving deductions for employee ID: " + employeeId, e);
@@ -171,20 +242,7 @@ public class DeductionDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                ConcreteDeduction deduction = new ConcreteDeduction(
-                        rs.getInt("employee_id"),
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                deduction.setDeductionId(rs.getInt("deduction_id"));
-
-                Date deductionDate = rs.getDate("deduction_date");
-                if (deductionDate != null) {
-                    deduction.setDeductionDate(deductionDate);
-                }
-
-                return deduction;
+                return mapResultSetToDeduction(rs);
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving deduction by ID: " + deductionId, e);
@@ -222,6 +280,38 @@ public class DeductionDAO {
         return 0.0;
     }
 
+    private void setInsertParameters(PreparedStatement stmt, Deduction deduction) throws SQLException {
+        stmt.setInt(1, deduction.getEmployeeId());
+        stmt.setString(2, deduction.getType());
+        stmt.setDouble(3, deduction.getAmount());
+        stmt.setString(4, deduction.getDescription());
+        if (deduction.getPayrollId() > 0) {
+            stmt.setInt(5, deduction.getPayrollId());
+        } else {
+            stmt.setNull(5, Types.INTEGER);
+        }
+    }
+
+    private Deduction mapResultSetToDeduction(ResultSet rs) throws SQLException {
+        // Create concrete implementation of Deduction
+        ConcreteDeduction deduction = new ConcreteDeduction(
+                rs.getInt("employee_id"),
+                rs.getString("type"),
+                rs.getDouble("amount"),
+                rs.getString("description")
+        );
+        deduction.setDeductionId(rs.getInt("deduction_id"));
+        deduction.setPayrollId(rs.getInt("payroll_id")); // 0 when NULL
+
+        // Set deduction date if it exists in the database
+        Date deductionDate = rs.getDate("deduction_date");
+        if (deductionDate != null) {
+            deduction.setDeductionDate(deductionDate);
+        }
+
+        return deduction;
+    }
+
     /**
      * Concrete implementation of the abstract Deduction class
      * This is used internally by the DAO to create Deduction instances from database records
@@ -1,7 +1,10 @@
 package dao;
 
 import util.DBConnection;
+import util.EmployeeSearchIndex;
+import util.UnitOfWork;
 import model.Employee;
+import model.EmployeeSummary;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -10,13 +13,31 @@ import java.sql.Statement;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class EmployeeDAO {
     private static final Logger LOGGER = Logger.getLogger(EmployeeDAO.class.getName());
 
+    // Upper bound on results returned by the in-memory search
+    private static final int SEARCH_RESULT_LIMIT = 500;
+
+    // Columns of EmployeeSummary, read by index in mapResultSetToEmployeeSummary
+    private static final String SELECT_SUMMARIES =
+        "SELECT employee_id, first_name, last_name, position, status FROM employees ORDER BY last_name, first_name";
+
+    // forEachEmployee sets a fetch size, which StatementCache treats as a changed statement and
+    // closes; its own SQL keeps it off getAllEmployees' cached statement
+    private static final String STREAM_ALL =
+        "SELECT * FROM employees ORDER BY last_name, first_name, employee_id";
+
     public List<Employee> getAllEmployees() {
         List<Employee> employees = new ArrayList<>();
         String query = "SELECT * FROM employees ORDER BY last_name, first_name";
@@ -38,6 +59,54 @@ public class EmployeeDAO {
         return employees;
     }
 
+    /**
+     * Streaming variant of getAllEmployees for exports and batch jobs: rows are fetched from
+     * a server-side cursor STREAM_FETCH_SIZE at a time and handed to the consumer as read
+     */
+    public void forEachEmployee(Consumer<Employee> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(STREAM_ALL)) {
+
+            stmt.setFetchSize(DBConnection.STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToEmployee(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming employees", ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
+        }
+    }
+
+    /**
+     * Id, name, position and status of every employee, for combo boxes, name lookups and
+     * report rows. Reads five columns instead of the full record.
+     */
+    public List<EmployeeSummary> getEmployeeSummaries() {
+        List<EmployeeSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SUMMARIES);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                summaries.add(mapResultSetToEmployeeSummary(rs));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employee summaries", ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
+        }
+
+        return summaries;
+    }
+
     public Employee getEmployeeById(int employeeId) {
         String query = "SELECT * FROM employees WHERE employee_id = ?";
 
@@ -174,6 +243,8 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully inserted employee: " + e.getEmployeeId() + " - " + e.getFullName());
+                // Inside a UnitOfWork the index is only updated once the unit commits
+                UnitOfWork.afterCommit(() -> EmployeeSearchIndex.getInstance().put(e));
                 return true;
             } else {
                 LOGGER.warning("No rows affected when inserting employee: " + e.getEmployeeId());
@@ -248,6 +319,8 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully updated employee: " + e.getEmployeeId() + " - " + e.getFullName());
+                // Inside a UnitOfWork the index is only updated once the unit commits
+                UnitOfWork.afterCommit(() -> EmployeeSearchIndex.getInstance().put(e));
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + e.getEmployeeId() + " for update");
@@ -275,6 +348,7 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully deleted employee with ID: " + employeeId);
+                UnitOfWork.afterCommit(() -> EmployeeSearchIndex.getInstance().remove(employeeId));
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + employeeId + " for deletion");
@@ -374,11 +448,81 @@ public class EmployeeDAO {
         return employees;
     }
 
+    /**
+     * Searches employees by name, ID or position using the in-memory EmployeeSearchIndex.
+     * The index is built on first use and kept current by insert/update/delete; if it
+     * cannot be built the search falls back to the LIKE query below.
+     */
     public List<Employee> searchEmployees(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllEmployees();
         }
 
+        try {
+            EmployeeSearchIndex index = EmployeeSearchIndex.getInstance();
+            index.ensureLoaded(this::getAllEmployees);
+            return index.search(searchTerm, SEARCH_RESULT_LIMIT);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "⚠️ Employee search index unavailable, falling back to database search", ex);
+            return searchEmployeesInDatabase(searchTerm);
+        }
+    }
+
+    /**
+     * IDs of the employees matching the term, best match first, for views that page through
+     * the results with getEmployeesByIds. Uses the EmployeeSearchIndex like searchEmployees,
+     * without its result limit.
+     */
+    public List<Integer> searchEmployeeIds(String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search term cannot be empty");
+        }
+
+        try {
+            EmployeeSearchIndex index = EmployeeSearchIndex.getInstance();
+            index.ensureLoaded(this::getAllEmployees);
+            return index.searchIds(searchTerm);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "⚠️ Employee search index unavailable, falling back to database search", ex);
+            List<Integer> ids = new ArrayList<>();
+            for (Employee employee : searchEmployeesInDatabase(searchTerm)) {
+                ids.add(employee.getEmployeeId());
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Loads the given employees in one query, returned in the order of the ids.
+     * IDs of employees deleted in the meantime are skipped.
+     */
+    public List<Employee> getEmployeesByIds(List<Integer> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < employeeIds.size(); i++) {
+            placeholders.add("?");
+        }
+        List<Employee> rows = queryEmployees("SELECT * FROM employees WHERE employee_id IN " + placeholders,
+                new ArrayList<Object>(employeeIds), "Error fetching employees by ID");
+
+        Map<Integer, Employee> byId = new HashMap<>();
+        for (Employee employee : rows) {
+            byId.put(employee.getEmployeeId(), employee);
+        }
+        List<Employee> ordered = new ArrayList<>(rows.size());
+        for (Integer id : employeeIds) {
+            Employee employee = byId.get(id);
+            if (employee != null) {
+                ordered.add(employee);
+            }
+        }
+        return ordered;
+    }
+
+    private List<Employee> searchEmployeesInDatabase(String searchTerm) {
         List<Employee> employees = new ArrayList<>();
         String query = "SELECT * FROM employees WHERE " +
                 "CONCAT(first_name, ' ', last_name) LIKE ? OR " +
@@ -409,6 +553,10 @@ public class EmployeeDAO {
         return employees;
     }
 
+    private EmployeeSummary mapResultSetToEmployeeSummary(ResultSet rs) throws SQLException {
+        return new EmployeeSummary(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+    }
+
     /**
      * Enhanced mapResultSetToEmployee with better null handling
      */
@@ -468,6 +616,30 @@ public class EmployeeDAO {
         }
     }
 
+    /**
+     * Loads every employee ID in one query, for validating bulk imports in memory
+     * @return set of all employee IDs
+     */
+    public Set<Integer> getAllEmployeeIds() {
+        Set<Integer> ids = new HashSet<>();
+        String query = "SELECT employee_id FROM employees";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error loading employee IDs", ex);
+            throw new RuntimeException("Failed to load employee IDs", ex);
+        }
+
+        return ids;
+    }
+
     /**
      * Get the count of employees by status
      * @param status Employment status
@@ -497,4 +669,161 @@ public class EmployeeDAO {
 
         return 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sort orders supported by the paged employee queries. Every order ends with
+     * employee_id so the key of the last row on a page identifies the next page.
+     * status is an ENUM, which ORDER BY sorts by position but the keyset predicate
+     * compares as text, so STATUS sorts on its text to keep the two in agreement.
+     */
+    public enum EmployeeSort {
+        NAME("last_name", "first_name", "employee_id"),
+        FIRST_NAME("first_name", "last_name", "employee_id"),
+        ID("employee_id"),
+        POSITION("position", "employee_id"),
+        STATUS("CAST(status AS CHAR)", "employee_id"),
+        SALARY("COALESCE(basic_salary, 0)", "employee_id");
+
+        private final String[] columns;
+
+        EmployeeSort(String... columns) {
+            this.columns = columns;
+        }
+
+        private Object[] keyOf(Employee e) {
+            Object[] key = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                switch (columns[i]) {
+                    case "last_name": key[i] = e.getLastName(); break;
+                    case "first_name": key[i] = e.getFirstName(); break;
+                    case "position": key[i] = e.getPosition(); break;
+                    case "CAST(status AS CHAR)": key[i] = e.getStatus(); break;
+                    case "employee_id": key[i] = e.getEmployeeId(); break;
+                    default: key[i] = e.getBasicSalary(); break;
+                }
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Counts all employees, the row count of the unfiltered paged list
+     */
+    public int countEmployees() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM employees");
+             ResultSet rs = stmt.executeQuery()) {
+
+            return rs.next() ? rs.getInt(1) : 0;
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error counting employees", ex);
+            throw new RuntimeException("Failed to count employees", ex);
+        }
+    }
+
+    /**
+     * Keyset pagination: returns up to pageSize employees that sort after the given employee.
+     * Pass null as 'after' for the first page. Searches page through searchEmployeeIds instead.
+     */
+    public List<Employee> getEmployeesPage(EmployeeSort sort, boolean ascending, Employee after, int pageSize) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder query = new StringBuilder("SELECT * FROM employees");
+
+        if (after != null) {
+            query.append(" WHERE ");
+            query.append(buildKeysetClause(sort, ascending, sort.keyOf(after), params));
+        }
+        query.append(buildOrderBy(sort, ascending)).append(" LIMIT ?");
+        params.add(pageSize);
+
+        return queryEmployees(query.toString(), params, "Error fetching employee page");
+    }
+
+    /**
+     * Offset pagination for jumping straight to a page whose predecessor key is unknown
+     * (e.g. dragging the scrollbar). Sequential scrolling should use getEmployeesPage.
+     */
+    public List<Employee> getEmployeesPageAtOffset(EmployeeSort sort, boolean ascending, int offset, int pageSize) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        if (offset < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Offset cannot be negative and page size must be positive");
+        }
+
+        List<Object> params = new ArrayList<>();
+        String query = "SELECT * FROM employees" + buildOrderBy(sort, ascending) + " LIMIT ? OFFSET ?";
+        params.add(pageSize);
+        params.add(offset);
+
+        return queryEmployees(query, params, "Error fetching employee page at offset " + offset);
+    }
+
+    private List<Employee> queryEmployees(String query, List<Object> params, String errorMessage) {
+        List<Employee> employees = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            bindParameters(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(mapResultSetToEmployee(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, errorMessage, ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
+        }
+
+        return employees;
+    }
+
+    /**
+     * Builds (c1 > ?) OR (c1 = ? AND c2 > ?) OR ... for the sort columns, with < for descending order
+     */
+    private String buildKeysetClause(EmployeeSort sort, boolean ascending, Object[] key, List<Object> params) {
+        String comparator = ascending ? " > ?" : " < ?";
+        StringBuilder clause = new StringBuilder("(");
+        for (int i = 0; i < sort.columns.length; i++) {
+            if (i > 0) {
+                clause.append(" OR ");
+            }
+            clause.append("(");
+            for (int j = 0; j < i; j++) {
+                clause.append(sort.columns[j]).append(" = ? AND ");
+                params.add(key[j]);
+            }
+            clause.append(sort.columns[i]).append(comparator).append(")");
+            params.add(key[i]);
+        }
+        return clause.append(")").toString();
+    }
+
+    private String buildOrderBy(EmployeeSort sort, boolean ascending) {
+        String direction = ascending ? " ASC" : " DESC";
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (int i = 0; i < sort.columns.length; i++) {
+            if (i > 0) {
+                orderBy.append(", ");
+            }
+            orderBy.append(sort.columns[i]).append(direction);
+        }
+        return orderBy.toString();
+    }
+
+    private void bindParameters(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+}
@@ -1,31 +1,35 @@
 
 package dao;
 
-import util.DBConnection;
+import util.ReferenceDataCache;
 import model.EmploymentStatus;
-import java.sql.*;
+import java.util.*;
 
 public class EmploymentStatusDAO {
+    // ENHANCED: Statuses are served from the reference data cache instead of one query per call
     public EmploymentStatus getStatusById(int statusId) {
-        String query = "SELECT * FROM employment_status WHERE employment_status_id = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, statusId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                EmploymentStatus es = new EmploymentStatus();
-                es.setStatusId(rs.getInt("employment_status_id"));
-                es.setStatusName(rs.getString("status_name"));
-                return es;
-            }
+        try {
+            ensureCacheLoaded();
+        } catch (RuntimeException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+        return ReferenceDataCache.getInstance().getStatus(statusId);
+    }
 
-        } catch (SQLException ex) {
+    public List<EmploymentStatus> getAllStatuses() {
+        try {
+            ensureCacheLoaded();
+        } catch (RuntimeException ex) {
             ex.printStackTrace();
+            return new ArrayList<>();
         }
+        return ReferenceDataCache.getInstance().getStatuses();
+    }
 
-        return null;
+    private void ensureCacheLoaded() {
+        if (!ReferenceDataCache.getInstance().isLoaded()) {
+            new ReferenceDataDAO().loadCache();
+        }
     }
-}
\ No newline at end of file
+}
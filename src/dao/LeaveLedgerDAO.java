@@ -0,0 +1,229 @@
+package dao;
+
+import util.DBConnection;
+import model.LeaveBalance;
+import model.LeaveRequest;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Append-only leave ledger with a running balance per (employee, leave type, year).
+ *
+ * Every change to a balance is a leave_ledger row; the matching leave_balance row is
+ * updated in the same transaction, so balances are read with a primary-key lookup
+ * and can always be rebuilt from the ledger. Methods taking a Connection join the
+ * caller's transaction (LeaveRequestDAO posts consumption and reversals this way).
+ */
+public class LeaveLedgerDAO {
+    private static final Logger logger = Logger.getLogger(LeaveLedgerDAO.class.getName());
+
+    public static final String ENTRY_ACCRUAL = "Accrual";
+    public static final String ENTRY_CONSUMPTION = "Consumption";
+    public static final String ENTRY_REVERSAL = "Reversal";
+    public static final String ENTRY_ADJUSTMENT = "Adjustment";
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO leave_ledger (employee_id, leave_type, leave_year, entry_type, days, leave_id, note) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_BALANCE = """
+            INSERT INTO leave_balance (employee_id, leave_type, leave_year, entitled_days, used_days, balance_days)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                entitled_days = entitled_days + VALUES(entitled_days),
+                used_days = used_days + VALUES(used_days),
+                balance_days = balance_days + VALUES(balance_days)
+            """;
+
+    private static final String SELECT_BALANCES =
+            "SELECT * FROM leave_balance WHERE employee_id = ? AND leave_year = ? ORDER BY leave_type";
+
+    // Locks the employee row so concurrent first reads of a year accrue only once
+    private static final String LOCK_EMPLOYEE =
+            "SELECT employee_id FROM employees WHERE employee_id = ? FOR UPDATE";
+
+    private static final String CHECK_ACCRUED =
+            "SELECT 1 FROM leave_ledger WHERE employee_id = ? AND leave_year = ? AND entry_type = 'Accrual' LIMIT 1";
+
+    /**
+     * Appends a ledger entry and applies it to the running balance, on the caller's connection
+     * @param days positive to add to the balance, negative to use it
+     */
+    public void appendEntry(Connection conn, int employeeId, String leaveType, int year, String entryType,
+                            double days, Integer leaveId, String note) throws SQLException {
+        validateEmployeeId(employeeId);
+        if (leaveType == null || leaveType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Leave type cannot be null or empty");
+        }
+
+        try (PreparedStatement entryStmt = conn.prepareStatement(INSERT_ENTRY);
+             PreparedStatement balanceStmt = conn.prepareStatement(UPSERT_BALANCE)) {
+
+            entryStmt.setInt(1, employeeId);
+            entryStmt.setString(2, leaveType.trim());
+            entryStmt.setInt(3, year);
+            entryStmt.setString(4, entryType);
+            entryStmt.setDouble(5, days);
+            if (leaveId != null) {
+                entryStmt.setInt(6, leaveId);
+            } else {
+                entryStmt.setNull(6, Types.INTEGER);
+            }
+            entryStmt.setString(7, note);
+            entryStmt.executeUpdate();
+
+            boolean entitlement = ENTRY_ACCRUAL.equals(entryType) || ENTRY_ADJUSTMENT.equals(entryType);
+            balanceStmt.setInt(1, employeeId);
+            balanceStmt.setString(2, leaveType.trim());
+            balanceStmt.setInt(3, year);
+            balanceStmt.setDouble(4, entitlement ? days : 0);
+            balanceStmt.setDouble(5, entitlement ? 0 : -days);
+            balanceStmt.setDouble(6, days);
+            balanceStmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Records the days of a leave request as used (CONSUMPTION) or given back (REVERSAL),
+     * split per calendar year, on the caller's connection
+     */
+    public void postLeave(Connection conn, LeaveRequest leave, String entryType) throws SQLException {
+        if (!ENTRY_CONSUMPTION.equals(entryType) && !ENTRY_REVERSAL.equals(entryType)) {
+            throw new IllegalArgumentException("Leave requests post CONSUMPTION or REVERSAL entries, got: " + entryType);
+        }
+
+        LocalDate start = leave.getStartDateAsLocalDate();
+        LocalDate end = leave.getEndDateAsLocalDate();
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            LocalDate from = year == start.getYear() ? start : LocalDate.of(year, 1, 1);
+            LocalDate to = year == end.getYear() ? end : LocalDate.of(year, 12, 31);
+            long days = to.toEpochDay() - from.toEpochDay() + 1;
+
+            appendEntry(conn, leave.getEmployeeId(), leave.getLeaveType(), year, entryType,
+                    ENTRY_CONSUMPTION.equals(entryType) ? -days : days, leave.getLeaveId(),
+                    entryType + " of leave request " + leave.getLeaveId() + " (" + from + " to " + to + ")");
+        }
+    }
+
+    /**
+     * Posts the yearly accruals for an employee unless that year has already been accrued.
+     * The already-accrued case, which is every read after the first of the year, checks
+     * without a lock; the employee row is only locked, and the check repeated, to insert.
+     * @param entitlements days per leave type
+     * @return true if accruals were posted
+     */
+    public boolean accrueYearIfMissing(int employeeId, int year, Map<String, Integer> entitlements) {
+        validateEmployeeId(employeeId);
+
+        try (Connection conn = DBConnection.getConnection()) {
+            if (isAccrued(conn, employeeId, year)) {
+                return false;
+            }
+
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement lockStmt = conn.prepareStatement(LOCK_EMPLOYEE)) {
+                    lockStmt.setInt(1, employeeId);
+                    lockStmt.executeQuery().close();
+                }
+                if (isAccrued(conn, employeeId, year)) {
+                    conn.commit();
+                    return false;
+                }
+
+                for (Map.Entry<String, Integer> entitlement : entitlements.entrySet()) {
+                    appendEntry(conn, employeeId, entitlement.getKey(), year, ENTRY_ACCRUAL,
+                            entitlement.getValue(), null, "Yearly entitlement " + year);
+                }
+                conn.commit();
+                logger.info(String.format("✅ Posted %d leave accruals for employee %d, %d",
+                        entitlements.size(), employeeId, year));
+                return true;
+
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error posting leave accruals for employee %d, %d", employeeId, year), ex);
+            throw new RuntimeException("Failed to post leave accruals", ex);
+        }
+    }
+
+    /**
+     * Manual correction of a balance by HR, in its own transaction
+     * @param days positive to grant days, negative to deduct
+     */
+    public void adjustBalance(int employeeId, String leaveType, int year, double days, String note) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                appendEntry(conn, employeeId, leaveType, year, ENTRY_ADJUSTMENT, days, null, note);
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error adjusting %s leave balance for employee %d", leaveType, employeeId), ex);
+            throw new RuntimeException("Failed to adjust leave balance", ex);
+        }
+    }
+
+    /**
+     * Retrieves the running balances of an employee for one year
+     * @return one balance per leave type with ledger entries that year
+     */
+    public List<LeaveBalance> getBalances(int employeeId, int year) {
+        validateEmployeeId(employeeId);
+
+        List<LeaveBalance> balances = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BALANCES)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, year);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LeaveBalance balance = new LeaveBalance(employeeId, rs.getString("leave_type"), year);
+                    balance.setEntitledDays(rs.getDouble("entitled_days"));
+                    balance.setUsedDays(rs.getDouble("used_days"));
+                    balance.setBalanceDays(rs.getDouble("balance_days"));
+                    balances.add(balance);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving leave balances for employee %d, %d", employeeId, year), ex);
+            throw new RuntimeException("Failed to retrieve leave balances", ex);
+        }
+
+        return balances;
+    }
+
+    private boolean isAccrued(Connection conn, int employeeId, int year) throws SQLException {
+        try (PreparedStatement checkStmt = conn.prepareStatement(CHECK_ACCRUED)) {
+            checkStmt.setInt(1, employeeId);
+            checkStmt.setInt(2, year);
+            try (ResultSet rs = checkStmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void validateEmployeeId(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + employeeId);
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package dao;
 
 import util.DBConnection;
+import util.LeaveIndex;
+import util.UnitOfWork;
 import model.LeaveRequest;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class LeaveRequestDAO {
     private static final Logger logger = Logger.getLogger(LeaveRequestDAO.class.getName());
 
+    // Approved leave is posted to the leave ledger in the same transaction as the status change
+    private final LeaveLedgerDAO leaveLedgerDAO = new LeaveLedgerDAO();
+
     // SQL Queries as constants for better maintainability
     private static final String SELECT_BY_EMPLOYEE_ID =
             "SELECT * FROM leave_request WHERE employee_id = ? ORDER BY start_date DESC";
@@ -27,9 +33,17 @@ public class LeaveRequestDAO {
         ORDER BY start_date DESC
         """;
 
+    private static final String SELECT_ALL =
+            "SELECT * FROM leave_request ORDER BY start_date DESC";
+
     private static final String SELECT_BY_STATUS =
             "SELECT * FROM leave_request WHERE status = ? ORDER BY start_date DESC";
 
+    // Used by forEachLeaveRequestByStatus only: its fetch size would make StatementCache
+    // close the statement getLeaveRequestsByStatus caches for SELECT_BY_STATUS
+    private static final String STREAM_BY_STATUS =
+            "SELECT * FROM leave_request WHERE status = ? ORDER BY employee_id, start_date, leave_id";
+
     private static final String INSERT_LEAVE_REQUEST =
             "INSERT INTO leave_request (employee_id, leave_type, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)";
 
@@ -45,6 +59,19 @@ public class LeaveRequestDAO {
     private static final String SELECT_BY_ID =
             "SELECT * FROM leave_request WHERE leave_id = ?";
 
+    private static final String SELECT_BY_ID_FOR_UPDATE =
+            "SELECT * FROM leave_request WHERE leave_id = ? FOR UPDATE";
+
+    // Bulk status changes; the IN lists are expanded to one placeholder per ID
+    private static final String SELECT_BY_IDS_FOR_UPDATE =
+            "SELECT * FROM leave_request WHERE leave_id IN (%s) ORDER BY leave_id FOR UPDATE";
+
+    private static final String SELECT_APPROVED_BY_EMPLOYEES_FOR_UPDATE =
+            "SELECT * FROM leave_request WHERE status = ? AND employee_id IN (%s) ORDER BY leave_id FOR UPDATE";
+
+    private static final String UPDATE_STATUS_BY_IDS =
+            "UPDATE leave_request SET status = ? WHERE leave_id IN (%s)";
+
     private static final String CHECK_OVERLAPPING_LEAVE = """
         SELECT COUNT(*) FROM leave_request 
         WHERE employee_id = ? AND status = ? 
@@ -199,6 +226,39 @@ public class LeaveRequestDAO {
         return leaveRequests;
     }
 
+    /**
+     * Streaming variant of getLeaveRequestsByStatus for exports: reads the database directly,
+     * not the in-memory index, fetching STREAM_FETCH_SIZE rows at a time from a server-side
+     * cursor. Rows come ordered by employee, then start date.
+     * @param status Leave request status
+     * @param consumer Receives each leave request
+     * @throws IllegalArgumentException if status is invalid
+     * @throws RuntimeException if database error occurs
+     */
+    public void forEachLeaveRequestByStatus(String status, Consumer<LeaveRequest> consumer) {
+        validateStatus(status);
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(STREAM_BY_STATUS)) {
+
+            stmt.setFetchSize(DBConnection.STREAM_FETCH_SIZE);
+            stmt.setString(1, status.trim());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToLeaveRequest(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error streaming leave requests by status: %s", status), ex);
+            throw new RuntimeException("Failed to retrieve leave requests by status: " + status, ex);
+        }
+    }
+
     /**
      * ENHANCED: Inserts a new leave request with comprehensive error handling
      * @param leaveRequest Leave request to insert
@@ -263,6 +323,11 @@ public class LeaveRequestDAO {
                 if (generatedKeys.next()) {
                     int generatedId = generatedKeys.getInt(1);
                     leaveRequest.setLeaveId(generatedId);
+                    if (leaveRequest.getStatus() == null) {
+                        leaveRequest.setStatus(STATUS_PENDING);
+                    }
+                    // Inside a UnitOfWork the index is only updated once the unit commits
+                    UnitOfWork.afterCommit(() -> LeaveIndex.getInstance().put(leaveRequest));
                     logger.info(String.format("Successfully inserted leave request with ID: %d for employee %d",
                             generatedId, leaveRequest.getEmployeeId()));
                     return generatedId;
@@ -310,13 +375,32 @@ public class LeaveRequestDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS)) {
 
-            stmt.setString(1, status.trim());
-            stmt.setInt(2, leaveId);
-
-            int affectedRows = stmt.executeUpdate();
-            boolean updated = affectedRows > 0;
+            boolean updated;
+            conn.setAutoCommit(false);
+            try {
+                LeaveRequest before = lockLeaveRequest(conn, leaveId);
+
+                stmt.setString(1, status.trim());
+                stmt.setInt(2, leaveId);
+                updated = stmt.executeUpdate() > 0;
+
+                if (updated && before != null) {
+                    LeaveRequest after = new LeaveRequest(before.getEmployeeId(), before.getStartDate(),
+                            before.getEndDate(), before.getLeaveType());
+                    after.setLeaveId(leaveId);
+                    after.setStatus(status.trim());
+                    postLedgerChange(conn, before, after);
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
             if (updated) {
+                UnitOfWork.afterCommit(() -> LeaveIndex.getInstance().updateStatus(leaveId, status.trim()));
                 logger.info(String.format("Successfully updated leave request %d status to %s", leaveId, status));
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveId));
@@ -330,6 +414,114 @@ public class LeaveRequestDAO {
         }
     }
 
+    /**
+     * Approves or rejects many pending leave requests in one transaction.
+     *
+     * The requests are locked, and when approving, so are the approved leaves of the
+     * same employees; overlaps are then re-checked against those and against requests
+     * approved earlier in the batch (taken in start date order). The accepted requests
+     * are updated with a single statement and posted to the leave ledger before commit.
+     * Requests that are missing, no longer pending or would overlap are skipped.
+     * @param leaveIds Leave IDs to update
+     * @param status New status
+     * @return the updated and skipped leave IDs
+     * @throws IllegalArgumentException if parameters are invalid
+     * @throws RuntimeException if database error occurs
+     */
+    public BulkStatusResult updateLeaveStatuses(Collection<Integer> leaveIds, String status) {
+        if (leaveIds == null) {
+            throw new IllegalArgumentException("Leave IDs cannot be null");
+        }
+        validateStatus(status);
+        Set<Integer> ids = new TreeSet<>(leaveIds);
+        for (int leaveId : ids) {
+            validateLeaveId(leaveId);
+        }
+
+        String newStatus = status.trim();
+        BulkStatusResult result = new BulkStatusResult();
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<Integer, LeaveRequest> locked = new HashMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        String.format(SELECT_BY_IDS_FOR_UPDATE, placeholders(ids.size())))) {
+                    int paramIndex = 1;
+                    for (int leaveId : ids) {
+                        stmt.setInt(paramIndex++, leaveId);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            LeaveRequest leave = mapResultSetToLeaveRequest(rs);
+                            locked.put(leave.getLeaveId(), leave);
+                        }
+                    }
+                }
+
+                List<LeaveRequest> candidates = new ArrayList<>();
+                for (int leaveId : ids) {
+                    LeaveRequest leave = locked.get(leaveId);
+                    if (leave == null) {
+                        result.skipped.put(leaveId, "Leave request not found");
+                    } else if (!leave.isPending()) {
+                        result.skipped.put(leaveId, "Already " + leave.getStatus());
+                    } else {
+                        candidates.add(leave);
+                    }
+                }
+
+                List<LeaveRequest> accepted = STATUS_APPROVED.equalsIgnoreCase(newStatus)
+                        ? selectNonOverlapping(conn, candidates, result)
+                        : candidates;
+
+                if (!accepted.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            String.format(UPDATE_STATUS_BY_IDS, placeholders(accepted.size())))) {
+                        int paramIndex = 1;
+                        stmt.setString(paramIndex++, newStatus);
+                        for (LeaveRequest leave : accepted) {
+                            stmt.setInt(paramIndex++, leave.getLeaveId());
+                        }
+                        stmt.executeUpdate();
+                    }
+
+                    for (LeaveRequest before : accepted) {
+                        LeaveRequest after = new LeaveRequest(before.getEmployeeId(), before.getStartDate(),
+                                before.getEndDate(), before.getLeaveType());
+                        after.setLeaveId(before.getLeaveId());
+                        after.setStatus(newStatus);
+                        postLedgerChange(conn, before, after);
+                        result.updated.add(before.getLeaveId());
+                    }
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error updating %d leave requests to %s", ids.size(), newStatus), ex);
+            throw new RuntimeException("Failed to update leave request statuses", ex);
+        }
+
+        UnitOfWork.afterCommit(() -> {
+            LeaveIndex index = LeaveIndex.getInstance();
+            for (int leaveId : result.updated) {
+                index.updateStatus(leaveId, newStatus);
+            }
+        });
+        logger.info(String.format("✅ Bulk status update to %s: %d updated, %d skipped",
+                newStatus, result.updated.size(), result.skipped.size()));
+        return result;
+    }
+
     /**
      * Updates a leave request
      * @param leaveRequest Leave request with updated information
@@ -343,17 +535,32 @@ public class LeaveRequestDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
 
-            stmt.setInt(1, leaveRequest.getEmployeeId());
-            stmt.setString(2, leaveRequest.getLeaveType());
-            stmt.setDate(3, leaveRequest.getStartDate());
-            stmt.setDate(4, leaveRequest.getEndDate());
-            stmt.setString(5, leaveRequest.getStatus());
-            stmt.setInt(6, leaveRequest.getLeaveId());
-
-            int affectedRows = stmt.executeUpdate();
-            boolean updated = affectedRows > 0;
+            boolean updated;
+            conn.setAutoCommit(false);
+            try {
+                LeaveRequest before = lockLeaveRequest(conn, leaveRequest.getLeaveId());
+
+                stmt.setInt(1, leaveRequest.getEmployeeId());
+                stmt.setString(2, leaveRequest.getLeaveType());
+                stmt.setDate(3, leaveRequest.getStartDate());
+                stmt.setDate(4, leaveRequest.getEndDate());
+                stmt.setString(5, leaveRequest.getStatus());
+                stmt.setInt(6, leaveRequest.getLeaveId());
+                updated = stmt.executeUpdate() > 0;
+
+                if (updated && before != null) {
+                    postLedgerChange(conn, before, leaveRequest);
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
             if (updated) {
+                UnitOfWork.afterCommit(() -> LeaveIndex.getInstance().put(leaveRequest));
                 logger.info(String.format("Successfully updated leave request with ID: %d", leaveRequest.getLeaveId()));
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveRequest.getLeaveId()));
@@ -380,11 +587,27 @@ public class LeaveRequestDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
 
-            stmt.setInt(1, leaveId);
-            int affectedRows = stmt.executeUpdate();
-            boolean deleted = affectedRows > 0;
+            boolean deleted;
+            conn.setAutoCommit(false);
+            try {
+                LeaveRequest before = lockLeaveRequest(conn, leaveId);
+
+                stmt.setInt(1, leaveId);
+                deleted = stmt.executeUpdate() > 0;
+
+                if (deleted && before != null) {
+                    postLedgerChange(conn, before, null);
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
             if (deleted) {
+                UnitOfWork.afterCommit(() -> LeaveIndex.getInstance().remove(leaveId));
                 logger.info(String.format("Successfully deleted leave request with ID: %d", leaveId));
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveId));
@@ -441,6 +664,85 @@ public class LeaveRequestDAO {
         validateEmployeeId(employeeId);
         validateDateRange(startDate, endDate);
 
+        // ENHANCED: answered from the in-memory leave index, database query only as fallback
+        try {
+            LeaveIndex index = loadedIndex();
+            return index.hasOverlap(employeeId, startDate, endDate, STATUS_APPROVED, excludeLeaveId);
+        } catch (RuntimeException ex) {
+            logger.log(Level.WARNING, "Leave index unavailable, checking overlap in database", ex);
+            return hasOverlappingLeaveInDatabase(employeeId, startDate, endDate, excludeLeaveId);
+        }
+    }
+
+    /**
+     * Retrieves every leave request, latest start date first, from the leave index
+     * @return List of all leave requests
+     * @throws RuntimeException if database error occurs
+     */
+    public List<LeaveRequest> getAllLeaveRequests() {
+        return loadedIndex().findByStatus(null);
+    }
+
+    /**
+     * Retrieves the approved leaves that include the given date ("who is on leave")
+     * @param date Date to check
+     * @return List of approved leaves covering the date
+     * @throws IllegalArgumentException if date is null
+     */
+    public List<LeaveRequest> getApprovedLeavesOnDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return loadedIndex().findOnDate(date, STATUS_APPROVED);
+    }
+
+    /**
+     * Retrieves the approved leaves overlapping a date range for a team calendar
+     * @param employeeIds Team members, or null for all employees
+     * @param periodStart Start date of the calendar
+     * @param periodEnd End date of the calendar
+     * @return List of approved leaves ordered by start date
+     * @throws IllegalArgumentException if the date range is invalid
+     */
+    public List<LeaveRequest> getTeamLeaveCalendar(Set<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+        return loadedIndex().findOverlapping(periodStart, periodEnd, STATUS_APPROVED, employeeIds);
+    }
+
+    /**
+     * Drops the leave index so the next query reloads it, e.g. to pick up
+     * changes made by other clients
+     */
+    public void refreshLeaveIndex() {
+        LeaveIndex.getInstance().invalidate();
+    }
+
+    private LeaveIndex loadedIndex() {
+        LeaveIndex index = LeaveIndex.getInstance();
+        index.ensureLoaded(this::loadAllLeaveRequests);
+        return index;
+    }
+
+    private List<LeaveRequest> loadAllLeaveRequests() {
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                leaveRequests.add(mapResultSetToLeaveRequest(rs));
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving all leave requests", ex);
+            throw new RuntimeException("Failed to retrieve leave requests", ex);
+        }
+
+        return leaveRequests;
+    }
+
+    private boolean hasOverlappingLeaveInDatabase(int employeeId, LocalDate startDate, LocalDate endDate, Integer excludeLeaveId) {
         String query = CHECK_OVERLAPPING_LEAVE + (excludeLeaveId != null ? " AND leave_id != ?" : "");
 
         try (Connection conn = DBConnection.getConnection();
@@ -478,6 +780,99 @@ public class LeaveRequestDAO {
         return false;
     }
 
+    /**
+     * Picks the pending requests that can be approved together: each is checked against
+     * the approved leaves of its employee, locked here, and the ones accepted before it
+     */
+    private List<LeaveRequest> selectNonOverlapping(Connection conn, List<LeaveRequest> candidates,
+                                                    BulkStatusResult result) throws SQLException {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<Integer> employeeIds = new TreeSet<>();
+        for (LeaveRequest leave : candidates) {
+            employeeIds.add(leave.getEmployeeId());
+        }
+
+        Map<Integer, List<LeaveRequest>> approvedByEmployee = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                String.format(SELECT_APPROVED_BY_EMPLOYEES_FOR_UPDATE, placeholders(employeeIds.size())))) {
+            int paramIndex = 1;
+            stmt.setString(paramIndex++, STATUS_APPROVED);
+            for (int employeeId : employeeIds) {
+                stmt.setInt(paramIndex++, employeeId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LeaveRequest leave = mapResultSetToLeaveRequest(rs);
+                    approvedByEmployee.computeIfAbsent(leave.getEmployeeId(), k -> new ArrayList<>()).add(leave);
+                }
+            }
+        }
+
+        List<LeaveRequest> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparing(LeaveRequest::getStartDate).thenComparingInt(LeaveRequest::getLeaveId));
+
+        List<LeaveRequest> accepted = new ArrayList<>();
+        for (LeaveRequest leave : ordered) {
+            List<LeaveRequest> approved = approvedByEmployee.computeIfAbsent(leave.getEmployeeId(), k -> new ArrayList<>());
+            LeaveRequest conflict = null;
+            for (LeaveRequest other : approved) {
+                if (other.overlaps(leave.getStartDate(), leave.getEndDate())) {
+                    conflict = other;
+                    break;
+                }
+            }
+
+            if (conflict != null) {
+                result.skipped.put(leave.getLeaveId(), "Overlaps approved leave request " + conflict.getLeaveId());
+            } else {
+                approved.add(leave);
+                accepted.add(leave);
+            }
+        }
+        return accepted;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Reads a leave request and locks its row until the transaction ends
+     */
+    private LeaveRequest lockLeaveRequest(Connection conn, int leaveId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID_FOR_UPDATE)) {
+            stmt.setInt(1, leaveId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToLeaveRequest(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Keeps the leave ledger in line with a change to a leave request: days stop counting
+     * (REVERSAL) when an approved leave is un-approved, edited or deleted, and start counting
+     * (CONSUMPTION) when a leave becomes approved or an approved leave is edited.
+     * @param after the request after the change, or null if it was deleted
+     */
+    private void postLedgerChange(Connection conn, LeaveRequest before, LeaveRequest after) throws SQLException {
+        boolean wasCounted = before.isApproved();
+        boolean isCounted = after != null && after.isApproved();
+
+        if (wasCounted && isCounted && before.equals(after)
+                && before.getLeaveType().equalsIgnoreCase(after.getLeaveType())) {
+            return; // still approved, same employee, dates and type
+        }
+        if (wasCounted) {
+            leaveLedgerDAO.postLeave(conn, before, LeaveLedgerDAO.ENTRY_REVERSAL);
+        }
+        if (isCounted) {
+            leaveLedgerDAO.postLeave(conn, after, LeaveLedgerDAO.ENTRY_CONSUMPTION);
+        }
+    }
+
     /**
      * Maps ResultSet to LeaveRequest object
      * @param rs ResultSet from database
@@ -540,4 +935,25 @@ public class LeaveRequestDAO {
         validateLeaveRequestForInsert(leaveRequest);
         validateLeaveId(leaveRequest.getLeaveId());
     }
-}
\ No newline at end of file
+
+    /**
+     * Outcome of a bulk status change: the leave IDs that were updated and, for the
+     * rest, why they were skipped
+     */
+    public static class BulkStatusResult {
+        private final List<Integer> updated = new ArrayList<>();
+        private final Map<Integer, String> skipped = new TreeMap<>();
+
+        public List<Integer> getUpdatedIds() { return Collections.unmodifiableList(updated); }
+        public Map<Integer, String> getSkipped() { return Collections.unmodifiableMap(skipped); }
+
+        public String getSummary() {
+            StringBuilder summary = new StringBuilder();
+            summary.append(updated.size()).append(" updated, ").append(skipped.size()).append(" skipped");
+            for (Map.Entry<Integer, String> entry : skipped.entrySet()) {
+                summary.append("\n  #").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+            return summary.toString();
+        }
+    }
+}
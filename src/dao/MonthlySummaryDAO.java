@@ -0,0 +1,297 @@
+package dao;
+
+import util.DBConnection;
+import model.AttendanceSummary;
+import model.CompanyMonthlySummary;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for the per (employee, month) summary tables
+ * attendance_monthly_summary and contribution_monthly_summary.
+ *
+ * AttendanceDAO and PayrollDAO call the refresh methods on their own connection
+ * after every write, recomputing only the affected (employee, month) row.
+ * rebuildAll() recomputes everything and is meant for a background job or
+ * after bulk loads that bypass the DAOs.
+ *
+ * Attendance is only written in hot months (see util.AttendanceTables), so a month
+ * refresh reads the attendance table alone; the rebuild reads the archive as well.
+ */
+public class MonthlySummaryDAO {
+    private static final Logger logger = Logger.getLogger(MonthlySummaryDAO.class.getName());
+
+    // Thresholds match v_attendance_summary: late after 08:15, undertime before 17:00
+    private static final String REFRESH_ATTENDANCE_MONTH = """
+            INSERT INTO attendance_monthly_summary
+                (employee_id, summary_month, days_present, total_minutes, late_count, undertime_count)
+            SELECT ?, ?, COUNT(*),
+                   COALESCE(SUM(TIMESTAMPDIFF(MINUTE, log_in, log_out)), 0),
+                   COALESCE(SUM(CASE WHEN log_in > '08:15:00' THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN log_out < '17:00:00' THEN 1 ELSE 0 END), 0)
+            FROM attendance
+            WHERE employee_id = ? AND date >= ? AND date < ? AND log_in IS NOT NULL
+            ON DUPLICATE KEY UPDATE
+                days_present = VALUES(days_present),
+                total_minutes = VALUES(total_minutes),
+                late_count = VALUES(late_count),
+                undertime_count = VALUES(undertime_count)
+            """;
+
+    private static final String DELETE_EMPTY_ATTENDANCE_MONTH =
+        "DELETE FROM attendance_monthly_summary WHERE employee_id = ? AND summary_month = ? AND days_present = 0";
+
+    private static final String REFRESH_CONTRIBUTION_MONTH = """
+            INSERT INTO contribution_monthly_summary
+                (employee_id, summary_month, payroll_count, gross_pay, total_deductions, net_pay,
+                 sss, philhealth, pagibig, tax)
+            SELECT ?, ?, COUNT(*),
+                   COALESCE(SUM(gross_pay), 0), COALESCE(SUM(total_deductions), 0), COALESCE(SUM(net_pay), 0),
+                   COALESCE(SUM(sss), 0), COALESCE(SUM(philhealth), 0), COALESCE(SUM(pagibig), 0),
+                   COALESCE(SUM(tax), 0)
+            FROM payroll
+            WHERE employee_id = ? AND period_start >= ? AND period_start < ?
+            ON DUPLICATE KEY UPDATE
+                payroll_count = VALUES(payroll_count),
+                gross_pay = VALUES(gross_pay),
+                total_deductions = VALUES(total_deductions),
+                net_pay = VALUES(net_pay),
+                sss = VALUES(sss),
+                philhealth = VALUES(philhealth),
+                pagibig = VALUES(pagibig),
+                tax = VALUES(tax)
+            """;
+
+    private static final String DELETE_EMPTY_CONTRIBUTION_MONTH =
+        "DELETE FROM contribution_monthly_summary WHERE employee_id = ? AND summary_month = ? AND payroll_count = 0";
+
+    // Whole history: archived months are rebuilt from attendance_archive
+    private static final String REBUILD_ATTENDANCE = """
+            INSERT INTO attendance_monthly_summary
+                (employee_id, summary_month, days_present, total_minutes, late_count, undertime_count)
+            SELECT employee_id, DATE_FORMAT(date, '%Y-%m-01'), COUNT(*),
+                   COALESCE(SUM(TIMESTAMPDIFF(MINUTE, log_in, log_out)), 0),
+                   SUM(CASE WHEN log_in > '08:15:00' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN log_out < '17:00:00' THEN 1 ELSE 0 END)
+            FROM (
+                SELECT employee_id, date, log_in, log_out FROM attendance
+                UNION ALL
+                SELECT employee_id, date, log_in, log_out FROM attendance_archive
+            ) a
+            WHERE log_in IS NOT NULL
+            GROUP BY employee_id, DATE_FORMAT(date, '%Y-%m-01')
+            """;
+
+    private static final String REBUILD_CONTRIBUTIONS = """
+            INSERT INTO contribution_monthly_summary
+                (employee_id, summary_month, payroll_count, gross_pay, total_deductions, net_pay,
+                 sss, philhealth, pagibig, tax)
+            SELECT employee_id, DATE_FORMAT(period_start, '%Y-%m-01'), COUNT(*),
+                   SUM(gross_pay), SUM(total_deductions), SUM(net_pay),
+                   SUM(sss), SUM(philhealth), SUM(pagibig), SUM(tax)
+            FROM payroll
+            GROUP BY employee_id, DATE_FORMAT(period_start, '%Y-%m-01')
+            """;
+
+    private static final String SELECT_COMPANY_MONTHS = """
+            SELECT summary_month, employees_present, days_present, total_hours, late_count, undertime_count,
+                   gross_pay, net_pay, sss, philhealth, pagibig, tax
+            FROM v_monthly_company_summary
+            WHERE summary_month BETWEEN ? AND ?
+            ORDER BY summary_month
+            """;
+
+    private static final String SELECT_EMPLOYEE_ATTENDANCE_SUMMARY = """
+            SELECT e.employee_id, e.first_name, e.last_name,
+                   COALESCE(SUM(s.days_present), 0) AS days_present,
+                   COALESCE(SUM(s.total_minutes), 0) / 60.0 AS total_hours,
+                   COALESCE(SUM(s.late_count), 0) AS late_count,
+                   COALESCE(SUM(s.undertime_count), 0) AS undertime_count
+            FROM employees e
+            LEFT JOIN attendance_monthly_summary s
+                   ON s.employee_id = e.employee_id AND s.summary_month BETWEEN ? AND ?
+            GROUP BY e.employee_id, e.first_name, e.last_name
+            ORDER BY e.last_name, e.first_name, e.employee_id
+            """;
+
+    /**
+     * Recomputes the attendance summary row for the employee and the month containing the date.
+     * Runs on the caller's connection so it joins the caller's transaction, if any.
+     * A failure is logged and reported as false - the raw attendance write stays authoritative
+     * and rebuildAll() can repair the summary later.
+     */
+    public boolean refreshAttendanceMonth(Connection conn, int employeeId, LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        java.sql.Date monthStart = java.sql.Date.valueOf(month.atDay(1));
+
+        try (PreparedStatement stmt = conn.prepareStatement(REFRESH_ATTENDANCE_MONTH);
+             PreparedStatement cleanup = conn.prepareStatement(DELETE_EMPTY_ATTENDANCE_MONTH)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, monthStart);
+            stmt.setInt(3, employeeId);
+            stmt.setDate(4, monthStart);
+            stmt.setDate(5, java.sql.Date.valueOf(month.plusMonths(1).atDay(1)));
+            stmt.executeUpdate();
+
+            cleanup.setInt(1, employeeId);
+            cleanup.setDate(2, monthStart);
+            cleanup.executeUpdate();
+            return true;
+
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "⚠️ Could not refresh attendance summary for employee " + employeeId +
+                    " month " + month, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Recomputes the contribution summary row for the employee and the month containing periodStart.
+     * Same failure semantics as refreshAttendanceMonth.
+     */
+    public boolean refreshContributionMonth(Connection conn, int employeeId, LocalDate periodStart) {
+        YearMonth month = YearMonth.from(periodStart);
+        java.sql.Date monthStart = java.sql.Date.valueOf(month.atDay(1));
+
+        try (PreparedStatement stmt = conn.prepareStatement(REFRESH_CONTRIBUTION_MONTH);
+             PreparedStatement cleanup = conn.prepareStatement(DELETE_EMPTY_CONTRIBUTION_MONTH)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, monthStart);
+            stmt.setInt(3, employeeId);
+            stmt.setDate(4, monthStart);
+            stmt.setDate(5, java.sql.Date.valueOf(month.plusMonths(1).atDay(1)));
+            stmt.executeUpdate();
+
+            cleanup.setInt(1, employeeId);
+            cleanup.setDate(2, monthStart);
+            cleanup.executeUpdate();
+            return true;
+
+        } catch (SQLException ex) {
+            logger.log(Level.WARNING, "⚠️ Could not refresh contribution summary for employee " + employeeId +
+                    " month " + month, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Rebuilds both summary tables from the raw attendance and payroll tables in one transaction.
+     */
+    public void rebuildAll() {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM attendance_monthly_summary");
+                int attendanceRows = stmt.executeUpdate(REBUILD_ATTENDANCE);
+                stmt.executeUpdate("DELETE FROM contribution_monthly_summary");
+                int contributionRows = stmt.executeUpdate(REBUILD_CONTRIBUTIONS);
+                conn.commit();
+                logger.info("✅ Monthly summaries rebuilt: " + attendanceRows + " attendance rows, " +
+                        contributionRows + " contribution rows");
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error rebuilding monthly summaries", ex);
+            throw new RuntimeException("Failed to rebuild monthly summaries", ex);
+        }
+    }
+
+    /**
+     * Company-wide totals per month, oldest first
+     */
+    public List<CompanyMonthlySummary> getCompanyMonthlySummaries(YearMonth fromMonth, YearMonth toMonth) {
+        validateMonthRange(fromMonth, toMonth);
+
+        List<CompanyMonthlySummary> summaries = new ArrayList<>();
+
+        // Report read: served by the read replica when it is within its lag bound
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_COMPANY_MONTHS)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(fromMonth.atDay(1)));
+            stmt.setDate(2, java.sql.Date.valueOf(toMonth.atDay(1)));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    CompanyMonthlySummary summary = new CompanyMonthlySummary(
+                            YearMonth.from(rs.getDate("summary_month").toLocalDate()));
+                    summary.setEmployeesPresent(rs.getInt("employees_present"));
+                    summary.setDaysPresent(rs.getInt("days_present"));
+                    summary.setTotalHours(rs.getDouble("total_hours"));
+                    summary.setLateCount(rs.getInt("late_count"));
+                    summary.setUndertimeCount(rs.getInt("undertime_count"));
+                    summary.setGrossPay(rs.getDouble("gross_pay"));
+                    summary.setNetPay(rs.getDouble("net_pay"));
+                    summary.setSss(rs.getDouble("sss"));
+                    summary.setPhilhealth(rs.getDouble("philhealth"));
+                    summary.setPagibig(rs.getDouble("pagibig"));
+                    summary.setTax(rs.getDouble("tax"));
+                    summaries.add(summary);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving company monthly summaries", ex);
+            throw new RuntimeException("Failed to retrieve monthly summaries", ex);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Per-employee attendance totals over whole months, summed from the summary table.
+     * Includes employees with no attendance in the range.
+     */
+    public List<AttendanceSummary> getAttendanceSummaries(YearMonth fromMonth, YearMonth toMonth) {
+        validateMonthRange(fromMonth, toMonth);
+
+        List<AttendanceSummary> summaries = new ArrayList<>();
+
+        // Report read: served by the read replica when it is within its lag bound
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_EMPLOYEE_ATTENDANCE_SUMMARY)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(fromMonth.atDay(1)));
+            stmt.setDate(2, java.sql.Date.valueOf(toMonth.atDay(1)));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new AttendanceSummary(
+                            rs.getInt("employee_id"),
+                            rs.getString("first_name"),
+                            rs.getString("last_name"),
+                            rs.getInt("days_present"),
+                            rs.getDouble("total_hours"),
+                            rs.getInt("late_count"),
+                            rs.getInt("undertime_count")));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving monthly attendance summaries", ex);
+            throw new RuntimeException("Failed to retrieve monthly attendance summaries", ex);
+        }
+
+        return summaries;
+    }
+
+    private void validateMonthRange(YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth == null || toMonth == null) {
+            throw new IllegalArgumentException("Month range cannot be null");
+        }
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("Start month cannot be after end month");
+        }
+    }
+}
@@ -37,6 +37,15 @@ public class OvertimeDAO {
         "SELECT COALESCE(SUM(hours), 0) as total_hours FROM overtime " +
         "WHERE employee_id = ? AND date >= ? AND date <= ?";
     
+    // Served from idx_overtime_employee_date_approved (employee_id, date, approved, hours) without touching the rows
+    private static final String SELECT_APPROVED_HOURS =
+        "SELECT COALESCE(SUM(hours), 0) as total_hours FROM overtime " +
+        "WHERE employee_id = ? AND date >= ? AND date <= ? AND approved = TRUE";
+    
+    private static final String SELECT_APPROVED_HOURS_BY_EMPLOYEE =
+        "SELECT employee_id, SUM(hours) as total_hours FROM overtime " +
+        "WHERE date >= ? AND date <= ? AND approved = TRUE GROUP BY employee_id";
+    
     private static final String SELECT_BY_ID = 
         "SELECT overtime_id, employee_id, date, hours, reason, approved FROM overtime WHERE overtime_id = ?";
     
@@ -290,6 +299,76 @@ public class OvertimeDAO {
         return 0.0;
     }
     
+    /**
+     * Gets the approved overtime hours of an employee within a date range
+     * @param employeeId Employee ID
+     * @param periodStart Start date of the period (inclusive)
+     * @param periodEnd End date of the period (inclusive)
+     * @return Approved overtime hours (0.0 if none)
+     * @throws IllegalArgumentException if parameters are invalid
+     * @throws RuntimeException if database error occurs
+     */
+    public double getApprovedOvertimeHours(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        validateEmployeeId(employeeId);
+        validateDateRange(periodStart, periodEnd);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_APPROVED_HOURS)) {
+            
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(3, java.sql.Date.valueOf(periodEnd));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getDouble("total_hours");
+                }
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, 
+                String.format("Error calculating approved overtime hours for employee ID: %d between %s and %s", 
+                    employeeId, periodStart, periodEnd), ex);
+            throw new RuntimeException("Failed to calculate approved overtime hours", ex);
+        }
+        
+        return 0.0;
+    }
+    
+    /**
+     * Gets the approved overtime hours of every employee within a date range in one query
+     * @param periodStart Start date of the period (inclusive)
+     * @param periodEnd End date of the period (inclusive)
+     * @return Approved hours by employee ID; employees without approved overtime are absent
+     * @throws IllegalArgumentException if the date range is invalid
+     * @throws RuntimeException if database error occurs
+     */
+    public Map<Integer, Double> getApprovedOvertimeHoursByEmployee(LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+        
+        Map<Integer, Double> hoursByEmployee = new HashMap<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_APPROVED_HOURS_BY_EMPLOYEE)) {
+            
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hoursByEmployee.put(rs.getInt("employee_id"), rs.getDouble("total_hours"));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, 
+                String.format("Error aggregating approved overtime hours between %s and %s", periodStart, periodEnd), ex);
+            throw new RuntimeException("Failed to aggregate approved overtime hours", ex);
+        }
+        
+        return hoursByEmployee;
+    }
+    
     /**
      * Gets count of overtime records for an employee within a date range
      * @param employeeId Employee ID
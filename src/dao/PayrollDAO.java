@@ -1,10 +1,13 @@
 package dao;
 
 import util.DBConnection;
+import model.Deduction;
 import model.Payroll;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -22,6 +25,14 @@ public class PayrollDAO {
         "undertime_deduction, unpaid_leave_deduction, overtime_pay, rice_subsidy, phone_allowance, " +
         "clothing_allowance, sss, philhealth, pagibig, tax FROM payroll WHERE employee_id = ? ORDER BY period_start DESC";
     
+    // Streaming read of one employee's history, oldest first. Kept apart from
+    // SELECT_BY_EMPLOYEE_ID because setting a fetch size closes a cached statement.
+    private static final String STREAM_BY_EMPLOYEE_ID =
+        "SELECT payroll_id, employee_id, period_start, period_end, monthly_rate, days_worked, " +
+        "overtime_hours, gross_pay, total_deductions, net_pay, gross_earnings, late_deduction, " +
+        "undertime_deduction, unpaid_leave_deduction, overtime_pay, rice_subsidy, phone_allowance, " +
+        "clothing_allowance, sss, philhealth, pagibig, tax FROM payroll WHERE employee_id = ? ORDER BY period_start, payroll_id";
+
     private static final String SELECT_BY_DATE_RANGE = 
         "SELECT payroll_id, employee_id, period_start, period_end, monthly_rate, days_worked, " +
         "overtime_hours, gross_pay, total_deductions, net_pay, gross_earnings, late_deduction, " +
@@ -43,6 +54,15 @@ public class PayrollDAO {
         "sss = ?, philhealth = ?, pagibig = ?, tax = ? WHERE payroll_id = ?";
     
     private static final String DELETE_PAYROLL = "DELETE FROM payroll WHERE payroll_id = ?";
+
+    private static final String SELECT_KEY_BY_ID =
+        "SELECT employee_id, period_start FROM payroll WHERE payroll_id = ?";
+
+    // Keeps contribution_monthly_summary current after every write
+    private final MonthlySummaryDAO monthlySummaryDAO = new MonthlySummaryDAO();
+
+    // Itemized deduction lines are written in the same transaction as their payroll row
+    private final DeductionDAO deductionDAO = new DeductionDAO();
     
     private static final String SELECT_BY_ID = 
         "SELECT payroll_id, employee_id, period_start, period_end, monthly_rate, days_worked, " +
@@ -82,6 +102,38 @@ public class PayrollDAO {
         return payrollList;
     }
 
+    /**
+     * Streaming variant of getPayrollByEmployeeId for exports and batch jobs: rows are fetched
+     * from a server-side cursor STREAM_FETCH_SIZE at a time and handed to the consumer oldest first
+     * @param empId Employee ID
+     * @param consumer Receives each payroll record
+     */
+    public void forEachPayrollByEmployeeId(int empId, Consumer<Payroll> consumer) {
+        if (empId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(STREAM_BY_EMPLOYEE_ID)) {
+
+            stmt.setFetchSize(DBConnection.STREAM_FETCH_SIZE);
+            stmt.setInt(1, empId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToPayroll(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error streaming payroll for employee ID: " + empId, ex);
+            throw new RuntimeException("Failed to retrieve payroll records", ex);
+        }
+    }
+
     /**
      * Retrieves payroll records for an employee within a date range
      * @param employeeId Employee ID
@@ -145,6 +197,8 @@ public class PayrollDAO {
                 if (generatedKeys.next()) {
                     int generatedId = generatedKeys.getInt(1);
                     payroll.setPayrollId(generatedId);
+                    monthlySummaryDAO.refreshContributionMonth(conn, payroll.getEmployeeId(),
+                            payroll.getStartDateAsLocalDate());
                     return generatedId;
                 } else {
                     throw new SQLException("Creating payroll failed, no ID obtained");
@@ -157,6 +211,63 @@ public class PayrollDAO {
         }
     }
 
+    /**
+     * Inserts a payroll record together with its itemized deductions in one transaction.
+     * The deductions are linked to the new payroll ID and written with one batched insert.
+     * @param payroll Payroll object to insert
+     * @param deductions Deduction lines of this payroll
+     * @return Generated payroll ID
+     */
+    public int insertPayrollWithDeductions(Payroll payroll, List<Deduction> deductions) {
+        if (payroll == null) {
+            throw new IllegalArgumentException("Payroll cannot be null");
+        }
+        if (deductions == null) {
+            throw new IllegalArgumentException("Deductions cannot be null");
+        }
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_PAYROLL, Statement.RETURN_GENERATED_KEYS)) {
+            
+            conn.setAutoCommit(false);
+            try {
+                setPayrollParameters(stmt, payroll);
+                if (stmt.executeUpdate() == 0) {
+                    throw new SQLException("Creating payroll failed, no rows affected");
+                }
+                
+                int generatedId;
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating payroll failed, no ID obtained");
+                    }
+                    generatedId = generatedKeys.getInt(1);
+                }
+                
+                for (Deduction deduction : deductions) {
+                    deduction.setPayrollId(generatedId);
+                }
+                deductionDAO.addDeductions(conn, deductions);
+                monthlySummaryDAO.refreshContributionMonth(conn, payroll.getEmployeeId(),
+                        payroll.getStartDateAsLocalDate());
+                
+                conn.commit();
+                payroll.setPayrollId(generatedId);
+                return generatedId;
+                
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error inserting payroll record with deductions", ex);
+            throw new RuntimeException("Failed to insert payroll record", ex);
+        }
+    }
+
     /**
      * Updates an existing payroll record
      * @param payroll Payroll object with updated information
@@ -173,10 +284,21 @@ public class PayrollDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_PAYROLL)) {
             
+            // The row may move to another employee or month - both summary rows need refreshing
+            PayrollKey previous = findPayrollKey(conn, payroll.getPayrollId());
+
             setPayrollParameters(stmt, payroll);
             stmt.setInt(22, payroll.getPayrollId()); // Set payroll_id for WHERE clause
             
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                monthlySummaryDAO.refreshContributionMonth(conn, payroll.getEmployeeId(),
+                        payroll.getStartDateAsLocalDate());
+                if (previous != null && (previous.employeeId != payroll.getEmployeeId()
+                        || !YearMonth.from(previous.periodStart).equals(YearMonth.from(payroll.getStartDateAsLocalDate())))) {
+                    monthlySummaryDAO.refreshContributionMonth(conn, previous.employeeId, previous.periodStart);
+                }
+            }
             return affectedRows > 0;
             
         } catch (SQLException ex) {
@@ -198,9 +320,14 @@ public class PayrollDAO {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(DELETE_PAYROLL)) {
             
+            PayrollKey previous = findPayrollKey(conn, payrollId);
+
             stmt.setInt(1, payrollId);
             
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0 && previous != null) {
+                monthlySummaryDAO.refreshContributionMonth(conn, previous.employeeId, previous.periodStart);
+            }
             return affectedRows > 0;
             
         } catch (SQLException ex) {
@@ -300,4 +427,32 @@ public class PayrollDAO {
         payroll.setTax(rs.getDouble("tax"));
         return payroll;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the employee and period start of an existing payroll row on the given connection
+     */
+    private PayrollKey findPayrollKey(Connection conn, int payrollId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_KEY_BY_ID)) {
+            stmt.setInt(1, payrollId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new PayrollKey(rs.getInt("employee_id"), rs.getDate("period_start").toLocalDate());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Identifies the monthly summary row a payroll record contributes to
+     */
+    private static final class PayrollKey {
+        final int employeeId;
+        final LocalDate periodStart;
+
+        PayrollKey(int employeeId, LocalDate periodStart) {
+            this.employeeId = employeeId;
+            this.periodStart = periodStart;
+        }
+    }
+}
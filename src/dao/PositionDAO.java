@@ -1,32 +1,35 @@
 
 package dao;
  
-import util.DBConnection;
+import util.ReferenceDataCache;
 import model.Position;
-import java.sql.*;
 import java.util.*;
 
 public class PositionDAO {
+    // ENHANCED: Positions are served from the reference data cache instead of one query per call
     public Position getPositionById(int positionId) {
-        String query = "SELECT * FROM position WHERE position_id = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, positionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                Position p = new Position();
-                p.setPositionId(rs.getInt("position_id"));
-                p.setPositionName(rs.getString("position_name"));
-                return p;
-            }
+        try {
+            ensureCacheLoaded();
+        } catch (RuntimeException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+        return ReferenceDataCache.getInstance().getPosition(positionId);
+    }
 
-        } catch (SQLException ex) {
+    public List<Position> getAllPositions() {
+        try {
+            ensureCacheLoaded();
+        } catch (RuntimeException ex) {
             ex.printStackTrace();
+            return new ArrayList<>();
         }
+        return ReferenceDataCache.getInstance().getPositions();
+    }
 
-        return null;
+    private void ensureCacheLoaded() {
+        if (!ReferenceDataCache.getInstance().isLoaded()) {
+            new ReferenceDataDAO().loadCache();
+        }
     }
 }
@@ -0,0 +1,142 @@
+package dao;
+
+import util.DBConnection;
+import util.ReferenceDataCache;
+import model.EmploymentStatus;
+import model.Position;
+import model.UserRole;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Loads positions, employment statuses, departments and stored position roles into
+ * ReferenceDataCache.
+ *
+ * reference_data_version is bumped by triggers on every change to those tables, so
+ * checking for changes is a single-row read and the tables are only re-read when
+ * the version moved.
+ */
+public class ReferenceDataDAO {
+    private static final Logger logger = Logger.getLogger(ReferenceDataDAO.class.getName());
+
+    private static final String SELECT_VERSION =
+            "SELECT version FROM reference_data_version WHERE id = 1";
+
+    private static final String SELECT_POSITIONS = """
+            SELECT p.position_id, p.position_title, p.min_salary, p.max_salary, p.job_description,
+                   p.user_role, d.department_name
+            FROM positions p
+            LEFT JOIN departments d ON d.department_id = p.department_id
+            """;
+
+    private static final String SELECT_STATUSES =
+            "SELECT status_id, status_name, description, benefits_eligible, max_leave_days FROM employee_status";
+
+    private static final String SELECT_DEPARTMENTS =
+            "SELECT department_id, department_name FROM departments";
+
+    /**
+     * Reads the current reference data version
+     * @throws RuntimeException if database error occurs
+     */
+    public long getVersion() {
+        try (Connection conn = DBConnection.getConnection()) {
+            return readVersion(conn);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading reference data version", ex);
+            throw new RuntimeException("Failed to read reference data version", ex);
+        }
+    }
+
+    /**
+     * Reads all reference data and replaces the cache contents
+     * @throws RuntimeException if database error occurs
+     */
+    public void loadCache() {
+        try (Connection conn = DBConnection.getConnection()) {
+            // Read first: a change made while the tables are read leaves the cache one
+            // version behind, so the next check reloads it
+            long version = readVersion(conn);
+
+            List<Position> positions = new ArrayList<>();
+            Map<String, UserRole> positionRoles = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_POSITIONS);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Position position = new Position(rs.getInt("position_id"), rs.getString("position_title"),
+                            rs.getString("department_name"));
+                    position.setMinimumSalary(rs.getDouble("min_salary"));
+                    position.setMaximumSalary(rs.getDouble("max_salary"));
+                    position.setDescription(rs.getString("job_description"));
+                    positions.add(position);
+
+                    UserRole role = parseRole(rs.getString("user_role"), position.getPositionName());
+                    if (role != null && position.getPositionName() != null) {
+                        positionRoles.put(position.getPositionName(), role);
+                    }
+                }
+            }
+
+            List<EmploymentStatus> statuses = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_STATUSES);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    EmploymentStatus status = new EmploymentStatus(rs.getInt("status_id"),
+                            rs.getString("status_name"), rs.getString("description"));
+                    status.setEligibleForBenefits(rs.getBoolean("benefits_eligible"));
+                    status.setMaxLeaveDays(rs.getInt("max_leave_days"));
+                    statuses.add(status);
+                }
+            }
+
+            Map<Integer, String> departments = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_DEPARTMENTS);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    departments.put(rs.getInt("department_id"), rs.getString("department_name"));
+                }
+            }
+
+            ReferenceDataCache.getInstance().load(version, positions, statuses, departments, positionRoles);
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error loading reference data", ex);
+            throw new RuntimeException("Failed to load reference data", ex);
+        }
+    }
+
+    /**
+     * Reloads the cache if the stored version differs from the cached one
+     * @return true if the cache was reloaded
+     * @throws RuntimeException if database error occurs
+     */
+    public boolean refreshCacheIfChanged() {
+        long cachedVersion = ReferenceDataCache.getInstance().getVersion();
+        if (getVersion() == cachedVersion) {
+            return false;
+        }
+        loadCache();
+        return true;
+    }
+
+    private long readVersion(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_VERSION);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong("version") : 0;
+        }
+    }
+
+    private UserRole parseRole(String value, String positionTitle) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return UserRole.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            logger.warning("⚠️ Unknown role '" + value + "' stored for position '" + positionTitle + "', ignored");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Company-wide attendance of one period held column by column in primitive arrays.
+ *
+ * Rows are grouped by employee: the rows of employeeIds[i] are rowStart[i] to rowStart[i + 1],
+ * so an employee's days are found with one binary search and scanned as a contiguous range.
+ * Each row is the epoch day plus log-in and log-out as second of day (NO_TIME when missing);
+ * 12 bytes per punch-day instead of an Attendance with a Date and two Time objects, and no
+ * per-row objects for the garbage collector. Produced by AttendanceDAO.loadAttendanceBlock();
+ * bulk payroll runs scan it instead of querying attendance per employee.
+ *
+ * The scans use the same rules as the per-record code they replace (whole minutes, log-in
+ * strictly after the threshold, log-out strictly before the end of day), so results match.
+ */
+public final class AttendanceBlock {
+    public static final int NO_TIME = -1;
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final int[] employeeIds;
+    private final int[] rowStart;
+    private final int[] epochDays;
+    private final int[] logInSeconds;
+    private final int[] logOutSeconds;
+
+    private AttendanceBlock(LocalDate periodStart, LocalDate periodEnd, int[] employeeIds, int[] rowStart,
+                            int[] epochDays, int[] logInSeconds, int[] logOutSeconds) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.employeeIds = employeeIds;
+        this.rowStart = rowStart;
+        this.epochDays = epochDays;
+        this.logInSeconds = logInSeconds;
+        this.logOutSeconds = logOutSeconds;
+    }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+
+    // Punch-days in the block
+    public int size() {
+        return epochDays.length;
+    }
+
+    public int getEmployeeCount() {
+        return employeeIds.length;
+    }
+
+    public boolean covers(LocalDate start, LocalDate end) {
+        return periodStart.equals(start) && periodEnd.equals(end);
+    }
+
+    /**
+     * Number of punch-days of the employee, 0 if they have none in the period
+     */
+    public int countRows(int employeeId) {
+        int i = Arrays.binarySearch(employeeIds, employeeId);
+        return i < 0 ? 0 : rowStart[i + 1] - rowStart[i];
+    }
+
+    /**
+     * Days with a log-in, the days worked of the payroll
+     */
+    public int countDaysPresent(int employeeId) {
+        int i = Arrays.binarySearch(employeeIds, employeeId);
+        if (i < 0) {
+            return 0;
+        }
+        int days = 0;
+        for (int row = rowStart[i]; row < rowStart[i + 1]; row++) {
+            if (logInSeconds[row] != NO_TIME) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Whole minutes between log-in and log-out summed over the days with both, as Attendance.getWorkHours()
+     */
+    public long totalWorkMinutes(int employeeId) {
+        int i = Arrays.binarySearch(employeeIds, employeeId);
+        if (i < 0) {
+            return 0;
+        }
+        long minutes = 0;
+        for (int row = rowStart[i]; row < rowStart[i + 1]; row++) {
+            if (logInSeconds[row] != NO_TIME && logOutSeconds[row] != NO_TIME) {
+                minutes += (logOutSeconds[row] - logInSeconds[row]) / 60;
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * Whole minutes late counted from standardLogin, over the days logged in after lateThreshold
+     */
+    public long totalLateMinutes(int employeeId, LocalTime standardLogin, LocalTime lateThreshold) {
+        int i = Arrays.binarySearch(employeeIds, employeeId);
+        if (i < 0) {
+            return 0;
+        }
+        int start = standardLogin.toSecondOfDay();
+        int threshold = lateThreshold.toSecondOfDay();
+        long minutes = 0;
+        for (int row = rowStart[i]; row < rowStart[i + 1]; row++) {
+            int logIn = logInSeconds[row];
+            if (logIn != NO_TIME && logIn > threshold) {
+                minutes += (logIn - start) / 60;
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * Whole minutes short of standardLogout, over the days logged out before it
+     */
+    public long totalUndertimeMinutes(int employeeId, LocalTime standardLogout) {
+        int i = Arrays.binarySearch(employeeIds, employeeId);
+        if (i < 0) {
+            return 0;
+        }
+        int end = standardLogout.toSecondOfDay();
+        long minutes = 0;
+        for (int row = rowStart[i]; row < rowStart[i + 1]; row++) {
+            int logOut = logOutSeconds[row];
+            if (logOut != NO_TIME && logOut < end) {
+                minutes += (end - logOut) / 60;
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * Collects rows in employee order; the rows of one employee must be added together
+     */
+    public static final class Builder {
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private int[] employeeIds = new int[64];
+        private int[] rowStart = new int[65];
+        private int employeeCount;
+        private int[] epochDays = new int[1024];
+        private int[] logInSeconds = new int[1024];
+        private int[] logOutSeconds = new int[1024];
+        private int rowCount;
+
+        public Builder(LocalDate periodStart, LocalDate periodEnd) {
+            if (periodStart == null || periodEnd == null) {
+                throw new IllegalArgumentException("Period start and end dates cannot be null");
+            }
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+        }
+
+        /**
+         * @param logIn log-in time, or null
+         * @param logOut log-out time, or null
+         * @throws IllegalArgumentException if the employee ids are not in ascending order
+         */
+        public Builder add(int employeeId, LocalDate date, LocalTime logIn, LocalTime logOut) {
+            if (employeeCount == 0 || employeeIds[employeeCount - 1] != employeeId) {
+                if (employeeCount > 0 && employeeIds[employeeCount - 1] > employeeId) {
+                    throw new IllegalArgumentException("Attendance rows must be ordered by employee ID");
+                }
+                if (employeeCount == employeeIds.length) {
+                    employeeIds = Arrays.copyOf(employeeIds, employeeCount * 2);
+                    rowStart = Arrays.copyOf(rowStart, employeeCount * 2 + 1);
+                }
+                employeeIds[employeeCount] = employeeId;
+                rowStart[employeeCount] = rowCount;
+                employeeCount++;
+            }
+
+            if (rowCount == epochDays.length) {
+                int capacity = rowCount * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                logInSeconds = Arrays.copyOf(logInSeconds, capacity);
+                logOutSeconds = Arrays.copyOf(logOutSeconds, capacity);
+            }
+            epochDays[rowCount] = (int) date.toEpochDay();
+            logInSeconds[rowCount] = logIn != null ? logIn.toSecondOfDay() : NO_TIME;
+            logOutSeconds[rowCount] = logOut != null ? logOut.toSecondOfDay() : NO_TIME;
+            rowCount++;
+            return this;
+        }
+
+        public AttendanceBlock build() {
+            int[] starts = Arrays.copyOf(rowStart, employeeCount + 1);
+            starts[employeeCount] = rowCount;
+            return new AttendanceBlock(periodStart, periodEnd,
+                    Arrays.copyOf(employeeIds, employeeCount), starts,
+                    Arrays.copyOf(epochDays, rowCount),
+                    Arrays.copyOf(logInSeconds, rowCount),
+                    Arrays.copyOf(logOutSeconds, rowCount));
+        }
+    }
+}
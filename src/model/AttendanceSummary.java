@@ -0,0 +1,55 @@
+package model;
+
+/**
+ * Aggregated attendance for one employee over a period.
+ * Produced by AttendanceDAO from a single grouped query, so summary reports
+ * do not need to load every per-day Attendance record.
+ */
+public class AttendanceSummary {
+    private final int employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final int daysPresent;
+    private final double totalHours;
+    private final int lateCount;
+    private final int undertimeCount;
+
+    public AttendanceSummary(int employeeId, String firstName, String lastName, int daysPresent,
+                             double totalHours, int lateCount, int undertimeCount) {
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.daysPresent = daysPresent;
+        this.totalHours = totalHours;
+        this.lateCount = lateCount;
+        this.undertimeCount = undertimeCount;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public int getDaysPresent() { return daysPresent; }
+    public double getTotalHours() { return totalHours; }
+    public int getLateCount() { return lateCount; }
+    public int getUndertimeCount() { return undertimeCount; }
+
+    public double getAverageHoursPerDay() {
+        return daysPresent > 0 ? totalHours / daysPresent : 0.0;
+    }
+
+    public String getFullName() {
+        if (firstName == null || lastName == null) return "Unknown";
+        return firstName.trim() + " " + lastName.trim();
+    }
+
+    @Override
+    public String toString() {
+        return "AttendanceSummary{" +
+                "employeeId=" + employeeId +
+                ", daysPresent=" + daysPresent +
+                ", totalHours=" + String.format("%.2f", totalHours) +
+                ", lateCount=" + lateCount +
+                ", undertimeCount=" + undertimeCount +
+                '}';
+    }
+}
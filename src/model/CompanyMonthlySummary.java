@@ -0,0 +1,79 @@
+package model;
+
+import java.time.YearMonth;
+
+/**
+ * Company-wide attendance and payroll totals for one month.
+ * Read from the monthly summary tables, so one instance covers a whole month
+ * without touching the raw attendance or payroll rows.
+ */
+public class CompanyMonthlySummary {
+    private final YearMonth month;
+    private int employeesPresent;
+    private int daysPresent;
+    private double totalHours;
+    private int lateCount;
+    private int undertimeCount;
+    private double grossPay;
+    private double netPay;
+    private double sss;
+    private double philhealth;
+    private double pagibig;
+    private double tax;
+
+    public CompanyMonthlySummary(YearMonth month) {
+        if (month == null) {
+            throw new IllegalArgumentException("Month cannot be null");
+        }
+        this.month = month;
+    }
+
+    public YearMonth getMonth() { return month; }
+
+    public int getEmployeesPresent() { return employeesPresent; }
+    public void setEmployeesPresent(int employeesPresent) { this.employeesPresent = employeesPresent; }
+
+    public int getDaysPresent() { return daysPresent; }
+    public void setDaysPresent(int daysPresent) { this.daysPresent = daysPresent; }
+
+    public double getTotalHours() { return totalHours; }
+    public void setTotalHours(double totalHours) { this.totalHours = totalHours; }
+
+    public int getLateCount() { return lateCount; }
+    public void setLateCount(int lateCount) { this.lateCount = lateCount; }
+
+    public int getUndertimeCount() { return undertimeCount; }
+    public void setUndertimeCount(int undertimeCount) { this.undertimeCount = undertimeCount; }
+
+    public double getGrossPay() { return grossPay; }
+    public void setGrossPay(double grossPay) { this.grossPay = grossPay; }
+
+    public double getNetPay() { return netPay; }
+    public void setNetPay(double netPay) { this.netPay = netPay; }
+
+    public double getSss() { return sss; }
+    public void setSss(double sss) { this.sss = sss; }
+
+    public double getPhilhealth() { return philhealth; }
+    public void setPhilhealth(double philhealth) { this.philhealth = philhealth; }
+
+    public double getPagibig() { return pagibig; }
+    public void setPagibig(double pagibig) { this.pagibig = pagibig; }
+
+    public double getTax() { return tax; }
+    public void setTax(double tax) { this.tax = tax; }
+
+    public double getTotalGovernmentContributions() {
+        return sss + philhealth + pagibig;
+    }
+
+    @Override
+    public String toString() {
+        return "CompanyMonthlySummary{" +
+                "month=" + month +
+                ", employeesPresent=" + employeesPresent +
+                ", daysPresent=" + daysPresent +
+                ", grossPay=" + String.format("%.2f", grossPay) +
+                '}';
+    }
+}
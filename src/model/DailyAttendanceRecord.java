@@ -0,0 +1,55 @@
+package model;
+
+/**
+ * One row of the daily attendance sheet: an employee and their attendance for the day.
+ * The attendance is null when the employee has no record for that date (absent).
+ * Produced by AttendanceDAO from a single employees LEFT JOIN attendance query.
+ */
+public class DailyAttendanceRecord {
+    private final int employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final String position;
+    private final Attendance attendance;
+
+    public DailyAttendanceRecord(int employeeId, String firstName, String lastName,
+                                 String position, Attendance attendance) {
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.position = position;
+        this.attendance = attendance;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getPosition() { return position; }
+    public Attendance getAttendance() { return attendance; }
+
+    public String getFullName() {
+        if (firstName == null || lastName == null) return "Unknown";
+        return firstName.trim() + " " + lastName.trim();
+    }
+
+    public boolean isPresent() {
+        return attendance != null;
+    }
+
+    public boolean isLate() {
+        return attendance != null && attendance.isLate();
+    }
+
+    public boolean isAbsent() {
+        return attendance == null;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyAttendanceRecord{" +
+                "employeeId=" + employeeId +
+                ", name='" + getFullName() + '\'' +
+                ", status=" + (isAbsent() ? "Absent" : isLate() ? "Late" : "Present") +
+                '}';
+    }
+}
@@ -18,6 +18,7 @@ public abstract class Deduction {
     protected double amount;
     protected String description;
     protected Date deductionDate;
+    protected int payrollId; // 0 when not tied to a payroll record
 
     // Deduction type constants
     public static final String TYPE_LATE = "Late";
@@ -98,6 +99,17 @@ public abstract class Deduction {
         this.description = description != null ? description.trim() : null;
     }
 
+    public int getPayrollId() {
+        return payrollId;
+    }
+
+    public void setPayrollId(int payrollId) {
+        if (payrollId < 0) {
+            throw new IllegalArgumentException("Payroll ID cannot be negative");
+        }
+        this.payrollId = payrollId;
+    }
+
     public Date getDeductionDate() {
         return deductionDate;
     }
@@ -453,4 +465,20 @@ public abstract class Deduction {
         public LocalDate getLeaveStartDateAsLocalDate() { return leaveStartDate != null ? leaveStartDate.toLocalDate() : null; }
         public LocalDate getLeaveEndDateAsLocalDate() { return leaveEndDate != null ? leaveEndDate.toLocalDate() : null; }
     }
-}
\ No newline at end of file
+
+    /**
+     * Deduction line itemized from a calculated payroll (SSS, tax, late, ...)
+     * The amount comes from the payroll calculation, so there is nothing to recalculate
+     */
+    public static class PayrollDeduction extends Deduction {
+
+        public PayrollDeduction(int employeeId, String type, double amount, String description) {
+            super(employeeId, type, amount, description);
+        }
+
+        @Override
+        public void calculateDeduction() {
+            // Amount was computed by the payroll calculator
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * Read-only projection of an employee for lists and lookups: combo boxes, name lookups
+ * and report rows that only show who the employee is. Produced by
+ * EmployeeDAO.getEmployeeSummaries() from the five columns it needs, so it carries none
+ * of the address, government ids or pay fields of a full Employee.
+ */
+public final class EmployeeSummary {
+    private final int employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final String position;
+    private final String status;
+
+    public EmployeeSummary(int employeeId, String firstName, String lastName,
+                           String position, String status) {
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.position = position;
+        this.status = status;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getPosition() { return position; }
+    public String getStatus() { return status; }
+
+    public String getFullName() {
+        if (firstName == null || lastName == null) return "Unknown";
+        return firstName.trim() + " " + lastName.trim();
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeSummary{" +
+                "employeeId=" + employeeId +
+                ", name='" + getFullName() + '\'' +
+                ", position='" + position + '\'' +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
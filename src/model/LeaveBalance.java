@@ -0,0 +1,51 @@
+package model;
+
+/**
+ * Running leave balance of one employee for one leave type and year.
+ * Read from the leave_balance table, which is maintained with every leave ledger entry.
+ */
+public class LeaveBalance {
+    private final int employeeId;
+    private final String leaveType;
+    private final int year;
+    private double entitledDays;
+    private double usedDays;
+    private double balanceDays;
+
+    public LeaveBalance(int employeeId, String leaveType, int year) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (leaveType == null || leaveType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Leave type cannot be null or empty");
+        }
+        this.employeeId = employeeId;
+        this.leaveType = leaveType.trim();
+        this.year = year;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getLeaveType() { return leaveType; }
+    public int getYear() { return year; }
+
+    public double getEntitledDays() { return entitledDays; }
+    public void setEntitledDays(double entitledDays) { this.entitledDays = entitledDays; }
+
+    public double getUsedDays() { return usedDays; }
+    public void setUsedDays(double usedDays) { this.usedDays = usedDays; }
+
+    public double getBalanceDays() { return balanceDays; }
+    public void setBalanceDays(double balanceDays) { this.balanceDays = balanceDays; }
+
+    @Override
+    public String toString() {
+        return "LeaveBalance{" +
+                "employeeId=" + employeeId +
+                ", leaveType='" + leaveType + '\'' +
+                ", year=" + year +
+                ", entitled=" + entitledDays +
+                ", used=" + usedDays +
+                ", balance=" + balanceDays +
+                '}';
+    }
+}
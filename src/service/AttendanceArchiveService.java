@@ -0,0 +1,69 @@
+package service;
+
+import dao.AttendanceDAO;
+import util.AttendanceTables;
+
+import java.time.LocalDate;
+import java.util.logging.Logger;
+
+/**
+ * Moves closed attendance months to the attendance_archive table.
+ *
+ * Everything before the hot boundary (the first day of the month attendance.hot.months
+ * back) is moved in short batches by AttendanceDAO.archiveAttendanceBefore(), so the job
+ * can run while the application is in use and can be re-run at any time; a run with
+ * nothing left to move does nothing. Reads keep seeing archived rows through
+ * util.AttendanceTables.
+ */
+public class AttendanceArchiveService {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceArchiveService.class.getName());
+
+    private final AttendanceDAO attendanceDAO;
+
+    public AttendanceArchiveService() {
+        this(new AttendanceDAO());
+    }
+
+    public AttendanceArchiveService(AttendanceDAO attendanceDAO) {
+        this.attendanceDAO = attendanceDAO;
+    }
+
+    /**
+     * Archives every month before the current hot boundary
+     */
+    public ArchiveResult archiveClosedMonths() {
+        long start = System.currentTimeMillis();
+        LocalDate boundary = AttendanceTables.current().getHotBoundary();
+
+        int moved = attendanceDAO.archiveAttendanceBefore(boundary);
+
+        ArchiveResult result = new ArchiveResult(boundary, moved, System.currentTimeMillis() - start);
+        LOGGER.info("📦 " + result);
+        return result;
+    }
+
+    /**
+     * Outcome of one archive run
+     */
+    public static class ArchiveResult {
+        private final LocalDate boundary;
+        private final int recordsMoved;
+        private final long elapsedMillis;
+
+        public ArchiveResult(LocalDate boundary, int recordsMoved, long elapsedMillis) {
+            this.boundary = boundary;
+            this.recordsMoved = recordsMoved;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public LocalDate getBoundary() { return boundary; }
+        public int getRecordsMoved() { return recordsMoved; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("Attendance archive: %d records dated before %s moved in %d ms",
+                    recordsMoved, boundary, elapsedMillis);
+        }
+    }
+}
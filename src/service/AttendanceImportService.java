@@ -0,0 +1,387 @@
+package service;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import model.Attendance;
+import util.AttendanceTables;
+import util.UnitOfWork;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Bulk import of time-clock / biometric attendance exports.
+ *
+ * The file is read line by line and every punch is validated in memory against the
+ * employee IDs loaded once up front. Punches are grouped per employee and day, the
+ * first punch becoming the log in and the last the log out. Days that already have
+ * an attendance record are found with one query over the file's date range, and the
+ * rest are inserted in JDBC batches. The lookup and the inserts run in one unit of work,
+ * so an import is written completely or not at all. Problems in the file never stop the
+ * import; each is listed with its line number in the result so it can be written out
+ * as an error report.
+ *
+ * Two formats are accepted, detected per line:
+ * <ul>
+ *   <li>Delimited (comma, semicolon or tab): {@code employee_id,date,log_in[,log_out]}
+ *       or {@code employee_id,timestamp}. A header line is skipped.</li>
+ *   <li>Fixed width: employee ID in columns 1-8, date (yyyyMMdd) in 9-16, punch time
+ *       (HHmm) in 17-20 and an optional second time in 21-24.</li>
+ * </ul>
+ */
+public class AttendanceImportService {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceImportService.class.getName());
+
+    private static final String DELIMITERS = "[,;\t]";
+
+    // Fixed-width layout: {start, end} character offsets
+    private static final int[] FIXED_EMPLOYEE_ID = {0, 8};
+    private static final int[] FIXED_DATE = {8, 16};
+    private static final int[] FIXED_TIME_IN = {16, 20};
+    private static final int[] FIXED_TIME_OUT = {20, 24};
+
+    private static final DateTimeFormatter FIXED_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter FIXED_TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+    private static final DateTimeFormatter US_DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy");
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']H:mm[:ss]");
+
+    private final EmployeeDAO employeeDAO;
+    private final AttendanceDAO attendanceDAO;
+
+    public AttendanceImportService() {
+        this(new EmployeeDAO(), new AttendanceDAO());
+    }
+
+    public AttendanceImportService(EmployeeDAO employeeDAO, AttendanceDAO attendanceDAO) {
+        this.employeeDAO = employeeDAO;
+        this.attendanceDAO = attendanceDAO;
+    }
+
+    /**
+     * Imports a time-clock file into the attendance table
+     */
+    public ImportResult importFile(File file) throws IOException {
+        if (file == null || !file.isFile()) {
+            throw new IllegalArgumentException("Import file does not exist: " + file);
+        }
+
+        long start = System.currentTimeMillis();
+        Set<Integer> employeeIds = employeeDAO.getAllEmployeeIds();
+
+        final ImportResult result;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            result = validate(reader, employeeIds);
+        }
+
+        // A row added by someone else between the lookup and the insert fails the unique key,
+        // which rolls back the whole import instead of leaving part of the file written
+        UnitOfWork.run(() -> {
+            removeExistingRecords(result);
+            result.inserted = attendanceDAO.insertAttendanceBatch(result.records);
+        });
+
+        LOGGER.info(String.format("📊 Imported %s: %d lines, %d punches, %d inserted, %d duplicates, %d errors in %d ms",
+                file.getName(), result.linesRead, result.punchesRead, result.inserted,
+                result.duplicates, result.getErrorCount(), System.currentTimeMillis() - start));
+        return result;
+    }
+
+    /**
+     * Parses and validates a time-clock export without touching the database.
+     * Returns the attendance records built from the valid punches together with
+     * every problem found; duplicates against existing records are not checked here.
+     */
+    public ImportResult validate(Reader source, Set<Integer> knownEmployeeIds) throws IOException {
+        ImportResult result = new ImportResult();
+        Map<Integer, Map<LocalDate, PunchDay>> days = new HashMap<>();
+        LocalDate today = LocalDate.now();
+
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        boolean firstDataLine = true;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            result.linesRead++;
+
+            Punches punches;
+            try {
+                punches = parseLine(line);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                // A non-numeric first field on the first line is a header row, not an error
+                if (firstDataLine && isHeader(line)) {
+                    firstDataLine = false;
+                    continue;
+                }
+                result.addError(lineNumber, null, e.getMessage());
+                firstDataLine = false;
+                continue;
+            }
+            firstDataLine = false;
+
+            if (!knownEmployeeIds.contains(punches.employeeId)) {
+                result.addError(lineNumber, punches.employeeId, "Unknown employee ID");
+                continue;
+            }
+            if (punches.date.isAfter(today)) {
+                result.addError(lineNumber, punches.employeeId, "Date is in the future: " + punches.date);
+                continue;
+            }
+
+            final int employeeId = punches.employeeId;
+            final int firstLine = lineNumber;
+            PunchDay day = days.computeIfAbsent(employeeId, k -> new HashMap<>())
+                    .computeIfAbsent(punches.date, date -> new PunchDay(employeeId, date, firstLine));
+            for (LocalTime time : punches.times) {
+                day.add(time);
+                result.punchesRead++;
+            }
+        }
+
+        for (Map<LocalDate, PunchDay> employeeDays : days.values()) {
+            for (PunchDay day : employeeDays.values()) {
+                if (day.first.equals(day.last)) {
+                    result.addError(day.lineNumber, day.employeeId, "Only one punch on " + day.date + ", no log out");
+                    continue;
+                }
+                result.records.add(new Attendance(day.employeeId, Date.valueOf(day.date),
+                        Time.valueOf(day.first), Time.valueOf(day.last)));
+                result.recordLines.add(day.lineNumber);
+                result.firstDate = result.firstDate == null || day.date.isBefore(result.firstDate) ? day.date : result.firstDate;
+                result.lastDate = result.lastDate == null || day.date.isAfter(result.lastDate) ? day.date : result.lastDate;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Drops records for days that already have attendance, using one lookup for the whole file,
+     * and records for archived months, which are read-only
+     */
+    private void removeExistingRecords(ImportResult result) {
+        if (result.records.isEmpty()) {
+            return;
+        }
+
+        AttendanceTables tables = AttendanceTables.current();
+        LocalDate firstDate = tables.isArchived(result.firstDate) ? tables.getHotBoundary() : result.firstDate;
+        Map<Integer, Set<LocalDate>> existing = firstDate.isAfter(result.lastDate)
+                ? Collections.emptyMap()
+                : attendanceDAO.getExistingAttendanceDates(firstDate, result.lastDate);
+        List<Attendance> newRecords = new ArrayList<>(result.records.size());
+        List<Integer> newLines = new ArrayList<>(result.records.size());
+        for (int i = 0; i < result.records.size(); i++) {
+            Attendance attendance = result.records.get(i);
+            int lineNumber = result.recordLines.get(i);
+            LocalDate date = attendance.getDate().toLocalDate();
+            if (tables.isArchived(date)) {
+                result.addError(lineNumber, attendance.getEmployeeId(), "Attendance for " + date + " is archived and read-only, skipped");
+            } else if (existing.getOrDefault(attendance.getEmployeeId(), Collections.emptySet()).contains(date)) {
+                result.duplicates++;
+                result.addError(lineNumber, attendance.getEmployeeId(), "Attendance already recorded for " + date + ", skipped");
+            } else {
+                newRecords.add(attendance);
+                newLines.add(lineNumber);
+            }
+        }
+        result.records = newRecords;
+        result.recordLines = newLines;
+    }
+
+    private Punches parseLine(String line) {
+        String[] fields = line.split(DELIMITERS, -1);
+        if (fields.length == 1) {
+            return parseFixedWidth(line);
+        }
+
+        int employeeId = parseEmployeeId(fields[0]);
+        List<LocalTime> times = new ArrayList<>(2);
+        LocalDate date;
+
+        if (fields.length == 2 || fields[1].trim().length() > 10) {
+            // employee_id,timestamp
+            LocalDateTime timestamp = LocalDateTime.parse(fields[1].trim(), TIMESTAMP_FORMAT);
+            date = timestamp.toLocalDate();
+            times.add(timestamp.toLocalTime());
+        } else {
+            date = parseDate(fields[1].trim());
+            for (int i = 2; i < fields.length && i < 4; i++) {
+                if (!fields[i].trim().isEmpty()) {
+                    times.add(LocalTime.parse(fields[i].trim()));
+                }
+            }
+        }
+
+        if (times.isEmpty()) {
+            throw new IllegalArgumentException("No punch time");
+        }
+        return new Punches(employeeId, date, times);
+    }
+
+    private Punches parseFixedWidth(String line) {
+        if (line.length() < FIXED_TIME_IN[1]) {
+            throw new IllegalArgumentException("Line too short for fixed-width layout (" + line.length() + " characters)");
+        }
+
+        int employeeId = parseEmployeeId(field(line, FIXED_EMPLOYEE_ID));
+        LocalDate date = LocalDate.parse(field(line, FIXED_DATE), FIXED_DATE_FORMAT);
+        List<LocalTime> times = new ArrayList<>(2);
+        times.add(LocalTime.parse(field(line, FIXED_TIME_IN), FIXED_TIME_FORMAT));
+        if (line.length() >= FIXED_TIME_OUT[1] && !field(line, FIXED_TIME_OUT).isEmpty()) {
+            times.add(LocalTime.parse(field(line, FIXED_TIME_OUT), FIXED_TIME_FORMAT));
+        }
+        return new Punches(employeeId, date, times);
+    }
+
+    private static String field(String line, int[] range) {
+        return line.substring(range[0], range[1]).trim();
+    }
+
+    private static int parseEmployeeId(String value) {
+        try {
+            int employeeId = Integer.parseInt(value.trim());
+            if (employeeId <= 0) {
+                throw new IllegalArgumentException("Employee ID must be positive: " + value.trim());
+            }
+            return employeeId;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid employee ID: " + value.trim());
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value.contains("/") ? LocalDate.parse(value, US_DATE_FORMAT) : LocalDate.parse(value);
+    }
+
+    private static boolean isHeader(String line) {
+        String first = line.split(DELIMITERS, -1)[0].trim();
+        return !first.isEmpty() && !Character.isDigit(first.charAt(0));
+    }
+
+    /**
+     * Punches read from a single line
+     */
+    private static class Punches {
+        private final int employeeId;
+        private final LocalDate date;
+        private final List<LocalTime> times;
+
+        private Punches(int employeeId, LocalDate date, List<LocalTime> times) {
+            this.employeeId = employeeId;
+            this.date = date;
+            this.times = times;
+        }
+    }
+
+    /**
+     * All punches of one employee on one day; the first is the log in, the last the log out
+     */
+    private static class PunchDay {
+        private final int employeeId;
+        private final LocalDate date;
+        private final int lineNumber;
+        private LocalTime first;
+        private LocalTime last;
+
+        private PunchDay(int employeeId, LocalDate date, int lineNumber) {
+            this.employeeId = employeeId;
+            this.date = date;
+            this.lineNumber = lineNumber;
+        }
+
+        private void add(LocalTime time) {
+            if (first == null || time.isBefore(first)) {
+                first = time;
+            }
+            if (last == null || time.isAfter(last)) {
+                last = time;
+            }
+        }
+    }
+
+    /**
+     * Outcome of one import: counts, the records built, and the per-line error report
+     */
+    public static class ImportResult {
+        private int linesRead;
+        private int punchesRead;
+        private int inserted;
+        private int duplicates;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+        private List<Attendance> records = new ArrayList<>();
+        // Line of the first punch of each record, by position in records
+        private List<Integer> recordLines = new ArrayList<>();
+        // Line number (0 when not tied to a line) -> messages, in line order
+        private final Map<Integer, List<String>> errors = new TreeMap<>();
+
+        private void addError(int lineNumber, Integer employeeId, String message) {
+            errors.computeIfAbsent(lineNumber, k -> new ArrayList<>())
+                    .add((employeeId != null ? employeeId : "") + "," + message.replace(',', ';'));
+        }
+
+        public int getLinesRead() { return linesRead; }
+        public int getPunchesRead() { return punchesRead; }
+        public int getInserted() { return inserted; }
+        public int getDuplicates() { return duplicates; }
+        public List<Attendance> getRecords() { return Collections.unmodifiableList(records); }
+
+        public int getErrorCount() {
+            int count = 0;
+            for (List<String> messages : errors.values()) {
+                count += messages.size();
+            }
+            return count;
+        }
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+
+        /**
+         * Writes the error report as CSV: line,employee_id,message
+         */
+        public void writeErrorReport(File target) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(target.toPath(), StandardCharsets.UTF_8)) {
+                writer.write("line,employee_id,message");
+                writer.newLine();
+                for (Map.Entry<Integer, List<String>> entry : errors.entrySet()) {
+                    for (String message : entry.getValue()) {
+                        writer.write((entry.getKey() > 0 ? String.valueOf(entry.getKey()) : "") + "," + message);
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+
+        public String getSummary() {
+            return String.format("Lines read: %d%nPunches read: %d%nRecords inserted: %d%nDuplicates skipped: %d%nErrors: %d",
+                    linesRead, punchesRead, inserted, duplicates, getErrorCount() - duplicates);
+        }
+    }
+}
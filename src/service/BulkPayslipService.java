@@ -0,0 +1,328 @@
+package service;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import model.Payroll;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Bulk payslip generation for a whole pay period.
+ *
+ * Payroll calculation and payslip rendering run in parallel on a small worker pool,
+ * all workers sharing the same JasperReportService template. Finished payslips are
+ * written one at a time into a single streaming ZIP together with an index.csv, so
+ * only the payslips currently in flight are held in memory regardless of headcount.
+ */
+public class BulkPayslipService {
+    private static final Logger LOGGER = Logger.getLogger(BulkPayslipService.class.getName());
+
+    private static final String INDEX_ENTRY_NAME = "index.csv";
+    private static final String INDEX_HEADER =
+            "employee_id,last_name,first_name,payslip_number,file_name,gross_pay,total_deductions,net_pay,status,message";
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // Maximum number of payslips rendered but not yet written, per worker thread
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private final EmployeeDAO employeeDAO;
+    private final PayrollCalculator payrollCalculator;
+    private final JasperReportService jasperReportService;
+    private final int threadCount;
+
+    public BulkPayslipService() {
+        this(new EmployeeDAO(), new PayrollCalculator(), new JasperReportService(),
+             Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public BulkPayslipService(EmployeeDAO employeeDAO, PayrollCalculator payrollCalculator,
+                              JasperReportService jasperReportService, int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.employeeDAO = employeeDAO;
+        this.payrollCalculator = payrollCalculator;
+        this.jasperReportService = jasperReportService;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Generates payslips for every employee for the given period into one ZIP archive.
+     *
+     * @param periodStart start of the pay period
+     * @param periodEnd end of the pay period
+     * @param archiveFile target ZIP file (overwritten if it exists)
+     * @param progressListener optional callback receiving (completed, total); may be null
+     * @return summary of the run, including employees whose payslip could not be produced
+     */
+    public BulkPayslipResult generatePayslipArchive(LocalDate periodStart, LocalDate periodEnd,
+                                                    File archiveFile,
+                                                    BiConsumer<Integer, Integer> progressListener) {
+        return generatePayslipArchive(periodStart, periodEnd, archiveFile, progressListener, null);
+    }
+
+    /**
+     * Same as above, checking before each payslip whether the run should stop.
+     *
+     * @param cancelRequested optional check, e.g. the calling worker's isCancelled; may be null
+     * @throws CancellationException if the run was cancelled; the partial archive is deleted
+     */
+    public BulkPayslipResult generatePayslipArchive(LocalDate periodStart, LocalDate periodEnd,
+                                                    File archiveFile,
+                                                    BiConsumer<Integer, Integer> progressListener,
+                                                    BooleanSupplier cancelRequested) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Pay period dates cannot be null");
+        }
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Pay period end cannot be before start");
+        }
+        if (archiveFile == null) {
+            throw new IllegalArgumentException("Archive file cannot be null");
+        }
+
+        List<Employee> employees = employeeDAO.getAllEmployees();
+        LOGGER.info("📊 Bulk payslip run started for " + employees.size() + " employees ("
+                + periodStart + " to " + periodEnd + ")");
+
+        File parent = archiveFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new PayslipThreadFactory());
+        BulkPayslipResult result = new BulkPayslipResult(archiveFile, employees.size());
+        long startTime = System.currentTimeMillis();
+        boolean cancelled = false;
+
+        payrollCalculator.preloadPeriod(periodStart, periodEnd);
+
+        try (ZipOutputStream zip = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(archiveFile)), StandardCharsets.UTF_8)) {
+
+            CompletionService<RenderedPayslip> completionService = new ExecutorCompletionService<>(executor);
+            Iterator<Employee> pending = employees.iterator();
+            int maxInFlight = threadCount * IN_FLIGHT_PER_THREAD;
+            int inFlight = 0;
+            StringBuilder index = new StringBuilder(INDEX_HEADER).append("\n");
+
+            while (pending.hasNext() || inFlight > 0) {
+                if (cancelRequested != null && cancelRequested.getAsBoolean()) {
+                    // Payslips still in flight are abandoned; shutdownNow interrupts them
+                    cancelled = true;
+                    break;
+                }
+
+                // Keep the pool busy without letting finished payslips pile up in memory
+                while (pending.hasNext() && inFlight < maxInFlight) {
+                    Employee employee = pending.next();
+                    completionService.submit(() -> renderPayslip(employee, periodStart, periodEnd));
+                    inFlight++;
+                }
+
+                RenderedPayslip rendered = completionService.take().get();
+                inFlight--;
+
+                if (rendered.isSuccessful()) {
+                    zip.putNextEntry(new ZipEntry(rendered.fileName));
+                    zip.write(rendered.content);
+                    zip.closeEntry();
+                    result.generatedCount++;
+                } else {
+                    result.failures.put(rendered.employee.getEmployeeId(), rendered.errorMessage);
+                }
+                appendIndexRow(index, rendered);
+
+                if (progressListener != null) {
+                    progressListener.accept(result.generatedCount + result.failures.size(), result.totalEmployees);
+                }
+            }
+
+            if (!cancelled) {
+                zip.putNextEntry(new ZipEntry(INDEX_ENTRY_NAME));
+                zip.write(index.toString().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error writing payslip archive: " + archiveFile.getAbsolutePath(), e);
+            throw new RuntimeException("Failed to write payslip archive", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk payslip generation was interrupted", e);
+        } catch (ExecutionException e) {
+            // renderPayslip captures its own failures, so this only happens on unexpected errors
+            LOGGER.log(Level.SEVERE, "Unexpected error during bulk payslip generation", e.getCause());
+            throw new RuntimeException("Failed to generate payslips", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            payrollCalculator.clearPreloadedPeriod();
+        }
+
+        if (cancelled) {
+            if (!archiveFile.delete()) {
+                LOGGER.warning("⚠️ Could not delete partial payslip archive: " + archiveFile.getAbsolutePath());
+            }
+            LOGGER.info("⚠️ Bulk payslip run cancelled after " + (result.generatedCount + result.failures.size())
+                    + " of " + result.totalEmployees + " employees");
+            throw new CancellationException("Bulk payslip generation was cancelled");
+        }
+
+        result.elapsedMillis = System.currentTimeMillis() - startTime;
+        LOGGER.info(String.format("✅ Bulk payslip run finished: %d generated, %d failed in %d ms -> %s",
+                result.generatedCount, result.failures.size(), result.elapsedMillis, archiveFile.getAbsolutePath()));
+        return result;
+    }
+
+    /**
+     * Calculates and renders one payslip. Runs on a worker thread; failures are
+     * captured in the result so a single bad record does not abort the whole run.
+     */
+    private RenderedPayslip renderPayslip(Employee employee, LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            Payroll payroll = payrollCalculator.calculatePayroll(employee.getEmployeeId(), periodStart, periodEnd);
+            String content = jasperReportService.renderPayslipContent(employee, payroll);
+            String payslipNumber = jasperReportService.generatePayslipNumber(employee, payroll);
+            return RenderedPayslip.success(employee, payroll, payslipNumber,
+                    buildEntryName(employee, periodEnd), content.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not generate payslip for employee " + employee.getEmployeeId(), e);
+            return RenderedPayslip.failure(employee, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private String buildEntryName(Employee employee, LocalDate periodEnd) {
+        String lastName = employee.getLastName() != null ? employee.getLastName() : "Employee";
+        String safeName = lastName.replaceAll("[^A-Za-z0-9]", "");
+        return String.format("Payslip_%d_%s_%s.txt",
+                employee.getEmployeeId(), safeName, periodEnd.format(PERIOD_FORMAT));
+    }
+
+    private void appendIndexRow(StringBuilder index, RenderedPayslip rendered) {
+        Employee employee = rendered.employee;
+        Payroll payroll = rendered.payroll;
+        index.append(employee.getEmployeeId()).append(',')
+             .append(csvEscape(employee.getLastName())).append(',')
+             .append(csvEscape(employee.getFirstName())).append(',')
+             .append(csvEscape(rendered.payslipNumber)).append(',')
+             .append(csvEscape(rendered.fileName)).append(',')
+             .append(payroll != null ? String.format("%.2f", payroll.getGrossPay()) : "").append(',')
+             .append(payroll != null ? String.format("%.2f", payroll.getTotalDeductions()) : "").append(',')
+             .append(payroll != null ? String.format("%.2f", payroll.getNetPay()) : "").append(',')
+             .append(rendered.isSuccessful() ? "OK" : "FAILED").append(',')
+             .append(csvEscape(rendered.errorMessage))
+             .append("\n");
+    }
+
+    private String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Result of a single worker task
+     */
+    private static final class RenderedPayslip {
+        final Employee employee;
+        final Payroll payroll;
+        final String payslipNumber;
+        final String fileName;
+        final byte[] content;
+        final String errorMessage;
+
+        private RenderedPayslip(Employee employee, Payroll payroll, String payslipNumber,
+                                String fileName, byte[] content, String errorMessage) {
+            this.employee = employee;
+            this.payroll = payroll;
+            this.payslipNumber = payslipNumber;
+            this.fileName = fileName;
+            this.content = content;
+            this.errorMessage = errorMessage;
+        }
+
+        static RenderedPayslip success(Employee employee, Payroll payroll, String payslipNumber,
+                                       String fileName, byte[] content) {
+            return new RenderedPayslip(employee, payroll, payslipNumber, fileName, content, null);
+        }
+
+        static RenderedPayslip failure(Employee employee, String errorMessage) {
+            return new RenderedPayslip(employee, null, null, null, null, errorMessage);
+        }
+
+        boolean isSuccessful() {
+            return content != null;
+        }
+    }
+
+    /**
+     * Daemon worker threads so an abandoned run never keeps the application alive
+     */
+    private static final class PayslipThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "payslip-worker-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Summary of a bulk payslip run
+     */
+    public static class BulkPayslipResult {
+        private final File archiveFile;
+        private final int totalEmployees;
+        private int generatedCount;
+        private long elapsedMillis;
+        private final Map<Integer, String> failures = new LinkedHashMap<>();
+
+        BulkPayslipResult(File archiveFile, int totalEmployees) {
+            this.archiveFile = archiveFile;
+            this.totalEmployees = totalEmployees;
+        }
+
+        public File getArchiveFile() { return archiveFile; }
+        public int getTotalEmployees() { return totalEmployees; }
+        public int getGeneratedCount() { return generatedCount; }
+        public int getFailedCount() { return failures.size(); }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public Map<Integer, String> getFailures() { return Collections.unmodifiableMap(failures); }
+
+        public List<Integer> getFailedEmployeeIds() {
+            return new ArrayList<>(failures.keySet());
+        }
+    }
+}
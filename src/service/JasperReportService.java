@@ -44,7 +44,7 @@ public class JasperReportService {
             LOGGER.info("Generating MotorPH professional payslip for: " + employee.getFullName());
             
             // Create professional payslip content
-            String payslipContent = createMotorPHPayslipContent(employee, payroll);
+            String payslipContent = renderPayslipContent(employee, payroll);
             
             // For now, we'll create a rich text file that can be converted to PDF
             // In a real implementation with JasperReports, this would generate actual PDF
@@ -69,6 +69,15 @@ public class JasperReportService {
         }
     }
 
+    /**
+     * Renders a payslip with the shared MotorPH template without touching the file system.
+     * Used by the single payslip export and by BulkPayslipService, which calls it from
+     * worker threads - the method only reads its arguments, so it is safe to share.
+     */
+    public String renderPayslipContent(Employee employee, Payroll payroll) {
+        return createMotorPHPayslipContent(employee, payroll);
+    }
+
     /**
      * Creates professional MotorPH payslip content following company template
      */
@@ -200,7 +209,7 @@ public class JasperReportService {
     /**
      * Generate unique payslip number
      */
-    private String generatePayslipNumber(Employee employee, Payroll payroll) {
+    public String generatePayslipNumber(Employee employee, Payroll payroll) {
         return String.format("MP-%04d-%s", 
             employee.getEmployeeId(),
             payroll.getEndDateAsLocalDate().format(DateTimeFormatter.ofPattern("yyyy-MM")));
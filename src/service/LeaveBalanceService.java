@@ -0,0 +1,94 @@
+package service;
+
+import dao.LeaveLedgerDAO;
+import model.Employee;
+import model.LeaveBalance;
+import model.LeaveRequest;
+import util.ConfigurationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Leave balances read from the leave ledger.
+ *
+ * The yearly entitlement of each leave type is posted to the ledger as an accrual the
+ * first time an employee's balances for that year are read; approvals, reversals and
+ * adjustments are posted by the DAOs as they happen. Reading balances is therefore a
+ * single primary-key lookup on leave_balance once the year has been accrued.
+ */
+public class LeaveBalanceService {
+    private static final Logger LOGGER = Logger.getLogger(LeaveBalanceService.class.getName());
+
+    // Statutory and company defaults, overridable with leave.entitlement.<type> in application.properties
+    private static final int DEFAULT_SICK_DAYS = 5;
+    private static final int DEFAULT_EMERGENCY_DAYS = 3;
+    private static final int DEFAULT_MATERNITY_DAYS = 105;
+    private static final int DEFAULT_PATERNITY_DAYS = 7;
+
+    private final LeaveLedgerDAO leaveLedgerDAO;
+    private final ConfigurationManager config;
+
+    public LeaveBalanceService() {
+        this(new LeaveLedgerDAO(), ConfigurationManager.getInstance());
+    }
+
+    public LeaveBalanceService(LeaveLedgerDAO leaveLedgerDAO, ConfigurationManager config) {
+        this.leaveLedgerDAO = leaveLedgerDAO;
+        this.config = config;
+    }
+
+    /**
+     * Balances of every leave type for the year, accruing the year first if needed.
+     * Leave types without ledger entries are returned with zero days.
+     */
+    public Map<String, LeaveBalance> getBalances(Employee employee, int year) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+
+        Map<String, Integer> entitlements = getEntitlements(employee);
+        leaveLedgerDAO.accrueYearIfMissing(employee.getEmployeeId(), year, entitlements);
+
+        Map<String, LeaveBalance> balances = new LinkedHashMap<>();
+        for (String leaveType : entitlements.keySet()) {
+            balances.put(leaveType, new LeaveBalance(employee.getEmployeeId(), leaveType, year));
+        }
+        List<LeaveBalance> stored = leaveLedgerDAO.getBalances(employee.getEmployeeId(), year);
+        for (LeaveBalance balance : stored) {
+            balances.put(balance.getLeaveType(), balance);
+        }
+        return balances;
+    }
+
+    /**
+     * Yearly days per leave type for the employee's employment status.
+     * Annual leave follows Employee.EmploymentStatus, capped by payroll.max.leave.days.per.year.
+     */
+    public Map<String, Integer> getEntitlements(Employee employee) {
+        int statusMaxDays = 0;
+        for (Employee.EmploymentStatus status : Employee.EmploymentStatus.values()) {
+            if (status.getDisplayName().equalsIgnoreCase(employee.getStatus())) {
+                statusMaxDays = status.getMaxLeaveDays();
+                break;
+            }
+        }
+        if (statusMaxDays == 0) {
+            LOGGER.fine("No leave entitlement for status " + employee.getStatus() + ", employee " + employee.getEmployeeId());
+        }
+
+        Map<String, Integer> entitlements = new LinkedHashMap<>();
+        entitlements.put(LeaveRequest.ANNUAL_LEAVE, Math.min(statusMaxDays, config.getMaxLeaveDaysPerYear()));
+        entitlements.put(LeaveRequest.SICK_LEAVE, statusMaxDays > 0
+                ? config.getLeaveEntitlementDays(LeaveRequest.SICK_LEAVE, DEFAULT_SICK_DAYS) : 0);
+        entitlements.put(LeaveRequest.EMERGENCY_LEAVE, statusMaxDays > 0
+                ? config.getLeaveEntitlementDays(LeaveRequest.EMERGENCY_LEAVE, DEFAULT_EMERGENCY_DAYS) : 0);
+        entitlements.put(LeaveRequest.MATERNITY_LEAVE,
+                config.getLeaveEntitlementDays(LeaveRequest.MATERNITY_LEAVE, DEFAULT_MATERNITY_DAYS));
+        entitlements.put(LeaveRequest.PATERNITY_LEAVE,
+                config.getLeaveEntitlementDays(LeaveRequest.PATERNITY_LEAVE, DEFAULT_PATERNITY_DAYS));
+        return entitlements;
+    }
+}
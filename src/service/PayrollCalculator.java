@@ -5,12 +5,16 @@ import dao.EmployeeDAO;
 import dao.LeaveRequestDAO;
 import dao.OvertimeDAO;
 import dao.DeductionDAO;
+import dao.PayrollDAO;
 import model.Attendance;
+import model.AttendanceBlock;
 import model.Employee;
 import model.LeaveRequest;
-import model.Overtime;
 import model.Payroll;
 import model.Deduction;
+import util.AppConfig;
+import util.ConfigurationManager;
+import util.UnitOfWork;
 
 import java.sql.Date;
 import java.sql.Time;
@@ -18,7 +22,10 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,7 +37,8 @@ public class PayrollCalculator {
 
     private static final Logger LOGGER = Logger.getLogger(PayrollCalculator.class.getName());
 
-    // Constants for payroll calculations - moved to interface for better design
+    // Default payroll rules; the values in effect come from the AppConfig snapshot
+    // (payroll.* in application.properties), read once per calculation
     public interface PayrollConstants {
         int STANDARD_WORKING_DAYS_PER_MONTH = 22;
         int STANDARD_WORKING_HOURS_PER_DAY = 8;
@@ -46,11 +54,21 @@ public class PayrollCalculator {
     private LeaveRequestDAO leaveDAO;
     private OvertimeDAO overtimeDAO;
     private DeductionDAO deductionDAO;
+    private final PayrollDAO payrollDAO;
+    private final ConfigurationManager configurationManager;
+
+    // Approved overtime hours of every employee for one period, set by preloadOvertimeHours for bulk runs
+    private volatile OvertimeHoursSnapshot overtimeHours;
+
+    // Attendance of every employee for one period, set by preloadAttendance for bulk runs
+    private volatile AttendanceBlock attendanceBlock;
 
     // Constructor with better error handling
     public PayrollCalculator() {
         this.employeeDAO = new EmployeeDAO();
         this.attendanceDAO = new AttendanceDAO();
+        this.payrollDAO = new PayrollDAO();
+        this.configurationManager = ConfigurationManager.getInstance();
         
         // Initialize optional DAOs with proper error handling
         initializeOptionalDAOs();
@@ -82,6 +100,71 @@ public class PayrollCalculator {
         }
     }
 
+    /**
+     * Loads the approved overtime hours of all employees for the period with one grouped query,
+     * so bulk runs calling calculatePayroll per employee do not query overtime each time.
+     * Calculations for other periods still query per employee. Call clearPreloadedOvertimeHours
+     * when the run is done so later calculations see new overtime records.
+     */
+    public void preloadOvertimeHours(LocalDate periodStart, LocalDate periodEnd) {
+        if (overtimeDAO == null || periodStart == null || periodEnd == null) {
+            return;
+        }
+
+        try {
+            Map<Integer, Double> hours = overtimeDAO.getApprovedOvertimeHoursByEmployee(periodStart, periodEnd);
+            overtimeHours = new OvertimeHoursSnapshot(periodStart, periodEnd, hours);
+            LOGGER.info(String.format("📊 Preloaded approved overtime for %d employees (%s to %s)",
+                    hours.size(), periodStart, periodEnd));
+        } catch (Exception e) {
+            LOGGER.warning("⚠️ Could not preload overtime hours, falling back to per-employee queries: " + e.getMessage());
+            overtimeHours = null;
+        }
+    }
+
+    public void clearPreloadedOvertimeHours() {
+        overtimeHours = null;
+    }
+
+    /**
+     * Loads the attendance of all employees for the period into one columnar AttendanceBlock,
+     * so bulk runs scan primitive arrays instead of querying attendance twice per employee.
+     * Calculations for other periods still query per employee. Call clearPreloadedAttendance
+     * when the run is done so later calculations see new attendance records.
+     */
+    public void preloadAttendance(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            return;
+        }
+
+        try {
+            AttendanceBlock block = attendanceDAO.loadAttendanceBlock(periodStart, periodEnd);
+            attendanceBlock = block;
+            LOGGER.info(String.format("📊 Preloaded %d attendance days for %d employees (%s to %s)",
+                    block.size(), block.getEmployeeCount(), periodStart, periodEnd));
+        } catch (Exception e) {
+            LOGGER.warning("⚠️ Could not preload attendance, falling back to per-employee queries: " + e.getMessage());
+            attendanceBlock = null;
+        }
+    }
+
+    public void clearPreloadedAttendance() {
+        attendanceBlock = null;
+    }
+
+    /**
+     * Preloads everything a bulk run over one period reads per employee: overtime hours and attendance
+     */
+    public void preloadPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        preloadOvertimeHours(periodStart, periodEnd);
+        preloadAttendance(periodStart, periodEnd);
+    }
+
+    public void clearPreloadedPeriod() {
+        clearPreloadedOvertimeHours();
+        clearPreloadedAttendance();
+    }
+
     /**
      * Main payroll calculation method with enhanced error handling
      * FIXED: Better error messages and null checks
@@ -96,11 +179,14 @@ public class PayrollCalculator {
             // Get employee with better error handling
             Employee employee = getEmployeeWithValidation(employeeId);
 
+            // One configuration snapshot for the whole calculation, even if it is reloaded meanwhile
+            AppConfig config = configurationManager.getConfig();
+
             // Initialize payroll object
-            Payroll payroll = createPayrollObject(employeeId, periodStart, periodEnd, employee);
+            Payroll payroll = createPayrollObject(employeeId, periodStart, periodEnd, employee, config);
 
             // Calculate all payroll components with error handling
-            calculateAllPayrollComponents(payroll, employee, periodStart, periodEnd);
+            calculateAllPayrollComponents(payroll, employee, periodStart, periodEnd, config);
 
             // Final calculations and validation
             finalizePayrollCalculation(payroll);
@@ -117,6 +203,82 @@ public class PayrollCalculator {
         }
     }
 
+    /**
+     * Calculates the payroll of an employee and saves it together with its itemized
+     * deductions (late, undertime, unpaid leave, SSS, PhilHealth, Pag-IBIG, tax) in one
+     * transaction, the deduction lines linked to the new payroll record
+     * @throws PayrollCalculationException if the calculation fails or the period was already processed
+     */
+    public Payroll calculateAndSavePayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+
+        validateCalculationInputs(employeeId, periodStart, periodEnd);
+        // The duplicate check, the calculation and the insert share one connection and transaction
+        try {
+            return UnitOfWork.execute(() -> saveNewPayroll(employeeId, periodStart, periodEnd));
+        } catch (UnitOfWork.RolledBackException e) {
+            throw new PayrollCalculationException("Payroll for employee " + employeeId + " was rolled back", e);
+        }
+    }
+
+    private Payroll saveNewPayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+        boolean alreadyProcessed;
+        try {
+            alreadyProcessed = !payrollDAO.getPayrollByEmployeeIdAndDateRange(employeeId, periodStart, periodEnd).isEmpty();
+        } catch (Exception e) {
+            throw new PayrollCalculationException("Error checking existing payroll: " + e.getMessage(), e);
+        }
+        if (alreadyProcessed) {
+            throw new PayrollCalculationException("Payroll for employee " + employeeId + " already exists for "
+                    + periodStart + " to " + periodEnd);
+        }
+
+        Payroll payroll = calculatePayroll(employeeId, periodStart, periodEnd);
+
+        try {
+            List<Deduction> deductions = deductionDAO != null ? itemizeDeductions(payroll) : Collections.emptyList();
+            payrollDAO.insertPayrollWithDeductions(payroll, deductions);
+
+            LOGGER.info(String.format("✅ Saved payroll %d for employee %d with %d deduction lines",
+                    payroll.getPayrollId(), employeeId, deductions.size()));
+            return payroll;
+
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, String.format("❌ Error saving payroll for employee %d", employeeId), e);
+            throw new PayrollCalculationException("Error saving payroll: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Itemizes the deductions of a calculated payroll as one Deduction line per type.
+     * Types with a zero amount are left out.
+     */
+    public static List<Deduction> itemizeDeductions(Payroll payroll) {
+        if (payroll == null) {
+            throw new IllegalArgumentException("Payroll cannot be null");
+        }
+
+        List<Deduction> deductions = new ArrayList<>();
+        String period = payroll.getPeriodStart() + " to " + payroll.getPeriodEnd();
+        addDeductionLine(deductions, payroll, Deduction.TYPE_LATE, payroll.getLateDeduction(), "Late deduction, " + period);
+        addDeductionLine(deductions, payroll, Deduction.TYPE_UNDERTIME, payroll.getUndertimeDeduction(), "Undertime deduction, " + period);
+        addDeductionLine(deductions, payroll, Deduction.TYPE_UNPAID_LEAVE, payroll.getUnpaidLeaveDeduction(),
+                String.format("Unpaid leave deduction: %d days, %s", payroll.getUnpaidLeaveCount(), period));
+        addDeductionLine(deductions, payroll, Deduction.TYPE_SSS, payroll.getSss(), "SSS contribution, " + period);
+        addDeductionLine(deductions, payroll, Deduction.TYPE_PHILHEALTH, payroll.getPhilhealth(), "PhilHealth contribution, " + period);
+        addDeductionLine(deductions, payroll, Deduction.TYPE_PAGIBIG, payroll.getPagibig(), "Pag-IBIG contribution, " + period);
+        addDeductionLine(deductions, payroll, Deduction.TYPE_TAX, payroll.getTax(), "Withholding tax, " + period);
+        return deductions;
+    }
+
+    private static void addDeductionLine(List<Deduction> deductions, Payroll payroll, String type,
+                                         double amount, String description) {
+        if (amount > 0) {
+            deductions.add(new Deduction.PayrollDeduction(payroll.getEmployeeId(), type, amount, description));
+        }
+    }
+
     private void validateCalculationInputs(int employeeId, LocalDate periodStart, LocalDate periodEnd) 
             throws PayrollCalculationException {
         if (employeeId <= 0) {
@@ -153,11 +315,12 @@ public class PayrollCalculator {
         }
     }
 
-    private Payroll createPayrollObject(int employeeId, LocalDate periodStart, LocalDate periodEnd, Employee employee) {
+    private Payroll createPayrollObject(int employeeId, LocalDate periodStart, LocalDate periodEnd, Employee employee,
+                                        AppConfig config) {
         Payroll payroll = new Payroll(employeeId, Date.valueOf(periodStart), Date.valueOf(periodEnd));
         
         double monthlySalary = employee.getBasicSalary();
-        double dailyRate = monthlySalary / PayrollConstants.STANDARD_WORKING_DAYS_PER_MONTH;
+        double dailyRate = monthlySalary / config.getWorkingDaysPerMonth();
 
         payroll.setMonthlyRate(monthlySalary);
         payroll.setDailyRate(dailyRate);
@@ -165,8 +328,8 @@ public class PayrollCalculator {
         return payroll;
     }
 
-    private void calculateAllPayrollComponents(Payroll payroll, Employee employee, LocalDate periodStart, LocalDate periodEnd) 
-            throws PayrollCalculationException {
+    private void calculateAllPayrollComponents(Payroll payroll, Employee employee, LocalDate periodStart, LocalDate periodEnd,
+                                               AppConfig config) throws PayrollCalculationException {
         try {
             double dailyRate = payroll.getDailyRate();
             
@@ -174,13 +337,13 @@ public class PayrollCalculator {
             calculateAttendanceBasedEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
 
             // Calculate overtime earnings
-            calculateOvertimeEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            calculateOvertimeEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate, config);
 
             // Calculate allowances and benefits
             calculateAllowancesAndBenefits(payroll, employee);
 
             // Calculate time-based deductions
-            calculateTimeBasedDeductions(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            calculateTimeBasedDeductions(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate, config);
 
             // Calculate government contributions and tax
             calculateGovernmentContributionsAndTax(payroll, employee.getBasicSalary());
@@ -214,37 +377,41 @@ public class PayrollCalculator {
                 employeeId, periodStart, periodEnd));
 
         try {
-            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                    employeeId, periodStart, periodEnd);
-
-            if (attendanceList == null) {
-                LOGGER.warning("⚠️ Attendance list is null for employee " + employeeId);
-                payroll.setDaysWorked(0);
-                payroll.setGrossEarnings(0.0);
-                return;
-            }
-
-            LOGGER.info(String.format("📊 Found %d attendance records for employee %d", attendanceList.size(), employeeId));
-
             int validAttendanceDays = 0;
-            double totalValidHours = 0.0;
+            AttendanceBlock block = attendanceBlock;
 
-            for (Attendance attendance : attendanceList) {
-                if (attendance == null) {
-                    LOGGER.warning("⚠️ Null attendance record found, skipping");
-                    continue;
+            if (block != null && block.covers(periodStart, periodEnd)) {
+                // Bulk run: scan the employee's rows of the preloaded block
+                validAttendanceDays = block.countDaysPresent(employeeId);
+                LOGGER.info(String.format("📊 Found %d attendance records for employee %d",
+                        block.countRows(employeeId), employeeId));
+            } else {
+                List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
+                        employeeId, periodStart, periodEnd);
+
+                if (attendanceList == null) {
+                    LOGGER.warning("⚠️ Attendance list is null for employee " + employeeId);
+                    payroll.setDaysWorked(0);
+                    payroll.setGrossEarnings(0.0);
+                    return;
                 }
 
-                if (attendance.getLogIn() != null) {
-                    validAttendanceDays++;
-                    double workHours = attendance.getWorkHours();
-                    totalValidHours += workHours;
-
-                    LOGGER.fine(String.format("✓ Valid attendance: Date=%s, Hours=%.2f", 
-                            attendance.getDate(), workHours));
-                } else {
-                    LOGGER.warning(String.format("⚠️ Invalid attendance (no log in): Date=%s", 
-                            attendance.getDate()));
+                LOGGER.info(String.format("📊 Found %d attendance records for employee %d", attendanceList.size(), employeeId));
+
+                for (Attendance attendance : attendanceList) {
+                    if (attendance == null) {
+                        LOGGER.warning("⚠️ Null attendance record found, skipping");
+                        continue;
+                    }
+
+                    if (attendance.getLogIn() != null) {
+                        validAttendanceDays++;
+                        LOGGER.fine(String.format("✓ Valid attendance: Date=%s, Hours=%.2f", 
+                                attendance.getDate(), attendance.getWorkHours()));
+                    } else {
+                        LOGGER.warning(String.format("⚠️ Invalid attendance (no log in): Date=%s", 
+                                attendance.getDate()));
+                    }
                 }
             }
 
@@ -272,7 +439,8 @@ public class PayrollCalculator {
      * FIXED: Better overtime calculation with proper null checks
      */
     private void calculateOvertimeEarnings(Payroll payroll, int employeeId,
-                                           LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
+                                           LocalDate periodStart, LocalDate periodEnd, double dailyRate,
+                                           AppConfig config) {
         if (overtimeDAO == null) {
             LOGGER.info("ℹ️ Overtime calculation skipped - OvertimeDAO not available");
             payroll.setTotalOvertimeHours(0.0);
@@ -281,23 +449,14 @@ public class PayrollCalculator {
         }
 
         try {
-            List<Overtime> overtimeList = overtimeDAO.getOvertimeByEmployeeIdAndDateRange(
-                    employeeId, periodStart, periodEnd);
-
-            if (overtimeList == null) {
-                LOGGER.warning("⚠️ Overtime list is null for employee " + employeeId);
-                payroll.setTotalOvertimeHours(0.0);
-                payroll.setOvertimePay(0.0);
-                return;
-            }
-
-            double totalOvertimeHours = overtimeList.stream()
-                    .filter(overtime -> overtime != null && overtime.isApproved())
-                    .mapToDouble(Overtime::getHours)
-                    .sum();
+            // ENHANCED: Approved hours are summed in the database instead of fetching every overtime row
+            OvertimeHoursSnapshot snapshot = overtimeHours;
+            double totalOvertimeHours = snapshot != null && snapshot.covers(periodStart, periodEnd)
+                    ? snapshot.hoursByEmployee.getOrDefault(employeeId, 0.0)
+                    : overtimeDAO.getApprovedOvertimeHours(employeeId, periodStart, periodEnd);
 
-            double hourlyRate = dailyRate / PayrollConstants.STANDARD_WORKING_HOURS_PER_DAY;
-            double overtimePay = totalOvertimeHours * hourlyRate * PayrollConstants.OVERTIME_RATE_MULTIPLIER;
+            double hourlyRate = dailyRate / config.getWorkingHoursPerDay();
+            double overtimePay = totalOvertimeHours * hourlyRate * config.getOvertimeMultiplier();
 
             payroll.setTotalOvertimeHours(totalOvertimeHours);
             payroll.setOvertimePay(overtimePay);
@@ -340,22 +499,36 @@ public class PayrollCalculator {
      * FIXED: Enhanced time-based deductions with better error handling
      */
     private void calculateTimeBasedDeductions(Payroll payroll, int employeeId,
-                                              LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
+                                              LocalDate periodStart, LocalDate periodEnd, double dailyRate,
+                                              AppConfig config) {
         try {
-            // Get attendance records safely
-            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                    employeeId, periodStart, periodEnd);
+            double lateDeduction;
+            double undertimeDeduction;
+            AttendanceBlock block = attendanceBlock;
+
+            if (block != null && block.covers(periodStart, periodEnd)) {
+                // Bulk run: same rules as calculateLateDeduction/calculateUndertimeDeduction over the block
+                double hourlyRate = dailyRate / config.getWorkingHoursPerDay();
+                lateDeduction = block.totalLateMinutes(employeeId, config.getStandardLoginTime(),
+                        config.getLateThresholdTime()) / 60.0 * hourlyRate;
+                undertimeDeduction = block.totalUndertimeMinutes(employeeId, config.getStandardLogoutTime())
+                        / 60.0 * hourlyRate;
+            } else {
+                // Get attendance records safely
+                List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
+                        employeeId, periodStart, periodEnd);
+
+                if (attendanceList == null) {
+                    LOGGER.warning("⚠️ No attendance data for deduction calculation");
+                    setZeroDeductions(payroll);
+                    return;
+                }
 
-            if (attendanceList == null) {
-                LOGGER.warning("⚠️ No attendance data for deduction calculation");
-                setZeroDeductions(payroll);
-                return;
+                // Calculate time-based deductions
+                lateDeduction = calculateLateDeduction(attendanceList, dailyRate, config);
+                undertimeDeduction = calculateUndertimeDeduction(attendanceList, dailyRate, config);
             }
 
-            // Calculate time-based deductions
-            double lateDeduction = calculateLateDeduction(attendanceList, dailyRate);
-            double undertimeDeduction = calculateUndertimeDeduction(attendanceList, dailyRate);
-
             payroll.setLateDeduction(lateDeduction);
             payroll.setUndertimeDeduction(undertimeDeduction);
 
@@ -422,13 +595,15 @@ public class PayrollCalculator {
     /**
      * FIXED: Enhanced late deduction calculation
      */
-    private double calculateLateDeduction(List<Attendance> attendanceList, double dailyRate) {
+    private double calculateLateDeduction(List<Attendance> attendanceList, double dailyRate, AppConfig config) {
         if (attendanceList == null || attendanceList.isEmpty()) {
             return 0.0;
         }
 
         double totalLateDeduction = 0.0;
-        double hourlyRate = dailyRate / PayrollConstants.STANDARD_WORKING_HOURS_PER_DAY;
+        double hourlyRate = dailyRate / config.getWorkingHoursPerDay();
+        LocalTime standardLogin = config.getStandardLoginTime();
+        LocalTime lateThreshold = config.getLateThresholdTime();
 
         for (Attendance attendance : attendanceList) {
             if (attendance == null || attendance.getLogIn() == null) {
@@ -438,8 +613,8 @@ public class PayrollCalculator {
             try {
                 LocalTime loginTime = attendance.getLogIn().toLocalTime();
 
-                if (loginTime.isAfter(PayrollConstants.LATE_THRESHOLD_TIME)) {
-                    long minutesLate = ChronoUnit.MINUTES.between(PayrollConstants.STANDARD_LOGIN_TIME, loginTime);
+                if (loginTime.isAfter(lateThreshold)) {
+                    long minutesLate = ChronoUnit.MINUTES.between(standardLogin, loginTime);
                     double hoursLate = minutesLate / 60.0;
                     totalLateDeduction += hoursLate * hourlyRate;
                 }
@@ -454,13 +629,14 @@ public class PayrollCalculator {
     /**
      * FIXED: Enhanced undertime deduction calculation
      */
-    private double calculateUndertimeDeduction(List<Attendance> attendanceList, double dailyRate) {
+    private double calculateUndertimeDeduction(List<Attendance> attendanceList, double dailyRate, AppConfig config) {
         if (attendanceList == null || attendanceList.isEmpty()) {
             return 0.0;
         }
 
         double totalUndertimeDeduction = 0.0;
-        double hourlyRate = dailyRate / PayrollConstants.STANDARD_WORKING_HOURS_PER_DAY;
+        double hourlyRate = dailyRate / config.getWorkingHoursPerDay();
+        LocalTime standardLogout = config.getStandardLogoutTime();
 
         for (Attendance attendance : attendanceList) {
             if (attendance == null || attendance.getLogOut() == null) {
@@ -470,8 +646,8 @@ public class PayrollCalculator {
             try {
                 LocalTime logoutTime = attendance.getLogOut().toLocalTime();
 
-                if (logoutTime.isBefore(PayrollConstants.STANDARD_LOGOUT_TIME)) {
-                    long minutesShort = ChronoUnit.MINUTES.between(logoutTime, PayrollConstants.STANDARD_LOGOUT_TIME);
+                if (logoutTime.isBefore(standardLogout)) {
+                    long minutesShort = ChronoUnit.MINUTES.between(logoutTime, standardLogout);
                     double hoursShort = minutesShort / 60.0;
                     totalUndertimeDeduction += hoursShort * hourlyRate;
                 }
@@ -623,6 +799,25 @@ public class PayrollCalculator {
         LOGGER.info(String.format("====================================="));
     }
 
+    /**
+     * Overtime hours of every employee for one preloaded pay period
+     */
+    private static final class OvertimeHoursSnapshot {
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final Map<Integer, Double> hoursByEmployee;
+
+        private OvertimeHoursSnapshot(LocalDate periodStart, LocalDate periodEnd, Map<Integer, Double> hoursByEmployee) {
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.hoursByEmployee = Collections.unmodifiableMap(hoursByEmployee);
+        }
+
+        private boolean covers(LocalDate start, LocalDate end) {
+            return periodStart.equals(start) && periodEnd.equals(end);
+        }
+    }
+
     /**
      * Enhanced custom exception for payroll calculation errors
      */
@@ -4,6 +4,7 @@
  */
 package service;
 
+import model.AttendanceSummary;
 import model.Payroll;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -144,6 +145,12 @@ class AttendanceReport {
     private String generatedBy;
     private LocalDate generatedDate;
     private Map<Integer, List<model.Attendance>> attendanceData;
+    private List<AttendanceSummary> summaries;
+    private int totalEmployees;
+    private int totalDaysPresent;
+    private double totalHours;
+    private int totalLateCount;
+    private int totalUndertimeCount;
 
     // Constructors
     public AttendanceReport() {
@@ -169,9 +176,31 @@ class AttendanceReport {
     public Map<Integer, List<model.Attendance>> getAttendanceData() { return attendanceData; }
     public void setAttendanceData(Map<Integer, List<model.Attendance>> attendanceData) { this.attendanceData = attendanceData; }
 
-    // Calculate summary statistics
+    public List<AttendanceSummary> getSummaries() { return summaries; }
+    public void setSummaries(List<AttendanceSummary> summaries) { this.summaries = summaries; }
+
+    public int getTotalEmployees() { return totalEmployees; }
+    public int getTotalDaysPresent() { return totalDaysPresent; }
+    public double getTotalHours() { return totalHours; }
+    public int getTotalLateCount() { return totalLateCount; }
+    public int getTotalUndertimeCount() { return totalUndertimeCount; }
+
+    // Calculate summary statistics from the per-employee summary rows
     public void calculateSummaryStatistics() {
-        // Implementation for calculating attendance statistics
-        // This would include total days, average hours, etc.
+        totalEmployees = 0;
+        totalDaysPresent = 0;
+        totalHours = 0;
+        totalLateCount = 0;
+        totalUndertimeCount = 0;
+        if (summaries == null) {
+            return;
+        }
+        for (AttendanceSummary summary : summaries) {
+            totalEmployees++;
+            totalDaysPresent += summary.getDaysPresent();
+            totalHours += summary.getTotalHours();
+            totalLateCount += summary.getLateCount();
+            totalUndertimeCount += summary.getUndertimeCount();
+        }
     }
 }
\ No newline at end of file
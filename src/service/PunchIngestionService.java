@@ -0,0 +1,328 @@
+package service;
+
+import dao.AttendanceDAO;
+import model.Attendance;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind ingestion of clock-in / clock-out punches.
+ *
+ * recordPunch() only updates an in-memory entry for the employee's day and returns;
+ * nothing touches the database on the caller's thread. Punches for the same
+ * (employee, date) are coalesced into the earliest and latest time, and the pending
+ * days are written by a background thread with AttendanceDAO.upsertAttendanceBatch,
+ * either every flush interval or as soon as the threshold of pending days is reached.
+ * The upsert is idempotent, so a failed write can simply be retried. When a batch fails
+ * its days are written one by one, so one bad record cannot hold back the others:
+ * - a record rejected as invalid (IllegalArgumentException) goes to the dead letters
+ * - a record that fails while others succeed is retried on the next flushes and goes to
+ *   the dead letters after MAX_FAILED_FLUSHES
+ * - when every record fails the database is taken to be down; all are queued again
+ *   without counting the failure. If the first single write already fails with a
+ *   connection error the rest are not tried: they are queued again the same way
+ * Dead letters are logged to the PunchIngestionService.deadLetters logger and kept for
+ * getDeadLetters(). Pending punches are flushed on shutdown.
+ */
+public class PunchIngestionService {
+    private static final Logger LOGGER = Logger.getLogger(PunchIngestionService.class.getName());
+    private static PunchIngestionService instance;
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 2000;
+    private static final int DEFAULT_FLUSH_THRESHOLD = 200;
+    private static final int MAX_FAILED_FLUSHES = 3;
+
+    private static final Logger DEAD_LETTER_LOGGER =
+            Logger.getLogger(PunchIngestionService.class.getName() + ".deadLetters");
+
+    private final AttendanceDAO attendanceDAO;
+    private final int flushThreshold;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    // Guarded by 'this'
+    private Map<Integer, Map<LocalDate, PendingDay>> pending = new HashMap<>();
+    private int pendingCount = 0;
+    private boolean shutdown = false;
+    private final List<Attendance> deadLetters = new ArrayList<>();
+
+    public PunchIngestionService(AttendanceDAO attendanceDAO, long flushIntervalMs, int flushThreshold) {
+        if (flushIntervalMs <= 0 || flushThreshold <= 0) {
+            throw new IllegalArgumentException("Flush interval and threshold must be positive");
+        }
+        this.attendanceDAO = attendanceDAO;
+        this.flushThreshold = flushThreshold;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "punch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized PunchIngestionService getInstance() {
+        if (instance == null) {
+            instance = new PunchIngestionService(new AttendanceDAO(), DEFAULT_FLUSH_INTERVAL_MS, DEFAULT_FLUSH_THRESHOLD);
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "punch-writer-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Records a punch for the employee at the current time
+     */
+    public void recordPunch(int employeeId) {
+        recordPunch(employeeId, LocalDateTime.now());
+    }
+
+    /**
+     * Queues a punch. The first punch of a day becomes the log in and the last one the log out.
+     */
+    public void recordPunch(int employeeId, LocalDateTime timestamp) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + employeeId);
+        }
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Punch time cannot be null");
+        }
+
+        // TIME columns hold whole seconds
+        LocalTime time = timestamp.toLocalTime().truncatedTo(ChronoUnit.SECONDS);
+        boolean thresholdReached;
+        synchronized (this) {
+            if (shutdown) {
+                throw new IllegalStateException("Punch ingestion has been shut down");
+            }
+            merge(employeeId, timestamp.toLocalDate(), time, time);
+            thresholdReached = pendingCount >= flushThreshold;
+        }
+
+        if (thresholdReached && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Number of (employee, date) entries waiting to be written
+     */
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Days that could not be written and were given up, oldest first
+     */
+    public synchronized List<Attendance> getDeadLetters() {
+        return Collections.unmodifiableList(new ArrayList<>(deadLetters));
+    }
+
+    /**
+     * Writes all pending punches now. If the batch fails its days are retried one by one.
+     * @return number of attendance rows written
+     * @throws RuntimeException if no day could be written; they are all queued again
+     */
+    public int flush() {
+        Map<Integer, Map<LocalDate, PendingDay>> batch;
+        synchronized (this) {
+            flushRequested.set(false);
+            if (pendingCount == 0) {
+                return 0;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            pendingCount = 0;
+        }
+
+        List<Attendance> records = new ArrayList<>();
+        for (Map<LocalDate, PendingDay> days : batch.values()) {
+            for (PendingDay day : days.values()) {
+                records.add(day.toAttendance());
+            }
+        }
+
+        try {
+            return attendanceDAO.upsertAttendanceBatch(records);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Attendance punch batch failed, writing " + records.size() + " days one by one", e);
+        }
+
+        int written = 0;
+        boolean firstWrite = true;
+        List<PendingDay> failed = new ArrayList<>();
+        RuntimeException lastFailure = null;
+        for (Map<LocalDate, PendingDay> days : batch.values()) {
+            for (PendingDay day : days.values()) {
+                try {
+                    written += attendanceDAO.upsertAttendanceBatch(Collections.singletonList(day.toAttendance()));
+                } catch (IllegalArgumentException e) {
+                    deadLetter(day, e);
+                } catch (RuntimeException e) {
+                    if (firstWrite && isConnectionFailure(e)) {
+                        // The database is unreachable; one connection timeout per day would stall the writer
+                        requeue(batch);
+                        throw e;
+                    }
+                    failed.add(day);
+                    lastFailure = e;
+                }
+                firstWrite = false;
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            // Nothing got through: the database is unavailable, not the records at fault
+            boolean outage = written == 0 && failed.size() == records.size();
+            synchronized (this) {
+                for (PendingDay day : failed) {
+                    int failures = outage ? day.failedFlushes : day.failedFlushes + 1;
+                    if (failures >= MAX_FAILED_FLUSHES) {
+                        deadLetter(day, lastFailure);
+                    } else {
+                        merge(day.employeeId, day.date, day.first, day.last).failedFlushes = failures;
+                    }
+                }
+            }
+            if (outage) {
+                throw lastFailure;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Queues every day of a batch again without counting a failed flush against it
+     */
+    private synchronized void requeue(Map<Integer, Map<LocalDate, PendingDay>> batch) {
+        for (Map<LocalDate, PendingDay> days : batch.values()) {
+            for (PendingDay day : days.values()) {
+                merge(day.employeeId, day.date, day.first, day.last).failedFlushes = day.failedFlushes;
+            }
+        }
+    }
+
+    /**
+     * True when the failure, or one of its causes, is a lost or refused database connection
+     * (SQLState class 08, which includes the driver's communications link failure)
+     */
+    private static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private synchronized void deadLetter(PendingDay day, RuntimeException cause) {
+        Attendance attendance = day.toAttendance();
+        deadLetters.add(attendance);
+        DEAD_LETTER_LOGGER.log(Level.SEVERE, String.format("❌ Attendance punch dropped: employee %d, %s, %s-%s",
+                day.employeeId, day.date, day.first, day.last), cause);
+    }
+
+    /**
+     * Stops the background writer after a final flush
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        int remaining = getPendingCount();
+        if (remaining > 0) {
+            LOGGER.warning("⚠️ " + remaining + " attendance punches could not be written before shutdown");
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Attendance punch flush failed, " + getPendingCount() + " days queued for retry", e);
+        }
+    }
+
+    private PendingDay merge(int employeeId, LocalDate date, LocalTime first, LocalTime last) {
+        PendingDay day = pending.computeIfAbsent(employeeId, k -> new HashMap<>()).get(date);
+        if (day == null) {
+            day = new PendingDay(employeeId, date, first, last);
+            pending.get(employeeId).put(date, day);
+            pendingCount++;
+        } else {
+            day.add(first);
+            day.add(last);
+        }
+        return day;
+    }
+
+    /**
+     * Earliest and latest punch of one employee on one day
+     */
+    private static class PendingDay {
+        private final int employeeId;
+        private final LocalDate date;
+        private LocalTime first;
+        private LocalTime last;
+        // Flushes in which this day failed while others were written
+        private int failedFlushes;
+
+        private PendingDay(int employeeId, LocalDate date, LocalTime first, LocalTime last) {
+            this.employeeId = employeeId;
+            this.date = date;
+            this.first = first;
+            this.last = last;
+        }
+
+        private void add(LocalTime time) {
+            if (time.isBefore(first)) {
+                first = time;
+            }
+            if (time.isAfter(last)) {
+                last = time;
+            }
+        }
+
+        private Attendance toAttendance() {
+            // A single punch is sent as log_in only; the upsert fills log_out from later punches
+            return new Attendance(employeeId, Date.valueOf(date), Time.valueOf(first),
+                    first.equals(last) ? null : Time.valueOf(last));
+        }
+    }
+}
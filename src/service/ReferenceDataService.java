@@ -0,0 +1,84 @@
+package service;
+
+import dao.ReferenceDataDAO;
+import util.ConfigurationManager;
+import util.ReferenceDataCache;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps ReferenceDataCache loaded: once at startup, then whenever the reference data
+ * version in the database changes. The version is polled on a background thread
+ * (reference.data.refresh.seconds, default 60), so lookups such as role resolution
+ * on login never wait for the database.
+ */
+public class ReferenceDataService {
+    private static final Logger LOGGER = Logger.getLogger(ReferenceDataService.class.getName());
+    private static ReferenceDataService instance;
+
+    private static final int DEFAULT_REFRESH_SECONDS = 60;
+
+    private final ReferenceDataDAO referenceDataDAO;
+    private ScheduledExecutorService scheduler;
+
+    public ReferenceDataService(ReferenceDataDAO referenceDataDAO) {
+        this.referenceDataDAO = referenceDataDAO;
+    }
+
+    public static synchronized ReferenceDataService getInstance() {
+        if (instance == null) {
+            instance = new ReferenceDataService(new ReferenceDataDAO());
+        }
+        return instance;
+    }
+
+    /**
+     * Loads the cache and starts watching for version changes. Calling it again has no effect.
+     * If the load fails the built-in role mappings stay in use and the next check retries.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        refreshQuietly();
+
+        int refreshSeconds = Math.max(1, ConfigurationManager.getInstance()
+                .getIntProperty("reference.data.refresh.seconds", DEFAULT_REFRESH_SECONDS));
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reference-data-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reloads the cache now, e.g. right after positions were edited in this process
+     */
+    public void reload() {
+        referenceDataDAO.loadCache();
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            if (!ReferenceDataCache.getInstance().isLoaded()) {
+                referenceDataDAO.loadCache();
+            } else if (referenceDataDAO.refreshCacheIfChanged()) {
+                LOGGER.info("🔄 Reference data changed, cache reloaded");
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not refresh reference data, keeping cached version", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ package service;
 import dao.*;
 import model.*;
 import util.DBConnection;
+import util.ReadReplicaRouter;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -22,12 +23,14 @@ public class ReportGenerator {
     private final PayrollDAO payrollDAO;
     private final AttendanceDAO attendanceDAO;
     private final PayrollCalculator payrollCalculator;
+    private final MonthlySummaryDAO monthlySummaryDAO;
 
     public ReportGenerator() {
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.monthlySummaryDAO = new MonthlySummaryDAO();
     }
 
     /**
@@ -46,19 +49,28 @@ public class ReportGenerator {
         report.setPeriodStart(periodStart);
         report.setPeriodEnd(periodEnd);
 
+        // ENHANCED: report reads go to the read replica while it is within its lag bound
         try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            List<Payroll> payrollData = new ArrayList<>();
-
-            for (Employee emp : employees) {
+            List<Payroll> payrollData = ReadReplicaRouter.readFromReplica(() -> {
+                // Employees are streamed, only the calculated payrolls are kept
+                List<Payroll> calculated = new ArrayList<>();
+                // Overtime and attendance of the whole company loaded once instead of per employee
+                payrollCalculator.preloadPeriod(periodStart, periodEnd);
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(
-                            emp.getEmployeeId(), periodStart, periodEnd);
-                    payrollData.add(payroll);
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Error calculating payroll for employee " + emp.getEmployeeId(), e);
+                    employeeDAO.forEachEmployee(emp -> {
+                        try {
+                            Payroll payroll = payrollCalculator.calculatePayroll(
+                                    emp.getEmployeeId(), periodStart, periodEnd);
+                            calculated.add(payroll);
+                        } catch (Exception e) {
+                            logger.log(Level.WARNING, "Error calculating payroll for employee " + emp.getEmployeeId(), e);
+                        }
+                    });
+                } finally {
+                    payrollCalculator.clearPreloadedPeriod();
                 }
-            }
+                return calculated;
+            });
 
             report.setPayrollData(payrollData);
             report.setSummary(generateReportSummary(payrollData));
@@ -75,7 +87,7 @@ public class ReportGenerator {
      * Generate payroll report for specific employee
      */
     public PayrollReport generateEmployeePayrollReport(int employeeId, LocalDate periodStart, LocalDate periodEnd, String generatedBy) {
-        Employee employee = employeeDAO.getEmployeeById(employeeId);
+        Employee employee = ReadReplicaRouter.readFromReplica(() -> employeeDAO.getEmployeeById(employeeId));
         if (employee == null) {
             throw new IllegalArgumentException("Employee not found with ID: " + employeeId);
         }
@@ -89,6 +101,7 @@ public class ReportGenerator {
         report.setPeriodStart(periodStart);
         report.setPeriodEnd(periodEnd);
 
+        ReadReplicaRouter.ReadScope readScope = ReadReplicaRouter.openReadScope();
         try {
             List<Payroll> existingPayrolls = payrollDAO.getPayrollByEmployeeIdAndDateRange(
                     employeeId, periodStart, periodEnd);
@@ -105,6 +118,8 @@ public class ReportGenerator {
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error generating employee payroll report", e);
             throw new RuntimeException("Failed to generate employee payroll report", e);
+        } finally {
+            readScope.close();
         }
 
         return report;
@@ -122,16 +137,9 @@ public class ReportGenerator {
         report.setGeneratedDate(LocalDate.now());
 
         try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            Map<Integer, List<Attendance>> attendanceMap = new HashMap<>();
-
-            for (Employee emp : employees) {
-                List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                        emp.getEmployeeId(), periodStart, periodEnd);
-                attendanceMap.put(emp.getEmployeeId(), attendanceList);
-            }
-
-            report.setAttendanceData(attendanceMap);
+            // ENHANCED: aggregation is pushed into the database instead of loading
+            // every employee's per-day records and summing them here
+            report.setSummaries(getAttendanceSummaries(periodStart, periodEnd));
             report.calculateSummaryStatistics();
 
         } catch (Exception e) {
@@ -142,6 +150,24 @@ public class ReportGenerator {
         return report;
     }
 
+    /**
+     * Per-employee attendance totals for a period. Whole-month periods are read from
+     * attendance_monthly_summary; partial months fall back to the grouped attendance query.
+     */
+    public List<AttendanceSummary> getAttendanceSummaries(LocalDate periodStart, LocalDate periodEnd) {
+        boolean wholeMonths = periodStart.getDayOfMonth() == 1
+                && periodEnd.getDayOfMonth() == periodEnd.lengthOfMonth();
+        if (wholeMonths) {
+            try {
+                return monthlySummaryDAO.getAttendanceSummaries(
+                        java.time.YearMonth.from(periodStart), java.time.YearMonth.from(periodEnd));
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "⚠️ Monthly summary table unavailable, using grouped attendance query", e);
+            }
+        }
+        return attendanceDAO.getAttendanceSummaries(periodStart, periodEnd);
+    }
+
     /**
      * Generate government contributions report
      */
@@ -271,8 +297,6 @@ public class ReportGenerator {
         StringBuilder report = new StringBuilder();
 
         try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-
             report.append("DAILY ATTENDANCE REPORT\n");
             report.append("Date: ").append(date.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
             report.append("=".repeat(80)).append("\n");
@@ -280,51 +304,53 @@ public class ReportGenerator {
                     "ID", "Name", "Log In", "Log Out", "Work Hours", "Status"));
             report.append("-".repeat(80)).append("\n");
 
-            int presentCount = 0;
-            int lateCount = 0;
-            int absentCount = 0;
-
-            for (Employee emp : employees) {
-                Attendance attendance = attendanceDAO.getAttendanceByEmployeeAndDate(
-                        emp.getEmployeeId(), date);
+            // ENHANCED: one employees LEFT JOIN attendance query, counters updated in the same pass
+            int[] counts = new int[3]; // present, late, absent
+            attendanceDAO.forEachDailyAttendance(date, record -> {
+                String name = record.getFullName().length() > 20
+                        ? record.getFullName().substring(0, 17) + "..." : record.getFullName();
+                Attendance attendance = record.getAttendance();
 
                 if (attendance != null) {
-                    presentCount++;
+                    counts[0]++;
                     String status = "Present";
                     if (attendance.isLate()) {
-                        lateCount++;
+                        counts[1]++;
                         status = "Late";
                     }
 
                     report.append(String.format("%-6d %-20s %-10s %-10s %-12.2f %-10s%n",
-                            emp.getEmployeeId(),
-                            emp.getFullName().length() > 20 ? emp.getFullName().substring(0, 17) + "..." : emp.getFullName(),
+                            record.getEmployeeId(),
+                            name,
                             attendance.getLogIn() != null ? attendance.getLogIn().toString() : "N/A",
                             attendance.getLogOut() != null ? attendance.getLogOut().toString() : "N/A",
                             attendance.getWorkHours(),
                             status
                     ));
                 } else {
-                    absentCount++;
+                    counts[2]++;
                     report.append(String.format("%-6d %-20s %-10s %-10s %-12s %-10s%n",
-                            emp.getEmployeeId(),
-                            emp.getFullName().length() > 20 ? emp.getFullName().substring(0, 17) + "..." : emp.getFullName(),
+                            record.getEmployeeId(),
+                            name,
                             "ABSENT",
                             "ABSENT",
                             "0.00",
                             "Absent"
                     ));
                 }
-            }
+            });
+
+            int presentCount = counts[0];
+            int totalEmployees = counts[0] + counts[2];
 
             report.append("-".repeat(80)).append("\n");
             report.append("SUMMARY:\n");
-            report.append(String.format("Total Employees: %d%n", employees.size()));
+            report.append(String.format("Total Employees: %d%n", totalEmployees));
             report.append(String.format("Present: %d%n", presentCount));
-            report.append(String.format("Late: %d%n", lateCount));
-            report.append(String.format("Absent: %d%n", absentCount));
+            report.append(String.format("Late: %d%n", counts[1]));
+            report.append(String.format("Absent: %d%n", counts[2]));
             report.append(String.format("Attendance Rate: %.2f%%%n",
-                    (double) presentCount / employees.size() * 100));
+                    totalEmployees > 0 ? (double) presentCount / totalEmployees * 100 : 0.0));
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error generating daily attendance report", e);
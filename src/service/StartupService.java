@@ -0,0 +1,197 @@
+package service;
+
+import util.DBConnection;
+import util.DatabaseConnectionPool;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup warm-up shown behind the splash screen.
+ *
+ * Prefilling the connection pool, loading the reference data cache and loading the classes
+ * of the login and dashboard path run in parallel. The login screen waits only for the
+ * database and the reference data; class loading carries on in the background.
+ * Time to the login screen is measured from JVM start and logged.
+ *
+ * With -Dmotorph.startup.training=true the application exits once the login screen is shown
+ * and class loading has finished, which is the training run used to build the AppCDS archive
+ * (see the cds-archive target in build.xml).
+ */
+public class StartupService {
+    private static final Logger LOGGER = Logger.getLogger(StartupService.class.getName());
+    private static StartupService instance;
+
+    public static final String TRAINING_PROPERTY = "motorph.startup.training";
+
+    // Loaded and initialized while the splash is shown, so the first login does not pay for them
+    private static final String[] LOGIN_PATH_CLASSES = {
+            "ui.LoginForm",
+            "dao.EmployeeDAO",
+            "model.Employee",
+            "util.PositionRoleMapper",
+            "view.DashboardFactory",
+            "view.EmployeeDashboard",
+            "view.HRDashboard",
+            "view.PayrollDashboard",
+            "view.AccountingDashboard",
+            "view.ExecutiveDashboard",
+            "view.ManagerDashboard",
+            "view.TeamLeaderDashboard",
+            "view.SeniorEmployeeDashboard",
+            "view.ITAdminDashboard",
+            "service.PayrollCalculator",
+            "ui.LeaveRequestDialog",
+            "ui.PasswordChangeDialog"
+    };
+
+    private final Map<String, Long> taskMillis = new ConcurrentHashMap<>();
+    private volatile long mainStartedAt;
+    private volatile long warmUpMillis = -1;
+    private volatile long timeToLoginMillis = -1;
+    private volatile Future<?> classPreload;
+
+    private StartupService() {
+    }
+
+    public static synchronized StartupService getInstance() {
+        if (instance == null) {
+            instance = new StartupService();
+        }
+        return instance;
+    }
+
+    /**
+     * Records when main() started, to separate JVM startup from application startup
+     */
+    public void markMainStarted() {
+        mainStartedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Runs the warm-up tasks in parallel and waits for the ones the login screen needs
+     * @param progress receives a message per finished task
+     * @return true if the database is reachable
+     */
+    public boolean warmUp(Consumer<String> progress) {
+        long start = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3, r -> {
+            Thread thread = new Thread(r, "startup-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Future<Boolean> database = executor.submit(() -> timed("connection pool", () -> {
+                DatabaseConnectionPool.getInstance().prefill();
+                return DBConnection.testConnection();
+            }));
+            Future<Boolean> referenceData = executor.submit(() -> timed("reference data", () -> {
+                ReferenceDataService.getInstance().start();
+                return true;
+            }));
+            classPreload = executor.submit(() -> timed("login classes", this::preloadLoginClasses));
+
+            boolean connected = database.get();
+            progress.accept(connected ? "Database connected successfully!" : "Database connection failed!");
+            if (connected) {
+                referenceData.get();
+                progress.accept("Reference data loaded");
+            }
+            return connected;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "❌ Startup warm-up failed", e.getCause());
+            return false;
+        } finally {
+            // Running tasks finish on their daemon threads; no new tasks are accepted
+            executor.shutdown();
+            warmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            LOGGER.info(String.format("⏱️ Startup warm-up: %d ms %s", warmUpMillis, taskMillis));
+        }
+    }
+
+    private Boolean preloadLoginClasses() {
+        ClassLoader loader = StartupService.class.getClassLoader();
+        for (String className : LOGIN_PATH_CLASSES) {
+            try {
+                Class.forName(className, true, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.fine("Could not preload " + className + ": " + e);
+            }
+        }
+        return true;
+    }
+
+    private <T> T timed(String task, Callable<T> work) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            taskMillis.put(task, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Called once the login screen is visible; logs the time since JVM start.
+     * In a training run, exits after class loading has finished.
+     */
+    public void markLoginScreenShown() {
+        long now = System.currentTimeMillis();
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        timeToLoginMillis = now - jvmStart;
+
+        LOGGER.info(String.format("⏱️ Time to login screen: %d ms (JVM start to main: %d ms, warm-up: %d ms)",
+                timeToLoginMillis, mainStartedAt > 0 ? mainStartedAt - jvmStart : -1, warmUpMillis));
+
+        if (isTrainingRun()) {
+            finishTrainingRun();
+        }
+    }
+
+    public long getTimeToLoginMillis() {
+        return timeToLoginMillis;
+    }
+
+    public long getWarmUpMillis() {
+        return warmUpMillis;
+    }
+
+    public boolean isTrainingRun() {
+        return Boolean.getBoolean(TRAINING_PROPERTY);
+    }
+
+    private void finishTrainingRun() {
+        Thread exit = new Thread(() -> {
+            try {
+                Future<?> preload = classPreload;
+                if (preload != null) {
+                    preload.get(60, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                LOGGER.log(Level.WARNING, "⚠️ Class preloading did not finish in the training run", e);
+            }
+            LOGGER.info("🏁 Training run finished, exiting to write the class data archive");
+            System.exit(0);
+        }, "startup-training-exit");
+        exit.start();
+    }
+}
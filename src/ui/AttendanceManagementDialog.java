@@ -4,7 +4,9 @@ package ui;
 import dao.AttendanceDAO;
 import dao.EmployeeDAO;
 import model.Employee;
+import model.EmployeeSummary;
 import model.Attendance;
+import service.AttendanceImportService;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -12,11 +14,17 @@ import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Dialog for managing employee attendance records
@@ -30,7 +38,7 @@ public class AttendanceManagementDialog extends JDialog {
     // UI Components
     private JTable attendanceTable;
     private DefaultTableModel tableModel;
-    private JComboBox<Employee> employeeComboBox;
+    private JComboBox<EmployeeSummary> employeeComboBox;
     private JSpinner dateSpinner;
     private JSpinner logInSpinner;
     private JSpinner logOutSpinner;
@@ -39,6 +47,9 @@ public class AttendanceManagementDialog extends JDialog {
     private JButton deleteButton;
     private JButton refreshButton;
     private JButton clearButton;
+    private JButton dailyViewButton;
+    private JButton importButton;
+    private JButton exportButton;
     private JLabel statusLabel;
 
     // Form state
@@ -143,6 +154,9 @@ public class AttendanceManagementDialog extends JDialog {
         deleteButton = createStyledButton("Delete", new Color(220, 20, 60), Color.WHITE);
         refreshButton = createStyledButton("Refresh", new Color(128, 128, 128), Color.WHITE);
         clearButton = createStyledButton("Clear Form", new Color(255, 140, 0), Color.WHITE);
+        dailyViewButton = createStyledButton("Daily View", new Color(25, 25, 112), Color.WHITE);
+        importButton = createStyledButton("Import...", new Color(0, 128, 128), Color.WHITE);
+        exportButton = createStyledButton("Export...", new Color(0, 128, 128), Color.WHITE);
 
         // Set button sizes
         Dimension buttonSize = new Dimension(100, 30);
@@ -151,6 +165,9 @@ public class AttendanceManagementDialog extends JDialog {
         deleteButton.setPreferredSize(buttonSize);
         refreshButton.setPreferredSize(buttonSize);
         clearButton.setPreferredSize(buttonSize);
+        dailyViewButton.setPreferredSize(buttonSize);
+        importButton.setPreferredSize(buttonSize);
+        exportButton.setPreferredSize(buttonSize);
     }
 
     private JButton createStyledButton(String text, Color backgroundColor, Color foregroundColor) {
@@ -276,6 +293,9 @@ public class AttendanceManagementDialog extends JDialog {
         buttonPanel.add(Box.createHorizontalStrut(20));
         buttonPanel.add(clearButton);
         buttonPanel.add(refreshButton);
+        buttonPanel.add(dailyViewButton);
+        buttonPanel.add(importButton);
+        buttonPanel.add(exportButton);
 
         return buttonPanel;
     }
@@ -298,6 +318,9 @@ public class AttendanceManagementDialog extends JDialog {
             setStatus("Records refreshed");
         });
         clearButton.addActionListener(e -> clearForm());
+        dailyViewButton.addActionListener(e -> showDailyView());
+        importButton.addActionListener(e -> importAttendanceFile());
+        exportButton.addActionListener(e -> exportAttendanceHistory());
 
         // Table selection listener
         attendanceTable.getSelectionModel().addListSelectionListener(e -> {
@@ -314,8 +337,8 @@ public class AttendanceManagementDialog extends JDialog {
     private void loadEmployees() {
         employeeComboBox.removeAllItems();
         try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            for (Employee emp : employees) {
+            List<EmployeeSummary> employees = employeeDAO.getEmployeeSummaries();
+            for (EmployeeSummary emp : employees) {
                 employeeComboBox.addItem(emp);
             }
             setStatus("Loaded " + employees.size() + " employees");
@@ -332,10 +355,10 @@ public class AttendanceManagementDialog extends JDialog {
             LocalDate endDate = LocalDate.now();
             LocalDate startDate = endDate.minusDays(30);
 
-            List<Employee> employees = employeeDAO.getAllEmployees();
+            List<EmployeeSummary> employees = employeeDAO.getEmployeeSummaries();
             int totalRecords = 0;
 
-            for (Employee emp : employees) {
+            for (EmployeeSummary emp : employees) {
                 List<Attendance> records = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
                         emp.getEmployeeId(), startDate, endDate);
 
@@ -363,6 +386,207 @@ public class AttendanceManagementDialog extends JDialog {
         }
     }
 
+    /**
+     * Shows every employee's attendance for the date selected in the form.
+     * Backed by a single employees LEFT JOIN attendance query, so absent
+     * employees are included and counters are computed while the rows load.
+     */
+    private void showDailyView() {
+        LocalDate date = new Date(((java.util.Date) dateSpinner.getValue()).getTime()).toLocalDate();
+
+        String[] columns = {"ID", "Employee", "Log In", "Log Out", "Hours", "Status"};
+        DefaultTableModel dailyModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        int[] counts = new int[3]; // present, late, absent
+
+        try {
+            attendanceDAO.forEachDailyAttendance(date, record -> {
+                Attendance attendance = record.getAttendance();
+                if (attendance == null) {
+                    counts[2]++;
+                    dailyModel.addRow(new Object[]{
+                            record.getEmployeeId(), record.getFullName(), "-", "-", "0.00", "Absent"
+                    });
+                    return;
+                }
+
+                counts[0]++;
+                if (attendance.isLate()) {
+                    counts[1]++;
+                }
+                dailyModel.addRow(new Object[]{
+                        record.getEmployeeId(),
+                        record.getFullName(),
+                        attendance.getLogIn(),
+                        attendance.getLogOut(),
+                        String.format("%.2f", attendance.getWorkHours()),
+                        determineAttendanceStatus(attendance)
+                });
+            });
+        } catch (Exception e) {
+            showError("Error loading daily attendance: " + e.getMessage());
+            return;
+        }
+
+        JTable dailyTable = new JTable(dailyModel);
+        dailyTable.setRowHeight(24);
+        dailyTable.setFont(new Font("Arial", Font.PLAIN, 11));
+        dailyTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
+        dailyTable.getColumnModel().getColumn(5).setCellRenderer(new StatusCellRenderer());
+
+        int total = counts[0] + counts[2];
+        JLabel summaryLabel = new JLabel(String.format(
+                "Total: %d   Present: %d   Late: %d   Absent: %d   Attendance Rate: %.1f%%",
+                total, counts[0], counts[1], counts[2],
+                total > 0 ? counts[0] * 100.0 / total : 0.0));
+        summaryLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(8, 10, 8, 10));
+
+        JDialog dailyDialog = new JDialog(this, "Daily Attendance - " + date, true);
+        dailyDialog.setLayout(new BorderLayout());
+        dailyDialog.add(new JScrollPane(dailyTable), BorderLayout.CENTER);
+        dailyDialog.add(summaryLabel, BorderLayout.SOUTH);
+        dailyDialog.setSize(700, 500);
+        dailyDialog.setLocationRelativeTo(this);
+
+        setStatus("Daily view for " + date + ": " + counts[0] + " present, " + counts[2] + " absent");
+        dailyDialog.setVisible(true);
+    }
+
+    /**
+     * Imports a time-clock export (CSV or fixed width) in the background.
+     * Rows that could not be imported are written to <file>.errors.csv next to the source.
+     */
+    private void importAttendanceFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Time-Clock File");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "Time-clock exports (*.csv, *.txt, *.dat)", "csv", "txt", "dat"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File file = chooser.getSelectedFile();
+        importButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        setStatus("Importing " + file.getName() + "...");
+
+        new SwingWorker<AttendanceImportService.ImportResult, Void>() {
+            private File errorReport;
+
+            @Override
+            protected AttendanceImportService.ImportResult doInBackground() throws Exception {
+                AttendanceImportService.ImportResult result = new AttendanceImportService(employeeDAO, attendanceDAO)
+                        .importFile(file);
+                if (result.hasErrors()) {
+                    errorReport = new File(file.getParentFile(), file.getName() + ".errors.csv");
+                    result.writeErrorReport(errorReport);
+                }
+                return result;
+            }
+
+            @Override
+            protected void done() {
+                importButton.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    AttendanceImportService.ImportResult result = get();
+                    loadAttendanceRecords();
+                    String message = "Import of " + file.getName() + " finished.\n\n" + result.getSummary();
+                    if (errorReport != null) {
+                        showWarning(message + "\n\nError report: " + errorReport.getAbsolutePath());
+                    } else {
+                        showSuccess(message);
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Error importing " + file.getName() + ": " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Writes the attendance history of every employee, or of the employee selected in the
+     * form, to a CSV file in the background. Records are streamed from the database straight
+     * into the file, so the export needs the same memory for a month of history as for ten years.
+     */
+    private void exportAttendanceHistory() {
+        EmployeeSummary selectedEmployee = (EmployeeSummary) employeeComboBox.getSelectedItem();
+        Integer employeeId = null;
+        if (selectedEmployee != null) {
+            Object[] options = {"All Employees", selectedEmployee.getFullName(), "Cancel"};
+            int choice = JOptionPane.showOptionDialog(this, "Export the attendance history of:",
+                    "Export Attendance History", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE,
+                    null, options, options[0]);
+            if (choice != 0 && choice != 1) {
+                return;
+            }
+            if (choice == 1) {
+                employeeId = selectedEmployee.getEmployeeId();
+            }
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Attendance History");
+        chooser.setSelectedFile(new File("Attendance_History_" + (employeeId != null ? employeeId + "_" : "")
+                + LocalDate.now() + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        final Integer exportEmployeeId = employeeId;
+
+        File file = chooser.getSelectedFile();
+        exportButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        setStatus("Exporting attendance history to " + file.getName() + "...");
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                int[] count = {0};
+                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+                    writer.println("Attendance ID,Employee ID,Date,Log In,Log Out,Work Hours,Status");
+                    Consumer<Attendance> writeRow = attendance -> {
+                        writer.println(attendance.getId() + "," + attendance.getEmployeeId() + ","
+                                + attendance.getDate() + ","
+                                + (attendance.getLogIn() != null ? attendance.getLogIn() : "") + ","
+                                + (attendance.getLogOut() != null ? attendance.getLogOut() : "") + ","
+                                + String.format("%.2f", attendance.getWorkHours()) + ","
+                                + determineAttendanceStatus(attendance));
+                        count[0]++;
+                    };
+                    if (exportEmployeeId != null) {
+                        attendanceDAO.forEachAttendanceByEmployeeId(exportEmployeeId, writeRow);
+                    } else {
+                        attendanceDAO.forEachAttendance(writeRow);
+                    }
+                    if (writer.checkError()) {
+                        throw new IOException("Error writing " + file.getName());
+                    }
+                }
+                return count[0];
+            }
+
+            @Override
+            protected void done() {
+                exportButton.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    int count = get();
+                    showSuccess("Exported " + count + " attendance records to:\n" + file.getAbsolutePath());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showError("Error exporting attendance history: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
     private String determineAttendanceStatus(Attendance attendance) {
         if (attendance.getLogIn() == null) {
             return "No Log In";
@@ -391,7 +615,7 @@ public class AttendanceManagementDialog extends JDialog {
         if (!validateForm()) return;
 
         try {
-            Employee selectedEmployee = (Employee) employeeComboBox.getSelectedItem();
+            EmployeeSummary selectedEmployee = (EmployeeSummary) employeeComboBox.getSelectedItem();
             Date date = new Date(((java.util.Date) dateSpinner.getValue()).getTime());
             Time logIn = new Time(((java.util.Date) logInSpinner.getValue()).getTime());
             Time logOut = new Time(((java.util.Date) logOutSpinner.getValue()).getTime());
@@ -427,7 +651,7 @@ public class AttendanceManagementDialog extends JDialog {
         if (!validateForm()) return;
 
         try {
-            Employee selectedEmployee = (Employee) employeeComboBox.getSelectedItem();
+            EmployeeSummary selectedEmployee = (EmployeeSummary) employeeComboBox.getSelectedItem();
             Date date = new Date(((java.util.Date) dateSpinner.getValue()).getTime());
             Time logIn = new Time(((java.util.Date) logInSpinner.getValue()).getTime());
             Time logOut = new Time(((java.util.Date) logOutSpinner.getValue()).getTime());
@@ -504,7 +728,7 @@ public class AttendanceManagementDialog extends JDialog {
 
             // Find and select the employee
             for (int i = 0; i < employeeComboBox.getItemCount(); i++) {
-                Employee emp = employeeComboBox.getItemAt(i);
+                EmployeeSummary emp = employeeComboBox.getItemAt(i);
                 if (emp.getFullName().equals(employeeName)) {
                     employeeComboBox.setSelectedIndex(i);
                     break;
@@ -599,8 +823,8 @@ public class AttendanceManagementDialog extends JDialog {
                                                       boolean isSelected, boolean cellHasFocus) {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 
-            if (value instanceof Employee) {
-                Employee emp = (Employee) value;
+            if (value instanceof EmployeeSummary) {
+                EmployeeSummary emp = (EmployeeSummary) value;
                 setText(emp.getEmployeeId() + " - " + emp.getFullName());
             }
 
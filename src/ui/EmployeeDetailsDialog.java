@@ -4,6 +4,7 @@ import dao.EmployeeDAO;
 import dao.CredentialsDAO;
 import model.Employee;
 import ui.PasswordChangeDialog;
+import util.UnitOfWork;
 
 import javax.swing.*;
 import java.awt.*;
@@ -452,10 +453,19 @@ public class EmployeeDetailsDialog extends JDialog {
 
             boolean success;
             if (isNewEmployee) {
-                success = employeeDAO.insertEmployee(employee);
+                // Employee and default credentials are saved together or not at all
+                try {
+                    UnitOfWork.run(() -> {
+                        if (!employeeDAO.insertEmployee(employee)
+                                || !credentialsDAO.createCredentials(employee.getEmployeeId(), "password1234")) {
+                            UnitOfWork.setRollbackOnly();
+                        }
+                    });
+                    success = true;
+                } catch (UnitOfWork.RolledBackException e) {
+                    success = false;
+                }
                 if (success) {
-                    // Create default credentials
-                    credentialsDAO.createCredentials(employee.getEmployeeId(), "password1234");
                     JOptionPane.showMessageDialog(this,
                             "Employee added successfully!\nDefault password: password1234",
                             "Success", JOptionPane.INFORMATION_MESSAGE);
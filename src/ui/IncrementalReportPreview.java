@@ -0,0 +1,179 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.Rectangle;
+import java.awt.event.AdjustmentListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Text report preview that computes its rows one page at a time.
+ *
+ * The header is shown right away. Rows are computed in a SwingWorker and appended a page at
+ * a time; the next page is only computed when the user scrolls near the end of the text,
+ * so a preview costs what has been looked at rather than the whole company. The footer
+ * (e.g. totals) is appended once every row has been computed. An optional preloader (e.g.
+ * the period's data for the whole company) runs before the second page, so the first page
+ * is never held back by it and short previews never pay for it.
+ *
+ * Rows are loaded and formatted on the worker threads one page after the other, never
+ * concurrently, so a row formatter may accumulate totals in plain fields.
+ */
+class IncrementalReportPreview<T> {
+    private static final Logger LOGGER = Logger.getLogger(IncrementalReportPreview.class.getName());
+
+    // About one screen of the preview area
+    static final int PAGE_SIZE = 30;
+
+    private final JTextArea area;
+    private final JViewport viewport;
+    private final JScrollBar scrollBar;
+    private final Callable<List<T>> rowLoader;
+    private final Runnable preloader;
+    private final Function<T, String> rowFormatter;
+    private final Supplier<String> footer;
+    private final Runnable onClose;
+    private final AdjustmentListener scrollListener = e -> loadMoreIfNeeded();
+
+    private List<T> rows;
+    private int nextRow;
+    private boolean loading;
+    private volatile boolean closed;
+    private volatile boolean preloaded;
+    // Offset of the "scroll for more" line, replaced by the next page
+    private int statusStart = -1;
+
+    /**
+     * @param rowLoader runs in the background before the first page, e.g. the employee query
+     * @param preloader runs in the background once, before the second page; may be null
+     * @param rowFormatter formats one row in the background, including its trailing newline
+     * @param footer text appended after the last row
+     * @param onClose called once when the preview is complete or replaced
+     */
+    IncrementalReportPreview(JTextArea area, JScrollPane scrollPane, String header, Callable<List<T>> rowLoader,
+                             Runnable preloader, Function<T, String> rowFormatter, Supplier<String> footer,
+                             Runnable onClose) {
+        this.area = area;
+        this.viewport = scrollPane.getViewport();
+        this.scrollBar = scrollPane.getVerticalScrollBar();
+        this.rowLoader = rowLoader;
+        this.preloader = preloader;
+        this.rowFormatter = rowFormatter;
+        this.footer = footer;
+        this.onClose = onClose;
+
+        area.setText(header);
+        area.setCaretPosition(0);
+        scrollBar.addAdjustmentListener(scrollListener);
+    }
+
+    /**
+     * Computes and shows the first page
+     */
+    void start() {
+        loadNextPage();
+    }
+
+    /**
+     * Stops loading further pages; a page being computed is dropped
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scrollBar.removeAdjustmentListener(scrollListener);
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    boolean isComplete() {
+        return rows != null && nextRow >= rows.size();
+    }
+
+    private void loadMoreIfNeeded() {
+        if (closed || loading || rows == null || isComplete()) {
+            return;
+        }
+        // Within one screen of the end of the text; the text height is current even before the next layout
+        Rectangle visible = viewport.getViewRect();
+        if (visible.y + 2 * visible.height >= area.getPreferredSize().height) {
+            loadNextPage();
+        }
+    }
+
+    private void loadNextPage() {
+        loading = true;
+        final List<T> knownRows = rows;
+        final int from = nextRow;
+
+        new SwingWorker<List<String>, Void>() {
+            private List<T> allRows;
+
+            @Override
+            protected List<String> doInBackground() throws Exception {
+                allRows = knownRows != null ? knownRows : rowLoader.call();
+                if (allRows == null) {
+                    allRows = Collections.emptyList();
+                }
+                if (from > 0 && preloader != null && !preloaded && !closed) {
+                    preloader.run();
+                    preloaded = true;
+                }
+                int to = Math.min(from + PAGE_SIZE, allRows.size());
+                List<String> page = new ArrayList<>(to - from);
+                for (int i = from; i < to && !closed; i++) {
+                    page.add(rowFormatter.apply(allRows.get(i)));
+                }
+                return page;
+            }
+
+            @Override
+            protected void done() {
+                loading = false;
+                if (closed) {
+                    return;
+                }
+                List<String> page;
+                try {
+                    page = get();
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "❌ Error loading report preview", e);
+                    area.append("\nError loading preview: " + e.getMessage() + "\n");
+                    close();
+                    return;
+                }
+
+                rows = allRows;
+                removeStatusLine();
+                for (String row : page) {
+                    area.append(row);
+                }
+                nextRow += page.size();
+                if (isComplete()) {
+                    area.append(footer.get());
+                    close();
+                } else {
+                    statusStart = area.getDocument().getLength();
+                    area.append(String.format("... scroll for more (%d of %d rows shown)%n", nextRow, rows.size()));
+                    // The page may not fill the view yet; check again once it has been laid out
+                    SwingUtilities.invokeLater(() -> loadMoreIfNeeded());
+                }
+            }
+        }.execute();
+    }
+
+    private void removeStatusLine() {
+        if (statusStart >= 0) {
+            area.replaceRange("", statusStart, area.getDocument().getLength());
+            statusStart = -1;
+        }
+    }
+}
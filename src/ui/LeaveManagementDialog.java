@@ -3,6 +3,7 @@ package ui;
 import dao.LeaveRequestDAO;
 import dao.EmployeeDAO;
 import model.Employee;
+import model.EmployeeSummary;
 import model.LeaveRequest;
 
 import javax.swing.*;
@@ -10,7 +11,19 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class LeaveManagementDialog extends JDialog {
     private Employee currentUser;
@@ -23,7 +36,11 @@ public class LeaveManagementDialog extends JDialog {
     private JButton approveButton;
     private JButton rejectButton;
     private JButton refreshButton;
+    private JButton calendarButton;
+    private JButton exportButton;
     private JButton closeButton;
+    // Employee names by ID, loaded once instead of one lookup per row
+    private Map<Integer, String> employeeNames;
 
     public LeaveManagementDialog(Frame parent, Employee currentUser) {
         super(parent, "Leave Request Management", true);
@@ -50,7 +67,7 @@ public class LeaveManagementDialog extends JDialog {
             }
         };
         leaveRequestTable = new JTable(tableModel);
-        leaveRequestTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        leaveRequestTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         leaveRequestTable.setRowHeight(25);
 
         // Status filter
@@ -62,6 +79,8 @@ public class LeaveManagementDialog extends JDialog {
         approveButton = new JButton("Approve");
         rejectButton = new JButton("Reject");
         refreshButton = new JButton("Refresh");
+        calendarButton = new JButton("Team Calendar");
+        exportButton = new JButton("Export...");
         closeButton = new JButton("Close");
 
         approveButton.setBackground(new Color(34, 139, 34));
@@ -90,6 +109,8 @@ public class LeaveManagementDialog extends JDialog {
         filterPanel.add(new JLabel("Status Filter:"));
         filterPanel.add(statusFilter);
         filterPanel.add(refreshButton);
+        filterPanel.add(calendarButton);
+        filterPanel.add(exportButton);
 
         // Button panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
@@ -109,7 +130,14 @@ public class LeaveManagementDialog extends JDialog {
 
     private void setupEventHandlers() {
         statusFilter.addActionListener(e -> loadLeaveRequests());
-        refreshButton.addActionListener(e -> loadLeaveRequests());
+        refreshButton.addActionListener(e -> {
+            // Pick up requests filed or changed by other users
+            leaveRequestDAO.refreshLeaveIndex();
+            employeeNames = null;
+            loadLeaveRequests();
+        });
+        calendarButton.addActionListener(e -> showTeamCalendar());
+        exportButton.addActionListener(e -> exportLeaveRequests());
 
         approveButton.addActionListener(new ActionListener() {
             @Override
@@ -140,20 +168,13 @@ public class LeaveManagementDialog extends JDialog {
 
         try {
             String selectedStatus = (String) statusFilter.getSelectedItem();
-            List<LeaveRequest> requests;
-
-            if ("All".equals(selectedStatus)) {
-                // Get all leave requests (you might want to implement this in DAO)
-                requests = leaveRequestDAO.getLeaveRequestsByStatus("Pending");
-                requests.addAll(leaveRequestDAO.getLeaveRequestsByStatus("Approved"));
-                requests.addAll(leaveRequestDAO.getLeaveRequestsByStatus("Rejected"));
-            } else {
-                requests = leaveRequestDAO.getLeaveRequestsByStatus(selectedStatus);
-            }
 
-            for (LeaveRequest request : requests) {
-                Employee emp = employeeDAO.getEmployeeById(request.getEmployeeId());
-                String employeeName = emp != null ? emp.getFullName() : "Unknown";
+            // ENHANCED: served from the leave index, filtered here instead of one query per status
+            for (LeaveRequest request : leaveRequestDAO.getAllLeaveRequests()) {
+                if (!"All".equals(selectedStatus) && !selectedStatus.equalsIgnoreCase(request.getStatus())) {
+                    continue;
+                }
+                String employeeName = getEmployeeName(request.getEmployeeId());
 
                 Object[] row = {
                         request.getLeaveId(),
@@ -176,9 +197,160 @@ public class LeaveManagementDialog extends JDialog {
         }
     }
 
+    /**
+     * Writes the leave requests with the filtered status to a CSV file in the background,
+     * streamed from the database rather than built from the leave index
+     */
+    private void exportLeaveRequests() {
+        String selectedStatus = (String) statusFilter.getSelectedItem();
+        List<String> statuses = "All".equals(selectedStatus)
+                ? List.of(LeaveRequest.STATUS_PENDING, LeaveRequest.STATUS_APPROVED, LeaveRequest.STATUS_REJECTED)
+                : List.of(selectedStatus);
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Leave Requests");
+        chooser.setSelectedFile(new File("Leave_Requests_" + selectedStatus + "_" + LocalDate.now() + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File file = chooser.getSelectedFile();
+        exportButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                int[] count = {0};
+                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+                    writer.println("Leave ID,Employee ID,Leave Type,Start Date,End Date,Days,Status");
+                    for (String status : statuses) {
+                        leaveRequestDAO.forEachLeaveRequestByStatus(status, leave -> {
+                            writer.println(leave.getLeaveId() + "," + leave.getEmployeeId() + ","
+                                    + leave.getLeaveType() + "," + leave.getStartDate() + ","
+                                    + leave.getEndDate() + "," + leave.getLeaveDays() + "," + leave.getStatus());
+                            count[0]++;
+                        });
+                    }
+                    if (writer.checkError()) {
+                        throw new IOException("Error writing " + file.getName());
+                    }
+                }
+                return count[0];
+            }
+
+            @Override
+            protected void done() {
+                exportButton.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    int count = get();
+                    JOptionPane.showMessageDialog(LeaveManagementDialog.this,
+                            "Exported " + count + " leave requests to:\n" + file.getAbsolutePath(),
+                            "Export Leave Requests", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(LeaveManagementDialog.this,
+                            "Error exporting leave requests: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private String getEmployeeName(int employeeId) {
+        if (employeeNames == null) {
+            employeeNames = new HashMap<>();
+            for (EmployeeSummary emp : employeeDAO.getEmployeeSummaries()) {
+                employeeNames.put(emp.getEmployeeId(), emp.getFullName());
+            }
+        }
+        return employeeNames.getOrDefault(employeeId, "Unknown");
+    }
+
+    /**
+     * Month grid of approved leaves: one row per employee on leave, one column per day
+     */
+    private void showTeamCalendar() {
+        String input = JOptionPane.showInputDialog(this, "Month (yyyy-MM):",
+                YearMonth.now().format(DateTimeFormatter.ofPattern("yyyy-MM")));
+        if (input == null) {
+            return;
+        }
+
+        YearMonth month;
+        try {
+            month = YearMonth.parse(input.trim());
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Please enter the month as yyyy-MM.",
+                    "Invalid Month", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        try {
+            LocalDate monthStart = month.atDay(1);
+            LocalDate monthEnd = month.atEndOfMonth();
+            int days = month.lengthOfMonth();
+
+            Map<Integer, String[]> rows = new LinkedHashMap<>();
+            for (LeaveRequest leave : leaveRequestDAO.getTeamLeaveCalendar(null, monthStart, monthEnd)) {
+                String[] cells = rows.computeIfAbsent(leave.getEmployeeId(), k -> new String[days]);
+                LocalDate from = leave.getStartDateAsLocalDate().isBefore(monthStart) ? monthStart : leave.getStartDateAsLocalDate();
+                LocalDate to = leave.getEndDateAsLocalDate().isAfter(monthEnd) ? monthEnd : leave.getEndDateAsLocalDate();
+                String marker = leave.getLeaveType().substring(0, 1);
+                for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                    cells[d.getDayOfMonth() - 1] = marker;
+                }
+            }
+
+            String[] columns = new String[days + 1];
+            columns[0] = "Employee";
+            for (int day = 1; day <= days; day++) {
+                columns[day] = String.valueOf(day);
+            }
+            DefaultTableModel calendarModel = new DefaultTableModel(columns, 0) {
+                @Override
+                public boolean isCellEditable(int row, int column) {
+                    return false;
+                }
+            };
+            for (Map.Entry<Integer, String[]> entry : rows.entrySet()) {
+                Object[] row = new Object[days + 1];
+                row[0] = getEmployeeName(entry.getKey());
+                System.arraycopy(entry.getValue(), 0, row, 1, days);
+                calendarModel.addRow(row);
+            }
+
+            JTable calendarTable = new JTable(calendarModel);
+            calendarTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+            calendarTable.setRowHeight(22);
+            calendarTable.getColumnModel().getColumn(0).setPreferredWidth(180);
+            for (int day = 1; day <= days; day++) {
+                calendarTable.getColumnModel().getColumn(day).setPreferredWidth(26);
+            }
+
+            JLabel legend = new JLabel("  " + rows.size() + " employee(s) on approved leave.  " +
+                    "A = Annual, S = Sick, E = Emergency, M = Maternity, P = Paternity");
+
+            JDialog calendarDialog = new JDialog(this, "Team Leave Calendar - " + month, true);
+            calendarDialog.setLayout(new BorderLayout());
+            calendarDialog.add(new JScrollPane(calendarTable), BorderLayout.CENTER);
+            calendarDialog.add(legend, BorderLayout.SOUTH);
+            calendarDialog.setSize(1000, 450);
+            calendarDialog.setLocationRelativeTo(this);
+            calendarDialog.setVisible(true);
+
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                    "Error loading team calendar: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            e.printStackTrace();
+        }
+    }
+
     private void updateLeaveStatus(String newStatus) {
-        int selectedRow = leaveRequestTable.getSelectedRow();
-        if (selectedRow == -1) {
+        int[] selectedRows = leaveRequestTable.getSelectedRows();
+        if (selectedRows.length == 0) {
             JOptionPane.showMessageDialog(this,
                     "Please select a leave request to update.",
                     "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -186,35 +358,44 @@ public class LeaveManagementDialog extends JDialog {
         }
 
         try {
-            int leaveId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            String currentStatus = (String) tableModel.getValueAt(selectedRow, 6);
+            // ENHANCED: Several pending requests are approved or rejected in one transaction
+            List<Integer> leaveIds = new ArrayList<>();
+            for (int row : selectedRows) {
+                String currentStatus = (String) tableModel.getValueAt(row, 6);
+                if (LeaveRequest.STATUS_PENDING.equals(currentStatus)) {
+                    leaveIds.add((Integer) tableModel.getValueAt(row, 0));
+                }
+            }
 
-            if (LeaveRequest.STATUS_APPROVED.equals(currentStatus) ||
-                    LeaveRequest.STATUS_REJECTED.equals(currentStatus)) {
+            if (leaveIds.isEmpty()) {
                 JOptionPane.showMessageDialog(this,
-                        "This leave request has already been processed.",
+                        selectedRows.length == 1 ? "This leave request has already been processed."
+                                : "The selected leave requests have already been processed.",
                         "Already Processed", JOptionPane.WARNING_MESSAGE);
                 return;
             }
 
             String actionText = LeaveRequest.STATUS_APPROVED.equals(newStatus) ? "approve" : "reject";
+            String subject = leaveIds.size() == 1 ? "this leave request" : leaveIds.size() + " pending leave requests";
             int confirm = JOptionPane.showConfirmDialog(this,
-                    "Are you sure you want to " + actionText + " this leave request?",
+                    "Are you sure you want to " + actionText + " " + subject + "?",
                     "Confirm Action", JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                boolean updated = leaveRequestDAO.updateLeaveStatus(leaveId, newStatus);
+                LeaveRequestDAO.BulkStatusResult result = leaveRequestDAO.updateLeaveStatuses(leaveIds, newStatus);
 
-                if (updated) {
+                if (result.getSkipped().isEmpty()) {
                     JOptionPane.showMessageDialog(this,
-                            "Leave request " + actionText + "d successfully!",
+                            (leaveIds.size() == 1 ? "Leave request " : leaveIds.size() + " leave requests ")
+                                    + actionText + "d successfully!",
                             "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadLeaveRequests(); // Refresh the table
                 } else {
                     JOptionPane.showMessageDialog(this,
-                            "Failed to update leave request status.",
-                            "Error", JOptionPane.ERROR_MESSAGE);
+                            "Leave requests " + actionText + "d: " + result.getSummary(),
+                            result.getUpdatedIds().isEmpty() ? "Error" : "Partially Completed",
+                            result.getUpdatedIds().isEmpty() ? JOptionPane.ERROR_MESSAGE : JOptionPane.WARNING_MESSAGE);
                 }
+                loadLeaveRequests(); // Refresh the table
             }
 
         } catch (Exception e) {
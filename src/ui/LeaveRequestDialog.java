@@ -2,7 +2,9 @@ package ui;
 
 import dao.LeaveRequestDAO;
 import model.Employee;
+import model.LeaveBalance;
 import model.LeaveRequest;
+import service.LeaveBalanceService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -10,12 +12,17 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
 
 public class LeaveRequestDialog extends JDialog {
     private Employee employee;
     private LeaveRequestDAO leaveRequestDAO;
 
     private JComboBox<String> leaveTypeComboBox;
+    private JLabel balanceLabel;
+    // This year's balances per leave type, empty if they could not be loaded
+    private Map<String, LeaveBalance> balances = Collections.emptyMap();
     private JSpinner startDateSpinner;
     private JSpinner endDateSpinner;
     private JTextArea reasonTextArea;
@@ -48,6 +55,16 @@ public class LeaveRequestDialog extends JDialog {
         leaveTypeComboBox = new JComboBox<>(leaveTypes);
         leaveTypeComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
 
+        balanceLabel = new JLabel();
+        balanceLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        balanceLabel.setForeground(new Color(25, 25, 112));
+        try {
+            balances = new LeaveBalanceService().getBalances(employee, LocalDate.now().getYear());
+        } catch (Exception e) {
+            System.err.println("Warning: Could not load leave balances: " + e.getMessage());
+        }
+        updateBalanceLabel();
+
         // Date spinners
         SpinnerDateModel startDateModel = new SpinnerDateModel();
         SpinnerDateModel endDateModel = new SpinnerDateModel();
@@ -141,7 +158,11 @@ public class LeaveRequestDialog extends JDialog {
 
         gbc.gridx = 1;
         gbc.fill = GridBagConstraints.HORIZONTAL;
-        formPanel.add(leaveTypeComboBox, gbc);
+        JPanel leaveTypePanel = new JPanel(new BorderLayout(8, 0));
+        leaveTypePanel.setOpaque(false);
+        leaveTypePanel.add(leaveTypeComboBox, BorderLayout.CENTER);
+        leaveTypePanel.add(balanceLabel, BorderLayout.EAST);
+        formPanel.add(leaveTypePanel, gbc);
 
         // Start date
         gbc.gridx = 0; gbc.gridy = 2;
@@ -204,6 +225,8 @@ public class LeaveRequestDialog extends JDialog {
             }
         });
 
+        leaveTypeComboBox.addActionListener(e -> updateBalanceLabel());
+
         // Validate end date is not before start date
         startDateSpinner.addChangeListener(e -> validateDates());
         endDateSpinner.addChangeListener(e -> validateDates());
@@ -218,6 +241,13 @@ public class LeaveRequestDialog extends JDialog {
         });
     }
 
+    private void updateBalanceLabel() {
+        LeaveBalance balance = balances.get((String) leaveTypeComboBox.getSelectedItem());
+        balanceLabel.setText(balance != null
+                ? String.format("%.1f days left", balance.getBalanceDays())
+                : "Balance unavailable");
+    }
+
     private void validateDates() {
         try {
             java.util.Date utilStartDate = (java.util.Date) startDateSpinner.getValue();
@@ -286,6 +316,20 @@ public class LeaveRequestDialog extends JDialog {
             LeaveRequest leaveRequest = new LeaveRequest(employee.getEmployeeId(), startDate, endDate, leaveType);
             leaveRequest.setStatus(LeaveRequest.STATUS_PENDING);
 
+            // Warn when the request is larger than this year's remaining balance
+            LeaveBalance balance = balances.get(leaveType);
+            if (balance != null && startDate.toLocalDate().getYear() == balance.getYear()
+                    && leaveRequest.getLeaveDays() > balance.getBalanceDays()) {
+                int choice = JOptionPane.showConfirmDialog(this,
+                        String.format("This request is for %d day(s) but only %.1f %s leave day(s) remain.%n" +
+                                "Days beyond your balance may be unpaid. Submit anyway?",
+                                leaveRequest.getLeaveDays(), balance.getBalanceDays(), leaveType),
+                        "Insufficient Leave Balance", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                if (choice != JOptionPane.YES_OPTION) {
+                    return;
+                }
+            }
+
             // Disable submit button to prevent double submission
             submitButton.setEnabled(false);
             submitButton.setText("Submitting...");
@@ -30,10 +30,21 @@ public class LoginForm extends JFrame {
     private JLabel connectionStatusLabel;
 
     public LoginForm() {
+        this(false);
+    }
+
+    /**
+     * @param databaseVerified true when startup has just checked the connection, so it is not checked again
+     */
+    public LoginForm(boolean databaseVerified) {
         initializeComponents();
         setupLayout();
         setupEventHandlers();
-        checkDatabaseConnection();
+        if (databaseVerified) {
+            showDatabaseConnected();
+        } else {
+            checkDatabaseConnection();
+        }
 
         setTitle("MotorPH Payroll System - Login");
         setSize(550, 620);
@@ -292,8 +303,7 @@ public class LoginForm extends JFrame {
                 try {
                     boolean connected = get();
                     if (connected) {
-                        connectionStatusLabel.setText("🟢 Database Connected");
-                        connectionStatusLabel.setForeground(new Color(0, 128, 0));
+                        showDatabaseConnected();
                         LOGGER.info("Database connection verified successfully");
                     } else {
                         connectionStatusLabel.setText("🔴 Database Connection Failed");
@@ -310,6 +320,11 @@ public class LoginForm extends JFrame {
         connectionChecker.execute();
     }
 
+    private void showDatabaseConnected() {
+        connectionStatusLabel.setText("🟢 Database Connected");
+        connectionStatusLabel.setForeground(new Color(0, 128, 0));
+    }
+
     private void performLogin() {
         String employeeIdStr = employeeIdField.getText().trim();
         String password = new String(passwordField.getPassword());
@@ -1,13 +1,18 @@
 package ui;
 
-import util.DBConnection;
+import service.StartupService;
+import util.ConfigurationManager;
 import ui.LoginForm;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 public class MainApplication {
 
     public static void main(String[] args) {
+        StartupService.getInstance().markMainStarted();
+
         // Set Look and Feel
         try {
 		    System.setProperty("awt.useSystemAAFontSettings", "on");
@@ -64,26 +69,15 @@ public class MainApplication {
         splash.add(panel);
         splash.setVisible(true);
 
-        // Test database connection in background
+        // ENHANCED: connection pool, reference data and login classes are warmed up in parallel,
+        // the splash closes as soon as the database and reference data are ready
         SwingWorker<Boolean, String> worker = new SwingWorker<Boolean, String>() {
             @Override
             protected Boolean doInBackground() throws Exception {
-                publish("Connecting to database...");
-                Thread.sleep(1000);
-
-                boolean connected = DBConnection.testConnection();
-
-                if (connected) {
-                    publish("Database connected successfully!");
-                    Thread.sleep(500);
-                    publish("Loading application...");
-                    Thread.sleep(1000);
-                    return true;
-                } else {
-                    publish("Database connection failed!");
-                    Thread.sleep(2000);
-                    return false;
-                }
+                ConfigurationManager.getInstance().startWatching();
+                publish("Connecting to database and loading reference data...");
+
+                return StartupService.getInstance().warmUp(message -> publish(message));
             }
 
             @Override
@@ -97,9 +91,9 @@ public class MainApplication {
                     boolean success = get();
                     splash.dispose();
 
-                    if (success) {
+                    if (success || StartupService.getInstance().isTrainingRun()) {
                         // Show login form
-                        new LoginForm().setVisible(true);
+                        showLoginForm(success);
                     } else {
                         // Show error dialog
                         JOptionPane.showMessageDialog(null,
@@ -121,4 +115,15 @@ public class MainApplication {
 
         worker.execute();
     }
+
+    private static void showLoginForm(boolean databaseVerified) {
+        LoginForm loginForm = new LoginForm(databaseVerified);
+        loginForm.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                StartupService.getInstance().markLoginScreenShown();
+            }
+        });
+        loginForm.setVisible(true);
+    }
 }
\ No newline at end of file
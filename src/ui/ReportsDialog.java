@@ -3,29 +3,39 @@ package ui;
 import dao.EmployeeDAO;
 import dao.PayrollDAO;
 import dao.AttendanceDAO;
+import dao.MonthlySummaryDAO;
 import model.Employee;
+import model.EmployeeSummary;
 import model.Payroll;
-import model.Attendance;
+import model.AttendanceSummary;
 import service.PayrollCalculator;
+import util.ReadReplicaRouter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.io.File;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ReportsDialog extends JDialog {
     private Employee currentUser;
     private EmployeeDAO employeeDAO;
     private PayrollDAO payrollDAO;
     private AttendanceDAO attendanceDAO;
+    private MonthlySummaryDAO monthlySummaryDAO;
     private PayrollCalculator payrollCalculator;
+    // Separate calculator for previews, so an export's period preload does not clear the preview's
+    private PayrollCalculator previewCalculator;
+    private IncrementalReportPreview<EmployeeSummary> activePreview;
 
     private JComboBox<String> reportTypeComboBox;
     private JComboBox<String> monthComboBox;
@@ -34,6 +44,7 @@ public class ReportsDialog extends JDialog {
     private JButton generateButton;
     private JButton closeButton;
     private JTextArea previewArea;
+    private JScrollPane previewScrollPane;
 
     // Employee Directory specific controls
     private JPanel directoryOptionsPanel;
@@ -48,7 +59,9 @@ public class ReportsDialog extends JDialog {
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
+        this.monthlySummaryDAO = new MonthlySummaryDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.previewCalculator = new PayrollCalculator();
 
         initializeComponents();
         setupLayout();
@@ -111,6 +124,7 @@ public class ReportsDialog extends JDialog {
         previewArea.setEditable(false);
         previewArea.setFont(new Font("Courier New", Font.PLAIN, 12));
         previewArea.setBackground(Color.WHITE);
+        previewScrollPane = new JScrollPane(previewArea);
     }
 
     private void setupLayout() {
@@ -177,7 +191,7 @@ public class ReportsDialog extends JDialog {
         // Main content
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.add(optionsPanel, BorderLayout.NORTH);
-        mainPanel.add(new JScrollPane(previewArea), BorderLayout.CENTER);
+        mainPanel.add(previewScrollPane, BorderLayout.CENTER);
 
         add(headerPanel, BorderLayout.NORTH);
         add(mainPanel, BorderLayout.CENTER);
@@ -216,6 +230,7 @@ public class ReportsDialog extends JDialog {
 
     private void generateReport() {
         try {
+            closeActivePreview();
             generateButton.setEnabled(false);
             generateButton.setText("Generating...");
 
@@ -251,6 +266,8 @@ public class ReportsDialog extends JDialog {
         }
     }
 
+    // ENHANCED: the preview computes one page of rows at a time in the background;
+    // every employee is only calculated for an export
     private void generatePayrollReport(String format) {
         try {
             int selectedMonth = monthComboBox.getSelectedIndex() + 1;
@@ -258,83 +275,110 @@ public class ReportsDialog extends JDialog {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            StringBuilder report = new StringBuilder();
+            // Gross, deductions and net
+            double[] totals = new double[3];
+            String header = buildPayrollReportHeader(periodStart);
 
-            // Build payroll report
-            report.append("MONTHLY PAYROLL REPORT\n");
-            report.append("Period: ").append(periodStart.format(DateTimeFormatter.ofPattern("MMMM yyyy"))).append("\n");
-            report.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
-            report.append("Generated by: ").append(currentUser.getFullName()).append("\n");
-            report.append("=".repeat(80)).append("\n\n");
+            if ("Preview Only".equals(format)) {
+                showPreview(header, periodStart, periodEnd,
+                        emp -> buildPayrollReportRow(emp, previewCalculator, periodStart, periodEnd, totals),
+                        () -> buildPayrollReportFooter(totals));
+                return;
+            }
 
-            report.append(String.format("%-6s %-25s %-12s %-12s %-12s %-12s%n",
-                    "ID", "Name", "Basic Pay", "Allowances", "Deductions", "Net Pay"));
-            report.append("-".repeat(80)).append("\n");
+            StringBuilder report = new StringBuilder(header);
 
-            double totalGross = 0, totalDeductions = 0, totalNet = 0;
+            // Report reads go to the read replica while it is within its lag bound
+            try {
+                ReadReplicaRouter.readFromReplica(() -> {
+                    List<EmployeeSummary> employees = employeeDAO.getEmployeeSummaries();
+                    // Overtime and attendance of the whole company loaded once instead of per employee
+                    payrollCalculator.preloadPeriod(periodStart, periodEnd);
+                    for (EmployeeSummary emp : employees) {
+                        report.append(buildPayrollReportRow(emp, payrollCalculator, periodStart, periodEnd, totals));
+                    }
+                });
+            } finally {
+                payrollCalculator.clearPreloadedPeriod();
+            }
+            report.append(buildPayrollReportFooter(totals));
 
-            for (Employee emp : employees) {
-                try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+            exportTextReport(report.toString(), "Payroll_Report_" + selectedMonth + "_" + selectedYear, format);
 
-                    double grossPay = payroll.getGrossPay();
-                    double deductions = payroll.getTotalDeductions();
-                    double netPay = payroll.getNetPay();
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating payroll report: " + e.getMessage(), e);
+        }
+    }
 
-                    totalGross += grossPay;
-                    totalDeductions += deductions;
-                    totalNet += netPay;
+    private String buildPayrollReportHeader(LocalDate periodStart) {
+        StringBuilder report = new StringBuilder();
+        report.append("MONTHLY PAYROLL REPORT\n");
+        report.append("Period: ").append(periodStart.format(DateTimeFormatter.ofPattern("MMMM yyyy"))).append("\n");
+        report.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
+        report.append("Generated by: ").append(currentUser.getFullName()).append("\n");
+        report.append("=".repeat(80)).append("\n\n");
+
+        report.append(String.format("%-6s %-25s %-12s %-12s %-12s %-12s%n",
+                "ID", "Name", "Basic Pay", "Allowances", "Deductions", "Net Pay"));
+        report.append("-".repeat(80)).append("\n");
+        return report.toString();
+    }
 
-                    String name = emp.getFullName();
-                    if (name.length() > 25) name = name.substring(0, 22) + "...";
+    private String buildPayrollReportRow(EmployeeSummary emp, PayrollCalculator calculator, LocalDate periodStart,
+                                         LocalDate periodEnd, double[] totals) {
+        try {
+            Payroll payroll = calculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
 
-                    report.append(String.format("%-6d %-25s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
-                            emp.getEmployeeId(), name, payroll.getGrossEarnings(),
-                            payroll.getRiceSubsidy() + payroll.getPhoneAllowance() + payroll.getClothingAllowance(),
-                            deductions, netPay));
-                } catch (Exception e) {
-                    report.append(String.format("%-6d %-25s %-12s %-12s %-12s %-12s%n",
-                            emp.getEmployeeId(), emp.getFullName(), "Error", "Error", "Error", "Error"));
-                }
-            }
+            double grossPay = payroll.getGrossPay();
+            double deductions = payroll.getTotalDeductions();
+            double netPay = payroll.getNetPay();
 
-            report.append("-".repeat(80)).append("\n");
-            report.append(String.format("%-31s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
-                    "TOTALS:", totalGross - totalDeductions, 0.0, totalDeductions, totalNet));
+            totals[0] += grossPay;
+            totals[1] += deductions;
+            totals[2] += netPay;
 
-            if ("Preview Only".equals(format)) {
-                previewArea.setText(report.toString());
-            } else {
-                exportTextReport(report.toString(), "Payroll_Report_" + selectedMonth + "_" + selectedYear, format);
-            }
+            String name = emp.getFullName();
+            if (name.length() > 25) name = name.substring(0, 22) + "...";
 
+            return String.format("%-6d %-25s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
+                    emp.getEmployeeId(), name, payroll.getGrossEarnings(),
+                    payroll.getRiceSubsidy() + payroll.getPhoneAllowance() + payroll.getClothingAllowance(),
+                    deductions, netPay);
         } catch (Exception e) {
-            throw new RuntimeException("Error generating payroll report: " + e.getMessage(), e);
+            return String.format("%-6d %-25s %-12s %-12s %-12s %-12s%n",
+                    emp.getEmployeeId(), emp.getFullName(), "Error", "Error", "Error", "Error");
         }
     }
 
+    private String buildPayrollReportFooter(double[] totals) {
+        return "-".repeat(80) + "\n" + String.format("%-31s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
+                "TOTALS:", totals[0] - totals[1], 0.0, totals[1], totals[2]);
+    }
+
     private void generateEmployeeDirectoryReport(String format) {
         try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-
-            // Sort employees by last name, then first name
-            employees.sort((e1, e2) -> {
-                int lastNameCompare = e1.getLastName().compareToIgnoreCase(e2.getLastName());
-                if (lastNameCompare != 0) return lastNameCompare;
-                return e1.getFirstName().compareToIgnoreCase(e2.getFirstName());
-            });
-
             if ("Preview Only".equals(format)) {
-                showEmployeeDirectoryPreview(employees);
+                showEmployeeDirectoryPreview(loadSortedEmployees());
             } else {
-                exportEmployeeDirectory(employees, format);
+                exportEmployeeDirectory(format);
             }
         } catch (Exception e) {
             throw new RuntimeException("Error generating employee directory: " + e.getMessage(), e);
         }
     }
 
+    private List<Employee> loadSortedEmployees() {
+        List<Employee> employees = ReadReplicaRouter.readFromReplica(() -> employeeDAO.getAllEmployees());
+
+        // Sort employees by last name, then first name
+        employees.sort((e1, e2) -> {
+            int lastNameCompare = e1.getLastName().compareToIgnoreCase(e2.getLastName());
+            if (lastNameCompare != 0) return lastNameCompare;
+            return e1.getFirstName().compareToIgnoreCase(e2.getFirstName());
+        });
+        return employees;
+    }
+
     private void generateGovernmentContributionsReport(String format) {
         try {
             int selectedMonth = monthComboBox.getSelectedIndex() + 1;
@@ -342,53 +386,100 @@ public class ReportsDialog extends JDialog {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            StringBuilder report = new StringBuilder();
+            // SSS, PhilHealth, Pag-IBIG and tax
+            double[] totals = new double[4];
+            String header = buildContributionsReportHeader(periodStart);
 
-            report.append("GOVERNMENT CONTRIBUTIONS REPORT\n");
-            report.append("Period: ").append(periodStart.format(DateTimeFormatter.ofPattern("MMMM yyyy"))).append("\n");
-            report.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
-            report.append("=".repeat(80)).append("\n\n");
+            if ("Preview Only".equals(format)) {
+                showPreview(header, periodStart, periodEnd,
+                        emp -> buildContributionsReportRow(emp, previewCalculator, periodStart, periodEnd, totals),
+                        () -> buildContributionsReportFooter(totals));
+                return;
+            }
 
-            report.append(String.format("%-6s %-20s %-10s %-12s %-10s %-10s%n",
-                    "ID", "Name", "SSS", "PhilHealth", "Pag-IBIG", "Tax"));
-            report.append("-".repeat(80)).append("\n");
+            StringBuilder report = new StringBuilder(header);
 
-            double totalSSS = 0, totalPhilHealth = 0, totalPagIBIG = 0, totalTax = 0;
+            // Report reads go to the read replica while it is within its lag bound
+            try {
+                ReadReplicaRouter.readFromReplica(() -> {
+                    List<EmployeeSummary> employees = employeeDAO.getEmployeeSummaries();
+                    // Overtime and attendance of the whole company loaded once instead of per employee
+                    payrollCalculator.preloadPeriod(periodStart, periodEnd);
+                    for (EmployeeSummary emp : employees) {
+                        report.append(buildContributionsReportRow(emp, payrollCalculator, periodStart, periodEnd, totals));
+                    }
+                });
+            } finally {
+                payrollCalculator.clearPreloadedPeriod();
+            }
+            report.append(buildContributionsReportFooter(totals));
 
-            for (Employee emp : employees) {
-                try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+            exportTextReport(report.toString(), "Government_Contributions_" + selectedMonth + "_" + selectedYear, format);
 
-                    totalSSS += payroll.getSss();
-                    totalPhilHealth += payroll.getPhilhealth();
-                    totalPagIBIG += payroll.getPagibig();
-                    totalTax += payroll.getTax();
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating government contributions report: " + e.getMessage(), e);
+        }
+    }
 
-                    String name = emp.getFullName();
-                    if (name.length() > 20) name = name.substring(0, 17) + "...";
+    private String buildContributionsReportHeader(LocalDate periodStart) {
+        StringBuilder report = new StringBuilder();
+        report.append("GOVERNMENT CONTRIBUTIONS REPORT\n");
+        report.append("Period: ").append(periodStart.format(DateTimeFormatter.ofPattern("MMMM yyyy"))).append("\n");
+        report.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
+        report.append("=".repeat(80)).append("\n\n");
+
+        report.append(String.format("%-6s %-20s %-10s %-12s %-10s %-10s%n",
+                "ID", "Name", "SSS", "PhilHealth", "Pag-IBIG", "Tax"));
+        report.append("-".repeat(80)).append("\n");
+        return report.toString();
+    }
 
-                    report.append(String.format("%-6d %-20s ₱%-9.2f ₱%-11.2f ₱%-9.2f ₱%-9.2f%n",
-                            emp.getEmployeeId(), name, payroll.getSss(), payroll.getPhilhealth(),
-                            payroll.getPagibig(), payroll.getTax()));
-                } catch (Exception e) {
-                    report.append(String.format("%-6d %-20s %-10s %-12s %-10s %-10s%n",
-                            emp.getEmployeeId(), emp.getFullName(), "Error", "Error", "Error", "Error"));
-                }
-            }
+    private String buildContributionsReportRow(EmployeeSummary emp, PayrollCalculator calculator, LocalDate periodStart,
+                                               LocalDate periodEnd, double[] totals) {
+        try {
+            Payroll payroll = calculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
 
-            report.append("-".repeat(80)).append("\n");
-            report.append(String.format("%-26s ₱%-9.2f ₱%-11.2f ₱%-9.2f ₱%-9.2f%n",
-                    "TOTALS:", totalSSS, totalPhilHealth, totalPagIBIG, totalTax));
+            totals[0] += payroll.getSss();
+            totals[1] += payroll.getPhilhealth();
+            totals[2] += payroll.getPagibig();
+            totals[3] += payroll.getTax();
 
-            if ("Preview Only".equals(format)) {
-                previewArea.setText(report.toString());
-            } else {
-                exportTextReport(report.toString(), "Government_Contributions_" + selectedMonth + "_" + selectedYear, format);
-            }
+            String name = emp.getFullName();
+            if (name.length() > 20) name = name.substring(0, 17) + "...";
 
+            return String.format("%-6d %-20s ₱%-9.2f ₱%-11.2f ₱%-9.2f ₱%-9.2f%n",
+                    emp.getEmployeeId(), name, payroll.getSss(), payroll.getPhilhealth(),
+                    payroll.getPagibig(), payroll.getTax());
         } catch (Exception e) {
-            throw new RuntimeException("Error generating government contributions report: " + e.getMessage(), e);
+            return String.format("%-6d %-20s %-10s %-12s %-10s %-10s%n",
+                    emp.getEmployeeId(), emp.getFullName(), "Error", "Error", "Error", "Error");
+        }
+    }
+
+    private String buildContributionsReportFooter(double[] totals) {
+        return "-".repeat(80) + "\n" + String.format("%-26s ₱%-9.2f ₱%-11.2f ₱%-9.2f ₱%-9.2f%n",
+                "TOTALS:", totals[0], totals[1], totals[2], totals[3]);
+    }
+
+    /**
+     * Shows the header now and computes the per-employee rows a page at a time as the preview is scrolled
+     */
+    private void showPreview(String header, LocalDate periodStart, LocalDate periodEnd,
+                             Function<EmployeeSummary, String> rowFormatter, Supplier<String> footer) {
+        // Preview reads go to the read replica while it is within its lag bound. The first page is
+        // calculated per employee; the whole period is preloaded only once a second page is needed
+        activePreview = new IncrementalReportPreview<>(previewArea, previewScrollPane, header,
+                () -> ReadReplicaRouter.readFromReplica(() -> employeeDAO.getEmployeeSummaries()),
+                () -> ReadReplicaRouter.readFromReplica(() -> previewCalculator.preloadPeriod(periodStart, periodEnd)),
+                emp -> ReadReplicaRouter.readFromReplica(() -> rowFormatter.apply(emp)),
+                footer, previewCalculator::clearPreloadedPeriod);
+        activePreview.start();
+    }
+
+    private void closeActivePreview() {
+        if (activePreview != null) {
+            activePreview.close();
+            activePreview = null;
         }
     }
 
@@ -399,7 +490,6 @@ public class ReportsDialog extends JDialog {
             LocalDate startDate = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-            List<Employee> employees = employeeDAO.getAllEmployees();
             StringBuilder report = new StringBuilder();
 
             report.append("ATTENDANCE SUMMARY REPORT\n");
@@ -408,41 +498,27 @@ public class ReportsDialog extends JDialog {
             report.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"))).append("\n");
             report.append("=".repeat(80)).append("\n\n");
 
-            report.append(String.format("%-6s %-25s %-12s %-12s %-12s%n",
-                    "ID", "Name", "Days Present", "Total Hours", "Avg Hours/Day"));
+            report.append(String.format("%-6s %-25s %-12s %-12s %-13s %-6s %-9s%n",
+                    "ID", "Name", "Days Present", "Total Hours", "Avg Hours/Day", "Late", "Undertime"));
             report.append("-".repeat(80)).append("\n");
 
             int totalEmployees = 0;
             int totalDaysPresent = 0;
             double totalHours = 0;
 
-            for (Employee emp : employees) {
-                try {
-                    List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                            emp.getEmployeeId(), startDate, endDate);
-
-                    int daysPresent = attendanceList.size();
-                    double empTotalHours = 0;
-
-                    for (Attendance att : attendanceList) {
-                        empTotalHours += att.getWorkHours();
-                    }
-
-                    double avgHours = daysPresent > 0 ? empTotalHours / daysPresent : 0;
-
-                    totalEmployees++;
-                    totalDaysPresent += daysPresent;
-                    totalHours += empTotalHours;
+            // Summary rows for the whole company, read from the monthly summary table
+            YearMonth month = YearMonth.of(selectedYear, selectedMonth);
+            for (AttendanceSummary summary : monthlySummaryDAO.getAttendanceSummaries(month, month)) {
+                totalEmployees++;
+                totalDaysPresent += summary.getDaysPresent();
+                totalHours += summary.getTotalHours();
 
-                    String name = emp.getFullName();
-                    if (name.length() > 25) name = name.substring(0, 22) + "...";
+                String name = summary.getFullName();
+                if (name.length() > 25) name = name.substring(0, 22) + "...";
 
-                    report.append(String.format("%-6d %-25s %-12d %-12.2f %-12.2f%n",
-                            emp.getEmployeeId(), name, daysPresent, empTotalHours, avgHours));
-                } catch (Exception e) {
-                    report.append(String.format("%-6d %-25s %-12s %-12s %-12s%n",
-                            emp.getEmployeeId(), emp.getFullName(), "Error", "Error", "Error"));
-                }
+                report.append(String.format("%-6d %-25s %-12d %-12.2f %-13.2f %-6d %-9d%n",
+                        summary.getEmployeeId(), name, summary.getDaysPresent(), summary.getTotalHours(),
+                        summary.getAverageHoursPerDay(), summary.getLateCount(), summary.getUndertimeCount()));
             }
 
             report.append("-".repeat(80)).append("\n");
@@ -545,7 +621,7 @@ public class ReportsDialog extends JDialog {
         previewArea.setText(preview.toString());
     }
 
-    private void exportEmployeeDirectory(List<Employee> employees, String format) {
+    private void exportEmployeeDirectory(String format) {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Save Employee Directory");
 
@@ -559,9 +635,9 @@ public class ReportsDialog extends JDialog {
 
             try {
                 if ("csv".equals(extension)) {
-                    exportEmployeeDirectoryToCSV(employees, fileToSave.getAbsolutePath());
+                    exportEmployeeDirectoryToCSV(fileToSave.getAbsolutePath());
                 } else if ("html".equals(extension)) {
-                    exportEmployeeDirectoryToHTML(employees, fileToSave.getAbsolutePath());
+                    exportEmployeeDirectoryToHTML(loadSortedEmployees(), fileToSave.getAbsolutePath());
                 }
 
                 JOptionPane.showMessageDialog(this,
@@ -577,7 +653,8 @@ public class ReportsDialog extends JDialog {
         }
     }
 
-    private void exportEmployeeDirectoryToCSV(List<Employee> employees, String filePath) throws Exception {
+    // Streams the employees into the file; the summary is tallied on the way
+    private void exportEmployeeDirectoryToCSV(String filePath) throws Exception {
         try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(filePath)))) {
             // Build CSV header
             StringBuilder header = new StringBuilder();
@@ -598,8 +675,15 @@ public class ReportsDialog extends JDialog {
 
             writer.println(header.toString());
 
-            // Write employee data
-            for (Employee emp : employees) {
+            // Write employee data: total, regular, probationary
+            int[] counts = new int[3];
+            double[] salaryTotal = {0.0};
+            ReadReplicaRouter.readFromReplica(() -> employeeDAO.forEachEmployee(emp -> {
+                counts[0]++;
+                if ("Regular".equals(emp.getStatus())) counts[1]++;
+                if ("Probationary".equals(emp.getStatus())) counts[2]++;
+                salaryTotal[0] += emp.getBasicSalary();
+
                 StringBuilder row = new StringBuilder();
                 row.append(emp.getEmployeeId()).append(",");
                 row.append(csvEscape(emp.getLastName())).append(",");
@@ -635,21 +719,18 @@ public class ReportsDialog extends JDialog {
                 }
 
                 writer.println(row.toString());
-            }
+            }));
 
             // Summary
             writer.println();
             writer.println("SUMMARY");
-            writer.println("Total Employees," + employees.size());
-
-            long regularCount = employees.stream().filter(e -> "Regular".equals(e.getStatus())).count();
-            long probationaryCount = employees.stream().filter(e -> "Probationary".equals(e.getStatus())).count();
+            writer.println("Total Employees," + counts[0]);
 
-            writer.println("Regular Employees," + regularCount);
-            writer.println("Probationary Employees," + probationaryCount);
+            writer.println("Regular Employees," + counts[1]);
+            writer.println("Probationary Employees," + counts[2]);
 
             if (includeCompensationCheckBox.isSelected()) {
-                double avgSalary = employees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
+                double avgSalary = counts[0] > 0 ? salaryTotal[0] / counts[0] : 0.0;
                 writer.println("Average Salary," + String.format("%.2f", avgSalary));
             }
         }
@@ -840,4 +921,10 @@ public class ReportsDialog extends JDialog {
                 .replace("\"", "&quot;")
                 .replace("'", "&#39;");
     }
+
+    @Override
+    public void dispose() {
+        closeActivePreview();
+        super.dispose();
+    }
 }
\ No newline at end of file
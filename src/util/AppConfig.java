@@ -0,0 +1,319 @@
+package util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Immutable, typed snapshot of application.properties.
+ *
+ * Every value is parsed once when the snapshot is built; invalid or missing values fall
+ * back to the defaults below with a warning. ConfigurationManager publishes the current
+ * snapshot through a volatile reference and swaps in a new one when the file changes,
+ * so readers take one snapshot and get consistent values for the whole operation.
+ */
+public final class AppConfig {
+    private static final Logger LOGGER = Logger.getLogger(AppConfig.class.getName());
+
+    private static final String LEAVE_ENTITLEMENT_PREFIX = "leave.entitlement.";
+
+    // Database
+    private final String databaseHost;
+    private final int databasePort;
+    private final String databaseName;
+    private final String databaseUsername;
+    private final String databasePassword;
+    private final String databaseDriver;
+    private final String databaseUrl;
+
+    // Read replica for reports and dashboards; disabled when db.replica.host is not set
+    private final String replicaHost;
+    private final int replicaPort;
+    private final String replicaName;
+    private final String replicaUsername;
+    private final String replicaPassword;
+    private final String replicaUrl;
+    private final int replicaMaxLagSeconds;
+    private final int replicaCheckSeconds;
+
+    // Connection pool
+    private final int poolInitialSize;
+    private final int poolMaxSize;
+    private final int poolTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // JasperReports
+    private final String jasperReportsPath;
+    private final String jasperOutputPath;
+    private final String jasperCompilePath;
+
+    // Payroll rules
+    private final int workingDaysPerMonth;
+    private final int workingHoursPerDay;
+    private final double overtimeMultiplier;
+    private final int lateGracePeriodMinutes;
+    private final LocalTime standardLoginTime;
+    private final LocalTime standardLogoutTime;
+    private final int maxLeaveDaysPerYear;
+    private final Map<String, Integer> leaveEntitlements;
+
+    // Attendance storage
+    private final int attendanceHotMonths;
+
+    // Security
+    private final int passwordMinLength;
+    private final int sessionTimeoutMinutes;
+    private final int maxLoginAttempts;
+
+    // Application and logging
+    private final String applicationName;
+    private final String applicationVersion;
+    private final String applicationAuthor;
+    private final boolean debugMode;
+    private final String loggingLevel;
+    private final String loggingFilePath;
+
+    private final Properties properties;
+
+    private AppConfig(Properties source) {
+        this.properties = new Properties();
+        this.properties.putAll(source);
+
+        databaseHost = string("db.host", "localhost");
+        databasePort = positiveInt("db.port", 3306);
+        databaseName = string("db.name", "aoopdatabase_payroll");
+        databaseUsername = string("db.username", "root");
+        databasePassword = string("db.password", "admin");
+        databaseDriver = string("db.driver", "com.mysql.cj.jdbc.Driver");
+        // Cached statements are prepared on the server, so MySQL parses each query once per connection
+        statementCacheSize = nonNegativeInt("db.statement.cache.size", 64);
+        databaseUrl = jdbcUrl(databaseHost, databasePort, databaseName, statementCacheSize > 0);
+
+        replicaHost = string("db.replica.host", "");
+        replicaPort = positiveInt("db.replica.port", databasePort);
+        replicaName = string("db.replica.name", databaseName);
+        replicaUsername = string("db.replica.username", databaseUsername);
+        replicaPassword = string("db.replica.password", databasePassword);
+        replicaUrl = replicaHost.isEmpty() ? "" : jdbcUrl(replicaHost, replicaPort, replicaName, statementCacheSize > 0);
+        replicaMaxLagSeconds = nonNegativeInt("db.replica.max.lag.seconds", 5);
+        replicaCheckSeconds = positiveInt("db.replica.check.seconds", 10);
+
+        poolInitialSize = nonNegativeInt("db.pool.initial.size", 5);
+        poolMaxSize = Math.max(Math.max(1, poolInitialSize), positiveInt("db.pool.max.size", 20));
+        poolTimeoutSeconds = positiveInt("db.pool.timeout.seconds", 30);
+
+        jasperReportsPath = string("jasper.reports.path", "src/reports/templates/");
+        jasperOutputPath = string("jasper.output.path", "reports/output/");
+        jasperCompilePath = string("jasper.compile.path", "src/reports/compiled/");
+
+        workingDaysPerMonth = positiveInt("payroll.working.days.per.month", 22);
+        workingHoursPerDay = positiveInt("payroll.working.hours.per.day", 8);
+        overtimeMultiplier = positiveDouble("payroll.overtime.multiplier", 1.25);
+        lateGracePeriodMinutes = nonNegativeInt("payroll.late.grace.period.minutes", 15);
+        standardLoginTime = time("payroll.standard.login.time", LocalTime.of(8, 0));
+        standardLogoutTime = time("payroll.standard.logout.time", LocalTime.of(17, 0));
+        maxLeaveDaysPerYear = nonNegativeInt("payroll.max.leave.days.per.year", 15);
+
+        Map<String, Integer> entitlements = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(LEAVE_ENTITLEMENT_PREFIX)) {
+                int days = nonNegativeInt(key, -1);
+                if (days >= 0) {
+                    entitlements.put(key.substring(LEAVE_ENTITLEMENT_PREFIX.length()).trim().toLowerCase(), days);
+                }
+            }
+        }
+        leaveEntitlements = Collections.unmodifiableMap(entitlements);
+
+        attendanceHotMonths = positiveInt("attendance.hot.months", 24);
+
+        passwordMinLength = positiveInt("security.password.min.length", 8);
+        sessionTimeoutMinutes = positiveInt("security.session.timeout.minutes", 60);
+        maxLoginAttempts = positiveInt("security.max.login.attempts", 3);
+
+        applicationName = string("app.name", "MotorPH Payroll System");
+        applicationVersion = string("app.version", "2.0");
+        applicationAuthor = string("app.author", "Student Name");
+        debugMode = Boolean.parseBoolean(string("app.debug", "false"));
+        loggingLevel = string("logging.level", "INFO");
+        loggingFilePath = string("logging.file.path", "logs/motorph.log");
+    }
+
+    /**
+     * Parses a snapshot from properties; the properties are copied, later changes to them are not seen
+     */
+    public static AppConfig fromProperties(Properties properties) {
+        return new AppConfig(properties != null ? properties : new Properties());
+    }
+
+    /**
+     * Snapshot with every value at its default
+     */
+    public static AppConfig defaults() {
+        return new AppConfig(new Properties());
+    }
+
+    // Database
+    public String getDatabaseHost() { return databaseHost; }
+    public int getDatabasePort() { return databasePort; }
+    public String getDatabaseName() { return databaseName; }
+    public String getDatabaseUsername() { return databaseUsername; }
+    public String getDatabasePassword() { return databasePassword; }
+    public String getDatabaseDriver() { return databaseDriver; }
+    public String getDatabaseUrl() { return databaseUrl; }
+
+    // Read replica
+    public boolean isReplicaEnabled() { return !replicaHost.isEmpty(); }
+    public String getReplicaHost() { return replicaHost; }
+    public int getReplicaPort() { return replicaPort; }
+    public String getReplicaName() { return replicaName; }
+    public String getReplicaUsername() { return replicaUsername; }
+    public String getReplicaPassword() { return replicaPassword; }
+    public String getReplicaUrl() { return replicaUrl; }
+    public int getReplicaMaxLagSeconds() { return replicaMaxLagSeconds; }
+    public int getReplicaCheckSeconds() { return replicaCheckSeconds; }
+
+    // Connection pool
+    public int getPoolInitialSize() { return poolInitialSize; }
+    public int getPoolMaxSize() { return poolMaxSize; }
+    public int getPoolTimeoutSeconds() { return poolTimeoutSeconds; }
+    public int getStatementCacheSize() { return statementCacheSize; }
+
+    // JasperReports
+    public String getJasperReportsPath() { return jasperReportsPath; }
+    public String getJasperOutputPath() { return jasperOutputPath; }
+    public String getJasperCompilePath() { return jasperCompilePath; }
+
+    // Payroll rules
+    public int getWorkingDaysPerMonth() { return workingDaysPerMonth; }
+    public int getWorkingHoursPerDay() { return workingHoursPerDay; }
+    public double getOvertimeMultiplier() { return overtimeMultiplier; }
+    public int getLateGracePeriodMinutes() { return lateGracePeriodMinutes; }
+    public LocalTime getStandardLoginTime() { return standardLoginTime; }
+    public LocalTime getStandardLogoutTime() { return standardLogoutTime; }
+    public int getMaxLeaveDaysPerYear() { return maxLeaveDaysPerYear; }
+
+    // Logins after this time are late; lateness is still counted from the standard login time
+    public LocalTime getLateThresholdTime() {
+        return standardLoginTime.plusMinutes(lateGracePeriodMinutes);
+    }
+
+    // Yearly days granted for a leave type, e.g. leave.entitlement.sick=5
+    public int getLeaveEntitlementDays(String leaveType, int defaultDays) {
+        if (leaveType == null) {
+            return defaultDays;
+        }
+        return leaveEntitlements.getOrDefault(leaveType.trim().toLowerCase(), defaultDays);
+    }
+
+    // Attendance storage
+    public int getAttendanceHotMonths() { return attendanceHotMonths; }
+
+    // First day kept in the hot attendance table: the archive job moves only older rows,
+    // so anything on or after this date is never in attendance_archive
+    public LocalDate getAttendanceHotBoundary(LocalDate today) {
+        return YearMonth.from(today).minusMonths(attendanceHotMonths).atDay(1);
+    }
+
+    // Security
+    public int getPasswordMinLength() { return passwordMinLength; }
+    public int getSessionTimeoutMinutes() { return sessionTimeoutMinutes; }
+    public int getMaxLoginAttempts() { return maxLoginAttempts; }
+
+    // Application and logging
+    public String getApplicationName() { return applicationName; }
+    public String getApplicationVersion() { return applicationVersion; }
+    public String getApplicationAuthor() { return applicationAuthor; }
+    public boolean isDebugMode() { return debugMode; }
+    public String getLoggingLevel() { return loggingLevel; }
+    public String getLoggingFilePath() { return loggingFilePath; }
+
+    /**
+     * Raw value of a key without a typed getter
+     */
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Copy of the properties the snapshot was built from
+     */
+    public Properties toProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    private static String jdbcUrl(String host, int port, String name, boolean serverPreparedStatements) {
+        return String.format(
+                "jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8&rewriteBatchedStatements=true&useCursorFetch=true%s",
+                host, port, name, serverPreparedStatements ? "&useServerPrepStmts=true" : "");
+    }
+
+    private String string(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    private int positiveInt(String key, int defaultValue) {
+        int value = nonNegativeInt(key, defaultValue);
+        if (value == 0 && defaultValue != 0) {
+            LOGGER.warning("⚠️ Property " + key + " must be positive, using default: " + defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+
+    private int nonNegativeInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the warning below
+        }
+        LOGGER.warning("⚠️ Invalid integer property: " + key + "=" + value + ", using default: " + defaultValue);
+        return defaultValue;
+    }
+
+    private double positiveDouble(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (parsed > 0 && !Double.isInfinite(parsed)) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the warning below
+        }
+        LOGGER.warning("⚠️ Invalid number property: " + key + "=" + value + ", using default: " + defaultValue);
+        return defaultValue;
+    }
+
+    private LocalTime time(String key, LocalTime defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return LocalTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            LOGGER.warning("⚠️ Invalid time property: " + key + "=" + value + " (expected HH:mm), using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package util;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Where attendance rows live: the hot attendance table or the attendance_archive table.
+ *
+ * Months older than attendance.hot.months are moved to attendance_archive by
+ * service.AttendanceArchiveService. Rows on or after the hot boundary are always in the
+ * hot table; older rows may be in either until the next archive run. Reads whose earliest
+ * date is before the boundary (or that have no lower bound) therefore read both tables,
+ * and everything else reads the hot table alone. Archived dates are read-only.
+ *
+ * select() turns a query over the hot table into the query AttendanceDAO should run;
+ * its parameters are bound once per branch, see branches().
+ */
+public final class AttendanceTables {
+    public static final String HOT_TABLE = "attendance";
+    public static final String ARCHIVE_TABLE = "attendance_archive";
+
+    // "FROM attendance" but not "FROM attendance_archive"
+    private static final Pattern FROM_HOT_TABLE = Pattern.compile("\\bFROM " + HOT_TABLE + "\\b");
+
+    private final LocalDate hotBoundary;
+
+    public AttendanceTables(LocalDate hotBoundary) {
+        if (hotBoundary == null) {
+            throw new IllegalArgumentException("Hot boundary cannot be null");
+        }
+        this.hotBoundary = hotBoundary;
+    }
+
+    /**
+     * Tables as of today with the configured attendance.hot.months
+     */
+    public static AttendanceTables current() {
+        return new AttendanceTables(
+                ConfigurationManager.getInstance().getConfig().getAttendanceHotBoundary(LocalDate.now()));
+    }
+
+    public LocalDate getHotBoundary() {
+        return hotBoundary;
+    }
+
+    /**
+     * Whether the date belongs to an archived (or soon to be archived) month
+     */
+    public boolean isArchived(LocalDate date) {
+        return date.isBefore(hotBoundary);
+    }
+
+    /**
+     * @param earliestDate lower bound of the query's dates, or null when it has none
+     * @return 2 when the archive must be read as well, else 1
+     */
+    public int branches(LocalDate earliestDate) {
+        return earliestDate == null || isArchived(earliestDate) ? 2 : 1;
+    }
+
+    /**
+     * The hot-table query itself, or the query UNION ALL the same query over the archive.
+     * hotSelect reads FROM attendance exactly once and has no ORDER BY; callers append
+     * theirs, which then sorts the combined rows.
+     */
+    public String select(String hotSelect, LocalDate earliestDate) {
+        Matcher matcher = FROM_HOT_TABLE.matcher(hotSelect);
+        if (!matcher.find() || matcher.find()) {
+            throw new IllegalArgumentException("Query must read FROM " + HOT_TABLE + " exactly once: " + hotSelect);
+        }
+        if (branches(earliestDate) == 1) {
+            return hotSelect;
+        }
+        return hotSelect + " UNION ALL " + matcher.replaceFirst("FROM " + ARCHIVE_TABLE);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the date is in an archived month
+     */
+    public void requireWritable(LocalDate date) {
+        if (isArchived(date)) {
+            throw new IllegalArgumentException("Attendance before " + hotBoundary +
+                    " is archived and read-only: " + date);
+        }
+    }
+}
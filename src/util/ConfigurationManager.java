@@ -1,24 +1,49 @@
 package util;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Enhanced Configuration Manager for MotorPH Payroll System
  * Handles all application configuration settings
- * 
+ *
+ * ENHANCED: application.properties is parsed once into an immutable AppConfig snapshot,
+ * published through a volatile reference. startWatching() polls the file and swaps in a
+ * new snapshot when it changes; a file that fails to load keeps the current snapshot.
+ * The file is read from -Dmotorph.config, the working directory or the classpath, in that order.
+ *
  * @author Student Name
  * @version 2.0
  */
 public class ConfigurationManager {
     private static final Logger LOGGER = Logger.getLogger(ConfigurationManager.class.getName());
     private static ConfigurationManager instance;
-    private Properties properties;
     
     private static final String CONFIG_FILE = "application.properties";
+    private static final String CONFIG_PATH_PROPERTY = "motorph.config";
+    private static final int DEFAULT_WATCH_SECONDS = 5;
+    
+    private volatile AppConfig config;
+    private final List<Consumer<AppConfig>> reloadListeners = new CopyOnWriteArrayList<>();
+    
+    // File behind the current snapshot, null when it came from a jar or from the defaults
+    private File configFile;
+    private long configFileModified;
+    private long configFileLength;
+    private ScheduledExecutorService watcher;
     
     private ConfigurationManager() {
         loadConfiguration();
@@ -31,150 +56,259 @@ public class ConfigurationManager {
         return instance;
     }
     
-    private void loadConfiguration() {
-        properties = new Properties();
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream(CONFIG_FILE)) {
-            if (input != null) {
-                properties.load(input);
-                LOGGER.info("✅ Configuration loaded successfully from " + CONFIG_FILE);
+    /**
+     * Current configuration snapshot. Take it once per operation for consistent values.
+     */
+    public AppConfig getConfig() {
+        return config;
+    }
+    
+    private synchronized void loadConfiguration() {
+        AppConfig previous = config;
+        File file = resolveConfigFile();
+        
+        try {
+            Properties properties = new Properties();
+            if (file != null) {
+                long modified = file.lastModified();
+                long length = file.length();
+                try (InputStream input = new FileInputStream(file)) {
+                    properties.load(input);
+                }
+                configFile = file;
+                configFileModified = modified;
+                configFileLength = length;
+                LOGGER.info("✅ Configuration loaded successfully from " + file.getPath());
             } else {
-                LOGGER.warning("⚠️ Configuration file not found, using defaults");
-                loadDefaultConfiguration();
+                try (InputStream input = getClass().getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+                    if (input != null) {
+                        properties.load(input);
+                        LOGGER.info("✅ Configuration loaded successfully from " + CONFIG_FILE);
+                    } else {
+                        LOGGER.warning("⚠️ Configuration file not found, using defaults");
+                    }
+                }
+                configFile = null;
+            }
+            config = AppConfig.fromProperties(properties);
+        
+        } catch (IOException | IllegalArgumentException e) {
+            if (previous != null) {
+                LOGGER.log(Level.SEVERE, "❌ Error loading configuration, keeping the current settings", e);
+                return;
             }
-        } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "❌ Error loading configuration", e);
-            loadDefaultConfiguration();
+            config = AppConfig.defaults();
+            LOGGER.info("🔧 Default configuration loaded");
+        }
+        
+        if (previous != null) {
+            for (Consumer<AppConfig> listener : reloadListeners) {
+                try {
+                    listener.accept(config);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "⚠️ Configuration reload listener failed", e);
+                }
+            }
         }
     }
     
-    private void loadDefaultConfiguration() {
-        // Database defaults
-        properties.setProperty("db.host", "localhost");
-        properties.setProperty("db.port", "3306");
-        properties.setProperty("db.name", "aoopdatabase_payroll");
-        properties.setProperty("db.username", "root");
-        properties.setProperty("db.password", "admin");
-        properties.setProperty("db.driver", "com.mysql.cj.jdbc.Driver");
+    private File resolveConfigFile() {
+        String path = System.getProperty(CONFIG_PATH_PROPERTY);
+        if (path != null && !path.trim().isEmpty()) {
+            File file = new File(path.trim());
+            if (file.isFile()) {
+                return file;
+            }
+            LOGGER.warning("⚠️ Configuration file " + path + " not found");
+        }
         
-        // Application defaults
-        properties.setProperty("app.name", "MotorPH Payroll System");
-        properties.setProperty("app.version", "2.0");
-        properties.setProperty("logging.level", "INFO");
+        File workingDirFile = new File(CONFIG_FILE);
+        if (workingDirFile.isFile()) {
+            return workingDirFile;
+        }
         
-        LOGGER.info("🔧 Default configuration loaded");
+        URL resource = getClass().getClassLoader().getResource(CONFIG_FILE);
+        if (resource != null && "file".equals(resource.getProtocol())) {
+            try {
+                return new File(resource.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                LOGGER.fine("Configuration resource is not a plain file: " + resource);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Starts polling application.properties for changes (config.watch.seconds, default 5).
+     * Calling it again has no effect.
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        int watchSeconds = Math.max(1, getIntProperty("config.watch.seconds", DEFAULT_WATCH_SECONDS));
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "config-watch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, watchSeconds, watchSeconds, TimeUnit.SECONDS);
+    }
+    
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+    
+    /**
+     * Called with the new snapshot after every reload
+     */
+    public void addReloadListener(Consumer<AppConfig> listener) {
+        reloadListeners.add(listener);
+    }
+    
+    public void removeReloadListener(Consumer<AppConfig> listener) {
+        reloadListeners.remove(listener);
+    }
+    
+    private synchronized void reloadIfChanged() {
+        try {
+            File file = resolveConfigFile();
+            boolean changed;
+            if (file == null || configFile == null) {
+                changed = (file == null) != (configFile == null);
+            } else {
+                changed = !file.getAbsoluteFile().equals(configFile.getAbsoluteFile())
+                        || file.lastModified() != configFileModified
+                        || file.length() != configFileLength;
+            }
+            if (changed) {
+                LOGGER.info("🔄 " + CONFIG_FILE + " changed, reloading configuration...");
+                loadConfiguration();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not check configuration file for changes", e);
+        }
     }
     
     // Database Configuration Methods
     public String getDatabaseHost() {
-        return getProperty("db.host", "localhost");
+        return config.getDatabaseHost();
     }
     
     public int getDatabasePort() {
-        return getIntProperty("db.port", 3306);
+        return config.getDatabasePort();
     }
     
     public String getDatabaseName() {
-        return getProperty("db.name", "aoopdatabase_payroll");
+        return config.getDatabaseName();
     }
     
     public String getDatabaseUsername() {
-        return getProperty("db.username", "root");
+        return config.getDatabaseUsername();
     }
     
     public String getDatabasePassword() {
-        return getProperty("db.password", "admin");
+        return config.getDatabasePassword();
     }
     
     public String getDatabaseDriver() {
-        return getProperty("db.driver", "com.mysql.cj.jdbc.Driver");
+        return config.getDatabaseDriver();
     }
     
     public String getDatabaseUrl() {
-        return String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
-                getDatabaseHost(), getDatabasePort(), getDatabaseName());
+        return config.getDatabaseUrl();
     }
     
     // JasperReports Configuration
     public String getJasperReportsPath() {
-        return getProperty("jasper.reports.path", "src/reports/templates/");
+        return config.getJasperReportsPath();
     }
     
     public String getJasperOutputPath() {
-        return getProperty("jasper.output.path", "reports/output/");
+        return config.getJasperOutputPath();
     }
     
     public String getJasperCompilePath() {
-        return getProperty("jasper.compile.path", "src/reports/compiled/");
+        return config.getJasperCompilePath();
     }
     
     // Business Rules Configuration
     public int getWorkingDaysPerMonth() {
-        return getIntProperty("payroll.working.days.per.month", 22);
+        return config.getWorkingDaysPerMonth();
     }
     
     public int getWorkingHoursPerDay() {
-        return getIntProperty("payroll.working.hours.per.day", 8);
+        return config.getWorkingHoursPerDay();
     }
     
     public double getOvertimeMultiplier() {
-        return getDoubleProperty("payroll.overtime.multiplier", 1.25);
+        return config.getOvertimeMultiplier();
     }
     
     public int getLateGracePeriodMinutes() {
-        return getIntProperty("payroll.late.grace.period.minutes", 15);
+        return config.getLateGracePeriodMinutes();
     }
     
     public int getMaxLeaveDaysPerYear() {
-        return getIntProperty("payroll.max.leave.days.per.year", 15);
+        return config.getMaxLeaveDaysPerYear();
+    }
+    
+    // Yearly days granted for a leave type, e.g. leave.entitlement.sick=5
+    public int getLeaveEntitlementDays(String leaveType, int defaultDays) {
+        return config.getLeaveEntitlementDays(leaveType, defaultDays);
     }
     
     // Security Configuration
     public int getPasswordMinLength() {
-        return getIntProperty("security.password.min.length", 8);
+        return config.getPasswordMinLength();
     }
     
     public int getSessionTimeoutMinutes() {
-        return getIntProperty("security.session.timeout.minutes", 60);
+        return config.getSessionTimeoutMinutes();
     }
     
     public int getMaxLoginAttempts() {
-        return getIntProperty("security.max.login.attempts", 3);
+        return config.getMaxLoginAttempts();
     }
     
     // Application Configuration
     public String getApplicationName() {
-        return getProperty("app.name", "MotorPH Payroll System");
+        return config.getApplicationName();
     }
     
     public String getApplicationVersion() {
-        return getProperty("app.version", "2.0");
+        return config.getApplicationVersion();
     }
     
     public String getApplicationAuthor() {
-        return getProperty("app.author", "Student Name");
+        return config.getApplicationAuthor();
     }
     
     public boolean isDebugMode() {
-        return getBooleanProperty("app.debug", false);
+        return config.isDebugMode();
     }
     
     // Logging Configuration
     public String getLoggingLevel() {
-        return getProperty("logging.level", "INFO");
+        return config.getLoggingLevel();
     }
     
     public String getLoggingFilePath() {
-        return getProperty("logging.file.path", "logs/motorph.log");
+        return config.getLoggingFilePath();
     }
     
-    // Helper methods
+    // Helper methods for keys without a typed getter
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return config.getProperty(key, defaultValue);
     }
     
     public int getIntProperty(String key, int defaultValue) {
         try {
-            return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)));
+            return Integer.parseInt(config.getProperty(key, String.valueOf(defaultValue)).trim());
         } catch (NumberFormatException e) {
             LOGGER.warning("Invalid integer property: " + key + ", using default: " + defaultValue);
             return defaultValue;
@@ -183,7 +317,7 @@ public class ConfigurationManager {
     
     public double getDoubleProperty(String key, double defaultValue) {
         try {
-            return Double.parseDouble(properties.getProperty(key, String.valueOf(defaultValue)));
+            return Double.parseDouble(config.getProperty(key, String.valueOf(defaultValue)).trim());
         } catch (NumberFormatException e) {
             LOGGER.warning("Invalid double property: " + key + ", using default: " + defaultValue);
             return defaultValue;
@@ -191,7 +325,7 @@ public class ConfigurationManager {
     }
     
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        return Boolean.parseBoolean(properties.getProperty(key, String.valueOf(defaultValue)));
+        return Boolean.parseBoolean(config.getProperty(key, String.valueOf(defaultValue)).trim());
     }
     
     // Reload configuration
@@ -202,19 +336,20 @@ public class ConfigurationManager {
     
     // Get all properties for debugging
     public Properties getAllProperties() {
-        return new Properties(properties);
+        return config.toProperties();
     }
     
     @Override
     public String toString() {
+        AppConfig current = config;
         StringBuilder sb = new StringBuilder();
         sb.append("📋 MotorPH Configuration Summary:\n");
         sb.append("================================\n");
-        sb.append("Database: ").append(getDatabaseUrl()).append("\n");
-        sb.append("Application: ").append(getApplicationName()).append(" v").append(getApplicationVersion()).append("\n");
-        sb.append("Debug Mode: ").append(isDebugMode()).append("\n");
-        sb.append("Working Days/Month: ").append(getWorkingDaysPerMonth()).append("\n");
-        sb.append("Overtime Multiplier: ").append(getOvertimeMultiplier()).append("\n");
+        sb.append("Database: ").append(current.getDatabaseUrl()).append("\n");
+        sb.append("Application: ").append(current.getApplicationName()).append(" v").append(current.getApplicationVersion()).append("\n");
+        sb.append("Debug Mode: ").append(current.isDebugMode()).append("\n");
+        sb.append("Working Days/Month: ").append(current.getWorkingDaysPerMonth()).append("\n");
+        sb.append("Overtime Multiplier: ").append(current.getOvertimeMultiplier()).append("\n");
         sb.append("================================");
         return sb.toString();
     }
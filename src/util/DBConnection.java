@@ -1,7 +1,6 @@
 package util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -13,24 +12,20 @@ import java.util.logging.Level;
 public class DBConnection {
     private static final Logger LOGGER = Logger.getLogger(DBConnection.class.getName());
     
-    // Database configuration
-    private static final String DB_HOST = "localhost";
-    private static final String DB_PORT = "3306";
-    private static final String DB_NAME = "aoopdatabase_payroll";
-    private static final String DB_USERNAME = "root";
-    private static final String DB_PASSWORD = "admin";
-    private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
+    // Rows per round trip for the DAOs' forEach... reads. The URL enables useCursorFetch, so a
+    // statement with a fetch size reads from a server-side cursor instead of buffering every row.
+    public static final int STREAM_FETCH_SIZE = 500;
     
-    // Connection URL
-    private static final String DB_URL = String.format(
-        "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8",
-        DB_HOST, DB_PORT, DB_NAME
-    );
+    // ENHANCED: URL and credentials come from the current AppConfig snapshot instead of constants,
+    // so a change to application.properties applies to the next connection
+    private static AppConfig config() {
+        return ConfigurationManager.getInstance().getConfig();
+    }
     
     // Static block to load the driver
     static {
         try {
-            Class.forName(DB_DRIVER);
+            Class.forName(config().getDatabaseDriver());
             LOGGER.info("✅ MySQL JDBC Driver loaded successfully");
         } catch (ClassNotFoundException e) {
             LOGGER.log(Level.SEVERE, "❌ MySQL JDBC Driver not found", e);
@@ -40,21 +35,60 @@ public class DBConnection {
     
     /**
      * Get a database connection
+     * ENHANCED: borrowed from DatabaseConnectionPool; closing it returns it to the pool.
+     * Inside ReadReplicaRouter.readFromReplica() this is a read connection, see getReadConnection().
+     * Inside a UnitOfWork it is the unit's connection, so the DAOs share its transaction.
      * @return Connection object
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
+        Connection unitConnection = UnitOfWork.currentConnection();
+        if (unitConnection != null) {
+            return unitConnection;
+        }
+        if (ReadReplicaRouter.isInReadScope()) {
+            return getReadConnection();
+        }
+        return getPrimaryConnection();
+    }
+    
+    /**
+     * Get a connection for queries that only read, such as reports and dashboard metrics.
+     * It is a read-only replica connection while the replica is within its lag bound,
+     * otherwise a primary connection.
+     * @return Connection object
+     * @throws SQLException if connection fails
+     */
+    public static Connection getReadConnection() throws SQLException {
+        ReadReplicaRouter router = ReadReplicaRouter.getInstance();
+        if (router.shouldUseReplica()) {
+            Connection connection = null;
+            try {
+                connection = DatabaseConnectionPool.getReplicaInstance().getConnection();
+                connection.setReadOnly(true);
+                LOGGER.fine("🔗 Read replica connection established");
+                return connection;
+            } catch (SQLException e) {
+                closeConnection(connection);
+                router.replicaFailed(e);
+            }
+        }
+        return getPrimaryConnection();
+    }
+    
+    static Connection getPrimaryConnection() throws SQLException {
+        AppConfig config = config();
         try {
-            Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+            Connection connection = DatabaseConnectionPool.getInstance().getConnection();
             LOGGER.fine("🔗 Database connection established");
             return connection;
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "❌ Failed to establish database connection", e);
             throw new SQLException("Database connection failed. Please check:\n" +
                     "1. MySQL server is running\n" +
-                    "2. Database '" + DB_NAME + "' exists\n" +
+                    "2. Database '" + config.getDatabaseName() + "' exists\n" +
                     "3. Username and password are correct\n" +
-                    "4. MySQL service is accessible on " + DB_HOST + ":" + DB_PORT, e);
+                    "4. MySQL service is accessible on " + config.getDatabaseHost() + ":" + config.getDatabasePort(), e);
         }
     }
     
@@ -97,8 +131,9 @@ public class DBConnection {
      * @return Database connection details
      */
     public static String getDatabaseInfo() {
-        return String.format("Database: %s@%s:%s/%s", 
-                DB_USERNAME, DB_HOST, DB_PORT, DB_NAME);
+        AppConfig config = config();
+        return String.format("Database: %s@%s:%d/%s", 
+                config.getDatabaseUsername(), config.getDatabaseHost(), config.getDatabasePort(), config.getDatabaseName());
     }
     
     /**
@@ -132,9 +167,9 @@ public class DBConnection {
     }
     
     // Database configuration getters (for configuration management)
-    public static String getHost() { return DB_HOST; }
-    public static String getPort() { return DB_PORT; }
-    public static String getDatabaseName() { return DB_NAME; }
-    public static String getUsername() { return DB_USERNAME; }
-    public static String getUrl() { return DB_URL; }
+    public static String getHost() { return config().getDatabaseHost(); }
+    public static String getPort() { return String.valueOf(config().getDatabasePort()); }
+    public static String getDatabaseName() { return config().getDatabaseName(); }
+    public static String getUsername() { return config().getDatabaseUsername(); }
+    public static String getUrl() { return config().getDatabaseUrl(); }
 }
\ No newline at end of file
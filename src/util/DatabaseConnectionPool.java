@@ -1,184 +1,430 @@
 package util;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * Enhanced Database Connection Pool for better performance
  * Addresses mentor feedback about database optimization
+ *
+ * ENHANCED: DBConnection hands out connections from this pool. Callers get a wrapper whose
+ * close() rolls back any unfinished transaction, closes the statements left open and returns
+ * the physical connection to the pool, so the DAOs' try-with-resources blocks work unchanged.
+ *
+ * ENHANCED: getReplicaInstance() is a second pool for the read replica (db.replica.*),
+ * used by ReadReplicaRouter; it shares the pool sizes of the primary.
+ *
+ * ENHANCED: every physical connection keeps a StatementCache of up to db.statement.cache.size
+ * prepared statements, so the DAOs' SQL constants are parsed once per connection rather than
+ * once per call. getStatementCacheStats() reports the hit rate.
  */
 public class DatabaseConnectionPool {
     private static final Logger LOGGER = Logger.getLogger(DatabaseConnectionPool.class.getName());
     
     private static DatabaseConnectionPool instance;
-    private BlockingQueue<Connection> connectionPool;
-    private final int INITIAL_POOL_SIZE = 5;
-    private final int MAX_POOL_SIZE = 20;
-    private final int CONNECTION_TIMEOUT = 30; // seconds
-    
-    private final String DB_URL;
-    private final String DB_USERNAME;
-    private final String DB_PASSWORD;
-    
-    private DatabaseConnectionPool() {
-        ConfigurationManager config = ConfigurationManager.getInstance();
-        this.DB_URL = config.getDatabaseUrl();
-        this.DB_USERNAME = config.getDatabaseUsername();
-        this.DB_PASSWORD = config.getDatabasePassword();
+    private static DatabaseConnectionPool replicaInstance;
+    
+    // Connections idle for longer than this are checked with isValid() before reuse
+    private static final long VALIDATION_IDLE_MILLIS = 30_000;
+    
+    private final BlockingQueue<IdleConnection> connectionPool = new LinkedBlockingQueue<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    
+    // ENHANCED: sizes, timeout and credentials come from the AppConfig snapshot
+    // (db.pool.initial.size, db.pool.max.size, db.pool.timeout.seconds) and follow reloads
+    private final ConfigurationManager configurationManager;
+    private volatile AppConfig connectionConfig;
+    
+    // Bumped when the database settings change; connections of older generations are closed on return
+    private final AtomicInteger generation = new AtomicInteger();
+    
+    // True for the read replica pool, which connects with the db.replica.* settings
+    private final boolean replica;
+    
+    // Statement caches of the physical connections, dropped when a connection is closed
+    private final Map<Connection, StatementCache> statementCaches = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final StatementCache.Stats statementStats = new StatementCache.Stats();
+    
+    private DatabaseConnectionPool(boolean replica) {
+        this.replica = replica;
+        this.configurationManager = ConfigurationManager.getInstance();
+        this.connectionConfig = configurationManager.getConfig();
         
-        initializePool();
+        try {
+            // Load MySQL driver
+            Class.forName(connectionConfig.getDatabaseDriver());
+        } catch (ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "❌ MySQL driver not found", e);
+            throw new RuntimeException("MySQL driver not found", e);
+        }
+        configurationManager.addReloadListener(this::onConfigurationReloaded);
     }
     
     public static synchronized DatabaseConnectionPool getInstance() {
         if (instance == null) {
-            instance = new DatabaseConnectionPool();
+            instance = new DatabaseConnectionPool(false);
         }
         return instance;
     }
     
-    private void initializePool() {
-        connectionPool = new LinkedBlockingQueue<>(MAX_POOL_SIZE);
-        
-        try {
-            // Load MySQL driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            
-            // Create initial connections
-            for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
-                Connection connection = createNewConnection();
-                if (connection != null) {
-                    connectionPool.offer(connection);
-                }
+    /**
+     * Pool of connections to the read replica; only useful when db.replica.host is set
+     */
+    public static synchronized DatabaseConnectionPool getReplicaInstance() {
+        if (replicaInstance == null) {
+            replicaInstance = new DatabaseConnectionPool(true);
+        }
+        return replicaInstance;
+    }
+    
+    /**
+     * Opens connections until db.pool.initial.size are idle, e.g. while the splash screen is shown
+     * @return number of idle connections afterwards
+     */
+    public int prefill() {
+        AppConfig config = configurationManager.getConfig();
+        while (connectionPool.size() < config.getPoolInitialSize() && reserveSlot(config.getPoolMaxSize())) {
+            try {
+                connectionPool.offer(new IdleConnection(createNewConnection(), generation.get()));
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                LOGGER.log(Level.WARNING, "⚠️ Could not prefill database connection pool", e);
+                break;
             }
-            
-            LOGGER.info("✅ Database connection pool initialized with " + connectionPool.size() + " connections");
-            
-        } catch (ClassNotFoundException e) {
-            LOGGER.log(Level.SEVERE, "❌ MySQL driver not found", e);
-            throw new RuntimeException("MySQL driver not found", e);
         }
+        LOGGER.info("✅ " + poolName() + " prefilled with " + connectionPool.size() + " connections");
+        return connectionPool.size();
     }
     
-    private Connection createNewConnection() {
-        try {
-            Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
-            
-            // Configure connection
-            connection.setAutoCommit(true);
-            connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-            
-            return connection;
-            
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "❌ Failed to create database connection", e);
-            return null;
+    private Connection createNewConnection() throws SQLException {
+        AppConfig config = configurationManager.getConfig();
+        if (replica && !config.isReplicaEnabled()) {
+            throw new SQLException("No read replica configured (db.replica.host)");
         }
+        Connection connection = DriverManager.getConnection(url(config), username(config), password(config));
+        
+        // Configure connection
+        connection.setAutoCommit(true);
+        
+        return connection;
     }
     
     public Connection getConnection() throws SQLException {
+        AppConfig config = configurationManager.getConfig();
         try {
-            Connection connection = connectionPool.poll(CONNECTION_TIMEOUT, TimeUnit.SECONDS);
+            Connection connection = takeIdleConnection(connectionPool.poll());
             
             if (connection == null) {
                 // Pool is empty, create new connection if under max limit
-                if (getTotalConnections() < MAX_POOL_SIZE) {
-                    connection = createNewConnection();
-                    if (connection == null) {
-                        throw new SQLException("Unable to create new database connection");
+                if (reserveSlot(config.getPoolMaxSize())) {
+                    try {
+                        connection = createNewConnection();
+                    } catch (SQLException e) {
+                        totalConnections.decrementAndGet();
+                        throw e;
                     }
                 } else {
-                    throw new SQLException("Connection pool exhausted. Maximum connections: " + MAX_POOL_SIZE);
-                }
-            }
-            
-            // Validate connection
-            if (!isConnectionValid(connection)) {
-                connection = createNewConnection();
-                if (connection == null) {
-                    throw new SQLException("Unable to create valid database connection");
+                    connection = takeIdleConnection(connectionPool.poll(config.getPoolTimeoutSeconds(), TimeUnit.SECONDS));
+                    if (connection == null) {
+                        throw new SQLException("Connection pool exhausted. Maximum connections: " + config.getPoolMaxSize());
+                    }
                 }
             }
             
-            return connection;
-            
+            return wrap(connection, generation.get());
+        
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new SQLException("Interrupted while waiting for database connection", e);
         }
     }
     
+    // Returns the connection if it can be reused, otherwise closes it and tries the next idle one
+    private Connection takeIdleConnection(IdleConnection idle) {
+        while (idle != null) {
+            boolean current = idle.generation == generation.get();
+            boolean recentlyUsed = System.currentTimeMillis() - idle.returnedAt < VALIDATION_IDLE_MILLIS;
+            if (current && (recentlyUsed || isConnectionValid(idle.connection))) {
+                return idle.connection;
+            }
+            discard(idle.connection);
+            idle = connectionPool.poll();
+        }
+        return null;
+    }
+    
+    private boolean reserveSlot(int maxPoolSize) {
+        while (true) {
+            int total = totalConnections.get();
+            if (total >= maxPoolSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(total, total + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Gives a connection back to the pool; the same as closing a connection from getConnection()
+     */
     public void returnConnection(Connection connection) {
         if (connection != null) {
             try {
-                if (isConnectionValid(connection)) {
-                    // Reset connection state
-                    connection.setAutoCommit(true);
-                    connection.clearWarnings();
-                    
-                    // Return to pool
-                    if (!connectionPool.offer(connection)) {
-                        // Pool is full, close the connection
-                        connection.close();
-                    }
-                } else {
-                    // Connection is invalid, close it
-                    connection.close();
-                }
+                connection.close();
             } catch (SQLException e) {
                 LOGGER.log(Level.WARNING, "⚠️ Error returning connection to pool", e);
-                try {
-                    connection.close();
-                } catch (SQLException closeException) {
-                    LOGGER.log(Level.WARNING, "⚠️ Error closing invalid connection", closeException);
-                }
             }
         }
     }
     
+    private void release(Connection connection, int connectionGeneration) {
+        try {
+            // Reset connection state
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (connection.isReadOnly()) {
+                connection.setReadOnly(false);
+            }
+            connection.clearWarnings();
+            
+            if (connectionGeneration != generation.get()
+                    || connectionPool.size() >= configurationManager.getConfig().getPoolMaxSize()
+                    || !connectionPool.offer(new IdleConnection(connection, connectionGeneration))) {
+                // Outdated or pool is full, close the connection
+                discard(connection);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Error returning connection to pool", e);
+            discard(connection);
+        }
+    }
+    
+    private void discard(Connection connection) {
+        totalConnections.decrementAndGet();
+        StatementCache statementCache = statementCaches.remove(connection);
+        if (statementCache != null) {
+            statementCache.closeAll();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Error closing invalid connection", e);
+        }
+    }
+    
     private boolean isConnectionValid(Connection connection) {
         try {
-            return connection != null && 
-                   !connection.isClosed() && 
+            return connection != null &&
+                   !connection.isClosed() &&
                    connection.isValid(5);
         } catch (SQLException e) {
             return false;
         }
     }
     
+    // Idle connections still point at the old database after its URL or credentials change
+    private void onConfigurationReloaded(AppConfig config) {
+        AppConfig previous = connectionConfig;
+        connectionConfig = config;
+        if (!url(config).equals(url(previous))
+                || !username(config).equals(username(previous))
+                || !password(config).equals(password(previous))) {
+            LOGGER.info("🔄 Database settings changed, replacing idle connections of the " + poolName());
+            generation.incrementAndGet();
+            closeAllConnections();
+        }
+    }
+    
+    private String url(AppConfig config) {
+        return replica ? config.getReplicaUrl() : config.getDatabaseUrl();
+    }
+    
+    private String username(AppConfig config) {
+        return replica ? config.getReplicaUsername() : config.getDatabaseUsername();
+    }
+    
+    private String password(AppConfig config) {
+        return replica ? config.getReplicaPassword() : config.getDatabasePassword();
+    }
+    
+    private String poolName() {
+        return replica ? "read replica connection pool" : "database connection pool";
+    }
+    
+    public boolean isReplica() {
+        return replica;
+    }
+    
     public int getAvailableConnections() {
         return connectionPool.size();
     }
     
+    // Idle plus borrowed connections
     public int getTotalConnections() {
-        // This is a simplified implementation
-        // In a real pool, you'd track all connections (available + in use)
-        return connectionPool.size();
+        return totalConnections.get();
     }
     
     public void closeAllConnections() {
-        LOGGER.info("🔒 Closing all database connections...");
+        LOGGER.info("🔒 Closing all connections of the " + poolName() + "...");
         
-        Connection connection;
-        while ((connection = connectionPool.poll()) != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                LOGGER.log(Level.WARNING, "⚠️ Error closing connection", e);
-            }
+        IdleConnection idle;
+        while ((idle = connectionPool.poll()) != null) {
+            discard(idle.connection);
         }
         
-        LOGGER.info("✅ All database connections closed");
+        LOGGER.info("✅ All database connections closed (" + statementStats + ")");
+    }
+    
+    /**
+     * Hit and miss counts of the statement caches of this pool's connections
+     */
+    public StatementCache.Stats getStatementCacheStats() {
+        return statementStats;
     }
     
     public String getPoolStatus() {
-        return String.format("Connection Pool Status: Available=%d, Total=%d, Max=%d",
-                getAvailableConnections(), getTotalConnections(), MAX_POOL_SIZE);
+        return String.format("%s Status: Available=%d, Total=%d, Max=%d, %s",
+                replica ? "Replica Pool" : "Connection Pool", getAvailableConnections(), getTotalConnections(),
+                configurationManager.getConfig().getPoolMaxSize(), statementStats);
+    }
+    
+    private Connection wrap(Connection connection, int connectionGeneration) {
+        // The cache size is read when the physical connection is first handed out
+        int cacheSize = configurationManager.getConfig().getStatementCacheSize();
+        StatementCache statementCache = cacheSize > 0
+                ? statementCaches.computeIfAbsent(connection, c -> new StatementCache(c, cacheSize, statementStats))
+                : null;
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new PooledConnectionHandler(this, connection, connectionGeneration, statementCache));
+    }
+    
+    private static final class IdleConnection {
+        private final Connection connection;
+        private final int generation;
+        private final long returnedAt = System.currentTimeMillis();
+        
+        private IdleConnection(Connection connection, int generation) {
+            this.connection = connection;
+            this.generation = generation;
+        }
+    }
+    
+    /**
+     * Borrowed connection: close() returns it to the pool instead of closing the socket
+     */
+    private static final class PooledConnectionHandler implements InvocationHandler {
+        private final DatabaseConnectionPool pool;
+        private final Connection connection;
+        private final int generation;
+        private final StatementCache statementCache;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private boolean closed;
+        
+        private PooledConnectionHandler(DatabaseConnectionPool pool, Connection connection, int generation,
+                                        StatementCache statementCache) {
+            this.pool = pool;
+            this.connection = connection;
+            this.generation = generation;
+            this.statementCache = statementCache;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + connection;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            
+            if (statementCache != null && method.getName().equals("prepareStatement")) {
+                PreparedStatement cached = null;
+                if (args.length == 1) {
+                    cached = statementCache.prepare((Connection) proxy, (String) args[0]);
+                } else if (args.length == 2 && args[1] instanceof Integer) {
+                    cached = statementCache.prepare((Connection) proxy, (String) args[0], (Integer) args[1]);
+                }
+                if (cached != null) {
+                    // Closing the connection gives statements left open back to the cache
+                    track(cached);
+                    return cached;
+                }
+            }
+            
+            try {
+                Object result = method.invoke(connection, args);
+                if (result instanceof Statement) {
+                    track((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        
+        private void track(Statement statement) throws SQLException {
+            if (openStatements.size() >= 64) {
+                List<Statement> stillOpen = new ArrayList<>();
+                for (Statement open : openStatements) {
+                    if (!open.isClosed()) {
+                        stillOpen.add(open);
+                    }
+                }
+                openStatements.clear();
+                openStatements.addAll(stillOpen);
+            }
+            openStatements.add(statement);
+        }
+        
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Statement statement : openStatements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, "Error closing statement left open", e);
+                }
+            }
+            openStatements.clear();
+            pool.release(connection, generation);
+        }
     }
     
     // Shutdown hook to clean up connections
@@ -187,6 +433,9 @@ public class DatabaseConnectionPool {
             if (instance != null) {
                 instance.closeAllConnections();
             }
+            if (replicaInstance != null) {
+                replicaInstance.closeAllConnections();
+            }
         }));
     }
 }
\ No newline at end of file
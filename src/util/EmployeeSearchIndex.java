@@ -0,0 +1,379 @@
+package util;
+
+import model.Employee;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * In-memory search index over the employee master.
+ *
+ * Indexes name tokens and position tokens for prefix lookup, trigrams of the
+ * full name and position for substring lookup, and the employee ID for prefix
+ * lookup. Results are ranked: exact ID, ID prefix, name token, position token,
+ * then substring matches. EmployeeDAO keeps the index current after each write,
+ * so it is only loaded from the database once per process (or after invalidate()).
+ */
+public class EmployeeSearchIndex {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeSearchIndex.class.getName());
+    private static EmployeeSearchIndex instance;
+
+    // Ranking weights per matched field, higher is better
+    private static final int SCORE_EXACT_ID = 100;
+    private static final int SCORE_ID_PREFIX = 80;
+    private static final int SCORE_EXACT_NAME_TOKEN = 60;
+    private static final int SCORE_NAME_PREFIX = 50;
+    private static final int SCORE_POSITION_PREFIX = 30;
+    private static final int SCORE_SUBSTRING = 20;
+
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Employee> employees = new HashMap<>();
+    private final NavigableMap<String, Set<Integer>> nameTokens = new TreeMap<>();
+    private final NavigableMap<String, Set<Integer>> positionTokens = new TreeMap<>();
+    private final NavigableMap<String, Integer> employeeIds = new TreeMap<>();
+    private final Map<String, Set<Integer>> trigrams = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    private EmployeeSearchIndex() {
+    }
+
+    public static synchronized EmployeeSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new EmployeeSearchIndex();
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Builds the index from the given loader if it has not been built yet
+     */
+    public void ensureLoaded(Supplier<List<Employee>> loader) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            clearIndex();
+            for (Employee employee : loader.get()) {
+                addToIndex(copyOf(employee));
+            }
+            loaded = true;
+            LOGGER.info("✅ Employee search index built: " + employees.size() + " employees in " +
+                    (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index; the next search rebuilds it from the database
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces an employee. Ignored until the index has been loaded,
+     * since the initial load will pick the employee up anyway.
+     */
+    public void put(Employee employee) {
+        if (employee == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeFromIndex(employee.getEmployeeId());
+            addToIndex(copyOf(employee));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int employeeId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeFromIndex(employeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches by name, employee ID or position. Every word of the term has to match
+     * (as a prefix, or as a substring for words of three or more characters).
+     * Results are ordered by relevance, then by last name and first name, and are
+     * copies, so callers may modify them.
+     */
+    public List<Employee> search(String term, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = rank(term);
+            int count = limit > 0 ? Math.min(limit, ids.size()) : ids.size();
+            List<Employee> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(copyOf(employees.get(ids.get(i))));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of every employee matching the term, in the order of search(); lets a paged
+     * view load the matches one page at a time
+     */
+    public List<Integer> searchIds(String term) {
+        lock.readLock().lock();
+        try {
+            return rank(term);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return employees.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock
+    private List<Integer> rank(String term) {
+        List<String> queryTokens = tokenize(term);
+        if (queryTokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Integer> scores = null;
+        for (String token : queryTokens) {
+            Map<Integer, Integer> tokenScores = scoreToken(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // AND semantics: keep only employees matched by every word
+                Map<Integer, Integer> combined = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                    Integer tokenScore = tokenScores.get(entry.getKey());
+                    if (tokenScore != null) {
+                        combined.put(entry.getKey(), entry.getValue() + tokenScore);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        final Map<Integer, Integer> finalScores = scores;
+        List<Integer> ids = new ArrayList<>(finalScores.keySet());
+        ids.sort(Comparator
+                .comparing((Integer id) -> -finalScores.get(id))
+                .thenComparing(id -> safeLower(employees.get(id).getLastName()))
+                .thenComparing(id -> safeLower(employees.get(id).getFirstName())));
+        return ids;
+    }
+
+    private Map<Integer, Integer> scoreToken(String token) {
+        Map<Integer, Integer> scores = new HashMap<>();
+
+        // Employee ID: exact match or prefix
+        if (token.chars().allMatch(Character::isDigit)) {
+            for (Map.Entry<String, Integer> entry : prefixRange(employeeIds, token).entrySet()) {
+                int score = entry.getKey().equals(token) ? SCORE_EXACT_ID : SCORE_ID_PREFIX;
+                scores.merge(entry.getValue(), score, Math::max);
+            }
+        }
+
+        // Name tokens: exact word or word prefix
+        for (Map.Entry<String, Set<Integer>> entry : prefixRange(nameTokens, token).entrySet()) {
+            int score = entry.getKey().equals(token) ? SCORE_EXACT_NAME_TOKEN : SCORE_NAME_PREFIX;
+            for (Integer id : entry.getValue()) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+
+        // Position tokens
+        for (Set<Integer> ids : prefixRange(positionTokens, token).values()) {
+            for (Integer id : ids) {
+                scores.merge(id, SCORE_POSITION_PREFIX, Math::max);
+            }
+        }
+
+        // Substring anywhere in the name or position, via trigram candidates
+        if (token.length() >= TRIGRAM_LENGTH) {
+            for (Integer id : trigramCandidates(token)) {
+                if (scores.containsKey(id)) {
+                    continue;
+                }
+                Employee employee = employees.get(id);
+                if (searchableText(employee).contains(token)) {
+                    scores.put(id, SCORE_SUBSTRING);
+                }
+            }
+        }
+
+        return scores;
+    }
+
+    private Set<Integer> trigramCandidates(String token) {
+        Set<Integer> candidates = null;
+        for (String gram : trigramsOf(token)) {
+            Set<Integer> posting = trigrams.get(gram);
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(posting);
+            } else {
+                candidates.retainAll(posting);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates != null ? candidates : Collections.emptySet();
+    }
+
+    private void addToIndex(Employee employee) {
+        int id = employee.getEmployeeId();
+        employees.put(id, employee);
+        employeeIds.put(String.valueOf(id), id);
+
+        for (String token : tokenize(safeLower(employee.getFirstName()) + " " + safeLower(employee.getLastName()))) {
+            nameTokens.computeIfAbsent(token, k -> new HashSet<>()).add(id);
+        }
+        for (String token : tokenize(employee.getPosition())) {
+            positionTokens.computeIfAbsent(token, k -> new HashSet<>()).add(id);
+        }
+        for (String gram : trigramsOf(searchableText(employee))) {
+            trigrams.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void removeFromIndex(int id) {
+        Employee existing = employees.remove(id);
+        if (existing == null) {
+            return;
+        }
+        employeeIds.remove(String.valueOf(id));
+        for (String token : tokenize(safeLower(existing.getFirstName()) + " " + safeLower(existing.getLastName()))) {
+            removePosting(nameTokens, token, id);
+        }
+        for (String token : tokenize(existing.getPosition())) {
+            removePosting(positionTokens, token, id);
+        }
+        for (String gram : trigramsOf(searchableText(existing))) {
+            removePosting(trigrams, gram, id);
+        }
+    }
+
+    private void clearIndex() {
+        employees.clear();
+        nameTokens.clear();
+        positionTokens.clear();
+        employeeIds.clear();
+        trigrams.clear();
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> index, String key, int id) {
+        Set<Integer> posting = index.get(key);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <V> SortedMap<String, V> prefixRange(NavigableMap<String, V> index, String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static String searchableText(Employee employee) {
+        return safeLower(employee.getFirstName()) + " " + safeLower(employee.getLastName()) + " " +
+                safeLower(employee.getPosition());
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee();
+        copy.setId(employee.getId());
+        copy.setEmployeeId(employee.getEmployeeId());
+        copy.setLastName(employee.getLastName());
+        copy.setFirstName(employee.getFirstName());
+        copy.setBirthday(employee.getBirthday());
+        copy.setAddress(employee.getAddress());
+        copy.setPhoneNumber(employee.getPhoneNumber());
+        copy.setEmail(employee.getEmail());
+        copy.setSssNumber(employee.getSssNumber());
+        copy.setPhilhealthNumber(employee.getPhilhealthNumber());
+        copy.setTinNumber(employee.getTinNumber());
+        copy.setPagibigNumber(employee.getPagibigNumber());
+        copy.setStatus(employee.getStatus());
+        copy.setPosition(employee.getPosition());
+        copy.setImmediateSupervisor(employee.getImmediateSupervisor());
+        copy.setBasicSalary(employee.getBasicSalary());
+        copy.setRiceSubsidy(employee.getRiceSubsidy());
+        copy.setPhoneAllowance(employee.getPhoneAllowance());
+        copy.setClothingAllowance(employee.getClothingAllowance());
+        copy.setGrossSemiMonthlyRate(employee.getGrossSemiMonthlyRate());
+        copy.setHourlyRate(employee.getHourlyRate());
+        copy.setHireDate(employee.getHireDate());
+        copy.setDepartment(employee.getDepartment());
+        return copy;
+    }
+
+    private static String safeLower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+}
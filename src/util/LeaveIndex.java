@@ -0,0 +1,276 @@
+package util;
+
+import model.LeaveRequest;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * In-memory interval index over leave requests.
+ *
+ * Each employee's leaves are kept in a list sorted by start date, so an overlap
+ * check only scans the leaves that start on or before the end of the range. For
+ * company-wide queries ("who is on leave on X", team calendars) all leaves are also
+ * kept sorted by start date; since no leave is longer than the longest one indexed,
+ * only leaves starting within that many days before the range need to be looked at.
+ *
+ * LeaveRequestDAO keeps the index current after each write, so it is loaded from the
+ * database once per process (or after invalidate()). Stored requests are copies, and
+ * copies are returned, so callers cannot change the index by accident.
+ */
+public class LeaveIndex {
+    private static final Logger LOGGER = Logger.getLogger(LeaveIndex.class.getName());
+    private static LeaveIndex instance;
+
+    private static final Comparator<LeaveRequest> BY_START =
+            Comparator.comparing(LeaveRequest::getStartDateAsLocalDate).thenComparingInt(LeaveRequest::getLeaveId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, LeaveRequest> leaves = new HashMap<>();
+    private final Map<Integer, List<LeaveRequest>> byEmployee = new HashMap<>();
+    private final NavigableMap<LocalDate, List<LeaveRequest>> byStartDate = new TreeMap<>();
+    private long longestLeaveDays = 0;
+    private volatile boolean loaded = false;
+
+    private LeaveIndex() {
+    }
+
+    public static synchronized LeaveIndex getInstance() {
+        if (instance == null) {
+            instance = new LeaveIndex();
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Builds the index from the given loader if it has not been built yet
+     */
+    public void ensureLoaded(Supplier<List<LeaveRequest>> loader) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            clearIndex();
+            for (LeaveRequest leave : loader.get()) {
+                addToIndex(copyOf(leave));
+            }
+            loaded = true;
+            LOGGER.info("✅ Leave index built: " + leaves.size() + " leave requests in " +
+                    (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index; the next query rebuilds it from the database
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a leave request. Ignored until the index has been loaded.
+     */
+    public void put(LeaveRequest leave) {
+        if (leave == null || leave.getLeaveId() <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeFromIndex(leave.getLeaveId());
+            addToIndex(copyOf(leave));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStatus(int leaveId, String status) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            LeaveRequest leave = leaves.get(leaveId);
+            if (leave != null) {
+                leave.setStatus(status);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int leaveId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeFromIndex(leaveId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True if the employee has a leave with the given status overlapping [start, end]
+     * @param excludeLeaveId leave to ignore (the one being edited), or null
+     */
+    public boolean hasOverlap(int employeeId, LocalDate start, LocalDate end, String status, Integer excludeLeaveId) {
+        lock.readLock().lock();
+        try {
+            for (LeaveRequest leave : byEmployee.getOrDefault(employeeId, Collections.emptyList())) {
+                if (leave.getStartDateAsLocalDate().isAfter(end)) {
+                    break; // sorted by start date, nothing later can overlap
+                }
+                if (!leave.getEndDateAsLocalDate().isBefore(start) && matchesStatus(leave, status)
+                        && (excludeLeaveId == null || leave.getLeaveId() != excludeLeaveId)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Leaves with the given status (null for any) overlapping [start, end], optionally limited
+     * to a set of employees, ordered by start date
+     */
+    public List<LeaveRequest> findOverlapping(LocalDate start, LocalDate end, String status, Set<Integer> employeeIds) {
+        lock.readLock().lock();
+        try {
+            List<LeaveRequest> results = new ArrayList<>();
+            LocalDate earliestStart = start.minusDays(longestLeaveDays);
+            for (List<LeaveRequest> sameStart : byStartDate.subMap(earliestStart, true, end, true).values()) {
+                for (LeaveRequest leave : sameStart) {
+                    if (!leave.getEndDateAsLocalDate().isBefore(start) && matchesStatus(leave, status)
+                            && (employeeIds == null || employeeIds.contains(leave.getEmployeeId()))) {
+                        results.add(copyOf(leave));
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Leaves with the given status (null for any) that include the given date
+     */
+    public List<LeaveRequest> findOnDate(LocalDate date, String status) {
+        return findOverlapping(date, date, status, null);
+    }
+
+    /**
+     * All leaves with the given status (null for any), latest start date first
+     */
+    public List<LeaveRequest> findByStatus(String status) {
+        lock.readLock().lock();
+        try {
+            List<LeaveRequest> results = new ArrayList<>();
+            for (List<LeaveRequest> sameStart : byStartDate.descendingMap().values()) {
+                for (LeaveRequest leave : sameStart) {
+                    if (matchesStatus(leave, status)) {
+                        results.add(copyOf(leave));
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return leaves.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addToIndex(LeaveRequest leave) {
+        leaves.put(leave.getLeaveId(), leave);
+
+        List<LeaveRequest> employeeLeaves = byEmployee.computeIfAbsent(leave.getEmployeeId(), k -> new ArrayList<>());
+        int position = Collections.binarySearch(employeeLeaves, leave, BY_START);
+        employeeLeaves.add(position < 0 ? -position - 1 : position, leave);
+
+        byStartDate.computeIfAbsent(leave.getStartDateAsLocalDate(), k -> new ArrayList<>()).add(leave);
+        longestLeaveDays = Math.max(longestLeaveDays,
+                ChronoUnit.DAYS.between(leave.getStartDateAsLocalDate(), leave.getEndDateAsLocalDate()));
+    }
+
+    // longestLeaveDays is left as is: a bound that is too large only widens the scan
+    private void removeFromIndex(int leaveId) {
+        LeaveRequest existing = leaves.remove(leaveId);
+        if (existing == null) {
+            return;
+        }
+
+        List<LeaveRequest> employeeLeaves = byEmployee.get(existing.getEmployeeId());
+        if (employeeLeaves != null) {
+            employeeLeaves.remove(existing);
+            if (employeeLeaves.isEmpty()) {
+                byEmployee.remove(existing.getEmployeeId());
+            }
+        }
+
+        List<LeaveRequest> sameStart = byStartDate.get(existing.getStartDateAsLocalDate());
+        if (sameStart != null) {
+            sameStart.remove(existing);
+            if (sameStart.isEmpty()) {
+                byStartDate.remove(existing.getStartDateAsLocalDate());
+            }
+        }
+    }
+
+    private void clearIndex() {
+        leaves.clear();
+        byEmployee.clear();
+        byStartDate.clear();
+        longestLeaveDays = 0;
+    }
+
+    private static boolean matchesStatus(LeaveRequest leave, String status) {
+        return status == null || status.equalsIgnoreCase(leave.getStatus());
+    }
+
+    private static LeaveRequest copyOf(LeaveRequest leave) {
+        LeaveRequest copy = new LeaveRequest();
+        copy.setLeaveId(leave.getLeaveId());
+        copy.setEmployeeId(leave.getEmployeeId());
+        copy.setStartDate(leave.getStartDate());
+        copy.setEndDate(leave.getEndDate());
+        copy.setLeaveType(leave.getLeaveType());
+        copy.setStatus(leave.getStatus() != null ? leave.getStatus() : LeaveRequest.STATUS_PENDING);
+        return copy;
+    }
+}
@@ -8,9 +8,12 @@ import java.util.logging.Logger;
 /**
  * Maps employee positions to user roles for access control
  * Based on your actual database positions
+ * ENHANCED: Lookups are served by ReferenceDataCache, where roles stored on the
+ * positions table override these built-in mappings - no code change per new position
  */
 public class PositionRoleMapper {
     private static final Logger LOGGER = Logger.getLogger(PositionRoleMapper.class.getName());
+    // Built-in mappings, used until reference data is loaded and for positions without a stored role
     private static final Map<String, UserRole> POSITION_ROLE_MAP = new HashMap<>();
     
     static {
@@ -58,8 +61,7 @@ public class PositionRoleMapper {
             return UserRole.EMPLOYEE;
         }
         
-        String normalizedPosition = position.toLowerCase().trim();
-        UserRole role = POSITION_ROLE_MAP.get(normalizedPosition);
+        UserRole role = ReferenceDataCache.getInstance().findUserRole(position);
         
         if (role == null) {
             LOGGER.warning("⚠️ Unknown position: '" + position + "', defaulting to EMPLOYEE role");
@@ -130,6 +132,13 @@ public class PositionRoleMapper {
      * Get all mapped positions for debugging
      */
     public static Map<String, UserRole> getAllMappings() {
+        return new HashMap<>(ReferenceDataCache.getInstance().getPositionRoles());
+    }
+
+    /**
+     * Get the built-in mappings that stored roles are merged over
+     */
+    public static Map<String, UserRole> getDefaultMappings() {
         return new HashMap<>(POSITION_ROLE_MAP);
     }
     
@@ -140,7 +149,7 @@ public class PositionRoleMapper {
         if (position == null || position.trim().isEmpty()) {
             return false;
         }
-        return POSITION_ROLE_MAP.containsKey(position.toLowerCase().trim());
+        return ReferenceDataCache.getInstance().findUserRole(position) != null;
     }
     
     /**
@@ -0,0 +1,244 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides whether read-only work may go to the read replica.
+ *
+ * The replica (db.replica.*) is used while its replication lag is within
+ * db.replica.max.lag.seconds. The lag is measured at most every db.replica.check.seconds by
+ * one caller; the others keep the last decision meanwhile. A replica that cannot be reached,
+ * has stopped replicating or lags too far behind is skipped until the next check, and reads
+ * fall back to the primary.
+ *
+ * Reports and dashboards mark their reads with readFromReplica() or a try-with-resources
+ * openReadScope(); inside the scope DBConnection.getConnection() hands out read-only replica
+ * connections. Writes must not be made inside the scope.
+ */
+public class ReadReplicaRouter {
+    private static final Logger LOGGER = Logger.getLogger(ReadReplicaRouter.class.getName());
+    private static ReadReplicaRouter instance;
+
+    private static final ThreadLocal<Boolean> READ_SCOPE = new ThreadLocal<>();
+
+    /**
+     * Measures how far the replica is behind the primary
+     */
+    public interface LagProbe {
+        /**
+         * @return seconds behind the primary, or null if replication is not running
+         * @throws SQLException if the replica cannot be queried
+         */
+        Long measureLagSeconds() throws SQLException;
+    }
+
+    private final Supplier<AppConfig> configSupplier;
+    private final LagProbe lagProbe;
+    private final LongSupplier clock;
+    private final AtomicBoolean checking = new AtomicBoolean();
+
+    // Last decision; null until the first check
+    private volatile ReplicaState state;
+
+    public ReadReplicaRouter(Supplier<AppConfig> configSupplier, LagProbe lagProbe, LongSupplier clock) {
+        this.configSupplier = configSupplier;
+        this.lagProbe = lagProbe;
+        this.clock = clock;
+    }
+
+    public static synchronized ReadReplicaRouter getInstance() {
+        if (instance == null) {
+            instance = new ReadReplicaRouter(() -> ConfigurationManager.getInstance().getConfig(),
+                    ReadReplicaRouter::measureReplicaLag, System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    /**
+     * Runs read-only work with its connections taken from the replica while it is usable
+     */
+    public static <T> T readFromReplica(Supplier<T> reads) {
+        ReadScope scope = openReadScope();
+        try {
+            return reads.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Same as readFromReplica(Supplier) for work without a result
+     */
+    public static void readFromReplica(Runnable reads) {
+        ReadScope scope = openReadScope();
+        try {
+            reads.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Marks the current thread's reads for the replica until the scope is closed; scopes may nest
+     */
+    public static ReadScope openReadScope() {
+        ReadScope scope = new ReadScope(READ_SCOPE.get());
+        READ_SCOPE.set(Boolean.TRUE);
+        return scope;
+    }
+
+    public static boolean isInReadScope() {
+        return Boolean.TRUE.equals(READ_SCOPE.get());
+    }
+
+    /**
+     * @return true if reads may go to the replica right now
+     */
+    public boolean shouldUseReplica() {
+        AppConfig config = configSupplier.get();
+        if (!config.isReplicaEnabled()) {
+            return false;
+        }
+
+        ReplicaState current = state;
+        long now = clock.getAsLong();
+        boolean due = current == null || now - current.checkedAt >= config.getReplicaCheckSeconds() * 1000L;
+        if (due && checking.compareAndSet(false, true)) {
+            try {
+                current = check(config, now);
+                state = current;
+            } finally {
+                checking.set(false);
+            }
+        }
+        return current != null && current.usable;
+    }
+
+    /**
+     * Called when a replica connection fails; reads go to the primary until the next check
+     */
+    public void replicaFailed(SQLException e) {
+        LOGGER.log(Level.WARNING, "⚠️ Read replica connection failed, reading from the primary", e);
+        state = new ReplicaState(false, null, clock.getAsLong(), "connection failed: " + e.getMessage());
+    }
+
+    /**
+     * @return lag measured by the last check, or null if unknown
+     */
+    public Long getLastLagSeconds() {
+        ReplicaState current = state;
+        return current != null ? current.lagSeconds : null;
+    }
+
+    public String getStatus() {
+        if (!configSupplier.get().isReplicaEnabled()) {
+            return "Read replica: not configured";
+        }
+        ReplicaState current = state;
+        if (current == null) {
+            return "Read replica: not checked yet";
+        }
+        if (current.usable) {
+            return "Read replica: in use (lag " + current.lagSeconds + " s)";
+        }
+        return "Read replica: skipped (" + current.problem + ")";
+    }
+
+    static boolean isLagAcceptable(Long lagSeconds, int maxLagSeconds) {
+        return lagSeconds != null && lagSeconds <= maxLagSeconds;
+    }
+
+    private ReplicaState check(AppConfig config, long now) {
+        ReplicaState previous = state;
+        ReplicaState result;
+        try {
+            Long lag = lagProbe.measureLagSeconds();
+            if (isLagAcceptable(lag, config.getReplicaMaxLagSeconds())) {
+                result = new ReplicaState(true, lag, now, null);
+            } else if (lag == null) {
+                result = new ReplicaState(false, null, now, "replication is not running");
+            } else {
+                result = new ReplicaState(false, lag, now,
+                        "lag " + lag + " s exceeds " + config.getReplicaMaxLagSeconds() + " s");
+            }
+        } catch (SQLException | RuntimeException e) {
+            result = new ReplicaState(false, null, now, "unreachable: " + e.getMessage());
+        }
+
+        if (previous == null || previous.usable != result.usable) {
+            if (result.usable) {
+                LOGGER.info("✅ Routing reads to the read replica (lag " + result.lagSeconds + " s)");
+            } else {
+                LOGGER.warning("⚠️ Read replica skipped, reading from the primary: " + result.problem);
+            }
+        }
+        return result;
+    }
+
+    // Reads Seconds_Behind_Source from the replica, falling back to the pre-8.0.22 statement
+    private static Long measureReplicaLag() throws SQLException {
+        try (Connection connection = DatabaseConnectionPool.getReplicaInstance().getConnection()) {
+            try {
+                return readLag(connection, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                return readLag(connection, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static Long readLag(Connection connection, String sql, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                // Not set up as a replica, e.g. a second local instance with a copy of the data
+                return 0L;
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    public static final class ReadScope implements AutoCloseable {
+        private final Boolean previous;
+        private boolean closed;
+
+        private ReadScope(Boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (previous == null) {
+                READ_SCOPE.remove();
+            } else {
+                READ_SCOPE.set(previous);
+            }
+        }
+    }
+
+    private static final class ReplicaState {
+        private final boolean usable;
+        private final Long lagSeconds;
+        private final long checkedAt;
+        private final String problem;
+
+        private ReplicaState(boolean usable, Long lagSeconds, long checkedAt, String problem) {
+            this.usable = usable;
+            this.lagSeconds = lagSeconds;
+            this.checkedAt = checkedAt;
+            this.problem = problem;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package util;
+
+import model.EmploymentStatus;
+import model.Position;
+import model.UserRole;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * In-memory cache of reference data: positions, employment statuses, departments and
+ * the position to UserRole mapping.
+ *
+ * All of it is held in one immutable snapshot that is replaced as a whole when
+ * dao.ReferenceDataDAO loads a newer version, so readers never lock and never see a
+ * half-loaded state. Until the first load the snapshot only holds the built-in role
+ * mappings of PositionRoleMapper, so role resolution works without a database.
+ * Roles stored on the positions table override the built-in ones. Positions and
+ * statuses are returned as copies.
+ */
+public class ReferenceDataCache {
+    private static final Logger LOGGER = Logger.getLogger(ReferenceDataCache.class.getName());
+    private static ReferenceDataCache instance;
+
+    private static final long NOT_LOADED = -1;
+
+    private volatile Snapshot snapshot = Snapshot.defaults();
+
+    private ReferenceDataCache() {
+    }
+
+    public static synchronized ReferenceDataCache getInstance() {
+        if (instance == null) {
+            instance = new ReferenceDataCache();
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return snapshot.version != NOT_LOADED;
+    }
+
+    /**
+     * Version of the loaded reference data, or -1 if only the built-in defaults are present
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Replaces the cached reference data
+     * @param positionRoles roles stored for positions, by position title; merged over the built-in mappings
+     */
+    public void load(long version, Collection<Position> positions, Collection<EmploymentStatus> statuses,
+                     Map<Integer, String> departments, Map<String, UserRole> positionRoles) {
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
+        Snapshot loaded = new Snapshot(version, positions, statuses, departments, positionRoles);
+        snapshot = loaded;
+        LOGGER.info(String.format("✅ Reference data v%d cached: %d positions, %d statuses, %d departments, %d role mappings",
+                version, loaded.positionsById.size(), loaded.statusesById.size(),
+                loaded.departments.size(), loaded.positionRoles.size()));
+    }
+
+    /**
+     * Drops the loaded data and falls back to the built-in role mappings
+     */
+    public void invalidate() {
+        snapshot = Snapshot.defaults();
+    }
+
+    public Position getPosition(int positionId) {
+        return copyOf(snapshot.positionsById.get(positionId));
+    }
+
+    public Position getPositionByTitle(String title) {
+        return title == null ? null : copyOf(snapshot.positionsByTitle.get(normalize(title)));
+    }
+
+    public List<Position> getPositions() {
+        List<Position> positions = new ArrayList<>();
+        for (Position position : snapshot.positionsById.values()) {
+            positions.add(copyOf(position));
+        }
+        positions.sort(Comparator.comparingInt(Position::getPositionId));
+        return positions;
+    }
+
+    public EmploymentStatus getStatus(int statusId) {
+        return copyOf(snapshot.statusesById.get(statusId));
+    }
+
+    public EmploymentStatus getStatusByName(String statusName) {
+        return statusName == null ? null : copyOf(snapshot.statusesByName.get(normalize(statusName)));
+    }
+
+    public List<EmploymentStatus> getStatuses() {
+        List<EmploymentStatus> statuses = new ArrayList<>();
+        for (EmploymentStatus status : snapshot.statusesById.values()) {
+            statuses.add(copyOf(status));
+        }
+        statuses.sort(Comparator.comparingInt(EmploymentStatus::getStatusId));
+        return statuses;
+    }
+
+    public String getDepartmentName(int departmentId) {
+        return snapshot.departments.get(departmentId);
+    }
+
+    /**
+     * @return department names by ID (unmodifiable)
+     */
+    public Map<Integer, String> getDepartments() {
+        return snapshot.departments;
+    }
+
+    /**
+     * Role mapped to a position title, or null if the position is not mapped
+     */
+    public UserRole findUserRole(String position) {
+        return position == null ? null : snapshot.positionRoles.get(normalize(position));
+    }
+
+    /**
+     * @return roles by lower-case position title (unmodifiable)
+     */
+    public Map<String, UserRole> getPositionRoles() {
+        return snapshot.positionRoles;
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase().trim();
+    }
+
+    private static Position copyOf(Position source) {
+        if (source == null) {
+            return null;
+        }
+        Position copy = new Position(source.getPositionId(), source.getPositionName(), source.getDepartment());
+        copy.setMinimumSalary(source.getMinimumSalary());
+        copy.setMaximumSalary(source.getMaximumSalary());
+        copy.setDescription(source.getDescription());
+        return copy;
+    }
+
+    private static EmploymentStatus copyOf(EmploymentStatus source) {
+        if (source == null) {
+            return null;
+        }
+        EmploymentStatus copy = new EmploymentStatus(source.getStatusId(), source.getStatusName(), source.getDescription());
+        copy.setActive(source.isActive());
+        copy.setEligibleForBenefits(source.isEligibleForBenefits());
+        copy.setMaxLeaveDays(source.getMaxLeaveDays());
+        return copy;
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final Map<Integer, Position> positionsById;
+        private final Map<String, Position> positionsByTitle;
+        private final Map<Integer, EmploymentStatus> statusesById;
+        private final Map<String, EmploymentStatus> statusesByName;
+        private final Map<Integer, String> departments;
+        private final Map<String, UserRole> positionRoles;
+
+        private Snapshot(long version, Collection<Position> positions, Collection<EmploymentStatus> statuses,
+                         Map<Integer, String> departments, Map<String, UserRole> storedRoles) {
+            this.version = version;
+
+            Map<Integer, Position> byId = new HashMap<>();
+            Map<String, Position> byTitle = new HashMap<>();
+            for (Position position : positions) {
+                Position copy = copyOf(position);
+                byId.put(copy.getPositionId(), copy);
+                if (copy.getPositionName() != null) {
+                    byTitle.putIfAbsent(normalize(copy.getPositionName()), copy);
+                }
+            }
+            this.positionsById = Map.copyOf(byId);
+            this.positionsByTitle = Map.copyOf(byTitle);
+
+            Map<Integer, EmploymentStatus> statusById = new HashMap<>();
+            Map<String, EmploymentStatus> statusByName = new HashMap<>();
+            for (EmploymentStatus status : statuses) {
+                EmploymentStatus copy = copyOf(status);
+                statusById.put(copy.getStatusId(), copy);
+                if (copy.getStatusName() != null) {
+                    statusByName.put(normalize(copy.getStatusName()), copy);
+                }
+            }
+            this.statusesById = Map.copyOf(statusById);
+            this.statusesByName = Map.copyOf(statusByName);
+
+            this.departments = Map.copyOf(departments);
+
+            Map<String, UserRole> roles = new HashMap<>(PositionRoleMapper.getDefaultMappings());
+            for (Map.Entry<String, UserRole> entry : storedRoles.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    roles.put(normalize(entry.getKey()), entry.getValue());
+                }
+            }
+            this.positionRoles = Map.copyOf(roles);
+        }
+
+        private static Snapshot defaults() {
+            return new Snapshot(NOT_LOADED, Collections.emptyList(), Collections.emptyList(),
+                    Collections.emptyMap(), Collections.emptyMap());
+        }
+    }
+}
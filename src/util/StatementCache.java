@@ -0,0 +1,264 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * LRU cache of the prepared statements of one physical connection.
+ *
+ * The DAOs prepare the same SQL constants over and over, each time on a freshly borrowed
+ * connection. DatabaseConnectionPool keeps one cache per physical connection, so a statement
+ * prepared by an earlier borrower is handed out again instead of being parsed anew. Callers
+ * get a wrapper whose close() clears the parameters and gives the statement back to the cache;
+ * the DAOs' try-with-resources blocks work unchanged.
+ *
+ * A statement whose settings were changed (fetch size, max rows, timeout...) is closed for
+ * real instead of being reused. The same SQL prepared twice before the first one is closed
+ * gets an uncached statement the second time.
+ */
+public final class StatementCache {
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    // No autoGeneratedKeys argument
+    static final int NO_KEYS_FLAG = Integer.MIN_VALUE;
+
+    /**
+     * Hit and miss counters, shared by the caches of one pool
+     */
+    public static final class Stats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+        public long getEvictions() { return evictions.get(); }
+
+        // Share of prepareStatement calls served from a cache, 0 before the first call
+        public double getHitRate() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0.0 : (double) hits.get() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statement cache: hits=%d, misses=%d, evictions=%d, hit rate=%.1f%%",
+                    getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+        }
+    }
+
+    private final Connection connection;
+    private final int maxSize;
+    private final Stats stats;
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * @param connection physical connection the statements are prepared on
+     * @param maxSize statements kept per connection; the least recently used one is closed beyond it
+     */
+    public StatementCache(Connection connection, int maxSize, Stats stats) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.stats = stats;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Same as connection.prepareStatement(sql), served from the cache when possible
+     * @param owner connection returned by the statement's getConnection()
+     */
+    public PreparedStatement prepare(Connection owner, String sql) throws SQLException {
+        return prepare(owner, sql, NO_KEYS_FLAG);
+    }
+
+    /**
+     * Same as connection.prepareStatement(sql, autoGeneratedKeys), served from the cache when possible
+     */
+    public synchronized PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        String key = autoGeneratedKeys == NO_KEYS_FLAG ? sql : autoGeneratedKeys + ":" + sql;
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            stats.hits.incrementAndGet();
+            entry.inUse = true;
+            return entry.lease(owner);
+        }
+
+        stats.misses.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == NO_KEYS_FLAG
+                ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, autoGeneratedKeys);
+        if (entry != null) {
+            // Already handed out, e.g. the same lookup nested inside a loop over its results
+            return statement;
+        }
+
+        entry = new Entry(key, statement);
+        entry.inUse = true;
+        entries.put(key, entry);
+        evictOverflow();
+        return entry.lease(owner);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Closes every cached statement, e.g. before the physical connection is closed
+     */
+    public synchronized void closeAll() {
+        for (Entry entry : entries.values()) {
+            entry.evicted = true;
+            if (!entry.inUse) {
+                entry.closeStatement();
+            }
+        }
+        entries.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            stats.evictions.incrementAndGet();
+            eldest.evicted = true;
+            // A statement still in use is closed when its borrower closes it
+            if (!eldest.inUse) {
+                eldest.closeStatement();
+            }
+        }
+    }
+
+    private synchronized void giveBack(Entry entry, boolean reusable) {
+        entry.inUse = false;
+        if (!reusable || entry.evicted) {
+            if (!entry.evicted) {
+                entries.remove(entry.key);
+                entry.evicted = true;
+            }
+            entry.closeStatement();
+        }
+    }
+
+    private final class Entry {
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private Entry(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        private PreparedStatement lease(Connection owner) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, new LeaseHandler(this, owner));
+        }
+
+        private void closeStatement() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error closing cached statement", e);
+            }
+        }
+    }
+
+    /**
+     * Statement as one borrower sees it: close() gives it back to the cache
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final Entry entry;
+        private final Connection owner;
+        private boolean closed;
+        // Settings survive clearParameters(), so a changed statement is not reused
+        private boolean changed;
+
+        private LeaseHandler(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + entry.statement;
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setMaxFieldSize":
+                case "setQueryTimeout":
+                case "setEscapeProcessing":
+                case "setPoolable":
+                case "setCursorName":
+                case "closeOnCompletion":
+                    changed = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            boolean reusable = !changed;
+            if (reusable) {
+                try {
+                    ResultSet open = entry.statement.getResultSet();
+                    if (open != null) {
+                        open.close();
+                    }
+                    entry.statement.clearParameters();
+                    entry.statement.clearBatch();
+                    entry.statement.clearWarnings();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, "Cached statement could not be reset, closing it", e);
+                    reusable = false;
+                }
+            }
+            giveBack(entry, reusable);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One connection and one transaction for an operation that spans several DAOs.
+ *
+ * <pre>
+ * UnitOfWork.execute(() -> {
+ *     employeeDAO.insertEmployee(employee);
+ *     return credentialsDAO.createCredentials(employee.getEmployeeId(), password);
+ * });
+ * </pre>
+ *
+ * While the work runs, DBConnection.getConnection() on the same thread returns the unit's
+ * connection, so the DAOs join it without changes: their close() leaves it open, their
+ * setAutoCommit() and commit() calls are absorbed, and their rollback() marks the unit
+ * rollback-only. The unit commits once when the work returns and rolls back if it throws
+ * or was marked rollback-only; a unit rolled back for being rollback-only throws
+ * RolledBackException, so the caller cannot mistake it for a commit. A unit started inside
+ * another one joins the outer unit.
+ *
+ * DAO methods that report failure by returning false do not throw, so callers mark the unit
+ * with setRollbackOnly() when such a result should undo the operation. In-memory updates that
+ * must only happen once the data is committed are registered with afterCommit().
+ */
+public final class UnitOfWork {
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Thrown by execute() and run() when the work returned normally but the unit was
+     * marked rollback-only, so nothing was committed
+     */
+    public static class RolledBackException extends RuntimeException {
+        public RolledBackException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Work run inside a unit
+     */
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    /**
+     * Work without a result run inside a unit
+     */
+    @FunctionalInterface
+    public interface VoidWork<E extends Exception> {
+        void execute() throws E;
+    }
+
+    private final Connection connection;
+    private final Connection joinedConnection;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private boolean rollbackOnly;
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+        this.joinedConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new JoinedConnectionHandler());
+    }
+
+    /**
+     * Runs the work in a transaction and commits it once, or joins the unit already running
+     * @return the work's result
+     * @throws E whatever the work throws, after the transaction was rolled back
+     * @throws RolledBackException if the unit was marked rollback-only and rolled back
+     */
+    public static <T, E extends Exception> T execute(Work<T, E> work) throws E {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            try {
+                return work.execute();
+            } catch (Exception | Error e) {
+                current.rollbackOnly = true;
+                throw e;
+            }
+        }
+
+        UnitOfWork unit = begin();
+        CURRENT.set(unit);
+        T result;
+        try {
+            result = work.execute();
+        } catch (Exception | Error e) {
+            unit.rollback();
+            throw e;
+        } finally {
+            CURRENT.remove();
+        }
+        unit.finish();
+        return result;
+    }
+
+    /**
+     * Same as execute() for work without a result
+     */
+    public static <E extends Exception> void run(VoidWork<E> work) throws E {
+        execute(() -> {
+            work.execute();
+            return null;
+        });
+    }
+
+    /**
+     * @return true if the current thread is running a unit of work
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Makes the current unit roll back instead of committing; no effect outside a unit
+     */
+    public static void setRollbackOnly() {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            current.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Runs the action once the current unit has committed, or right away outside a unit.
+     * Actions of a unit that rolls back are dropped.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            current.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    // Connection handed to the DAOs while the unit runs, null outside a unit
+    static Connection currentConnection() {
+        UnitOfWork current = CURRENT.get();
+        return current != null ? current.joinedConnection : null;
+    }
+
+    private static UnitOfWork begin() {
+        try {
+            // Always the primary: a unit writes, even when started inside a read scope
+            Connection connection = DBConnection.getPrimaryConnection();
+            try {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                DBConnection.closeConnection(connection);
+                throw e;
+            }
+            return new UnitOfWork(connection);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "❌ Could not start unit of work", e);
+            throw new RuntimeException("Failed to start unit of work", e);
+        }
+    }
+
+    private void finish() {
+        if (rollbackOnly) {
+            LOGGER.info("🔄 Unit of work marked rollback-only, rolling back");
+            rollback();
+            throw new RolledBackException("Unit of work was marked rollback-only and rolled back");
+        }
+
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "❌ Error committing unit of work", e);
+            rollback();
+            throw new RuntimeException("Failed to commit unit of work", e);
+        }
+        close();
+
+        for (Runnable action : afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "⚠️ After-commit action failed", e);
+            }
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Error rolling back unit of work", e);
+        }
+        close();
+    }
+
+    private void close() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error restoring autocommit", e);
+        }
+        DBConnection.closeConnection(connection);
+    }
+
+    /**
+     * The unit's connection as the DAOs see it: transaction control stays with the unit
+     */
+    private final class JoinedConnectionHandler implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "setAutoCommit":
+                    return null;
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "UnitOfWork" + connection;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package view;
 
 import model.Employee;
+import model.LeaveBalance;
+import model.LeaveRequest;
+import service.LeaveBalanceService;
+import service.PunchIngestionService;
 import util.PositionRoleMapper;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * Professional Employee Dashboard - Self-Service Portal
@@ -18,6 +25,9 @@ public class EmployeeDashboard extends JFrame {
     private JLabel statusLabel;
     private JLabel timeLabel;
     private Timer clockTimer;
+    // This year's leave balances per leave type, read once from the leave ledger
+    private volatile Map<String, LeaveBalance> leaveBalances = Collections.emptyMap();
+    private boolean leaveBalancesLoaded;
     
     // Color scheme for professional look
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
@@ -196,24 +206,25 @@ public class EmployeeDashboard extends JFrame {
         return headerPanel;
     }
     
+    // ENHANCED: tabs are built on first selection; the leave balances they show load in the background
     private JTabbedPane createContentTabs() {
-        JTabbedPane tabbedPane = new JTabbedPane();
+        LazyTabbedPane tabbedPane = new LazyTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         
         // Dashboard Tab
-        tabbedPane.addTab("🏠 Dashboard", createDashboardTab());
+        tabbedPane.addLazyTab("🏠 Dashboard", () -> loadLeaveBalances(false), balances -> createDashboardTab());
         
         // My Information Tab  
-        tabbedPane.addTab("👤 My Information", createMyInfoTab());
+        tabbedPane.addLazyTab("👤 My Information", this::createMyInfoTab);
         
         // Attendance Tab
-        tabbedPane.addTab("🕐 Attendance", createAttendanceTab());
+        tabbedPane.addLazyTab("🕐 Attendance", this::createAttendanceTab);
         
         // Payroll Tab
-        tabbedPane.addTab("💰 Payroll", createPayrollTab());
+        tabbedPane.addLazyTab("💰 Payroll", this::createPayrollTab);
         
         // Leave Tab
-        tabbedPane.addTab("📅 Leave", createLeaveTab());
+        tabbedPane.addLazyTab("📅 Leave", () -> loadLeaveBalances(false), balances -> createLeaveTab());
         
         return tabbedPane;
     }
@@ -229,7 +240,7 @@ public class EmployeeDashboard extends JFrame {
         
         statsPanel.add(createStatCard("📊 This Month", "22 Days", "Days Worked", SUCCESS_COLOR));
         statsPanel.add(createStatCard("⏰ Today", "8.5 hrs", "Hours Logged", PRIMARY_COLOR));
-        statsPanel.add(createStatCard("📅 Leave", "12 Days", "Available", new Color(155, 89, 182)));
+        statsPanel.add(createStatCard("📅 Leave", formatLeaveBalance(LeaveRequest.ANNUAL_LEAVE) + " Days", "Available", new Color(155, 89, 182)));
         statsPanel.add(createStatCard("💰 Salary", "₱" + String.format("%,.2f", currentEmployee.getBasicSalary()), "Monthly", new Color(230, 126, 34)));
         
         // Recent Activity Panel
@@ -362,8 +373,8 @@ public class EmployeeDashboard extends JFrame {
         clockPanel.setBackground(Color.WHITE);
         clockPanel.setBorder(BorderFactory.createTitledBorder("Time Clock"));
         
-        JButton clockInBtn = createLargeActionButton("🕐 Clock In", "Record your arrival", SUCCESS_COLOR, this::clockInOut);
-        JButton clockOutBtn = createLargeActionButton("🕕 Clock Out", "Record your departure", ACCENT_COLOR, this::clockInOut);
+        JButton clockInBtn = createLargeActionButton("🕐 Clock In", "Record your arrival", SUCCESS_COLOR, () -> recordPunch("Clock in"));
+        JButton clockOutBtn = createLargeActionButton("🕕 Clock Out", "Record your departure", ACCENT_COLOR, () -> recordPunch("Clock out"));
         
         clockPanel.add(clockInBtn);
         clockPanel.add(clockOutBtn);
@@ -472,10 +483,10 @@ public class EmployeeDashboard extends JFrame {
         JPanel balancePanel = new JPanel(new GridLayout(1, 4, 15, 0));
         balancePanel.setOpaque(false);
         
-        balancePanel.add(createStatCard("🏖️ Vacation", "12", "Days Available", new Color(52, 152, 219)));
-        balancePanel.add(createStatCard("🤒 Sick Leave", "5", "Days Available", new Color(231, 76, 60)));
-        balancePanel.add(createStatCard("🚨 Emergency", "3", "Days Available", new Color(230, 126, 34)));
-        balancePanel.add(createStatCard("📅 Total Used", "8", "Days This Year", new Color(155, 89, 182)));
+        balancePanel.add(createStatCard("🏖️ Vacation", formatLeaveBalance(LeaveRequest.ANNUAL_LEAVE), "Days Available", new Color(52, 152, 219)));
+        balancePanel.add(createStatCard("🤒 Sick Leave", formatLeaveBalance(LeaveRequest.SICK_LEAVE), "Days Available", new Color(231, 76, 60)));
+        balancePanel.add(createStatCard("🚨 Emergency", formatLeaveBalance(LeaveRequest.EMERGENCY_LEAVE), "Days Available", new Color(230, 126, 34)));
+        balancePanel.add(createStatCard("📅 Total Used", formatTotalLeaveUsed(), "Days This Year", new Color(155, 89, 182)));
         
         // Leave Request Form
         JPanel requestPanel = new JPanel(new BorderLayout());
@@ -697,9 +708,22 @@ public class EmployeeDashboard extends JFrame {
     }
     
     private void clockInOut() {
+        recordPunch("Time");
+    }
+
+    // The punch is queued and written in the background; the first punch of the day
+    // becomes the log in and the last one the log out
+    private void recordPunch(String action) {
         LocalDateTime now = LocalDateTime.now();
         String timeString = now.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
-        showMessage("Time Clock", "Time recorded: " + timeString);
+        try {
+            PunchIngestionService.getInstance().recordPunch(currentEmployee.getEmployeeId(), now);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Could not record punch: " + e.getMessage(),
+                    "Time Clock", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        showMessage("Time Clock", action + " recorded: " + timeString);
         statusLabel.setText("Last clock action: " + timeString);
     }
     
@@ -720,7 +744,63 @@ public class EmployeeDashboard extends JFrame {
     }
     
     private void viewLeaveBalance() {
-        showMessage("Leave Balance", "Displaying your leave credits...");
+        statusLabel.setText("Loading leave balances...");
+        new SwingWorker<Map<String, LeaveBalance>, Void>() {
+            @Override
+            protected Map<String, LeaveBalance> doInBackground() {
+                return loadLeaveBalances(true);
+            }
+
+            @Override
+            protected void done() {
+                showLeaveBalances();
+            }
+        }.execute();
+    }
+
+    private void showLeaveBalances() {
+        if (leaveBalances.isEmpty()) {
+            statusLabel.setText("Ready");
+            showMessage("Leave Balance", "Leave balances are not available right now.");
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Leave balances for " + LocalDate.now().getYear() + ":\n\n");
+        for (LeaveBalance balance : leaveBalances.values()) {
+            message.append(String.format("%-10s  %5.1f available  (%.1f entitled, %.1f used)%n",
+                    balance.getLeaveType(), balance.getBalanceDays(), balance.getEntitledDays(), balance.getUsedDays()));
+        }
+        JOptionPane.showMessageDialog(this, message.toString(), "Leave Balance", JOptionPane.INFORMATION_MESSAGE);
+        statusLabel.setText("Leave balances updated");
+    }
+
+    // Reads the balances the first time they are needed, or again when refresh is set; runs off the EDT
+    private synchronized Map<String, LeaveBalance> loadLeaveBalances(boolean refresh) {
+        if (refresh || !leaveBalancesLoaded) {
+            try {
+                leaveBalances = new LeaveBalanceService().getBalances(currentEmployee, LocalDate.now().getYear());
+                leaveBalancesLoaded = true;
+            } catch (Exception e) {
+                System.err.println("Warning: Could not load leave balances: " + e.getMessage());
+            }
+        }
+        return leaveBalances;
+    }
+
+    private String formatLeaveBalance(String leaveType) {
+        LeaveBalance balance = leaveBalances.get(leaveType);
+        return balance != null ? String.format("%.0f", balance.getBalanceDays()) : "-";
+    }
+
+    private String formatTotalLeaveUsed() {
+        if (leaveBalances.isEmpty()) {
+            return "-";
+        }
+        double used = 0;
+        for (LeaveBalance balance : leaveBalances.values()) {
+            used += balance.getUsedDays();
+        }
+        return String.format("%.0f", used);
     }
     
     private void viewLeaveHistory() {
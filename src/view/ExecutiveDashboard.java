@@ -3,16 +3,19 @@ package view;
 import model.Employee;
 import model.UserRole;
 import util.PositionRoleMapper;
+import util.ReadReplicaRouter;
 import dao.EmployeeDAO;
 import dao.PayrollDAO;
 import dao.AttendanceDAO;
-import service.PayrollCalculator;
+import dao.MonthlySummaryDAO;
+import model.CompanyMonthlySummary;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -30,7 +33,7 @@ public class ExecutiveDashboard extends JFrame {
     private EmployeeDAO employeeDAO;
     private PayrollDAO payrollDAO;
     private AttendanceDAO attendanceDAO;
-    private PayrollCalculator payrollCalculator;
+    private MonthlySummaryDAO monthlySummaryDAO;
     
     // Color scheme for executive interface
     private static final Color EXECUTIVE_PRIMARY = new Color(44, 62, 80);
@@ -48,7 +51,7 @@ public class ExecutiveDashboard extends JFrame {
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
-        this.payrollCalculator = new PayrollCalculator();
+        this.monthlySummaryDAO = new MonthlySummaryDAO();
         
         initializeExecutiveInterface();
         startClock();
@@ -199,20 +202,32 @@ public class ExecutiveDashboard extends JFrame {
         return headerPanel;
     }
     
+    // ENHANCED: tabs are built on first selection; the database tabs load in the background
     private JTabbedPane createExecutiveContentTabs() {
-        JTabbedPane tabbedPane = new JTabbedPane();
+        LazyTabbedPane tabbedPane = new LazyTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
         
-        tabbedPane.addTab("📊 Company Overview", createCompanyOverviewTab());
-        tabbedPane.addTab("💰 Financial Dashboard", createFinancialTab());
-        tabbedPane.addTab("👥 Workforce Analytics", createWorkforceTab());
-        tabbedPane.addTab("📈 Performance Metrics", createPerformanceTab());
-        tabbedPane.addTab("⚙️ Executive Controls", createControlsTab());
+        tabbedPane.addLazyTab("📊 Company Overview", this::loadCompanyEmployees, this::createCompanyOverviewTab);
+        tabbedPane.addLazyTab("💰 Financial Dashboard", this::buildMonthlyFinancialSummary, this::createFinancialTab);
+        tabbedPane.addLazyTab("👥 Workforce Analytics", this::createWorkforceTab);
+        tabbedPane.addLazyTab("📈 Performance Metrics", this::createPerformanceTab);
+        tabbedPane.addLazyTab("⚙️ Executive Controls", this::createControlsTab);
         
         return tabbedPane;
     }
     
-    private JPanel createCompanyOverviewTab() {
+    /**
+     * Employees for the overview metrics, or null if the database is unavailable
+     */
+    private List<Employee> loadCompanyEmployees() {
+        try {
+            return ReadReplicaRouter.readFromReplica(() -> employeeDAO.getAllEmployees());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    private JPanel createCompanyOverviewTab(List<Employee> allEmployees) {
         JPanel panel = new JPanel(new BorderLayout(15, 15));
         panel.setBackground(BACKGROUND_LIGHT);
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
@@ -221,8 +236,7 @@ public class ExecutiveDashboard extends JFrame {
         JPanel metricsPanel = new JPanel(new GridLayout(2, 4, 15, 15));
         metricsPanel.setOpaque(false);
         
-        try {
-            List<Employee> allEmployees = employeeDAO.getAllEmployees();
+        if (allEmployees != null) {
             int totalEmployees = allEmployees.size();
             long regularEmployees = allEmployees.stream().filter(e -> "Regular".equals(e.getStatus())).count();
             double avgSalary = allEmployees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
@@ -237,7 +251,7 @@ public class ExecutiveDashboard extends JFrame {
             metricsPanel.add(createExecutiveMetricCard("💼 Positions", "18", "Different roles", EXECUTIVE_PRIMARY));
             metricsPanel.add(createExecutiveMetricCard("⭐ Satisfaction", "4.2/5", "Employee rating", EXECUTIVE_WARNING));
             
-        } catch (Exception e) {
+        } else {
             // Fallback metrics if database is unavailable
             metricsPanel.add(createExecutiveMetricCard("👥 Employees", "34", "Total workforce", EXECUTIVE_SUCCESS));
             metricsPanel.add(createExecutiveMetricCard("💰 Payroll", "₱1.5M", "Monthly total", EXECUTIVE_WARNING));
@@ -261,7 +275,7 @@ public class ExecutiveDashboard extends JFrame {
         return panel;
     }
     
-    private JPanel createFinancialTab() {
+    private JPanel createFinancialTab(String financialSummary) {
         JPanel panel = new JPanel(new BorderLayout(15, 15));
         panel.setBackground(BACKGROUND_LIGHT);
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
@@ -270,15 +284,9 @@ public class ExecutiveDashboard extends JFrame {
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
         titleLabel.setForeground(EXECUTIVE_PRIMARY);
         
-        JTextArea contentArea = new JTextArea("Financial analytics and budget tracking will be displayed here.\n\n" +
-                "Features:\n" +
-                "• Monthly payroll costs\n" +
-                "• Department budget allocation\n" +
-                "• Cost per employee analysis\n" +
-                "• Financial forecasting\n" +
-                "• ROI metrics");
+        JTextArea contentArea = new JTextArea(financialSummary);
         contentArea.setEditable(false);
-        contentArea.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        contentArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
         contentArea.setBackground(Color.WHITE);
         contentArea.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
@@ -288,6 +296,36 @@ public class ExecutiveDashboard extends JFrame {
         return panel;
     }
     
+    /**
+     * Last 12 months of payroll cost and attendance, read from the monthly summary tables
+     */
+    private String buildMonthlyFinancialSummary() {
+        try {
+            YearMonth toMonth = YearMonth.now();
+            List<CompanyMonthlySummary> months = monthlySummaryDAO.getCompanyMonthlySummaries(toMonth.minusMonths(11), toMonth);
+            if (months.isEmpty()) {
+                return "No payroll or attendance summaries recorded for the last 12 months.";
+            }
+
+            StringBuilder text = new StringBuilder("Monthly payroll cost and attendance (last 12 months)\n\n");
+            text.append(String.format("%-9s %16s %16s %14s %10s %8s%n",
+                    "Month", "Gross Pay", "Net Pay", "Gov't Contrib", "Days", "Late"));
+            text.append("-".repeat(78)).append("\n");
+            for (CompanyMonthlySummary month : months) {
+                text.append(String.format("%-9s %16s %16s %14s %10d %8d%n",
+                        month.getMonth(),
+                        String.format("₱%,.2f", month.getGrossPay()),
+                        String.format("₱%,.2f", month.getNetPay()),
+                        String.format("₱%,.2f", month.getTotalGovernmentContributions()),
+                        month.getDaysPresent(),
+                        month.getLateCount()));
+            }
+            return text.toString();
+        } catch (Exception e) {
+            return "Financial analytics are unavailable: " + e.getMessage();
+        }
+    }
+    
     private JPanel createWorkforceTab() {
         JPanel panel = new JPanel(new BorderLayout(15, 15));
         panel.setBackground(BACKGROUND_LIGHT);
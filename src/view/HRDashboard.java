@@ -3,9 +3,9 @@ package view;
 import model.Employee;
 import model.UserRole;
 import util.PositionRoleMapper;
+import util.ReadReplicaRouter;
 import dao.EmployeeDAO;
 import dao.AttendanceDAO;
-import service.PayrollCalculator;
 import ui.EmployeeDetailsDialog;
 import ui.PasswordChangeDialog;
 import ui.LeaveManagementDialog;
@@ -13,9 +13,8 @@ import ui.AttendanceManagementDialog;
 import ui.ReportsDialog;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.TableRowSorter;
+import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -24,7 +23,6 @@ import java.awt.event.ActionEvent;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 public class HRDashboard extends JFrame {
     private Employee currentUser;
@@ -49,8 +47,7 @@ public class HRDashboard extends JFrame {
 
     // Dashboard Components
     private JTable employeeTable;
-    private DefaultTableModel employeeTableModel;
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    private PagedEmployeeTableModel employeeTableModel;
     private JTextField searchField;
     private JLabel totalEmployeesLabel;
     private JLabel newEmployeesLabel;
@@ -60,11 +57,12 @@ public class HRDashboard extends JFrame {
     // Services
     private EmployeeDAO employeeDAO;
     private AttendanceDAO attendanceDAO;
-    private PayrollCalculator payrollCalculator;
 
     // Timer for real-time updates
     private Timer dateTimeTimer;
     private Timer metricsTimer;
+    private boolean metricsLoading;
+    private boolean metricsStale;
 
     public HRDashboard(Employee user) {
         this.currentUser = user;
@@ -73,7 +71,6 @@ public class HRDashboard extends JFrame {
         try {
             this.employeeDAO = new EmployeeDAO();
             this.attendanceDAO = new AttendanceDAO();
-            this.payrollCalculator = new PayrollCalculator();
 
             initializeComponents();
             setupLayout();
@@ -140,20 +137,23 @@ public class HRDashboard extends JFrame {
         attendanceRateLabel = new JLabel("0%");
         currentDateTimeLabel = new JLabel();
 
-        // Initialize employee table for dashboard
-        String[] columns = {"ID", "Last Name", "First Name", "Position", "Department", "Status", "Salary"};
-        employeeTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Initialize employee table for dashboard - rows are paged in from the database as they scroll into view
+        employeeTableModel = new PagedEmployeeTableModel(employeeDAO);
 
         employeeTable = new JTable(employeeTableModel);
         setupTableStyling(employeeTable);
 
-        tableSorter = new TableRowSorter<>(employeeTableModel);
-        employeeTable.setRowSorter(tableSorter);
+        // Sorting is done by the query, so header clicks re-query instead of using a row sorter
+        updateSortHint();
+        employeeTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = employeeTable.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    employeeTableModel.toggleSort(employeeTable.convertColumnIndexToModel(column));
+                }
+            }
+        });
 
         // Search field
         searchField = new JTextField(20);
@@ -560,9 +560,8 @@ public class HRDashboard extends JFrame {
         metricsTimer = new Timer(30000, e -> updateMetrics());
         metricsTimer.start();
 
-        // Initial updates
+        // Initial updates - metrics are loaded with the data
         updateDateTime();
-        updateMetrics();
     }
 
     private void updateDateTime() {
@@ -571,34 +570,70 @@ public class HRDashboard extends JFrame {
         currentDateTimeLabel.setText("<html><center>" + dateTimeText.replace("\n", "<br>") + "</center></html>");
     }
 
+    // ENHANCED: the count query runs off the EDT; a request made while one is running reruns it once afterwards
     private void updateMetrics() {
-        try {
-            List<Employee> allEmployees = employeeDAO.getAllEmployees();
-            totalEmployeesLabel.setText(String.valueOf(allEmployees.size()));
+        if (metricsLoading) {
+            metricsStale = true;
+            return;
+        }
+        metricsLoading = true;
+        metricsStale = false;
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return ReadReplicaRouter.readFromReplica(() -> employeeDAO.countEmployees());
+            }
 
-            // Calculate new employees - simplified
-            newEmployeesLabel.setText("+2");
+            @Override
+            protected void done() {
+                metricsLoading = false;
+                try {
+                    totalEmployeesLabel.setText(String.valueOf(get()));
 
-            // Calculate attendance rate (placeholder)
-            attendanceRateLabel.setText("96.8%");
+                    // Calculate new employees - simplified
+                    newEmployeesLabel.setText("+2");
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+                    // Calculate attendance rate (placeholder)
+                    attendanceRateLabel.setText("96.8%");
+
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                if (metricsStale) {
+                    updateMetrics();
+                }
+            }
+        }.execute();
     }
 
     private void setupEventHandlers() {
         searchField.addActionListener(e -> searchEmployees());
 
+        // Search as you type - each change is matched in the in-memory search index and
+        // loads the first page of matches by ID; waiting for a 150 ms pause in typing
+        // avoids doing that for every keystroke
+        Timer searchDelay = new Timer(150, e -> searchEmployees());
+        searchDelay.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { searchDelay.restart(); }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { searchDelay.restart(); }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { searchDelay.restart(); }
+        });
+
         employeeTable.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
                     int row = employeeTable.getSelectedRow();
                     if (row >= 0) {
-                        int modelRow = employeeTable.convertRowIndexToModel(row);
-                        int employeeId = (Integer) employeeTableModel.getValueAt(modelRow, 0);
-                        Employee employee = employeeDAO.getEmployeeById(employeeId);
+                        Employee selected = employeeTableModel.getEmployeeAt(employeeTable.convertRowIndexToModel(row));
+                        Employee employee = selected != null ? employeeDAO.getEmployeeById(selected.getEmployeeId()) : null;
                         if (employee != null) {
                             showEmployeeDetails(employee);
                         }
@@ -614,24 +649,8 @@ public class HRDashboard extends JFrame {
     }
 
     private void loadEmployeeData() {
-        employeeTableModel.setRowCount(0);
-
         try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(),
-                        emp.getLastName(),
-                        emp.getFirstName(),
-                        emp.getPosition(),
-                        "HR", // Department placeholder
-                        emp.getStatus(),
-                        String.format("₱%,.2f", emp.getBasicSalary())
-                };
-                employeeTableModel.addRow(row);
-            }
-
+            employeeTableModel.refresh();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, 
                     "<html><center><h3>❌ Data Loading Error</h3><p>Error loading employee data: " + e.getMessage() + "</p></center></html>",
@@ -641,36 +660,19 @@ public class HRDashboard extends JFrame {
     }
 
     private void searchEmployees() {
-        String searchTerm = searchField.getText().trim();
-        if (searchTerm.isEmpty()) {
-            loadEmployeeData();
-            return;
-        }
-
-        employeeTableModel.setRowCount(0);
-
-        try {
-            List<Employee> employees = employeeDAO.searchEmployees(searchTerm);
-
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(),
-                        emp.getLastName(),
-                        emp.getFirstName(),
-                        emp.getPosition(),
-                        "HR", // Department placeholder
-                        emp.getStatus(),
-                        String.format("₱%,.2f", emp.getBasicSalary())
-                };
-                employeeTableModel.addRow(row);
-            }
+        // ENHANCED: matches come from the in-memory search index and page in by ID like the full list
+        employeeTableModel.setFilter(searchField.getText());
+        updateSortHint();
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                    "<html><center><h3>❌ Search Error</h3><p>Error searching employees: " + e.getMessage() + "</p></center></html>",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+    // Search results keep their relevance order, so column sorting is off while searching
+    private void updateSortHint() {
+        JTableHeader header = employeeTable.getTableHeader();
+        header.setToolTipText(employeeTableModel.isSortable()
+                ? "Click a column header to sort"
+                : "Search results are ranked by relevance - clear the search to sort by column");
+        header.setCursor(Cursor.getPredefinedCursor(
+                employeeTableModel.isSortable() ? Cursor.HAND_CURSOR : Cursor.DEFAULT_CURSOR));
     }
 
     private void showAddEmployeeDialog() {
@@ -2,6 +2,8 @@ package view;
 
 import model.Employee;
 import model.UserRole;
+import service.AttendanceArchiveService;
+import util.AttendanceTables;
 import util.PositionRoleMapper;
 
 import javax.swing.*;
@@ -47,6 +49,7 @@ public class ITAdminDashboard extends JFrame {
         systemMenu.add(createStyledMenuItem("User Management", "Manage system users", this::manageUsers));
         systemMenu.add(createStyledMenuItem("System Settings", "Configure system", this::configureSystem));
         systemMenu.add(createStyledMenuItem("Database Admin", "Database management", this::manageDatabases));
+        systemMenu.add(createStyledMenuItem("Archive Attendance", "Move closed attendance months to the archive", this::archiveAttendance));
         
         // Monitoring Menu
         JMenu monitoringMenu = createStyledMenu("📊 Monitoring", "System monitoring tools");
@@ -125,6 +128,40 @@ public class ITAdminDashboard extends JFrame {
         showMessage("Database Admin", "Opening database administration tools...");
     }
     
+    // Moves old attendance months off the hot table; runs off the EDT, archived rows stay readable
+    private void archiveAttendance() {
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Move attendance dated before " + AttendanceTables.current().getHotBoundary() +
+                        " to the archive?\nArchived attendance stays visible but can no longer be edited.",
+                "Archive Attendance", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<AttendanceArchiveService.ArchiveResult, Void>() {
+            @Override
+            protected AttendanceArchiveService.ArchiveResult doInBackground() {
+                return new AttendanceArchiveService().archiveClosedMonths();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    AttendanceArchiveService.ArchiveResult result = get();
+                    showMessage("Archive Attendance", result.getRecordsMoved() +
+                            " attendance records dated before " + result.getBoundary() + " were archived.");
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(ITAdminDashboard.this,
+                            "Attendance archiving failed: " + cause.getMessage(),
+                            "Archive Attendance", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
     private void monitorSystemHealth() {
         showMessage("System Health", "Monitoring system health status...");
     }
@@ -0,0 +1,156 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tabbed pane that builds each tab the first time it is selected.
+ *
+ * Every tab starts as an empty holder panel. Tabs added with a loader show a placeholder
+ * while the loader runs in a SwingWorker; the panel is then built on the EDT from the
+ * loaded data. Only the selected tab is built when the dashboard opens, so the time to
+ * the first paint depends on that tab alone.
+ */
+public class LazyTabbedPane extends JTabbedPane {
+    private static final Logger LOGGER = Logger.getLogger(LazyTabbedPane.class.getName());
+
+    private final List<LazyTab<?>> tabs = new ArrayList<>();
+
+    public LazyTabbedPane() {
+        addChangeListener(e -> buildSelectedTab());
+    }
+
+    /**
+     * Adds a tab whose panel is built on the EDT on first selection
+     */
+    public void addLazyTab(String title, Supplier<? extends Component> builder) {
+        addLazyTab(title, null, data -> builder.get());
+    }
+
+    /**
+     * Adds a tab whose data is loaded off the EDT on first selection
+     * @param loader runs in the background, e.g. the DAO calls of the tab
+     * @param builder builds the panel on the EDT from the loader's result
+     */
+    public <T> void addLazyTab(String title, Callable<T> loader, Function<T, ? extends Component> builder) {
+        LazyTab<T> tab = new LazyTab<>(loader, builder);
+        tabs.add(tab);
+        // The first tab added is selected right away, which builds it
+        addTab(title, tab.holder);
+    }
+
+    /**
+     * Rebuilds a tab that has already been built, e.g. after its data changed
+     */
+    public void reloadTab(int index) {
+        LazyTab<?> tab = tabs.get(index);
+        if (tab.started) {
+            tab.started = false;
+            tab.generation++;
+            if (getSelectedIndex() == index) {
+                tab.build();
+            }
+        }
+    }
+
+    public boolean isTabBuilt(int index) {
+        return tabs.get(index).built;
+    }
+
+    private void buildSelectedTab() {
+        int index = getSelectedIndex();
+        if (index >= 0 && index < tabs.size() && !tabs.get(index).started) {
+            tabs.get(index).build();
+        }
+    }
+
+    private static JComponent createMessagePanel(String message) {
+        JLabel label = new JLabel(message, SwingConstants.CENTER);
+        label.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        label.setForeground(Color.GRAY);
+        return label;
+    }
+
+    private static JComponent createErrorPanel(String message, Runnable retry) {
+        JButton retryButton = new JButton("Retry");
+        retryButton.addActionListener(e -> retry.run());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.setOpaque(false);
+        buttonPanel.add(retryButton);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setOpaque(false);
+        panel.add(createMessagePanel(message), BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private static final class LazyTab<T> {
+        private final Callable<T> loader;
+        private final Function<T, ? extends Component> builder;
+        private final JPanel holder = new JPanel(new BorderLayout());
+        private boolean started;
+        private boolean built;
+        // Bumped by reloadTab so a load still running for the old content is dropped
+        private int generation;
+
+        private LazyTab(Callable<T> loader, Function<T, ? extends Component> builder) {
+            this.loader = loader;
+            this.builder = builder;
+            holder.setOpaque(false);
+        }
+
+        private void build() {
+            started = true;
+            if (loader == null) {
+                show(builder.apply(null), true);
+                return;
+            }
+
+            show(createMessagePanel("⏳ Loading..."), false);
+            final int requestGeneration = generation;
+            new SwingWorker<T, Void>() {
+                @Override
+                protected T doInBackground() throws Exception {
+                    return loader.call();
+                }
+
+                @Override
+                protected void done() {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    try {
+                        show(builder.apply(get()), true);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        LOGGER.log(Level.SEVERE, "❌ Error loading tab", e.getCause());
+                        // The failed tab stays selected, so no change event retries it; the
+                        // Retry button does, as does selecting the tab again after leaving it
+                        started = false;
+                        show(createErrorPanel("❌ Could not load this tab: " + e.getCause().getMessage(),
+                                LazyTab.this::build), false);
+                    }
+                }
+            }.execute();
+        }
+
+        private void show(Component content, boolean finished) {
+            holder.removeAll();
+            holder.add(content, BorderLayout.CENTER);
+            holder.revalidate();
+            holder.repaint();
+            built = finished;
+        }
+    }
+}
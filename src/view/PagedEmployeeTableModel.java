@@ -0,0 +1,331 @@
+package view;
+
+import dao.EmployeeDAO;
+import dao.EmployeeDAO.EmployeeSort;
+import model.Employee;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Employee table model that reads rows from the database one page at a time.
+ *
+ * Only the row count is fetched up front; pages are loaded in the background the
+ * first time the table asks for one of their rows (i.e. when they scroll into view)
+ * and kept in a small LRU cache. Sorting is done by the query, so changing it just
+ * resets the model. The next page is read with keyset pagination from the last row
+ * of the previous page when that row is known, otherwise (jumping with the scrollbar)
+ * with LIMIT/OFFSET.
+ *
+ * A filter is resolved once through the EmployeeSearchIndex (prefix, substring and
+ * multi-word matching) into the ranked list of matching IDs; pages are then loaded
+ * by ID from that list, best match first. Column sorting applies to the unfiltered list
+ * only and is disabled while a filter is set.
+ *
+ * A page that fails to load is retried after a delay that doubles with each consecutive
+ * failure, so a database outage does not turn repaints into a stream of queries. A page
+ * that comes back shorter than expected ends the table there.
+ */
+public class PagedEmployeeTableModel extends AbstractTableModel {
+    private static final Logger LOGGER = Logger.getLogger(PagedEmployeeTableModel.class.getName());
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 20;
+    private static final int RETRY_DELAY_MS = 1000;
+    private static final int MAX_RETRY_DELAY_MS = 30000;
+
+    private static final String[] COLUMNS = {"ID", "Last Name", "First Name", "Position", "Department", "Status", "Salary"};
+    // Sort order pushed to SQL when the matching column header is clicked
+    private static final EmployeeSort[] COLUMN_SORTS = {
+            EmployeeSort.ID, EmployeeSort.NAME, EmployeeSort.FIRST_NAME, EmployeeSort.POSITION,
+            null, EmployeeSort.STATUS, EmployeeSort.SALARY
+    };
+
+    private final EmployeeDAO employeeDAO;
+    private final Map<Integer, List<Employee>> pages = new LinkedHashMap<Integer, List<Employee>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Employee>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Last employee of each page seen so far, the keyset cursor for the page after it
+    private final Map<Integer, Employee> pageEndKeys = new HashMap<>();
+    private final Set<Integer> pendingPages = new HashSet<>();
+    // Pages whose last load failed, with the time before which they are not requested again
+    private final Map<Integer, Long> retryAt = new HashMap<>();
+    private int consecutiveFailures = 0;
+
+    private EmployeeSort sort = EmployeeSort.NAME;
+    private boolean ascending = true;
+    private String filter = "";
+    // Ranked IDs matching the filter, null while unfiltered
+    private List<Integer> matchIds;
+    private int rowCount = 0;
+    // Bumped on every reset so results of loads started before it are dropped
+    private int generation = 0;
+
+    public PagedEmployeeTableModel(EmployeeDAO employeeDAO) {
+        this.employeeDAO = employeeDAO;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Employee emp = getEmployeeAt(rowIndex);
+        if (emp == null) {
+            if (columnIndex != 1 || isPageLoaded(rowIndex)) {
+                return null;
+            }
+            return retryAt.containsKey(rowIndex / PAGE_SIZE) ? "Could not load, retrying..." : "Loading...";
+        }
+
+        switch (columnIndex) {
+            case 0: return emp.getEmployeeId();
+            case 1: return emp.getLastName();
+            case 2: return emp.getFirstName();
+            case 3: return emp.getPosition();
+            case 4: return "HR"; // Department placeholder
+            case 5: return emp.getStatus();
+            case 6: return String.format("₱%,.2f", emp.getBasicSalary());
+            default: return null;
+        }
+    }
+
+    /**
+     * Returns the employee at the given row, or null if its page is still loading
+     */
+    public Employee getEmployeeAt(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            return null;
+        }
+        int page = rowIndex / PAGE_SIZE;
+        List<Employee> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int offset = rowIndex % PAGE_SIZE;
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    private boolean isPageLoaded(int rowIndex) {
+        return pages.containsKey(rowIndex / PAGE_SIZE);
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Whether column headers sort the table; filtered rows stay in relevance order
+     */
+    public boolean isSortable() {
+        return filter.isEmpty();
+    }
+
+    public void setFilter(String filter) {
+        String normalized = filter != null ? filter.trim() : "";
+        if (!normalized.equals(this.filter)) {
+            this.filter = normalized;
+            refresh();
+        }
+    }
+
+    /**
+     * Sorts by the given column; clicking the current sort column again reverses the order.
+     * Columns without a database sort order, and any column while filtered, are ignored.
+     */
+    public void toggleSort(int columnIndex) {
+        if (!isSortable() || columnIndex < 0 || columnIndex >= COLUMN_SORTS.length || COLUMN_SORTS[columnIndex] == null) {
+            return;
+        }
+        EmployeeSort columnSort = COLUMN_SORTS[columnIndex];
+        ascending = columnSort != sort || !ascending;
+        sort = columnSort;
+        refresh();
+    }
+
+    /**
+     * Drops all cached pages and reloads the row count and the first page
+     */
+    public void refresh() {
+        final int requestGeneration = ++generation;
+        pages.clear();
+        pageEndKeys.clear();
+        pendingPages.clear();
+        retryAt.clear();
+        consecutiveFailures = 0;
+
+        final EmployeeSort requestSort = sort;
+        final boolean requestAscending = ascending;
+        final String requestFilter = filter;
+
+        new SwingWorker<List<Employee>, Void>() {
+            private int count;
+            private List<Integer> ids;
+
+            @Override
+            protected List<Employee> doInBackground() {
+                if (!requestFilter.isEmpty()) {
+                    ids = employeeDAO.searchEmployeeIds(requestFilter);
+                    count = ids.size();
+                    return employeeDAO.getEmployeesByIds(pageIds(ids, 0));
+                }
+                count = employeeDAO.countEmployees();
+                return count > 0
+                        ? employeeDAO.getEmployeesPage(requestSort, requestAscending, null, PAGE_SIZE)
+                        : Collections.emptyList();
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                try {
+                    List<Employee> firstPage = get();
+                    matchIds = ids;
+                    rowCount = count;
+                    storePage(0, firstPage);
+                    clampRowCount(0, firstPage);
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "❌ Error loading employee count", e);
+                    matchIds = null;
+                    rowCount = 0;
+                }
+                fireTableDataChanged();
+            }
+        }.execute();
+    }
+
+    private void requestPage(final int page) {
+        Long retryTime = retryAt.get(page);
+        if (retryTime != null && System.currentTimeMillis() < retryTime) {
+            return;
+        }
+        if (!pendingPages.add(page)) {
+            return;
+        }
+
+        final int requestGeneration = generation;
+        final EmployeeSort requestSort = sort;
+        final boolean requestAscending = ascending;
+        final List<Integer> requestIds = matchIds;
+        final Employee after = page > 0 ? pageEndKeys.get(page - 1) : null;
+
+        new SwingWorker<List<Employee>, Void>() {
+            @Override
+            protected List<Employee> doInBackground() {
+                if (requestIds != null) {
+                    return employeeDAO.getEmployeesByIds(pageIds(requestIds, page));
+                }
+                if (page == 0 || after != null) {
+                    return employeeDAO.getEmployeesPage(requestSort, requestAscending, after, PAGE_SIZE);
+                }
+                return employeeDAO.getEmployeesPageAtOffset(requestSort, requestAscending,
+                        page * PAGE_SIZE, PAGE_SIZE);
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                pendingPages.remove(page);
+                List<Employee> rows;
+                try {
+                    rows = get();
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "⚠️ Error loading employee page " + page, e);
+                    scheduleRetry(page);
+                    return;
+                }
+                retryAt.remove(page);
+                consecutiveFailures = 0;
+                storePage(page, rows);
+                if (!clampRowCount(page, rows)) {
+                    firePageUpdated(page);
+                }
+            }
+        }.execute();
+    }
+
+    // Marks the page failed and repaints its rows once the back-off delay is over
+    private void scheduleRetry(int page) {
+        consecutiveFailures++;
+        int delay = (int) Math.min(MAX_RETRY_DELAY_MS,
+                (long) RETRY_DELAY_MS << Math.min(consecutiveFailures - 1, 5));
+        retryAt.put(page, System.currentTimeMillis() + delay);
+
+        final int requestGeneration = generation;
+        javax.swing.Timer retryTimer = new javax.swing.Timer(delay, e -> {
+            if (requestGeneration == generation) {
+                firePageUpdated(page);
+            }
+        });
+        retryTimer.setRepeats(false);
+        retryTimer.start();
+        firePageUpdated(page);
+    }
+
+    private void firePageUpdated(int page) {
+        int firstRow = page * PAGE_SIZE;
+        int lastRow = Math.min(firstRow + PAGE_SIZE, rowCount) - 1;
+        if (firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * A short page of the unfiltered list, or the last page of the matches, ends the table:
+     * rows were deleted since the count was read. Shrinks rowCount to the rows that exist.
+     * @return true if the row count changed and the table was told
+     */
+    private boolean clampRowCount(int page, List<Employee> rows) {
+        if (rows.size() >= PAGE_SIZE) {
+            return false;
+        }
+        boolean lastMatchPage = matchIds != null && (page + 1) * PAGE_SIZE >= matchIds.size();
+        int actualCount = page * PAGE_SIZE + rows.size();
+        if ((matchIds != null && !lastMatchPage) || actualCount >= rowCount) {
+            return false;
+        }
+        rowCount = actualCount;
+        fireTableDataChanged();
+        return true;
+    }
+
+    private static List<Integer> pageIds(List<Integer> ids, int page) {
+        int from = Math.min(page * PAGE_SIZE, ids.size());
+        return ids.subList(from, Math.min(from + PAGE_SIZE, ids.size()));
+    }
+
+    private void storePage(int page, List<Employee> rows) {
+        pages.put(page, rows);
+        if (!rows.isEmpty()) {
+            pageEndKeys.put(page, rows.get(rows.size() - 1));
+        }
+    }
+}
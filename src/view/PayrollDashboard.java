@@ -1,24 +1,41 @@
 package view;
 
 import model.Employee;
+import model.EmployeeSummary;
 import model.UserRole;
 import util.PositionRoleMapper;
 import dao.EmployeeDAO;
 import dao.PayrollDAO;
+import service.BulkPayslipService;
 import service.PayrollCalculator;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
 
 /**
  * Payroll Dashboard for payroll administrators
  * Specialized interface for payroll processing and management
  */
 public class PayrollDashboard extends JFrame {
+    private static final Logger LOGGER = Logger.getLogger(PayrollDashboard.class.getName());
+    // Failed employee IDs listed in the Calculate Payroll summary; the rest are in the log
+    private static final int MAX_FAILED_IDS_SHOWN = 20;
+
     private Employee currentUser;
     private UserRole userRole;
     private JLabel timeLabel;
@@ -27,6 +44,7 @@ public class PayrollDashboard extends JFrame {
     // Services
     private EmployeeDAO employeeDAO;
     private PayrollDAO payrollDAO;
+    // Created on the first payroll run
     private PayrollCalculator payrollCalculator;
     
     // Color scheme for payroll interface
@@ -43,7 +61,6 @@ public class PayrollDashboard extends JFrame {
         // Initialize services
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
-        this.payrollCalculator = new PayrollCalculator();
         
         initializePayrollInterface();
         startClock();
@@ -87,6 +104,7 @@ public class PayrollDashboard extends JFrame {
         reportsMenu.add(createStyledMenuItem("Government Contributions", "SSS, PhilHealth, Pag-IBIG reports", this::generateGovContributions));
         reportsMenu.add(createStyledMenuItem("Tax Reports", "BIR tax reports", this::generateTaxReports));
         reportsMenu.add(createStyledMenuItem("Payroll Summary", "Executive payroll summary", this::generatePayrollSummary));
+        reportsMenu.add(createStyledMenuItem("Payroll History Export", "Export an employee's payroll history to CSV", this::exportPayrollHistory));
         reportsMenu.addSeparator();
         reportsMenu.add(createStyledMenuItem("Custom Reports", "Build custom reports", this::buildCustomReports));
         
@@ -201,15 +219,16 @@ public class PayrollDashboard extends JFrame {
         return headerPanel;
     }
     
+    // ENHANCED: tabs are built on first selection
     private JTabbedPane createPayrollContentTabs() {
-        JTabbedPane tabbedPane = new JTabbedPane();
+        LazyTabbedPane tabbedPane = new LazyTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
         
-        tabbedPane.addTab("💰 Payroll Processing", createPayrollProcessingTab());
-        tabbedPane.addTab("👥 Employee Data", createEmployeeDataTab());
-        tabbedPane.addTab("📊 Reports", createReportsTab());
-        tabbedPane.addTab("📋 Compliance", createComplianceTab());
-        tabbedPane.addTab("🔧 Tools", createToolsTab());
+        tabbedPane.addLazyTab("💰 Payroll Processing", this::createPayrollProcessingTab);
+        tabbedPane.addLazyTab("👥 Employee Data", this::createEmployeeDataTab);
+        tabbedPane.addLazyTab("📊 Reports", this::createReportsTab);
+        tabbedPane.addLazyTab("📋 Compliance", this::createComplianceTab);
+        tabbedPane.addLazyTab("🔧 Tools", this::createToolsTab);
         
         return tabbedPane;
     }
@@ -459,11 +478,176 @@ public class PayrollDashboard extends JFrame {
     
     // Action methods
     private void calculatePayroll() {
-        showMessage("Calculate Payroll", "Opening payroll calculation interface...");
+        String period = JOptionPane.showInputDialog(this,
+            "Calculate and save payroll for all employees.\nPay period (yyyy-MM):",
+            YearMonth.now().toString());
+        if (period == null || period.trim().isEmpty()) {
+            return;
+        }
+
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(period.trim());
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Invalid pay period. Please use the format yyyy-MM.",
+                "Calculate Payroll", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Calculating payroll for " + yearMonth, "", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+
+        if (payrollCalculator == null) {
+            payrollCalculator = new PayrollCalculator();
+        }
+        SwingWorker<List<Integer>, Void> worker = new SwingWorker<>() {
+            private int total;
+
+            @Override
+            protected List<Integer> doInBackground() {
+                LocalDate periodStart = yearMonth.atDay(1);
+                LocalDate periodEnd = yearMonth.atEndOfMonth();
+                List<EmployeeSummary> employees = employeeDAO.getEmployeeSummaries();
+                List<Integer> failedIds = new ArrayList<>();
+                total = employees.size();
+
+                // Each payroll and its deduction lines are saved in one transaction
+                payrollCalculator.preloadPeriod(periodStart, periodEnd);
+                try {
+                    for (int i = 0; i < employees.size(); i++) {
+                        int employeeId = employees.get(i).getEmployeeId();
+                        try {
+                            payrollCalculator.calculateAndSavePayroll(employeeId, periodStart, periodEnd);
+                        } catch (PayrollCalculator.PayrollCalculationException e) {
+                            LOGGER.warning(String.format("⚠️ Payroll not saved for employee %d: %s",
+                                employeeId, e.getMessage()));
+                            failedIds.add(employeeId);
+                        }
+                        setProgress((i + 1) * 100 / employees.size());
+                    }
+                } finally {
+                    payrollCalculator.clearPreloadedPeriod();
+                }
+                return failedIds;
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                try {
+                    List<Integer> failedIds = get();
+                    showMessage("Calculate Payroll", String.format(
+                        "Saved payroll for %d of %d employees for %s.%s", total - failedIds.size(), total, yearMonth,
+                        failedIds.isEmpty() ? "" : "\nNot saved (already processed or could not be calculated): "
+                            + describeFailedIds(failedIds)));
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Payroll calculation failed: " + e.getMessage(),
+                        "Calculate Payroll", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                int progress = (Integer) evt.getNewValue();
+                monitor.setProgress(progress);
+                monitor.setNote(progress + "% complete");
+            }
+        });
+        worker.execute();
     }
     
+    private static String describeFailedIds(List<Integer> failedIds) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < Math.min(failedIds.size(), MAX_FAILED_IDS_SHOWN); i++) {
+            if (i > 0) {
+                ids.append(", ");
+            }
+            ids.append(failedIds.get(i));
+        }
+        if (failedIds.size() > MAX_FAILED_IDS_SHOWN) {
+            ids.append(" and ").append(failedIds.size() - MAX_FAILED_IDS_SHOWN).append(" more - see the log");
+        }
+        return ids.toString();
+    }
+
     private void generatePayslips() {
-        showMessage("Generate Payslips", "Creating employee payslips...");
+        String period = JOptionPane.showInputDialog(this,
+            "Generate payslips for all employees.\nPay period (yyyy-MM):",
+            YearMonth.now().toString());
+        if (period == null || period.trim().isEmpty()) {
+            return;
+        }
+
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(period.trim());
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Invalid pay period. Please use the format yyyy-MM.",
+                "Generate Payslips", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("reports/output/Payslips_" + yearMonth + ".zip"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File archiveFile = chooser.getSelectedFile();
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "Generating payslips for " + yearMonth, "", 0, 100);
+        monitor.setMillisToDecideToPopup(0);
+
+        SwingWorker<BulkPayslipService.BulkPayslipResult, Void> worker = new SwingWorker<>() {
+            @Override
+            protected BulkPayslipService.BulkPayslipResult doInBackground() {
+                return new BulkPayslipService().generatePayslipArchive(
+                    yearMonth.atDay(1), yearMonth.atEndOfMonth(), archiveFile,
+                    (done, total) -> setProgress(total > 0 ? done * 100 / total : 100),
+                    this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                if (isCancelled()) {
+                    showMessage("Generate Payslips", "Payslip generation was cancelled. No archive was written.");
+                    return;
+                }
+                try {
+                    BulkPayslipService.BulkPayslipResult result = get();
+                    String message = String.format("Generated %d of %d payslips in %.1f seconds.%s%nArchive: %s",
+                        result.getGeneratedCount(), result.getTotalEmployees(), result.getElapsedMillis() / 1000.0,
+                        result.getFailedCount() > 0
+                            ? "\n" + result.getFailedCount() + " failed - see index.csv in the archive." : "",
+                        result.getArchiveFile().getAbsolutePath());
+                    showMessage("Generate Payslips", message);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Bulk payslip generation failed: " + e.getMessage(),
+                        "Generate Payslips", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                int progress = (Integer) evt.getNewValue();
+                monitor.setProgress(progress);
+                monitor.setNote(progress + "% complete");
+            }
+        });
+        // The monitor only records the Cancel click; polled so a cancel is seen even before the first payslip
+        Timer cancelCheck = new Timer(200, null);
+        cancelCheck.addActionListener(e -> {
+            if (worker.isDone()) {
+                cancelCheck.stop();
+            } else if (monitor.isCanceled()) {
+                cancelCheck.stop();
+                worker.cancel(false);
+            }
+        });
+        cancelCheck.start();
+        worker.execute();
     }
     
     private void reviewPayroll() {
@@ -510,6 +694,65 @@ public class PayrollDashboard extends JFrame {
         showMessage("Payroll Summary", "Creating payroll summary...");
     }
     
+    private void exportPayrollHistory() {
+        String input = JOptionPane.showInputDialog(this, "Employee ID:", "Payroll History Export",
+            JOptionPane.QUESTION_MESSAGE);
+        if (input == null || input.trim().isEmpty()) {
+            return;
+        }
+
+        int employeeId;
+        try {
+            employeeId = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid employee ID.",
+                "Payroll History Export", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("reports/output/Payroll_History_" + employeeId + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+
+        // History rows are streamed straight to the file instead of being listed first
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                int[] count = {0};
+                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+                    writer.println("Payroll ID,Period Start,Period End,Days Worked,Gross Pay,SSS,PhilHealth,Pag-IBIG,Tax,Total Deductions,Net Pay");
+                    payrollDAO.forEachPayrollByEmployeeId(employeeId, payroll -> {
+                        writer.println(String.format("%d,%s,%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                            payroll.getPayrollId(), payroll.getStartDateAsLocalDate(), payroll.getEndDateAsLocalDate(),
+                            payroll.getDaysWorked(), payroll.getGrossPay(), payroll.getSss(), payroll.getPhilhealth(),
+                            payroll.getPagibig(), payroll.getTax(), payroll.getTotalDeductions(), payroll.getNetPay()));
+                        count[0]++;
+                    });
+                    if (writer.checkError()) {
+                        throw new IOException("Error writing " + file.getName());
+                    }
+                }
+                return count[0];
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    showMessage("Payroll History Export",
+                        "Exported " + get() + " payroll records for employee " + employeeId + " to:\n" + file.getAbsolutePath());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Payroll history export failed: " + cause.getMessage(),
+                        "Payroll History Export", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     private void buildCustomReports() {
         showMessage("Custom Reports", "Opening custom report builder...");
     }
@@ -0,0 +1,126 @@
+-- Monthly summary tables for MotorPH Payroll System
+-- v_attendance_summary, v_payroll_summary and v_government_contributions recompute
+-- their joins over the raw tables on every read. These tables hold one row per
+-- (employee, month) and are kept current by the DAOs after every attendance or
+-- payroll write (see dao.MonthlySummaryDAO), so analytics read months, not days.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- SUMMARY TABLES
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS attendance_monthly_summary (
+    employee_id INT NOT NULL,
+    summary_month DATE NOT NULL COMMENT 'First day of the month',
+    days_present INT NOT NULL DEFAULT 0,
+    total_minutes INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    undertime_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, summary_month),
+    INDEX idx_attendance_summary_month (summary_month),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS contribution_monthly_summary (
+    employee_id INT NOT NULL,
+    summary_month DATE NOT NULL COMMENT 'First day of the month of period_start',
+    payroll_count INT NOT NULL DEFAULT 0,
+    gross_pay DECIMAL(12,2) NOT NULL DEFAULT 0,
+    total_deductions DECIMAL(12,2) NOT NULL DEFAULT 0,
+    net_pay DECIMAL(12,2) NOT NULL DEFAULT 0,
+    sss DECIMAL(10,2) NOT NULL DEFAULT 0,
+    philhealth DECIMAL(10,2) NOT NULL DEFAULT 0,
+    pagibig DECIMAL(10,2) NOT NULL DEFAULT 0,
+    tax DECIMAL(10,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, summary_month),
+    INDEX idx_contribution_summary_month (summary_month),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- =============================================
+-- INITIAL BACKFILL
+-- Same thresholds as v_attendance_summary (late after 08:15, undertime before 17:00)
+-- =============================================
+
+INSERT INTO attendance_monthly_summary
+    (employee_id, summary_month, days_present, total_minutes, late_count, undertime_count)
+SELECT
+    a.employee_id,
+    DATE_FORMAT(a.date, '%Y-%m-01'),
+    COUNT(*),
+    COALESCE(SUM(TIMESTAMPDIFF(MINUTE, a.log_in, a.log_out)), 0),
+    SUM(CASE WHEN a.log_in > '08:15:00' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN a.log_out < '17:00:00' THEN 1 ELSE 0 END)
+FROM attendance a
+WHERE a.log_in IS NOT NULL
+GROUP BY a.employee_id, DATE_FORMAT(a.date, '%Y-%m-01')
+ON DUPLICATE KEY UPDATE
+    days_present = VALUES(days_present),
+    total_minutes = VALUES(total_minutes),
+    late_count = VALUES(late_count),
+    undertime_count = VALUES(undertime_count);
+
+INSERT INTO contribution_monthly_summary
+    (employee_id, summary_month, payroll_count, gross_pay, total_deductions, net_pay, sss, philhealth, pagibig, tax)
+SELECT
+    p.employee_id,
+    DATE_FORMAT(p.period_start, '%Y-%m-01'),
+    COUNT(*),
+    SUM(p.gross_pay),
+    SUM(p.total_deductions),
+    SUM(p.net_pay),
+    SUM(p.sss),
+    SUM(p.philhealth),
+    SUM(p.pagibig),
+    SUM(p.tax)
+FROM payroll p
+GROUP BY p.employee_id, DATE_FORMAT(p.period_start, '%Y-%m-01')
+ON DUPLICATE KEY UPDATE
+    payroll_count = VALUES(payroll_count),
+    gross_pay = VALUES(gross_pay),
+    total_deductions = VALUES(total_deductions),
+    net_pay = VALUES(net_pay),
+    sss = VALUES(sss),
+    philhealth = VALUES(philhealth),
+    pagibig = VALUES(pagibig),
+    tax = VALUES(tax);
+
+-- =============================================
+-- COMPANY-WIDE MONTHLY VIEW (reads summary rows only)
+-- =============================================
+
+CREATE OR REPLACE VIEW v_monthly_company_summary AS
+SELECT
+    m.summary_month,
+    COALESCE(att.employees_present, 0) AS employees_present,
+    COALESCE(att.days_present, 0) AS days_present,
+    COALESCE(att.total_minutes, 0) / 60.0 AS total_hours,
+    COALESCE(att.late_count, 0) AS late_count,
+    COALESCE(att.undertime_count, 0) AS undertime_count,
+    COALESCE(con.gross_pay, 0) AS gross_pay,
+    COALESCE(con.net_pay, 0) AS net_pay,
+    COALESCE(con.sss, 0) AS sss,
+    COALESCE(con.philhealth, 0) AS philhealth,
+    COALESCE(con.pagibig, 0) AS pagibig,
+    COALESCE(con.tax, 0) AS tax
+FROM (
+    SELECT summary_month FROM attendance_monthly_summary
+    UNION
+    SELECT summary_month FROM contribution_monthly_summary
+) m
+LEFT JOIN (
+    SELECT summary_month, COUNT(*) AS employees_present, SUM(days_present) AS days_present,
+           SUM(total_minutes) AS total_minutes, SUM(late_count) AS late_count,
+           SUM(undertime_count) AS undertime_count
+    FROM attendance_monthly_summary
+    GROUP BY summary_month
+) att ON att.summary_month = m.summary_month
+LEFT JOIN (
+    SELECT summary_month, SUM(gross_pay) AS gross_pay, SUM(net_pay) AS net_pay,
+           SUM(sss) AS sss, SUM(philhealth) AS philhealth, SUM(pagibig) AS pagibig, SUM(tax) AS tax
+    FROM contribution_monthly_summary
+    GROUP BY summary_month
+) con ON con.summary_month = m.summary_month;
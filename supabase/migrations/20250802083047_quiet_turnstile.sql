@@ -0,0 +1,62 @@
+-- One attendance row per employee per day for MotorPH Payroll System
+-- Punch ingestion (service.PunchIngestionService) writes attendance with
+-- INSERT ... ON DUPLICATE KEY UPDATE, which needs a unique key on (employee_id, date).
+-- A clock-in is stored before the matching clock-out arrives, so log_out becomes nullable.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- REMOVE DUPLICATE DAYS (keep the earliest row of each day)
+-- =============================================
+
+-- The kept row takes the earliest log in and latest log out of all rows of its day,
+-- so no punch is lost when the others are deleted
+UPDATE attendance keep
+JOIN (
+    SELECT employee_id, date, MIN(id) AS keep_id, MIN(log_in) AS first_in, MAX(log_out) AS last_out
+    FROM attendance
+    GROUP BY employee_id, date
+    HAVING COUNT(*) > 1
+) day ON day.keep_id = keep.id
+SET keep.log_in = day.first_in,
+    keep.log_out = day.last_out;
+
+DELETE a
+FROM attendance a
+JOIN attendance keep
+  ON keep.employee_id = a.employee_id
+ AND keep.date = a.date
+ AND keep.id < a.id;
+
+-- =============================================
+-- UNIQUE KEY AND NULLABLE LOG OUT
+-- =============================================
+
+ALTER TABLE attendance
+    MODIFY log_out TIME NULL,
+    ADD UNIQUE KEY uk_attendance_employee_date (employee_id, date);
+
+-- The unique key covers the same columns
+DROP INDEX idx_attendance_month ON attendance;
+
+-- =============================================
+-- RESYNC MONTHLY SUMMARY AFTER DUPLICATE REMOVAL
+-- =============================================
+
+INSERT INTO attendance_monthly_summary
+    (employee_id, summary_month, days_present, total_minutes, late_count, undertime_count)
+SELECT
+    a.employee_id,
+    DATE_FORMAT(a.date, '%Y-%m-01'),
+    COUNT(*),
+    COALESCE(SUM(TIMESTAMPDIFF(MINUTE, a.log_in, a.log_out)), 0),
+    SUM(CASE WHEN a.log_in > '08:15:00' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN a.log_out < '17:00:00' THEN 1 ELSE 0 END)
+FROM attendance a
+WHERE a.log_in IS NOT NULL
+GROUP BY a.employee_id, DATE_FORMAT(a.date, '%Y-%m-01')
+ON DUPLICATE KEY UPDATE
+    days_present = VALUES(days_present),
+    total_minutes = VALUES(total_minutes),
+    late_count = VALUES(late_count),
+    undertime_count = VALUES(undertime_count);
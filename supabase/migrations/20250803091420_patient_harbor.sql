@@ -0,0 +1,72 @@
+-- Leave balance ledger for MotorPH Payroll System
+-- leave_ledger is append-only: every accrual, consumption (approved leave), reversal
+-- (approval withdrawn or approved leave deleted) and manual adjustment is a row.
+-- leave_balance holds the running totals per (employee, leave type, year) and is
+-- updated in the same transaction as each ledger row (see dao.LeaveLedgerDAO),
+-- so "days remaining" is a primary-key lookup instead of a sum over leave_request.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- LEDGER AND BALANCE TABLES
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS leave_ledger (
+    entry_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee_id INT NOT NULL,
+    leave_type VARCHAR(50) NOT NULL,
+    leave_year SMALLINT NOT NULL,
+    entry_type ENUM('Accrual', 'Consumption', 'Reversal', 'Adjustment') NOT NULL,
+    days DECIMAL(6,2) NOT NULL COMMENT 'Positive adds to the balance, negative uses it',
+    leave_id INT NULL COMMENT 'Leave request behind a consumption or reversal',
+    note VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_leave_ledger_balance (employee_id, leave_year, leave_type),
+    INDEX idx_leave_ledger_request (leave_id),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS leave_balance (
+    employee_id INT NOT NULL,
+    leave_type VARCHAR(50) NOT NULL,
+    leave_year SMALLINT NOT NULL,
+    entitled_days DECIMAL(6,2) NOT NULL DEFAULT 0 COMMENT 'Accruals and adjustments',
+    used_days DECIMAL(6,2) NOT NULL DEFAULT 0 COMMENT 'Consumption net of reversals',
+    balance_days DECIMAL(6,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, leave_year, leave_type),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- =============================================
+-- BACKFILL CONSUMPTION FROM APPROVED LEAVE REQUESTS
+-- Leaves crossing a year boundary are split into one entry per year, as the
+-- application does for new ones; y.n is the year offset from the start date
+-- (leaves spanning up to four calendar years). Accruals are posted by the
+-- application the first time a year's balance is read.
+-- =============================================
+
+INSERT INTO leave_ledger (employee_id, leave_type, leave_year, entry_type, days, leave_id, note)
+SELECT lr.employee_id, lr.leave_type, YEAR(lr.start_date) + y.n, 'Consumption',
+       -(DATEDIFF(LEAST(lr.end_date, MAKEDATE(YEAR(lr.start_date) + y.n + 1, 1) - INTERVAL 1 DAY),
+                  GREATEST(lr.start_date, MAKEDATE(YEAR(lr.start_date) + y.n, 1))) + 1),
+       lr.leave_id, 'Backfill of approved leave'
+FROM leave_request lr
+JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3) y
+  ON YEAR(lr.start_date) + y.n <= YEAR(lr.end_date)
+WHERE lr.status = 'Approved'
+  AND lr.leave_type IS NOT NULL
+  AND lr.start_date IS NOT NULL
+  AND lr.end_date IS NOT NULL;
+
+INSERT INTO leave_balance (employee_id, leave_type, leave_year, entitled_days, used_days, balance_days)
+SELECT employee_id, leave_type, leave_year,
+       SUM(CASE WHEN entry_type IN ('Accrual', 'Adjustment') THEN days ELSE 0 END),
+       -SUM(CASE WHEN entry_type IN ('Consumption', 'Reversal') THEN days ELSE 0 END),
+       SUM(days)
+FROM leave_ledger
+GROUP BY employee_id, leave_type, leave_year
+ON DUPLICATE KEY UPDATE
+    entitled_days = VALUES(entitled_days),
+    used_days = VALUES(used_days),
+    balance_days = VALUES(balance_days);
@@ -0,0 +1,10 @@
+-- Covering index for approved overtime aggregates in MotorPH Payroll System
+-- Payroll sums approved overtime hours per employee (dao.OvertimeDAO.getApprovedOvertimeHours)
+-- and, for bulk runs, for all employees in one grouped query
+-- (getApprovedOvertimeHoursByEmployee). With hours in the index both are answered
+-- from the index alone; the grouped query reads it in employee_id order, so the
+-- GROUP BY needs no temporary table.
+
+USE aoopdatabase_payroll;
+
+CREATE INDEX idx_overtime_employee_date_approved ON overtime(employee_id, date, approved, hours);
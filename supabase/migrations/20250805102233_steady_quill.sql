@@ -0,0 +1,13 @@
+-- Itemized payroll deductions for MotorPH Payroll System
+-- Each saved payroll writes its late, undertime, unpaid leave, SSS, PhilHealth,
+-- Pag-IBIG and tax lines to deductions in the same transaction as the payroll row
+-- (dao.PayrollDAO.insertPayrollWithDeductions). payroll_id links the lines to that
+-- row; manually entered deductions keep it NULL.
+
+USE aoopdatabase_payroll;
+
+ALTER TABLE deductions
+    ADD COLUMN payroll_id INT NULL,
+    ADD INDEX idx_deductions_payroll (payroll_id),
+    ADD CONSTRAINT fk_deductions_payroll
+        FOREIGN KEY (payroll_id) REFERENCES payroll(payroll_id) ON DELETE CASCADE;
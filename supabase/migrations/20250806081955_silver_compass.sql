@@ -0,0 +1,56 @@
+-- Reference data versioning for MotorPH Payroll System
+-- util.ReferenceDataCache holds positions, employment statuses, departments and the
+-- position -> role mapping in memory. Every change to those tables bumps
+-- reference_data_version, which service.ReferenceDataService polls to know when to reload.
+-- positions.user_role assigns a role (a model.UserRole name such as 'PAYROLL_ADMIN') to a
+-- position without a code change; when NULL the built-in util.PositionRoleMapper mapping applies.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- ROLE PER POSITION
+-- =============================================
+
+ALTER TABLE positions
+    ADD COLUMN user_role VARCHAR(30) NULL COMMENT 'model.UserRole name, overrides the built-in mapping';
+
+-- Make sure every position in use is listed
+INSERT INTO positions (position_title)
+SELECT DISTINCT e.position
+FROM employees e
+WHERE e.position IS NOT NULL
+  AND e.position <> ''
+  AND NOT EXISTS (SELECT 1 FROM positions p WHERE p.position_title = e.position);
+
+-- =============================================
+-- VERSION COUNTER
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS reference_data_version (
+    id TINYINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 1,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+INSERT IGNORE INTO reference_data_version (id, version) VALUES (1, 1);
+
+CREATE TRIGGER trg_positions_insert_version AFTER INSERT ON positions
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER trg_positions_update_version AFTER UPDATE ON positions
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER trg_positions_delete_version AFTER DELETE ON positions
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_employee_status_insert_version AFTER INSERT ON employee_status
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER trg_employee_status_update_version AFTER UPDATE ON employee_status
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER trg_employee_status_delete_version AFTER DELETE ON employee_status
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+
+CREATE TRIGGER trg_departments_insert_version AFTER INSERT ON departments
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER trg_departments_update_version AFTER UPDATE ON departments
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
+CREATE TRIGGER trg_departments_delete_version AFTER DELETE ON departments
+FOR EACH ROW UPDATE reference_data_version SET version = version + 1 WHERE id = 1;
@@ -0,0 +1,97 @@
+-- Attendance cold archive for MotorPH Payroll System
+-- Months older than attendance.hot.months (application.properties, default 24) are moved
+-- from attendance to attendance_archive by service.AttendanceArchiveService, in batches of
+-- short transactions, so the hot table and its indexes only hold the recent months that
+-- payroll runs, imports and the attendance screens work on. util.AttendanceTables makes
+-- dao.AttendanceDAO read both tables when a query reaches before the hot boundary.
+-- An archive table rather than RANGE partitioning on date: MySQL does not allow foreign
+-- keys on partitioned tables, and the partition column would have to join the primary key.
+-- Rows keep their ids; attendance_monthly_summary is unaffected since rows are only moved.
+-- attendance_archive must keep the columns of attendance in the same order (the archive
+-- job copies rows with INSERT ... SELECT *); mirror any later ALTER TABLE attendance here.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- DATE INDEX
+-- =============================================
+
+-- The archive job selects its batches with date < boundary ORDER BY date, id FOR UPDATE;
+-- without an index on date that walks and locks the whole table. It also serves the
+-- company-wide date = ? and date BETWEEN reads. Databases created from the base schema
+-- already have it.
+SET @has_date_index = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'attendance' AND index_name = 'idx_attendance_date'
+);
+SET @create_date_index = IF(@has_date_index = 0, 'CREATE INDEX idx_attendance_date ON attendance(date)', 'DO 0');
+PREPARE create_date_index FROM @create_date_index;
+EXECUTE create_date_index;
+DEALLOCATE PREPARE create_date_index;
+
+-- =============================================
+-- ARCHIVE TABLE
+-- =============================================
+
+-- Same columns, primary key, unique key and indexes (idx_attendance_date included) as attendance
+CREATE TABLE IF NOT EXISTS attendance_archive LIKE attendance;
+
+-- Closed months are read rarely and never written: trade some CPU for a smaller table
+ALTER TABLE attendance_archive ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+-- LIKE does not copy foreign keys; keep the cascade from employees
+ALTER TABLE attendance_archive
+    ADD CONSTRAINT fk_attendance_archive_employee
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE;
+
+-- =============================================
+-- VIEWS AND PROCEDURES OVER THE WHOLE HISTORY
+-- =============================================
+
+CREATE OR REPLACE VIEW v_attendance_summary AS
+SELECT 
+    a.employee_id,
+    e.full_name,
+    e.position,
+    DATE_FORMAT(a.date, '%Y-%m') AS month_year,
+    COUNT(*) AS days_present,
+    AVG(TIMESTAMPDIFF(MINUTE, a.log_in, a.log_out) / 60.0) AS avg_hours_per_day,
+    SUM(CASE WHEN TIME(a.log_in) > '08:15:00' THEN 1 ELSE 0 END) AS late_count,
+    SUM(CASE WHEN TIME(a.log_out) < '17:00:00' THEN 1 ELSE 0 END) AS undertime_count
+FROM (
+    SELECT employee_id, date, log_in, log_out FROM attendance
+    UNION ALL
+    SELECT employee_id, date, log_in, log_out FROM attendance_archive
+) a
+JOIN v_employee_summary e ON a.employee_id = e.employee_id
+WHERE a.log_in IS NOT NULL
+GROUP BY a.employee_id, e.full_name, e.position, DATE_FORMAT(a.date, '%Y-%m');
+
+DROP PROCEDURE IF EXISTS sp_get_attendance_summary;
+
+DELIMITER //
+
+CREATE PROCEDURE sp_get_attendance_summary(
+    IN p_employee_id INT,
+    IN p_start_date DATE,
+    IN p_end_date DATE
+)
+BEGIN
+    SELECT 
+        COUNT(*) AS total_days,
+        AVG(TIMESTAMPDIFF(MINUTE, log_in, log_out) / 60.0) AS avg_hours,
+        SUM(CASE WHEN TIME(log_in) > '08:15:00' THEN 1 ELSE 0 END) AS late_count,
+        SUM(CASE WHEN TIME(log_out) < '17:00:00' THEN 1 ELSE 0 END) AS undertime_count,
+        SUM(TIMESTAMPDIFF(MINUTE, '08:00:00', log_in)) / 60.0 AS total_late_hours,
+        SUM(TIMESTAMPDIFF(MINUTE, log_out, '17:00:00')) / 60.0 AS total_undertime_hours
+    FROM (
+        SELECT log_in, log_out FROM attendance
+        WHERE employee_id = p_employee_id AND date BETWEEN p_start_date AND p_end_date
+        UNION ALL
+        SELECT log_in, log_out FROM attendance_archive
+        WHERE employee_id = p_employee_id AND date BETWEEN p_start_date AND p_end_date
+    ) a
+    WHERE log_in IS NOT NULL;
+END //
+
+DELIMITER ;